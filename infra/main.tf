@@ -4,6 +4,33 @@ resource "aws_s3_bucket" "video_bucket" {
   force_destroy = true
 }
 
+# Remove partes de uploads retomáveis abandonados
+resource "aws_s3_bucket_lifecycle_configuration" "video_bucket_lifecycle" {
+  bucket = aws_s3_bucket.video_bucket.id
+
+  rule {
+    id     = "abort-incomplete-multipart-uploads"
+    status = "Enabled"
+    filter {}
+    abort_incomplete_multipart_upload {
+      days_after_initiation = 1
+    }
+  }
+}
+
+# Upload direto do navegador com URLs pré-assinadas; o ETag precisa ficar visível para o cliente
+resource "aws_s3_bucket_cors_configuration" "video_bucket_cors" {
+  bucket = aws_s3_bucket.video_bucket.id
+
+  cors_rule {
+    allowed_methods = ["PUT"]
+    allowed_origins = ["*"]
+    allowed_headers = ["*"]
+    expose_headers  = ["ETag"]
+    max_age_seconds = 3000
+  }
+}
+
 resource "aws_sqs_queue" "video_queue" {
   name                      = "video-processing-queue"
   max_message_size          = 262144
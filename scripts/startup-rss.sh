@@ -0,0 +1,33 @@
+#!/bin/sh
+# Mede o tempo até /actuator/health responder e a memória residente (RSS) do processo nesse momento.
+#
+#   scripts/startup-rss.sh java -jar target/demo-0.0.1-SNAPSHOT.jar
+#   scripts/startup-rss.sh target/video-uploader-service
+#
+# Precisa das mesmas variáveis da aplicação (JWT_SECRET, AWS_*); nenhuma chamada à AWS é feita na subida.
+# Linux apenas (lê /proc). HEALTH_URL e TIMEOUT_SECONDS podem ser sobrescritos.
+
+HEALTH_URL=${HEALTH_URL:-http://localhost:8080/actuator/health}
+TIMEOUT_SECONDS=${TIMEOUT_SECONDS:-60}
+
+start=$(date +%s%N)
+"$@" > /dev/null 2>&1 &
+pid=$!
+trap 'kill $pid 2>/dev/null' EXIT
+
+deadline=$((start + TIMEOUT_SECONDS * 1000000000))
+until curl -sf -o /dev/null "$HEALTH_URL"; do
+    if ! kill -0 $pid 2>/dev/null; then
+        echo "processo terminou antes de responder ao health" >&2
+        exit 1
+    fi
+    if [ "$(date +%s%N)" -gt "$deadline" ]; then
+        echo "sem resposta de $HEALTH_URL em ${TIMEOUT_SECONDS}s" >&2
+        exit 1
+    fi
+    sleep 0.02
+done
+ready=$(date +%s%N)
+
+rss_kb=$(awk '/^VmRSS:/ {print $2}' /proc/$pid/status)
+echo "startup_ms=$(( (ready - start) / 1000000 )) rss_mb=$(( rss_kb / 1024 ))"
@@ -0,0 +1,29 @@
+package com.videoUploaderService.service;
+
+import com.amazonaws.services.sqs.AbstractAmazonSQS;
+import com.amazonaws.services.sqs.model.SendMessageBatchRequest;
+import com.amazonaws.services.sqs.model.SendMessageBatchRequestEntry;
+import com.amazonaws.services.sqs.model.SendMessageBatchResult;
+import com.amazonaws.services.sqs.model.SendMessageBatchResultEntry;
+import com.amazonaws.services.sqs.model.SendMessageRequest;
+import com.amazonaws.services.sqs.model.SendMessageResult;
+
+/**
+ * SQS em memória para os benchmarks: aceita todas as mensagens.
+ */
+class FakeAmazonSQS extends AbstractAmazonSQS {
+
+    @Override
+    public SendMessageResult sendMessage(SendMessageRequest request) {
+        return new SendMessageResult().withMessageId("message");
+    }
+
+    @Override
+    public SendMessageBatchResult sendMessageBatch(SendMessageBatchRequest request) {
+        SendMessageBatchResult result = new SendMessageBatchResult();
+        for (SendMessageBatchRequestEntry entry : request.getEntries()) {
+            result.withSuccessful(new SendMessageBatchResultEntry().withId(entry.getId()).withMessageId("message"));
+        }
+        return result;
+    }
+}
@@ -0,0 +1,79 @@
+package com.videoUploaderService.service;
+
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import software.amazon.awssdk.core.async.AsyncRequestBody;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
+import software.amazon.awssdk.services.s3.S3Utilities;
+import software.amazon.awssdk.services.s3.model.DeleteObjectRequest;
+import software.amazon.awssdk.services.s3.model.DeleteObjectResponse;
+import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+import software.amazon.awssdk.services.s3.model.PutObjectResponse;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Cliente S3 assíncrono em memória para os benchmarks: assina o corpo como o cliente HTTP faria,
+ * pedindo alguns buffers por vez, e descarta os bytes.
+ */
+class FakeS3AsyncClient implements S3AsyncClient {
+
+    private static final int REQUEST_BATCH = 16;
+
+    @Override
+    public CompletableFuture<PutObjectResponse> putObject(PutObjectRequest request, AsyncRequestBody body) {
+        CompletableFuture<PutObjectResponse> response = new CompletableFuture<>();
+        body.subscribe(new Subscriber<ByteBuffer>() {
+            private Subscription subscription;
+            private int pending;
+
+            @Override
+            public void onSubscribe(Subscription subscription) {
+                this.subscription = subscription;
+                pending = REQUEST_BATCH;
+                subscription.request(REQUEST_BATCH);
+            }
+
+            @Override
+            public void onNext(ByteBuffer buffer) {
+                buffer.position(buffer.limit());
+                if (--pending == 0) {
+                    pending = REQUEST_BATCH;
+                    subscription.request(REQUEST_BATCH);
+                }
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                response.completeExceptionally(t);
+            }
+
+            @Override
+            public void onComplete() {
+                response.complete(PutObjectResponse.builder().eTag("etag").build());
+            }
+        });
+        return response;
+    }
+
+    @Override
+    public CompletableFuture<DeleteObjectResponse> deleteObject(DeleteObjectRequest request) {
+        return CompletableFuture.completedFuture(DeleteObjectResponse.builder().build());
+    }
+
+    @Override
+    public S3Utilities utilities() {
+        return S3Utilities.builder().region(Region.US_EAST_1).build();
+    }
+
+    @Override
+    public String serviceName() {
+        return SERVICE_NAME;
+    }
+
+    @Override
+    public void close() {
+    }
+}
@@ -0,0 +1,81 @@
+package com.videoUploaderService.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rajada de uploads pequenos, de várias threads, contra o {@link ThrottlingVideoStore}, que limita os
+ * PUTs por prefixo. Com {@code timestamp} todas as chaves caem no mesmo prefixo e a vazão fica presa
+ * à taxa de um só; com {@code hash} e {@code date} ela se espalha por 16^prefixLength prefixos. A
+ * taxa por prefixo é reduzida em relação à do S3 (3.500 PUTs/s) para o limite aparecer com poucas
+ * threads; o que importa é a razão entre os layouts. Ao fim de cada trial imprime os
+ * {@code SlowDown} por upload.
+ */
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(16)
+public class KeyLayoutBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Burst {
+
+        @Param({"timestamp", "hash", "date"})
+        public String layout;
+
+        @Param({"1", "2"})
+        public int prefixLength;
+
+        @Param({"1000"})
+        public double requestsPerSecondPerPrefix;
+
+        ThrottlingVideoStore videoStore;
+        VideoStorageService videoStorageService;
+        MockMultipartFile file;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            VideoKeyLayout keyLayout = switch (layout) {
+                case "timestamp" -> new TimestampKeyLayout();
+                case "hash" -> new HashPrefixKeyLayout(prefixLength);
+                default -> new DateShardKeyLayout(prefixLength);
+            };
+            videoStore = new ThrottlingVideoStore(requestsPerSecondPerPrefix, 10);
+            videoStorageService = new VideoStorageService(new FakeAmazonS3(), videoStore, "up-videos-bucket",
+                    new UploadMetrics(new SimpleMeterRegistry()), new ContentHashIndex(false, "", 0),
+                    new VideoContainerSniffer(false, 16 * 1024 * 1024), new UploadChecksums(false), keyLayout,
+                    DependencyGuards.disabled(new SimpleMeterRegistry()));
+            file = new MockMultipartFile("file", "video.mp4", "video/mp4", new byte[1024]);
+        }
+
+        @TearDown(Level.Trial)
+        public void report() {
+            System.out.printf("%n%s: %d prefixos, %.2f SlowDown por upload%n",
+                    layout, videoStore.prefixCount(), videoStore.slowDownsPerPut());
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    public StoredVideo upload(Burst burst) throws IOException {
+        return burst.videoStorageService.uploadVideo(burst.file);
+    }
+}
@@ -0,0 +1,78 @@
+package com.videoUploaderService.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * S3 local para os benchmarks que limita a taxa de PUTs por prefixo, como o S3 faz antes de
+ * particionar. O prefixo de uma chave é tudo até a última {@code /}; acima da taxa o PUT recebe o
+ * equivalente a um {@code 503 SlowDown}, e o envio espera e tenta de novo com backoff exponencial e
+ * jitter, como o retry do SDK. O conteúdo é lido e descartado.
+ *
+ * <p>É um modelo simplificado: o S3 real cria partições sozinho conforme a carga, em minutos. Aqui
+ * cada prefixo já é uma partição, com a taxa fixa.
+ */
+class ThrottlingVideoStore implements VideoStore {
+
+    private static final long BASE_BACKOFF_NANOS = 1_000_000;
+    private static final long MAX_BACKOFF_NANOS = 20_000_000;
+
+    private final double requestsPerSecondPerPrefix;
+    private final double burst;
+    private final ConcurrentHashMap<String, TokenBucket> prefixes = new ConcurrentHashMap<>();
+    private final LongAdder puts = new LongAdder();
+    private final LongAdder slowDowns = new LongAdder();
+
+    ThrottlingVideoStore(double requestsPerSecondPerPrefix, double burst) {
+        this.requestsPerSecondPerPrefix = requestsPerSecondPerPrefix;
+        this.burst = burst;
+    }
+
+    @Override
+    public CompletableFuture<Void> put(String key, InputStream in, long size) {
+        TokenBucket bucket = prefixes.computeIfAbsent(key.substring(0, key.lastIndexOf('/') + 1),
+                prefix -> new TokenBucket());
+        long backoff = BASE_BACKOFF_NANOS;
+        while (bucket.tryAcquire(1, requestsPerSecondPerPrefix, burst, System.nanoTime()) > 0) {
+            slowDowns.increment();
+            LockSupport.parkNanos(ThreadLocalRandom.current().nextLong(backoff) + 1);
+            backoff = Math.min(backoff * 2, MAX_BACKOFF_NANOS);
+        }
+        try {
+            in.transferTo(OutputStream.nullOutputStream());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        puts.increment();
+        return CompletableFuture.completedFuture(null);
+    }
+
+    @Override
+    public CompletableFuture<Void> delete(String key) {
+        return CompletableFuture.completedFuture(null);
+    }
+
+    @Override
+    public String url(String key) {
+        return "https://up-videos-bucket.s3.amazonaws.com/" + key;
+    }
+
+    int prefixCount() {
+        return prefixes.size();
+    }
+
+    /**
+     * Respostas {@code SlowDown} por PUT concluído.
+     */
+    double slowDownsPerPut() {
+        long done = puts.sum();
+        return done == 0 ? 0 : (double) slowDowns.sum() / done;
+    }
+}
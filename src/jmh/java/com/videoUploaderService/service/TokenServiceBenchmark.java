@@ -0,0 +1,86 @@
+package com.videoUploaderService.service;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.algorithms.Algorithm;
+import com.videoUploaderService.service.TokenService.UserInfo;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Verificação do token do gateway em alta taxa de requisições:
+ * <ul>
+ *   <li>{@code rebuildVerifier}: caminho anterior, novo {@code Algorithm} e {@code JWTVerifier} a cada chamada;</li>
+ *   <li>{@code decodeToken} com {@code cacheSize=0}: verifier reutilizado, HMAC a cada chamada;</li>
+ *   <li>{@code decodeToken} com cache: só o SHA-256 do token e a consulta ao mapa.</li>
+ * </ul>
+ * {@code distinctTokens} simula quantos usuários diferentes estão enviando chunks ao mesmo tempo.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+public class TokenServiceBenchmark {
+
+    private static final String SECRET = "segredo-do-benchmark";
+
+    @Param({"0", "10000"})
+    public int cacheSize;
+
+    @Param({"1", "1000"})
+    public int distinctTokens;
+
+    private TokenService tokenService;
+    private String[] tokens;
+
+    @Setup
+    public void setUp() {
+        tokenService = new TokenService();
+        ReflectionTestUtils.setField(tokenService, "secret", SECRET);
+        ReflectionTestUtils.setField(tokenService, "cacheSize", cacheSize);
+        ReflectionTestUtils.setField(tokenService, "cacheTtlSeconds", 300L);
+
+        tokens = new String[distinctTokens];
+        for (int i = 0; i < distinctTokens; i++) {
+            tokens[i] = "Bearer " + JWT.create()
+                    .withSubject("usuario-" + i)
+                    .withClaim("email", "usuario-" + i + "@email.com")
+                    .withExpiresAt(Instant.now().plus(1, ChronoUnit.HOURS))
+                    .sign(Algorithm.HMAC256(SECRET));
+        }
+    }
+
+    @Benchmark
+    public UserInfo decodeToken() {
+        return tokenService.decodeToken(nextToken());
+    }
+
+    @Benchmark
+    public UserInfo rebuildVerifier() {
+        String token = nextToken().replace("Bearer ", "");
+        var jwt = JWT.require(Algorithm.HMAC256(SECRET)).build().verify(token);
+        return new UserInfo(jwt.getSubject(), jwt.getClaim("email").asString());
+    }
+
+    private String nextToken() {
+        return tokens[ThreadLocalRandom.current().nextInt(tokens.length)];
+    }
+}
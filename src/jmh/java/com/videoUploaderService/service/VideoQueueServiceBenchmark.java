@@ -0,0 +1,69 @@
+package com.videoUploaderService.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Montagem e serialização do payload da mensagem e publicação completa contra o SQS em memória
+ * (lotes de até 10, linger de 1 ms, 8 threads publicando).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class VideoQueueServiceBenchmark {
+
+    private ScheduledExecutorService senders;
+    private VideoQueueService videoQueueService;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        senders = Executors.newScheduledThreadPool(8);
+        SqsBatchPublisher publisher = new SqsBatchPublisher(new FakeAmazonSQS(), "queue", senders, 1,
+                DependencyGuards.disabled(new SimpleMeterRegistry()));
+        OutboxLog outbox = new OutboxLog(false, "unused", 1024, false);
+        videoQueueService = new VideoQueueService(publisher, outbox, new ObjectMapper(),
+                new UploadMetrics(new SimpleMeterRegistry()));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        senders.shutdownNow();
+    }
+
+    @Benchmark
+    public String messageBody() {
+        return videoQueueService.messageBody("videos/1700000000000-6f1c2c1e-8d2b-4a4f-9c55-0f7c8e1d2a3b.mp4",
+                "https://up-videos-bucket.s3.amazonaws.com/videos/1700000000000-6f1c2c1e.mp4",
+                "Meu vídeo", "Descrição do vídeo", "usuario", "usuario@email.com", Map.of());
+    }
+
+    @Benchmark
+    @Threads(8)
+    public void sendVideoMessage() {
+        videoQueueService.sendVideoMessage("videos/1700000000000-6f1c2c1e-8d2b-4a4f-9c55-0f7c8e1d2a3b.mp4",
+                "https://up-videos-bucket.s3.amazonaws.com/videos/1700000000000-6f1c2c1e.mp4",
+                "Meu vídeo", "Descrição do vídeo", "usuario", "usuario@email.com");
+    }
+}
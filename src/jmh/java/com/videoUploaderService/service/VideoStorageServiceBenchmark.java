@@ -0,0 +1,116 @@
+package com.videoUploaderService.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Geração da chave no S3 e cópia completa de um {@code MultipartFile} até o S3 em memória, em alguns
+ * tamanhos de arquivo, pelos dois backends de {@link VideoStore}: {@code blocking}
+ * ({@link S3MultipartUploader} + SDK v1) e {@code async} (corpo reativo do SDK v2). Rode com
+ * {@code -prof gc} para acompanhar a alocação por operação.
+ */
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class VideoStorageServiceBenchmark {
+
+    private static final int PART_SIZE = 8 * 1024 * 1024;
+
+    @State(Scope.Benchmark)
+    public static class Keys {
+        VideoStorageService videoStorageService;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            videoStorageService = new VideoStorageService(new FakeAmazonS3(), null, "up-videos-bucket", metrics(),
+                    new ContentHashIndex(false, "", 0), new VideoContainerSniffer(false, 16 * 1024 * 1024),
+                    new UploadChecksums(false), new HashPrefixKeyLayout(2), DependencyGuards.disabled(new SimpleMeterRegistry()));
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class Upload {
+
+        // 1MB (PUT simples), 16MB e 64MB (multipart)
+        @Param({"1048576", "16777216", "67108864"})
+        public int fileSize;
+
+        @Param({"blocking", "async"})
+        public String store;
+
+        // o CRC32C é sempre calculado; com deduplicação, o SHA-256 sai da mesma leitura e a partir da 2ª
+        // operação todas são hits
+        @Param({"false", "true"})
+        public boolean dedup;
+
+        ExecutorService partExecutor;
+        VideoStorageService videoStorageService;
+        MockMultipartFile file;
+
+        @Setup(Level.Trial)
+        public void setUp() throws IOException {
+            partExecutor = Executors.newFixedThreadPool(4);
+            VideoStore videoStore;
+            if ("async".equals(store)) {
+                videoStore = new AsyncS3VideoStore(new FakeS3AsyncClient(), "up-videos-bucket", metrics());
+            } else {
+                S3MultipartUploader uploader = new S3MultipartUploader(new FakeAmazonS3(),
+                        new ByteBufferPool(PART_SIZE, 8), partExecutor, 4, metrics(),
+                        DependencyGuards.disabled(new SimpleMeterRegistry()));
+                videoStore = new BlockingS3VideoStore(new FakeAmazonS3(), uploader, "up-videos-bucket");
+            }
+            ContentHashIndex index = new ContentHashIndex(dedup,
+                    Files.createTempDirectory("dedup-benchmark").toString(), 1000);
+            videoStorageService = new VideoStorageService(new FakeAmazonS3(), videoStore, "up-videos-bucket", metrics(),
+                    index, new VideoContainerSniffer(true, 16 * 1024 * 1024), new UploadChecksums(false),
+                    new HashPrefixKeyLayout(2), DependencyGuards.disabled(new SimpleMeterRegistry()));
+            // começa com uma caixa ftyp para passar pela identificação do contêiner
+            byte[] content = new byte[fileSize];
+            byte[] ftyp = {0, 0, 0, 0x18, 'f', 't', 'y', 'p', 'i', 's', 'o', 'm'};
+            System.arraycopy(ftyp, 0, content, 0, ftyp.length);
+            file = new MockMultipartFile("file", "video.mp4", "video/mp4", content);
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            partExecutor.shutdownNow();
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    public String newKey(Keys keys) {
+        return keys.videoStorageService.newKey("video.mp4");
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public StoredVideo uploadMultipartFile(Upload upload) throws IOException {
+        return upload.videoStorageService.uploadVideo(upload.file);
+    }
+
+    private static UploadMetrics metrics() {
+        return new UploadMetrics(new SimpleMeterRegistry());
+    }
+}
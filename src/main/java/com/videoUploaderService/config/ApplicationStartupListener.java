@@ -31,6 +31,9 @@ public class ApplicationStartupListener implements CommandLineRunner {
         logger.info("");
         logger.info("📋 Endpoints disponíveis:");
         logger.info("   • POST /videos - Upload de vídeo");
+        logger.info("   • POST /videos/stream - Upload de vídeo em streaming (corpo bruto)");
+        logger.info("   • POST /videos/uploads - Upload retomável em chunks");
+        logger.info("   • POST /videos/presigned - Upload direto para o S3 (URLs pré-assinadas)");
         logger.info("");
         logger.info("   Exemplo de uso:");
         logger.info("   curl -X POST http://localhost:{}/videos \\", port);
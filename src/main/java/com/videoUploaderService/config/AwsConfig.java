@@ -1,5 +1,6 @@
 package com.videoUploaderService.config;
 
+import com.amazonaws.ClientConfiguration;
 import com.amazonaws.auth.AWSCredentials;
 import com.amazonaws.auth.AWSStaticCredentialsProvider;
 import com.amazonaws.auth.BasicAWSCredentials;
@@ -13,10 +14,23 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.AwsCredentials;
+import software.amazon.awssdk.auth.credentials.AwsSessionCredentials;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.http.nio.netty.NettyNioAsyncHttpClient;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
+import software.amazon.awssdk.services.s3.S3AsyncClientBuilder;
+
+import java.net.URI;
 
 @Configuration
+@ImportRuntimeHints(NativeRuntimeHints.class)
 public class AwsConfig {
 
     private static final Logger logger = LoggerFactory.getLogger(AwsConfig.class);
@@ -40,12 +54,28 @@ public class AwsConfig {
     @Value("${aws.sqs.endpoint:}")
     private String sqsEndpoint;
 
+    // Conexões HTTP de cada cliente (0 = padrão do SDK, 50). Com virtual threads o limite real passa a ser este pool.
+    @Value("${aws.s3.maxConnections:0}")
+    private int s3MaxConnections;
+
+    @Value("${aws.sqs.maxConnections:0}")
+    private int sqsMaxConnections;
+
+    // Tempo máximo de cada requisição ao SQS (0 = sem limite); as mensagens são pequenas
+    @Value("${aws.sqs.requestTimeoutMillis:5000}")
+    private int sqsRequestTimeoutMillis;
+
+    // Com a camada de resiliência, os retries dos clientes v1 são dela (com orçamento), não do SDK
+    @Value("${upload.resilience.enabled:true}")
+    private boolean resilienceEnabled;
+
     @Bean
     public AmazonS3 amazonS3() {
         AWSCredentials credentials = createCredentials();
 
         AmazonS3ClientBuilder builder = AmazonS3ClientBuilder.standard()
-                .withCredentials(new AWSStaticCredentialsProvider(credentials));
+                .withCredentials(new AWSStaticCredentialsProvider(credentials))
+                .withClientConfiguration(clientConfiguration(s3MaxConnections, 0));
 
         if (s3Endpoint != null && !s3Endpoint.isBlank()) {
             builder.withEndpointConfiguration(
@@ -58,12 +88,44 @@ public class AwsConfig {
         return builder.build();
     }
 
+    /**
+     * Cliente S3 não bloqueante (SDK v2 + Netty) usado pelo backend {@code upload.store=async}.
+     * O multipart usa o mesmo tamanho de parte e paralelismo por vídeo do cliente v1.
+     */
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(name = "upload.store", havingValue = "async")
+    public S3AsyncClient s3AsyncClient(@Value("${aws.s3.multipart.partSize:8388608}") long partSize,
+                                       @Value("${aws.s3.multipart.maxInFlightParts:4}") int maxInFlightParts) {
+        NettyNioAsyncHttpClient.Builder httpClient = NettyNioAsyncHttpClient.builder();
+        if (s3MaxConnections > 0) {
+            httpClient.maxConcurrency(s3MaxConnections);
+        }
+
+        S3AsyncClientBuilder builder = S3AsyncClient.builder()
+                .credentialsProvider(StaticCredentialsProvider.create(toV2(createCredentials())))
+                .region(Region.of(region))
+                .httpClientBuilder(httpClient)
+                .multipartEnabled(true)
+                .multipartConfiguration(multipart -> multipart
+                        .thresholdInBytes(partSize)
+                        .minimumPartSizeInBytes(partSize)
+                        .parallelConfiguration(parallel -> parallel.maxInFlightParts(maxInFlightParts)));
+
+        if (s3Endpoint != null && !s3Endpoint.isBlank()) {
+            // endpoints locais (LocalStack, MinIO) não resolvem o bucket como subdomínio
+            builder.endpointOverride(URI.create(s3Endpoint)).forcePathStyle(true);
+        }
+
+        return builder.build();
+    }
+
     @Bean
     public AmazonSQS amazonSQS() {
         AWSCredentials credentials = createCredentials();
 
         AmazonSQSClientBuilder builder = AmazonSQSClientBuilder.standard()
-                .withCredentials(new AWSStaticCredentialsProvider(credentials));
+                .withCredentials(new AWSStaticCredentialsProvider(credentials))
+                .withClientConfiguration(clientConfiguration(sqsMaxConnections, sqsRequestTimeoutMillis));
 
         if (sqsEndpoint != null && !sqsEndpoint.isBlank()) {
             builder.withEndpointConfiguration(
@@ -81,6 +143,29 @@ public class AwsConfig {
         return new ObjectMapper();
     }
 
+    private ClientConfiguration clientConfiguration(int maxConnections, int requestTimeoutMillis) {
+        ClientConfiguration configuration = new ClientConfiguration();
+        if (maxConnections > 0) {
+            configuration.setMaxConnections(maxConnections);
+        }
+        if (requestTimeoutMillis > 0) {
+            configuration.setRequestTimeout(requestTimeoutMillis);
+        }
+        if (resilienceEnabled) {
+            // retry do SDK somado ao da camada multiplicaria as tentativas contra a dependência degradada
+            configuration.setMaxErrorRetry(0);
+        }
+        return configuration;
+    }
+
+    private static AwsCredentials toV2(AWSCredentials credentials) {
+        if (credentials instanceof BasicSessionCredentials session) {
+            return AwsSessionCredentials.create(session.getAWSAccessKeyId(), session.getAWSSecretKey(),
+                    session.getSessionToken());
+        }
+        return AwsBasicCredentials.create(credentials.getAWSAccessKeyId(), credentials.getAWSSecretKey());
+    }
+
     private AWSCredentials createCredentials() {
         boolean hasSessionToken = sessionToken != null && !sessionToken.trim().isEmpty();
 
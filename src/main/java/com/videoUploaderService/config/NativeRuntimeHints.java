@@ -0,0 +1,117 @@
+package com.videoUploaderService.config;
+
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.TypeReference;
+
+import com.videoUploaderService.service.CompletedUpload;
+import com.videoUploaderService.service.PresignedUploadService.PresignedPart;
+import com.videoUploaderService.service.PresignedUploadService.PresignedUpload;
+import com.videoUploaderService.service.SpooledUpload;
+import com.videoUploaderService.service.UploadSession.UploadedPart;
+
+/**
+ * O que a imagem nativa ({@code mvn -Pnative native:compile}) não descobre sozinha. O AOT do Spring
+ * cobre os beans e os corpos tipados dos controllers; faltam o SDK v1 da AWS, que lê JSON do classpath
+ * com Jackson, instancia handlers e signers pelo nome e embrulha o pool de conexões em proxies, os
+ * records que o Jackson lê ou escreve atrás de um {@code ResponseEntity<?>} ou do spool, e as classes
+ * internas do java-jwt. O SDK v2, o Netty e o Reactor Netty trazem a própria metadata.
+ */
+public class NativeRuntimeHints implements RuntimeHintsRegistrar {
+
+    private static final MemberCategory[] JSON_MODEL = {
+            MemberCategory.INVOKE_DECLARED_CONSTRUCTORS,
+            MemberCategory.INVOKE_DECLARED_METHODS,
+            MemberCategory.ACCESS_DECLARED_FIELDS
+    };
+
+    // lidos pelo Jackson do SDK v1 de endpoints.json e awssdk_config_default.json
+    private static final String[] AWS_JSON_MODEL = {
+            "com.amazonaws.partitions.model.Partitions",
+            "com.amazonaws.partitions.model.Partition",
+            "com.amazonaws.partitions.model.Region",
+            "com.amazonaws.partitions.model.Service",
+            "com.amazonaws.partitions.model.Endpoint",
+            "com.amazonaws.partitions.model.CredentialScope",
+            "com.amazonaws.internal.config.InternalConfigJsonHelper",
+            "com.amazonaws.internal.config.JsonIndex",
+            "com.amazonaws.internal.config.SignerConfigJsonHelper",
+            "com.amazonaws.internal.config.HttpClientConfigJsonHelper",
+            "com.amazonaws.internal.config.HostRegexToRegionMappingJsonHelper"
+    };
+
+    // criados por Class.forName/newInstance: o SignerFactory e os request.handlers do SQS
+    private static final String[] AWS_INSTANTIATED = {
+            "com.amazonaws.auth.AWS4Signer",
+            "com.amazonaws.auth.AWS4UnsignedPayloadSigner",
+            "com.amazonaws.auth.AWS3Signer",
+            "com.amazonaws.auth.QueryStringSigner",
+            "com.amazonaws.auth.NoOpSigner",
+            "com.amazonaws.services.s3.internal.AWSS3V4Signer",
+            "com.amazonaws.services.sqs.QueueUrlHandler",
+            "com.amazonaws.services.sqs.internal.SQSRequestHandler",
+            "com.amazonaws.services.sqs.MessageMD5ChecksumHandler"
+    };
+
+    private static final String[] AWS_RESOURCES = {
+            "com/amazonaws/partitions/endpoints.json",
+            "com/amazonaws/internal/config/awssdk_config_default.json",
+            "com/amazonaws/sdk/versionInfo.properties",
+            "com/amazonaws/services/sqs/request.handlers",
+            "mime.types",
+            // PublicSuffixMatcherLoader do Apache HttpClient, usado na verificação do hostname TLS
+            "mozilla/public-suffix-list.txt"
+    };
+
+    // desserializadores registrados pelo JWTParser e TypeReferences anônimos que eles resolvem
+    private static final String[] JWT_TYPES = {
+            "com.auth0.jwt.impl.PayloadDeserializer",
+            "com.auth0.jwt.impl.PayloadDeserializer$1",
+            "com.auth0.jwt.impl.HeaderDeserializer",
+            "com.auth0.jwt.impl.HeaderDeserializer$1",
+            "com.auth0.jwt.impl.PayloadImpl",
+            "com.auth0.jwt.impl.BasicHeader",
+            "com.auth0.jwt.impl.JsonNodeClaim",
+            "com.auth0.jwt.impl.PayloadSerializer",
+            "com.auth0.jwt.impl.HeaderSerializer",
+            "com.auth0.jwt.impl.PayloadClaimsHolder",
+            "com.auth0.jwt.impl.HeaderClaimsHolder"
+    };
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        for (String type : AWS_JSON_MODEL) {
+            hints.reflection().registerTypeIfPresent(classLoader, type, JSON_MODEL);
+        }
+        for (String type : AWS_INSTANTIATED) {
+            hints.reflection().registerTypeIfPresent(classLoader, type, MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+        }
+        for (String resource : AWS_RESOURCES) {
+            hints.resources().registerPattern(resource);
+        }
+        // ClientConnectionManagerFactory e ClientConnectionRequestFactory embrulham o pool do Apache
+        // HttpClient em proxies JDK para medir o tempo de espera por conexão
+        hints.proxies().registerJdkProxy(
+                TypeReference.of("org.apache.http.conn.HttpClientConnectionManager"),
+                TypeReference.of("org.apache.http.pool.ConnPoolControl"),
+                TypeReference.of("com.amazonaws.http.conn.Wrapped"));
+        hints.proxies().registerJdkProxy(
+                TypeReference.of("org.apache.http.conn.HttpClientConnectionManager"),
+                TypeReference.of("com.amazonaws.http.conn.Wrapped"));
+        hints.proxies().registerJdkProxy(
+                TypeReference.of("org.apache.http.conn.ConnectionRequest"),
+                TypeReference.of("com.amazonaws.http.conn.Wrapped"));
+
+        for (String type : JWT_TYPES) {
+            hints.reflection().registerTypeIfPresent(classLoader, type,
+                    MemberCategory.INVOKE_DECLARED_CONSTRUCTORS, MemberCategory.INVOKE_PUBLIC_METHODS);
+        }
+
+        // o estado do spool é lido e gravado pelo ObjectMapper; os demais saem como ResponseEntity<?>
+        new BindingReflectionHintsRegistrar().registerReflectionHints(hints.reflection(),
+                SpooledUpload.class, UploadedPart.class, CompletedUpload.class, PresignedUpload.class,
+                PresignedPart.class);
+    }
+}
@@ -0,0 +1,93 @@
+package com.videoUploaderService.config;
+
+import com.videoUploaderService.service.InMemoryUploadSessionStore;
+import com.videoUploaderService.service.UploadSessionStore;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.tomcat.TomcatConnectorCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Configuration
+public class UploadPipelineConfig {
+
+    // Mesma propriedade que liga virtual threads no Tomcat (requer Java 21+ em tempo de execução)
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService s3PartUploadExecutor(@Value("${aws.s3.multipart.uploadThreads:16}") int threads) {
+        if (virtualThreads) {
+            // Uma virtual thread por parte. A concorrência continua limitada pelo ByteBufferPool
+            // e por aws.s3.multipart.maxInFlightParts, não pelo tamanho de um pool de threads.
+            return new ThreadPoolExecutor(0, Integer.MAX_VALUE, 0L, TimeUnit.MILLISECONDS,
+                    new SynchronousQueue<>(), virtualThreadFactory("s3-part-upload-"));
+        }
+        return Executors.newFixedThreadPool(threads, namedThreadFactory("s3-part-upload-"));
+    }
+
+    @Bean(destroyMethod = "shutdown")
+    public ScheduledExecutorService spoolShipperExecutor(@Value("${upload.spool.workers:4}") int workers) {
+        // a quantidade de workers continua fixa nos dois modos: é ela que limita os envios em segundo plano
+        ThreadFactory threadFactory = virtualThreads
+                ? virtualThreadFactory("spool-shipper-")
+                : namedThreadFactory("spool-shipper-");
+        return Executors.newScheduledThreadPool(workers, threadFactory);
+    }
+
+    @Bean(destroyMethod = "shutdown")
+    public ScheduledExecutorService sqsBatchScheduler(@Value("${aws.sqs.batch.senders:8}") int senders) {
+        // envia os lotes cheios e dispara os que não encheram dentro do linger
+        return Executors.newScheduledThreadPool(senders, namedThreadFactory("sqs-batch-"));
+    }
+
+    @Bean(destroyMethod = "shutdown")
+    public ScheduledExecutorService outboxRelayExecutor() {
+        return Executors.newSingleThreadScheduledExecutor(namedThreadFactory("outbox-relay-"));
+    }
+
+    @Bean(destroyMethod = "shutdown")
+    public ScheduledExecutorService uploadSessionSweepExecutor() {
+        return Executors.newSingleThreadScheduledExecutor(namedThreadFactory("upload-session-sweep-"));
+    }
+
+    @Bean
+    @ConditionalOnMissingBean(UploadSessionStore.class)
+    public UploadSessionStore uploadSessionStore() {
+        return new InMemoryUploadSessionStore();
+    }
+
+    @Bean
+    public TomcatConnectorCustomizer continueOnReadConnectorCustomizer() {
+        // o "100 Continue" só sai quando a aplicação lê o corpo: o UploadPreflightFilter ainda pode
+        // responder 401/413 sem que o cliente envie o vídeo
+        return connector -> connector.setProperty("continueResponseTiming", "onRead");
+    }
+
+    static ThreadFactory namedThreadFactory(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    static ThreadFactory virtualThreadFactory(String prefix) {
+        try {
+            return new VirtualThreadTaskExecutor(prefix).getVirtualThreadFactory();
+        } catch (UnsupportedOperationException e) {
+            throw new IllegalStateException("spring.threads.virtual.enabled=true requer Java 21 ou superior", e);
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.videoUploaderService.controller;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.multipart.support.StandardServletMultipartResolver;
+import org.springframework.web.servlet.DispatcherServlet;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * Resolver de multipart do Spring que deixa de fora o {@code POST /videos/batch}: nos demais
+ * endpoints o Tomcat lê as partes antes do controller, mas o lote precisa chegar com o corpo
+ * intacto para o {@link BatchUploadController} ler uma parte por vez. Substitui o resolver
+ * criado pelo Spring Boot, mantendo {@code spring.servlet.multipart.resolve-lazily}.
+ */
+@Component(DispatcherServlet.MULTIPART_RESOLVER_BEAN_NAME)
+public class BatchMultipartResolver extends StandardServletMultipartResolver {
+
+    public BatchMultipartResolver(@Value("${spring.servlet.multipart.resolve-lazily:false}") boolean resolveLazily) {
+        setResolveLazily(resolveLazily);
+    }
+
+    @Override
+    public boolean isMultipart(HttpServletRequest request) {
+        return !UploadMetricsFilter.isBatchRequest(request) && super.isMultipart(request);
+    }
+}
@@ -0,0 +1,261 @@
+package com.videoUploaderService.controller;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.videoUploaderService.controller.MultipartStream.Part;
+import com.videoUploaderService.controller.MultipartStream.PartTooLargeException;
+import com.videoUploaderService.service.ChecksumMismatchException;
+import com.videoUploaderService.service.DependencyUnavailableException;
+import com.videoUploaderService.service.ExpectedChecksums;
+import com.videoUploaderService.service.StoredVideo;
+import com.videoUploaderService.service.TokenService;
+import com.videoUploaderService.service.TokenService.UserInfo;
+import com.videoUploaderService.service.UnsupportedVideoFormatException;
+import com.videoUploaderService.service.UploadLimits;
+import com.videoUploaderService.service.UploadMetrics;
+import com.videoUploaderService.service.UploadMetrics.Stage;
+import com.videoUploaderService.service.UploadSpoolService;
+import com.videoUploaderService.service.VideoMessage;
+import com.videoUploaderService.service.VideoQueueService;
+import com.videoUploaderService.service.VideoStorageService;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * Upload de vários vídeos em uma requisição {@code multipart/form-data}: um token, uma conexão.
+ * As partes são lidas na ordem em que chegam e cada arquivo vai ao backend enquanto é recebido,
+ * sem esperar o restante do lote. Os campos {@code title} e {@code description} valem para o
+ * arquivo que vem logo depois deles. As mensagens do SQS saem juntas no fim do lote.
+ * Cada arquivo respeita o limite do usuário ({@link UploadLimits}), conferido na leitura: o
+ * {@link UploadPreflightFilter} não tem como recusar o lote pelo {@code Content-Length}.
+ *
+ * <p>O resultado é por arquivo: uma falha em um vídeo não impede os seguintes.
+ */
+@RestController
+@RequestMapping("/videos")
+public class BatchUploadController {
+
+    private static final int MAX_FIELD_BYTES = 8 * 1024;
+
+    private final VideoStorageService videoStorageService;
+    private final VideoQueueService videoQueueService;
+    private final TokenService tokenService;
+    private final UploadSpoolService uploadSpoolService;
+    private final UploadMetrics metrics;
+    private final UploadLimits limits;
+    private final int maxFiles;
+    private final long maxFileBytes;
+
+    public BatchUploadController(VideoStorageService videoStorageService, VideoQueueService videoQueueService,
+            TokenService tokenService, UploadSpoolService uploadSpoolService, UploadMetrics metrics,
+            UploadLimits limits, @Value("${upload.batch.maxFiles:500}") int maxFiles,
+            @Value("${spring.servlet.multipart.max-file-size:500MB}") DataSize maxFileSize) {
+        this.videoStorageService = videoStorageService;
+        this.videoQueueService = videoQueueService;
+        this.tokenService = tokenService;
+        this.uploadSpoolService = uploadSpoolService;
+        this.metrics = metrics;
+        this.limits = limits;
+        this.maxFiles = maxFiles;
+        this.maxFileBytes = maxFileSize.toBytes();
+    }
+
+    @PostMapping("/batch")
+    public ResponseEntity<?> uploadBatch(
+            @RequestHeader(value = "auth-token", required = false) String tokenHeader,
+            HttpServletRequest request) {
+
+        if (tokenHeader == null || tokenHeader.isBlank()) {
+            metrics.error("missing_token");
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                    .body("Acesso negado: Header 'auth-token' não foi recebido do Gateway.");
+        }
+
+        String boundary = MultipartStream.boundary(request.getContentType());
+        if (boundary == null) {
+            return ResponseEntity.badRequest().body("O lote deve ser enviado como multipart/form-data");
+        }
+
+        UserInfo userInfo;
+        try {
+            userInfo = metrics.time(Stage.JWT, () -> tokenService.decodeToken(tokenHeader));
+        } catch (RuntimeException e) {
+            metrics.error(e);
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                    .body("Token inválido: " + e.getMessage());
+        }
+
+        long userLimit = limits.maxBytes(userInfo);
+        long maxBytes = userLimit > 0 ? Math.min(userLimit, maxFileBytes) : maxFileBytes;
+
+        Batch batch = new Batch(userInfo);
+        try (InputStream in = request.getInputStream()) {
+            batch.read(new MultipartStream(in, boundary, maxBytes));
+        } catch (IOException e) {
+            metrics.error(e);
+            batch.error = "Falha ao ler o lote: " + e.getMessage();
+        }
+        // vídeos já gravados recebem a mensagem mesmo se o lote parou no meio
+        batch.sendMessages();
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("files", batch.results);
+        if (batch.error == null && batch.results.isEmpty()) {
+            return ResponseEntity.badRequest().body("Nenhum arquivo de vídeo no lote");
+        }
+        if (batch.error != null) {
+            response.put("error", batch.error);
+            // o resto do corpo não será lido: fechar evita que o cliente continue enviando
+            return ResponseEntity.badRequest().header(HttpHeaders.CONNECTION, "close").body(response);
+        }
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Estado de um lote: os resultados por arquivo, na ordem do corpo, e as mensagens pendentes.
+     */
+    private final class Batch {
+
+        private final UserInfo userInfo;
+        private final List<Map<String, Object>> results = new ArrayList<>();
+        private final List<Map<String, Object>> stored = new ArrayList<>();
+        private final List<VideoMessage> messages = new ArrayList<>();
+        private String error;
+
+        private Batch(UserInfo userInfo) {
+            this.userInfo = userInfo;
+        }
+
+        void read(MultipartStream parts) throws IOException {
+            String title = null;
+            String description = null;
+            Part part;
+            while ((part = parts.next()) != null) {
+                String filename = part.filename();
+                if (filename == null) {
+                    String value = field(part);
+                    if ("title".equals(part.name())) {
+                        title = value;
+                    } else if ("description".equals(part.name())) {
+                        description = value;
+                    }
+                    continue;
+                }
+
+                if (results.size() == maxFiles) {
+                    error = "Limite de " + maxFiles + " arquivos por lote";
+                    return;
+                }
+                results.add(upload(part, filename, title, description));
+                title = null;
+                description = null;
+                if (parts.isBroken()) {
+                    error = "Corpo do lote interrompido no arquivo " + filename;
+                    return;
+                }
+            }
+        }
+
+        private Map<String, Object> upload(Part part, String filename, String title, String description) {
+            Map<String, Object> result = new HashMap<>();
+            result.put("filename", filename);
+            if (title == null || title.isBlank()) {
+                metrics.error("bad_request");
+                return failed(result, HttpStatus.BAD_REQUEST, "Campo 'title' deve vir antes do arquivo");
+            }
+            result.put("title", title);
+
+            try {
+                ExpectedChecksums expected = ExpectedChecksums.fromHeaders(
+                        part.header(ExpectedChecksums.CRC32C_HEADER), part.header(ExpectedChecksums.SHA256_HEADER));
+
+                if (uploadSpoolService.isEnabled()) {
+                    String uploadId = uploadSpoolService.spool(part.body(), filename, title, description, userInfo,
+                            expected);
+                    result.put("status", HttpStatus.ACCEPTED.value());
+                    result.put("uploadId", uploadId);
+                    result.put("statusUrl", "/videos/status/" + uploadId);
+                    return result;
+                }
+
+                StoredVideo video = videoStorageService.uploadVideo(part.body(), filename, expected,
+                        userInfo.username());
+                String url = videoStorageService.getVideoUrl(video.key());
+                result.put("s3Key", video.key());
+                result.put("s3Url", url);
+                result.put("deduplicated", video.deduplicated());
+                stored.add(result);
+                messages.add(new VideoMessage(video.key(), url, title, description, userInfo.username(),
+                        userInfo.email(), video.attributes()));
+                return result;
+
+            } catch (UnsupportedVideoFormatException e) {
+                metrics.error(e);
+                return failed(result, HttpStatus.UNSUPPORTED_MEDIA_TYPE, e.getMessage());
+
+            } catch (PartTooLargeException e) {
+                metrics.error("bad_request");
+                return failed(result, HttpStatus.CONTENT_TOO_LARGE, e.getMessage());
+
+            } catch (ChecksumMismatchException | IllegalArgumentException e) {
+                metrics.error(e);
+                return failed(result, HttpStatus.BAD_REQUEST, e.getMessage());
+
+            } catch (DependencyUnavailableException e) {
+                metrics.error(e);
+                return failed(result, HttpStatus.SERVICE_UNAVAILABLE, e.getMessage());
+
+            } catch (IOException e) {
+                metrics.error(e);
+                return failed(result, HttpStatus.INTERNAL_SERVER_ERROR, "Erro ao fazer upload do vídeo: " + e.getMessage());
+            }
+        }
+
+        void sendMessages() {
+            if (messages.isEmpty()) {
+                return;
+            }
+            List<RuntimeException> failures = videoQueueService.sendVideoMessages(messages);
+            for (int i = 0; i < stored.size(); i++) {
+                RuntimeException failure = failures.get(i);
+                if (failure == null) {
+                    stored.get(i).put("status", HttpStatus.CREATED.value());
+                } else {
+                    metrics.error(failure);
+                    failed(stored.get(i), HttpStatus.INTERNAL_SERVER_ERROR,
+                            "Vídeo gravado, mas a mensagem não foi enviada: " + failure.getMessage());
+                }
+            }
+        }
+
+        private String field(Part part) throws IOException {
+            byte[] value = part.body().readNBytes(MAX_FIELD_BYTES + 1);
+            if (value.length > MAX_FIELD_BYTES) {
+                throw new IOException("Campo '" + part.name() + "' acima de " + MAX_FIELD_BYTES + " bytes");
+            }
+            return new String(value, StandardCharsets.UTF_8);
+        }
+
+        private static Map<String, Object> failed(Map<String, Object> result, HttpStatus status, String message) {
+            result.put("status", status.value());
+            result.put("error", message);
+            return result;
+        }
+    }
+}
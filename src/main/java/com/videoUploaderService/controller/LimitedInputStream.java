@@ -0,0 +1,72 @@
+package com.videoUploaderService.controller;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Optional;
+
+import com.videoUploaderService.controller.MultipartStream.PartTooLargeException;
+
+/**
+ * Corpo bruto de upload com o limite do usuário ({@link com.videoUploaderService.service.UploadLimits})
+ * conferido durante a leitura. O {@link UploadPreflightFilter} só recusa pelo {@code Content-Length};
+ * um corpo chunked não declara o tamanho e seria aceito sem limite. Passado o limite, a leitura falha com
+ * {@link PartTooLargeException}, que o controller responde com {@code 413}.
+ */
+final class LimitedInputStream extends FilterInputStream {
+
+    private final long maxBytes;
+    private long read;
+
+    /**
+     * @param maxBytes limite em bytes; 0 = sem limite
+     */
+    LimitedInputStream(InputStream in, long maxBytes) {
+        super(in);
+        this.maxBytes = maxBytes;
+    }
+
+    @Override
+    public int read() throws IOException {
+        int b = super.read();
+        if (b >= 0) {
+            count(1);
+        }
+        return b;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        int n = super.read(b, off, len);
+        if (n > 0) {
+            count(n);
+        }
+        return n;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        long skipped = super.skip(n);
+        count(skipped);
+        return skipped;
+    }
+
+    private void count(long bytes) throws PartTooLargeException {
+        read += bytes;
+        if (maxBytes > 0 && read > maxBytes) {
+            throw new PartTooLargeException(maxBytes);
+        }
+    }
+
+    /**
+     * O limite estourado na leitura, mesmo que o backend de gravação tenha embrulhado a falha.
+     */
+    static Optional<PartTooLargeException> limitExceeded(Throwable error) {
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (cause instanceof PartTooLargeException tooLarge) {
+                return Optional.of(tooLarge);
+            }
+        }
+        return Optional.empty();
+    }
+}
@@ -0,0 +1,365 @@
+package com.videoUploaderService.controller;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Leitor de {@code multipart/form-data} que entrega uma parte por vez, conforme o corpo chega.
+ * O corpo de cada parte é um {@link InputStream} que termina no próximo delimitador, então a parte
+ * pode ser enviada ao backend sem passar por disco nem esperar o resto da requisição.
+ *
+ * <p>O buffer tem tamanho fixo: o delimitador é procurado só nos bytes já lidos, e os últimos
+ * {@code delimitador - 1} bytes ficam retidos até se saber se são o começo dele.
+ */
+class MultipartStream {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final int MAX_HEADER_BYTES = 16 * 1024;
+
+    private final InputStream in;
+    private final byte[] delimiter;
+    private final long maxPartBytes;
+    private final byte[] buffer;
+    private int head;
+    private int tail;
+    private int searchFrom;
+    private boolean eof;
+
+    private PartInputStream current;
+    private boolean finished;
+    private boolean broken;
+
+    MultipartStream(InputStream in, String boundary, long maxPartBytes) {
+        this.in = in;
+        this.delimiter = ("\r\n--" + boundary).getBytes(StandardCharsets.US_ASCII);
+        this.maxPartBytes = maxPartBytes;
+        this.buffer = new byte[Math.max(BUFFER_SIZE, delimiter.length * 2)];
+        // o primeiro delimitador não tem o CRLF antes: ele é simulado para o preâmbulo virar uma parte vazia
+        buffer[0] = '\r';
+        buffer[1] = '\n';
+        tail = 2;
+    }
+
+    /**
+     * Extrai o boundary do {@code Content-Type}; {@code null} se não for {@code multipart/form-data}.
+     */
+    static String boundary(String contentType) {
+        if (contentType == null || !contentType.toLowerCase(Locale.ROOT).startsWith("multipart/form-data")) {
+            return null;
+        }
+        String boundary = parameters(contentType).get("boundary");
+        return boundary == null || boundary.isEmpty() || boundary.length() > 70 ? null : boundary;
+    }
+
+    /**
+     * Avança para a próxima parte, descartando o que sobrou da anterior. Retorna {@code null} no
+     * delimitador final.
+     */
+    Part next() throws IOException {
+        if (finished) {
+            return null;
+        }
+        try {
+            // o preâmbulo, antes do primeiro delimitador, é descartado como o resto de uma parte
+            PartInputStream previous = current != null ? current : new PartInputStream(Long.MAX_VALUE);
+            previous.skipToEnd();
+            current = null;
+
+            if (startsWith('-', '-')) {
+                finished = true;
+                return null;
+            }
+            // espaços de preenchimento depois do delimitador são permitidos pela RFC 2046
+            while (startsWith(' ') || startsWith('\t')) {
+                head++;
+            }
+            if (!startsWith('\r', '\n')) {
+                throw malformed("delimitador sem quebra de linha");
+            }
+            head += 2;
+
+            Map<String, String> headers = readHeaders();
+            current = new PartInputStream(maxPartBytes);
+            return new Part(headers, current);
+        } catch (IOException e) {
+            broken = true;
+            throw e;
+        }
+    }
+
+    /**
+     * Verdadeiro depois de uma falha de leitura da requisição ou de um corpo malformado: as partes
+     * seguintes não podem mais ser lidas.
+     */
+    boolean isBroken() {
+        return broken;
+    }
+
+    private Map<String, String> readHeaders() throws IOException {
+        Map<String, String> headers = new HashMap<>();
+        int total = 0;
+        while (true) {
+            String line = readLine();
+            total += line.length() + 2;
+            if (total > MAX_HEADER_BYTES) {
+                throw malformed("cabeçalhos da parte acima de " + MAX_HEADER_BYTES + " bytes");
+            }
+            if (line.isEmpty()) {
+                return headers;
+            }
+            int colon = line.indexOf(':');
+            if (colon <= 0) {
+                throw malformed("cabeçalho inválido na parte");
+            }
+            headers.put(line.substring(0, colon).trim().toLowerCase(Locale.ROOT), line.substring(colon + 1).trim());
+        }
+    }
+
+    private String readLine() throws IOException {
+        ByteArrayOutputStream line = new ByteArrayOutputStream();
+        while (true) {
+            if (!fill(2)) {
+                throw malformed("fim inesperado nos cabeçalhos da parte");
+            }
+            if (buffer[head] == '\r' && buffer[head + 1] == '\n') {
+                head += 2;
+                return line.toString(StandardCharsets.UTF_8);
+            }
+            line.write(buffer[head++]);
+            if (line.size() > MAX_HEADER_BYTES) {
+                throw malformed("cabeçalhos da parte acima de " + MAX_HEADER_BYTES + " bytes");
+            }
+        }
+    }
+
+    private boolean startsWith(int... bytes) throws IOException {
+        if (!fill(bytes.length)) {
+            return false;
+        }
+        for (int i = 0; i < bytes.length; i++) {
+            if (buffer[head + i] != bytes[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Garante ao menos {@code needed} bytes no buffer; {@code false} se a requisição acabou antes.
+     */
+    private boolean fill(int needed) throws IOException {
+        while (tail - head < needed) {
+            if (eof) {
+                return false;
+            }
+            if (tail == buffer.length) {
+                System.arraycopy(buffer, head, buffer, 0, tail - head);
+                searchFrom = Math.max(searchFrom - head, 0);
+                tail -= head;
+                head = 0;
+            }
+            int n;
+            try {
+                n = in.read(buffer, tail, buffer.length - tail);
+            } catch (IOException e) {
+                // o cliente desconectou ou a leitura expirou: nada mais pode ser lido desta requisição
+                broken = true;
+                throw e;
+            }
+            if (n < 0) {
+                eof = true;
+            } else {
+                tail += n;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Posição do próximo delimitador completo no buffer, ou -1. As posições já examinadas sem
+     * sucesso não são varridas de novo a cada leitura.
+     */
+    private int indexOfDelimiter() {
+        int last = tail - delimiter.length;
+        byte first = delimiter[0];
+        outer:
+        for (int i = Math.max(head, searchFrom); i <= last; i++) {
+            if (buffer[i] != first) {
+                continue;
+            }
+            for (int j = 1; j < delimiter.length; j++) {
+                if (buffer[i + j] != delimiter[j]) {
+                    continue outer;
+                }
+            }
+            searchFrom = i;
+            return i;
+        }
+        searchFrom = Math.max(head, last + 1);
+        return -1;
+    }
+
+    private static IOException malformed(String reason) {
+        return new IOException("Corpo multipart malformado: " + reason);
+    }
+
+    /**
+     * Parâmetros {@code chave=valor} de um cabeçalho como {@code Content-Type} ou
+     * {@code Content-Disposition}, com ou sem aspas.
+     */
+    static Map<String, String> parameters(String header) {
+        Map<String, String> parameters = new HashMap<>();
+        int i = header.indexOf(';');
+        while (i >= 0 && i < header.length()) {
+            int equals = header.indexOf('=', i);
+            if (equals < 0) {
+                break;
+            }
+            String name = header.substring(i + 1, equals).trim().toLowerCase(Locale.ROOT);
+            StringBuilder value = new StringBuilder();
+            int j = equals + 1;
+            while (j < header.length() && header.charAt(j) == ' ') {
+                j++;
+            }
+            if (j < header.length() && header.charAt(j) == '"') {
+                for (j++; j < header.length() && header.charAt(j) != '"'; j++) {
+                    char c = header.charAt(j);
+                    if (c == '\\' && j + 1 < header.length()) {
+                        c = header.charAt(++j);
+                    }
+                    value.append(c);
+                }
+                i = header.indexOf(';', j);
+            } else {
+                int end = header.indexOf(';', j);
+                value.append(header, j, end < 0 ? header.length() : end);
+                i = end;
+            }
+            parameters.putIfAbsent(name, value.toString().trim());
+        }
+        return parameters;
+    }
+
+    /**
+     * Uma parte do corpo: cabeçalhos (nomes em minúsculas) e o conteúdo, que só pode ser lido até
+     * a chamada seguinte de {@link MultipartStream#next()}.
+     */
+    record Part(Map<String, String> headers, InputStream body) {
+
+        String header(String name) {
+            return headers.get(name.toLowerCase(Locale.ROOT));
+        }
+
+        String name() {
+            String disposition = header("Content-Disposition");
+            return disposition == null ? null : parameters(disposition).get("name");
+        }
+
+        /**
+         * Nome do arquivo; {@code null} em campos de texto.
+         */
+        String filename() {
+            String disposition = header("Content-Disposition");
+            return disposition == null ? null : parameters(disposition).get("filename");
+        }
+    }
+
+    /**
+     * Parte maior que o limite de tamanho de arquivo.
+     */
+    static class PartTooLargeException extends IOException {
+        PartTooLargeException(long maxBytes) {
+            super("Arquivo excede o limite de " + maxBytes + " bytes");
+        }
+    }
+
+    private final class PartInputStream extends InputStream {
+
+        private final long maxBytes;
+        private final byte[] single = new byte[1];
+        private long read;
+        private boolean done;
+
+        private PartInputStream(long maxBytes) {
+            this.maxBytes = maxBytes;
+        }
+
+        @Override
+        public int read() throws IOException {
+            return read(single, 0, 1) < 0 ? -1 : single[0] & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (len == 0) {
+                return 0;
+            }
+            int n = available(len);
+            if (n < 0) {
+                return -1;
+            }
+            if (read + n > maxBytes) {
+                throw new PartTooLargeException(maxBytes);
+            }
+            System.arraycopy(buffer, head, b, off, n);
+            head += n;
+            read += n;
+            return n;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            int chunk = available((int) Math.min(n, Integer.MAX_VALUE));
+            if (chunk <= 0) {
+                return 0;
+            }
+            head += chunk;
+            return chunk;
+        }
+
+        /**
+         * Descarta o restante da parte, sem contar para o limite de tamanho.
+         */
+        void skipToEnd() throws IOException {
+            int n;
+            while ((n = available(Integer.MAX_VALUE)) >= 0) {
+                head += n;
+            }
+        }
+
+        /**
+         * Quantos bytes da parte podem ser entregues agora (no máximo {@code max}); -1 no fim da
+         * parte, com o delimitador já consumido.
+         */
+        private int available(int max) throws IOException {
+            if (done) {
+                return -1;
+            }
+            while (true) {
+                int at = indexOfDelimiter();
+                if (at == head) {
+                    head += delimiter.length;
+                    done = true;
+                    return -1;
+                }
+                if (at > head) {
+                    return Math.min(max, at - head);
+                }
+                // sem delimitador à vista: os últimos bytes podem ser o começo de um
+                int safe = tail - head - (delimiter.length - 1);
+                if (safe > 0) {
+                    return Math.min(max, safe);
+                }
+                if (!fill(tail - head + 1)) {
+                    broken = true;
+                    throw malformed("fim inesperado antes do delimitador final");
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.videoUploaderService.controller;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.amazonaws.services.s3.model.PartETag;
+import com.videoUploaderService.service.CompletedUpload;
+import com.videoUploaderService.service.PresignedUploadService;
+import com.videoUploaderService.service.TokenService;
+import com.videoUploaderService.service.UploadMetrics;
+
+import jakarta.validation.constraints.NotBlank;
+
+/**
+ * Modo de upload direto para o S3: emite URLs pré-assinadas e recebe o callback de conclusão.
+ * Os bytes do vídeo não passam por este serviço.
+ */
+@RestController
+@RequestMapping("/videos/presigned")
+@Validated
+public class PresignedUploadController {
+
+    private final PresignedUploadService presignedUploadService;
+    private final SessionRequestHandler requests;
+
+    public PresignedUploadController(PresignedUploadService presignedUploadService, TokenService tokenService,
+            UploadMetrics metrics) {
+        this.presignedUploadService = presignedUploadService;
+        this.requests = new SessionRequestHandler(tokenService, metrics);
+    }
+
+    @PostMapping
+    public ResponseEntity<?> presignSingle(
+            @RequestHeader(value = "auth-token", required = false) String tokenHeader,
+            @RequestParam("title") @NotBlank String title,
+            @RequestParam(value = "description", required = false) String description,
+            @RequestParam(value = "filename", required = false) String filename) {
+
+        return requests.handle(tokenHeader, userInfo -> ResponseEntity.status(HttpStatus.CREATED)
+                .body(presignedUploadService.presignSingle(filename, title, description, userInfo)));
+    }
+
+    @PostMapping("/multipart")
+    public ResponseEntity<?> presignMultipart(
+            @RequestHeader(value = "auth-token", required = false) String tokenHeader,
+            @RequestParam("title") @NotBlank String title,
+            @RequestParam(value = "description", required = false) String description,
+            @RequestParam(value = "filename", required = false) String filename,
+            @RequestParam("parts") int parts) {
+
+        return requests.handle(tokenHeader, userInfo -> ResponseEntity.status(HttpStatus.CREATED)
+                .body(presignedUploadService.presignMultipart(filename, title, description, parts, userInfo)));
+    }
+
+    /**
+     * Callback chamado pelo cliente depois de enviar os bytes ao S3. No modo multipart,
+     * o corpo traz o ETag retornado pelo S3 para cada parte.
+     */
+    @PostMapping("/{uploadId}/complete")
+    public ResponseEntity<?> complete(
+            @RequestHeader(value = "auth-token", required = false) String tokenHeader,
+            @PathVariable("uploadId") String uploadId,
+            @RequestBody(required = false) CompleteRequest body) {
+
+        List<PartETag> partETags = body == null || body.parts() == null ? List.of()
+                : body.parts().stream().map(part -> new PartETag(part.partNumber(), part.eTag())).toList();
+
+        return requests.handle(tokenHeader, userInfo -> {
+            CompletedUpload completed = presignedUploadService.complete(uploadId, partETags, userInfo);
+
+            Map<String, Object> response = new HashMap<>();
+            response.put("message", "Upload realizado com sucesso");
+            response.put("s3Key", completed.s3Key());
+            response.put("s3Url", completed.s3Url());
+            return ResponseEntity.status(HttpStatus.CREATED).body(response);
+        });
+    }
+
+    public record CompleteRequest(List<CompletedPart> parts) {}
+
+    public record CompletedPart(int partNumber, String eTag) {}
+}
@@ -0,0 +1,89 @@
+package com.videoUploaderService.controller;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.server.reactive.HttpHandler;
+import org.springframework.http.server.reactive.ReactorHttpHandlerAdapter;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+
+import io.netty.buffer.UnpooledByteBufAllocator;
+import io.netty.channel.ChannelOption;
+import io.netty.channel.PreferHeapByteBufAllocator;
+import jakarta.annotation.PreDestroy;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+import reactor.netty.resources.LoopResources;
+
+/**
+ * Segundo servidor HTTP, não bloqueante, ao lado do Tomcat ({@code upload.reactive.enabled}): Reactor
+ * Netty em {@code upload.reactive.port}, com as rotas do {@link ReactiveVideoUploadHandler}. Cada
+ * conexão ocupa só o estado dela, não uma thread, então milhares de clientes lentos cabem em poucas
+ * threads de event loop ({@code upload.reactive.eventLoopThreads}, 0 = uma por núcleo).
+ *
+ * <p>Os filtros do servlet (admissão, limites por usuário, bytes recebidos) não passam por aqui.
+ */
+@Component
+@ConditionalOnProperty(name = "upload.reactive.enabled", havingValue = "true")
+public class ReactiveUploadServer {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReactiveUploadServer.class);
+
+    private final ReactiveVideoUploadHandler handler;
+    private final int port;
+    private final int eventLoopThreads;
+
+    private DisposableServer server;
+    private LoopResources loops;
+
+    public ReactiveUploadServer(ReactiveVideoUploadHandler handler,
+                                @Value("${upload.reactive.port:8081}") int port,
+                                @Value("${upload.reactive.eventLoopThreads:0}") int eventLoopThreads) {
+        this.handler = handler;
+        this.port = port;
+        this.eventLoopThreads = eventLoopThreads;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void start() {
+        if (server != null) {
+            return;
+        }
+        HttpHandler httpHandler = RouterFunctions.toHttpHandler(handler.routes());
+        HttpServer http = HttpServer.create()
+                .port(port)
+                // o socket é lido em arrays do heap, sem pool: o SDK do S3 pode segurar os buffers
+                // até a parte sair, e só o GC sabe quando ele terminou
+                .childOption(ChannelOption.ALLOCATOR, new PreferHeapByteBufAllocator(new UnpooledByteBufAllocator(false)))
+                .handle(new ReactorHttpHandlerAdapter(httpHandler));
+        if (eventLoopThreads > 0) {
+            loops = LoopResources.create("upload-reactive", eventLoopThreads, true);
+            http = http.runOn(loops);
+        }
+        server = http.bindNow();
+        logger.info("Servidor reativo de upload na porta {}", server.port());
+    }
+
+    @PreDestroy
+    public synchronized void stop() {
+        if (server != null) {
+            server.disposeNow();
+            server = null;
+        }
+        if (loops != null) {
+            loops.disposeLater().block();
+            loops = null;
+        }
+    }
+
+    /**
+     * Porta em uso; difere de {@code upload.reactive.port} quando ela é 0 (porta livre qualquer).
+     */
+    int port() {
+        return server.port();
+    }
+}
@@ -0,0 +1,313 @@
+package com.videoUploaderService.controller;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.codec.CodecException;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferLimitException;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.multipart.FilePartEvent;
+import org.springframework.http.codec.multipart.FormPartEvent;
+import org.springframework.http.codec.multipart.PartEvent;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.reactive.function.server.RequestPredicates;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+
+import com.videoUploaderService.service.ChecksumMismatchException;
+import com.videoUploaderService.service.DependencyGuard;
+import com.videoUploaderService.service.DependencyGuards;
+import com.videoUploaderService.service.DependencyUnavailableException;
+import com.videoUploaderService.service.ExpectedChecksums;
+import com.videoUploaderService.service.StoredVideo;
+import com.videoUploaderService.service.TokenService;
+import com.videoUploaderService.service.TokenService.UserInfo;
+import com.videoUploaderService.service.UnsupportedVideoFormatException;
+import com.videoUploaderService.service.UploadLimits;
+import com.videoUploaderService.service.UploadMetrics;
+import com.videoUploaderService.service.UploadMetrics.Stage;
+import com.videoUploaderService.service.UserRateLimiter;
+import com.videoUploaderService.service.VideoQueueService;
+import com.videoUploaderService.service.VideoStorageService;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * {@code POST /videos} do servidor reativo ({@link ReactiveUploadServer}): o mesmo upload
+ * multipart do {@link VideoUploadController}, sem thread por conexão. O corpo chega como eventos de
+ * parte e os {@link DataBuffer}s do arquivo seguem para o S3 sem cópia, na medida em que o S3 os
+ * pede; sem demanda, o Reactor Netty para de ler o socket e o TCP segura o cliente.
+ *
+ * <p>Os campos {@code title} e {@code description} precisam vir antes do arquivo, porque o arquivo
+ * é enviado enquanto chega.
+ *
+ * <p>Os filtros do Tomcat não valem nesta porta: o circuito aberto, o limite de requisições do
+ * usuário ({@link UserRateLimiter}) e o limite de tamanho ({@link UploadLimits}) são conferidos aqui,
+ * antes de o corpo ser assinado.
+ */
+@Component
+@ConditionalOnProperty(name = "upload.reactive.enabled", havingValue = "true")
+public class ReactiveVideoUploadHandler {
+
+    private final VideoStorageService videoStorageService;
+    private final VideoQueueService videoQueueService;
+    private final TokenService tokenService;
+    private final UploadMetrics metrics;
+    private final UploadLimits limits;
+    private final DependencyGuards guards;
+    private final UserRateLimiter rateLimiter;
+    private final long maxFileBytes;
+
+    public ReactiveVideoUploadHandler(VideoStorageService videoStorageService, VideoQueueService videoQueueService,
+            TokenService tokenService, UploadMetrics metrics, UploadLimits limits, DependencyGuards guards,
+            UserRateLimiter rateLimiter,
+            @Value("${spring.servlet.multipart.max-file-size:500MB}") DataSize maxFileSize) {
+        this.videoStorageService = videoStorageService;
+        this.videoQueueService = videoQueueService;
+        this.tokenService = tokenService;
+        this.metrics = metrics;
+        this.limits = limits;
+        this.guards = guards;
+        this.rateLimiter = rateLimiter;
+        this.maxFileBytes = maxFileSize.toBytes();
+    }
+
+    public RouterFunction<ServerResponse> routes() {
+        return RouterFunctions.route(RequestPredicates.POST("/videos"), this::upload);
+    }
+
+    public Mono<ServerResponse> upload(ServerRequest request) {
+        HttpHeaders headers = request.headers().asHttpHeaders();
+        String tokenHeader = headers.getFirst("auth-token");
+        if (tokenHeader == null || tokenHeader.isBlank()) {
+            metrics.error("missing_token");
+            return text(HttpStatus.UNAUTHORIZED, "Acesso negado: Header 'auth-token' não foi recebido do Gateway.");
+        }
+
+        ExpectedChecksums expected;
+        try {
+            expected = ExpectedChecksums.fromHeaders(headers.getFirst(ExpectedChecksums.CRC32C_HEADER),
+                    headers.getFirst(ExpectedChecksums.SHA256_HEADER));
+        } catch (IllegalArgumentException e) {
+            metrics.error(e);
+            return text(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+
+        UserInfo userInfo;
+        try {
+            userInfo = metrics.time(Stage.JWT, () -> tokenService.decodeToken(tokenHeader));
+        } catch (RuntimeException e) {
+            metrics.error(e);
+            return text(HttpStatus.UNAUTHORIZED, "Token inválido: " + e.getMessage());
+        }
+
+        // o upload desta porta vai sempre direto ao S3, mesmo com o modo assíncrono ligado
+        DependencyGuard unavailable = guards.s3().isOpen() ? guards.s3() : guards.unavailableForUploads();
+        if (unavailable != null) {
+            metrics.error(unavailable.name());
+            return retryLater(HttpStatus.SERVICE_UNAVAILABLE, Math.max(1, unavailable.retryAfterSeconds()),
+                    "Serviço indisponível (" + unavailable.name() + " com falhas)");
+        }
+
+        long wait = rateLimiter.tryAcquireRequest(userInfo.username());
+        if (wait > 0) {
+            return retryLater(HttpStatus.TOO_MANY_REQUESTS, UserRateLimitFilter.retryAfterSeconds(wait),
+                    "Limite de requisições do usuário atingido");
+        }
+
+        // o corpo ainda não foi assinado, e o Reactor Netty só envia o "100 Continue" quando ele for
+        long userLimit = limits.maxBytes(userInfo);
+        long length = headers.getContentLength();
+        if (userLimit > 0 && length > userLimit) {
+            metrics.error("bad_request");
+            return text(HttpStatus.CONTENT_TOO_LARGE,
+                    "Upload de " + length + " bytes excede o limite de " + userLimit + " bytes", true);
+        }
+
+        Upload upload = new Upload(expected, userLimit > 0 ? Math.min(userLimit, maxFileBytes) : maxFileBytes,
+                userInfo.username());
+        long start = System.nanoTime();
+        metrics.uploadStarted();
+        return request.bodyToFlux(PartEvent.class)
+                .windowUntil(PartEvent::isLast)
+                .concatMap(upload::part)
+                .then(Mono.defer(() -> upload.finish(userInfo)))
+                .onErrorResume(this::failed)
+                // antes de a resposta seguir; o doFinally cobre o cliente que desconectou
+                .doOnSuccess(response -> upload.finished(start))
+                .doFinally(signal -> upload.finished(start));
+    }
+
+    private Mono<ServerResponse> failed(Throwable e) {
+        if (e instanceof DataBufferLimitException || e instanceof CodecException) {
+            metrics.error("bad_request");
+        } else {
+            metrics.error(e);
+        }
+        if (e instanceof UnsupportedVideoFormatException) {
+            // o resto do corpo não será lido: fechar evita que o cliente continue enviando
+            return text(HttpStatus.UNSUPPORTED_MEDIA_TYPE, e.getMessage(), true);
+        }
+        if (e instanceof DataBufferLimitException) {
+            return text(HttpStatus.CONTENT_TOO_LARGE, e.getMessage(), true);
+        }
+        if (e instanceof ChecksumMismatchException || e instanceof IllegalArgumentException) {
+            return text(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+        if (e instanceof CodecException) {
+            return text(HttpStatus.BAD_REQUEST, "Corpo multipart inválido: " + e.getMessage(), true);
+        }
+        if (e instanceof DependencyUnavailableException unavailable) {
+            return retryLater(HttpStatus.SERVICE_UNAVAILABLE, unavailable.getRetryAfterSeconds(),
+                    unavailable.getMessage());
+        }
+        return text(HttpStatus.INTERNAL_SERVER_ERROR, "Erro ao fazer upload do vídeo: " + e.getMessage());
+    }
+
+    private static Mono<ServerResponse> retryLater(HttpStatus status, long retryAfterSeconds, String body) {
+        return ServerResponse.status(status)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds))
+                .header(HttpHeaders.CONNECTION, "close")
+                .contentType(MediaType.TEXT_PLAIN)
+                .bodyValue(body);
+    }
+
+    private static Mono<ServerResponse> text(HttpStatus status, String body) {
+        return text(status, body, false);
+    }
+
+    private static Mono<ServerResponse> text(HttpStatus status, String body, boolean close) {
+        ServerResponse.BodyBuilder response = ServerResponse.status(status).contentType(MediaType.TEXT_PLAIN);
+        if (close) {
+            response.header(HttpHeaders.CONNECTION, "close");
+        }
+        return response.bodyValue(body);
+    }
+
+    /**
+     * Estado de um upload: os campos já recebidos e o vídeo gravado.
+     */
+    private final class Upload {
+
+        private final ExpectedChecksums expected;
+        private final long maxBytes;
+        private final String owner;
+        private String title;
+        private String description;
+        private StoredVideo stored;
+        private boolean fileSeen;
+        private long bytes;
+        private boolean succeeded;
+        private boolean finished;
+
+        private Upload(ExpectedChecksums expected, long maxBytes, String owner) {
+            this.expected = expected;
+            this.maxBytes = maxBytes;
+            this.owner = owner;
+        }
+
+        Mono<Void> part(Flux<PartEvent> events) {
+            return events.switchOnFirst((signal, part) -> {
+                PartEvent first = signal.get();
+                if (first instanceof FilePartEvent file && "file".equals(file.name()) && !fileSeen) {
+                    fileSeen = true;
+                    if (title == null || title.isBlank()) {
+                        return Mono.error(new IllegalArgumentException("Campo 'title' deve vir antes do arquivo"));
+                    }
+                    Flux<ByteBuffer> content = part.concatMapIterable(event -> buffers(event.content()));
+                    return videoStorageService.uploadVideo(content, file.filename(), expected, owner)
+                            .doOnNext(video -> stored = video);
+                }
+                if (first instanceof FormPartEvent form) {
+                    if ("title".equals(form.name())) {
+                        title = form.value();
+                    } else if ("description".equals(form.name())) {
+                        description = form.value();
+                    }
+                }
+                // campos e arquivos que não interessam são descartados
+                return part.doOnNext(event -> DataBufferUtils.release(event.content())).then();
+            }).then();
+        }
+
+        Mono<ServerResponse> finish(UserInfo userInfo) {
+            if (stored == null) {
+                return text(HttpStatus.BAD_REQUEST, "Arquivo de vídeo é obrigatório");
+            }
+            String key = stored.key();
+            String url = videoStorageService.getVideoUrl(key);
+
+            // a publicação espera a confirmação do SQS (ou o fsync do outbox): fora do event loop
+            return Mono.fromRunnable(() -> videoQueueService.sendVideoMessage(key, url, title, description,
+                            userInfo.username(), userInfo.email(), stored.attributes()))
+                    .subscribeOn(Schedulers.boundedElastic())
+                    .then(Mono.defer(() -> {
+                        succeeded = true;
+                        Map<String, Object> response = new HashMap<>();
+                        response.put("message", "Upload realizado com sucesso");
+                        response.put("s3Key", key);
+                        response.put("s3Url", url);
+                        response.put("deduplicated", stored.deduplicated());
+                        return ServerResponse.status(HttpStatus.CREATED).contentType(MediaType.APPLICATION_JSON)
+                                .bodyValue(response);
+                    }));
+        }
+
+        synchronized void finished(long start) {
+            if (finished) {
+                return;
+            }
+            finished = true;
+            metrics.addInFlightBytes(-bytes);
+            metrics.uploadFinished(bytes, succeeded);
+            metrics.record(Stage.REQUEST, System.nanoTime() - start);
+        }
+
+        /**
+         * Views do conteúdo do buffer, sem cópia. O buffer é liberado logo em seguida, antes de o S3
+         * terminar de usá-lo: isso só é seguro porque o {@link ReactiveUploadServer} lê em memória de
+         * heap sem pool, que o GC recolhe quando o SDK solta a última referência. Um buffer de outra
+         * origem é copiado.
+         */
+        private List<ByteBuffer> buffers(DataBuffer buffer) {
+            try {
+                int size = buffer.readableByteCount();
+                bytes += size;
+                metrics.addInFlightBytes(size);
+                if (bytes > maxBytes) {
+                    throw new DataBufferLimitException("Arquivo excede o limite de " + maxBytes + " bytes");
+                }
+                List<ByteBuffer> views = new ArrayList<>(1);
+                try (DataBuffer.ByteBufferIterator iterator = buffer.readableByteBuffers()) {
+                    while (iterator.hasNext()) {
+                        ByteBuffer view = iterator.next();
+                        views.add(view.hasArray() ? view : copy(view));
+                    }
+                }
+                return views;
+            } finally {
+                DataBufferUtils.release(buffer);
+            }
+        }
+    }
+
+    private static ByteBuffer copy(ByteBuffer direct) {
+        ByteBuffer heap = ByteBuffer.allocate(direct.remaining());
+        heap.put(direct.duplicate()).flip();
+        return heap;
+    }
+}
@@ -0,0 +1,123 @@
+package com.videoUploaderService.controller;
+
+import java.io.InputStream;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.videoUploaderService.service.CompletedUpload;
+import com.videoUploaderService.service.ResumableUploadService;
+import com.videoUploaderService.service.TokenService;
+import com.videoUploaderService.service.UploadMetrics;
+import com.videoUploaderService.service.UploadSession;
+import com.videoUploaderService.service.UploadSession.UploadedPart;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.constraints.NotBlank;
+
+/**
+ * Upload retomável: inicia uma sessão, recebe chunks numerados (cada um pode ser reenviado),
+ * informa quais chunks já estão armazenados e conclui o upload.
+ */
+@RestController
+@RequestMapping("/videos/uploads")
+@Validated
+public class ResumableUploadController {
+
+    private final ResumableUploadService resumableUploadService;
+    private final SessionRequestHandler requests;
+
+    public ResumableUploadController(ResumableUploadService resumableUploadService, TokenService tokenService,
+            UploadMetrics metrics) {
+        this.resumableUploadService = resumableUploadService;
+        this.requests = new SessionRequestHandler(tokenService, metrics);
+    }
+
+    @PostMapping
+    public ResponseEntity<?> initiate(
+            @RequestHeader(value = "auth-token", required = false) String tokenHeader,
+            @RequestParam("title") @NotBlank String title,
+            @RequestParam(value = "description", required = false) String description,
+            @RequestParam(value = "filename", required = false) String filename) {
+
+        return requests.handle(tokenHeader, userInfo -> {
+            UploadSession session = resumableUploadService.initiate(filename, title, description, userInfo);
+
+            Map<String, Object> response = new HashMap<>();
+            response.put("uploadId", session.uploadId());
+            response.put("s3Key", session.s3Key());
+            return ResponseEntity.status(HttpStatus.CREATED).body(response);
+        });
+    }
+
+    @PutMapping("/{uploadId}/parts/{partNumber}")
+    public ResponseEntity<?> uploadPart(
+            @RequestHeader(value = "auth-token", required = false) String tokenHeader,
+            @PathVariable("uploadId") String uploadId,
+            @PathVariable("partNumber") int partNumber,
+            HttpServletRequest request) {
+
+        return requests.handle(tokenHeader, userInfo -> {
+            UploadedPart part;
+            try (InputStream in = request.getInputStream()) {
+                part = resumableUploadService.uploadPart(uploadId, partNumber, in, request.getContentLengthLong(), userInfo);
+            }
+            return ResponseEntity.ok(part);
+        });
+    }
+
+    @GetMapping("/{uploadId}/parts")
+    public ResponseEntity<?> listParts(
+            @RequestHeader(value = "auth-token", required = false) String tokenHeader,
+            @PathVariable("uploadId") String uploadId) {
+
+        return requests.handle(tokenHeader, userInfo -> {
+            List<UploadedPart> parts = resumableUploadService.listParts(uploadId, userInfo);
+
+            Map<String, Object> response = new HashMap<>();
+            response.put("uploadId", uploadId);
+            response.put("parts", parts);
+            return ResponseEntity.ok(response);
+        });
+    }
+
+    @PostMapping("/{uploadId}/complete")
+    public ResponseEntity<?> complete(
+            @RequestHeader(value = "auth-token", required = false) String tokenHeader,
+            @PathVariable("uploadId") String uploadId) {
+
+        return requests.handle(tokenHeader, userInfo -> {
+            CompletedUpload completed = resumableUploadService.complete(uploadId, userInfo);
+
+            Map<String, Object> response = new HashMap<>();
+            response.put("message", "Upload realizado com sucesso");
+            response.put("s3Key", completed.s3Key());
+            response.put("s3Url", completed.s3Url());
+            return ResponseEntity.status(HttpStatus.CREATED).body(response);
+        });
+    }
+
+    @DeleteMapping("/{uploadId}")
+    public ResponseEntity<?> abort(
+            @RequestHeader(value = "auth-token", required = false) String tokenHeader,
+            @PathVariable("uploadId") String uploadId) {
+
+        return requests.handle(tokenHeader, userInfo -> {
+            resumableUploadService.abort(uploadId, userInfo);
+            return ResponseEntity.noContent().build();
+        });
+    }
+}
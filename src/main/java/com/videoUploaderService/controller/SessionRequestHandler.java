@@ -0,0 +1,94 @@
+package com.videoUploaderService.controller;
+
+import java.io.IOException;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import com.videoUploaderService.service.DependencyUnavailableException;
+import com.videoUploaderService.service.TokenService;
+import com.videoUploaderService.service.TokenService.UserInfo;
+import com.videoUploaderService.service.UploadMetrics;
+import com.videoUploaderService.service.UploadMetrics.Stage;
+import com.videoUploaderService.service.UploadSessionNotFoundException;
+
+/**
+ * Tratamento comum dos endpoints baseados em sessão de upload: valida o auth-token
+ * e traduz as falhas da sessão para o status HTTP correspondente.
+ */
+class SessionRequestHandler {
+
+    /**
+     * {@code Retry-After} de uma falha ao publicar a mensagem, que não traz uma sugestão própria.
+     */
+    static final long QUEUE_RETRY_AFTER_SECONDS = 5;
+
+    private final TokenService tokenService;
+    private final UploadMetrics metrics;
+
+    SessionRequestHandler(TokenService tokenService, UploadMetrics metrics) {
+        this.tokenService = tokenService;
+        this.metrics = metrics;
+    }
+
+    ResponseEntity<?> handle(String tokenHeader, SessionAction action) {
+        if (tokenHeader == null || tokenHeader.isBlank()) {
+            metrics.error("missing_token");
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                    .body("Acesso negado: Header 'auth-token' não foi recebido do Gateway.");
+        }
+
+        UserInfo userInfo;
+        try {
+            userInfo = metrics.time(Stage.JWT, () -> tokenService.decodeToken(tokenHeader));
+        } catch (RuntimeException e) {
+            metrics.error(e);
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                    .body("Token inválido: " + e.getMessage());
+        }
+
+        try {
+            return action.execute(userInfo);
+
+        } catch (DependencyUnavailableException e) {
+            // circuito do S3 ou do SQS aberto
+            metrics.error(e);
+            return unavailable(e.getRetryAfterSeconds(), e.getMessage());
+
+        } catch (UploadSessionNotFoundException e) {
+            metrics.error(e);
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+
+        } catch (IllegalArgumentException e) {
+            metrics.error(e);
+            return ResponseEntity.badRequest().body(e.getMessage());
+
+        } catch (IllegalStateException e) {
+            metrics.error(e);
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
+
+        } catch (IOException e) {
+            metrics.error(e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body("Erro ao fazer upload do vídeo: " + e.getMessage());
+
+        } catch (RuntimeException e) {
+            // o token já foi validado: é a fila recusando a mensagem, e a conclusão pode ser repetida
+            metrics.error(e);
+            return unavailable(QUEUE_RETRY_AFTER_SECONDS, "Falha ao publicar o vídeo: " + e.getMessage());
+        }
+    }
+
+    private static ResponseEntity<?> unavailable(long retryAfterSeconds, String message) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds))
+                .header(HttpHeaders.CONNECTION, "close")
+                .body(message);
+    }
+
+    @FunctionalInterface
+    interface SessionAction {
+        ResponseEntity<?> execute(UserInfo userInfo) throws IOException;
+    }
+}
@@ -0,0 +1,266 @@
+package com.videoUploaderService.controller;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.videoUploaderService.service.DependencyGuard;
+import com.videoUploaderService.service.DependencyGuards;
+import com.videoUploaderService.service.UploadMetrics;
+import com.videoUploaderService.service.UploadSpoolService;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Controle de admissão dos uploads. Antes de o corpo ser lido, verifica três limites: uploads
+ * simultâneos, bytes em andamento (reservados pelo {@code Content-Length}) e chamadas pendentes ao
+ * S3/SQS, incluindo o backlog do spool. Acima de qualquer um deles a requisição recebe {@code 429}
+ * com {@code Retry-After}, em vez de ocupar uma thread, disco do spool e conexões com a AWS.
+ *
+ * <p>O {@code Retry-After} é o excesso dividido pela vazão recente (média exponencial de uploads,
+ * bytes ou chamadas concluídas por segundo). Um limite igual a 0 desliga a verificação.
+ *
+ * <p>Com o circuit breaker do S3 ou do SQS aberto ({@link DependencyGuards}), o upload receberia
+ * {@code 503} depois de enviar o vídeo; ele é recusado antes, com {@code 503} e o tempo que falta para
+ * o circuito testar a dependência de novo.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+public class UploadAdmissionFilter extends OncePerRequestFilter {
+
+    enum Resource {
+        UPLOADS, BYTES, PENDING;
+
+        String tag() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+    }
+
+    private final UploadMetrics metrics;
+    private final UploadSpoolService uploadSpoolService;
+    private final MeterRegistry registry;
+    private final DependencyGuards guards;
+    private final int maxConcurrentUploads;
+    private final long maxInFlightBytes;
+    private final int maxPendingOperations;
+    private final long unknownLengthBytes;
+    private final int maxRetryAfterSeconds;
+
+    private final AtomicInteger uploads = new AtomicInteger();
+    private final AtomicLong bytes = new AtomicLong();
+    private final Rate completedUploads = new Rate();
+    private final Rate completedBytes = new Rate();
+    private final Rate completedOperations = new Rate();
+    private final AtomicLong lastCompletedOperations = new AtomicLong();
+
+    public UploadAdmissionFilter(UploadMetrics metrics,
+                                 UploadSpoolService uploadSpoolService,
+                                 MeterRegistry registry,
+                                 DependencyGuards guards,
+                                 @Value("${upload.admission.maxConcurrentUploads:200}") int maxConcurrentUploads,
+                                 @Value("${upload.admission.maxInFlightBytes:10737418240}") long maxInFlightBytes,
+                                 @Value("${upload.admission.maxPendingOperations:1000}") int maxPendingOperations,
+                                 @Value("${upload.admission.unknownLengthBytes:524288000}") long unknownLengthBytes,
+                                 @Value("${upload.admission.maxRetryAfterSeconds:60}") int maxRetryAfterSeconds) {
+        this.metrics = metrics;
+        this.uploadSpoolService = uploadSpoolService;
+        this.registry = registry;
+        this.guards = guards;
+        this.maxConcurrentUploads = maxConcurrentUploads;
+        this.maxInFlightBytes = maxInFlightBytes;
+        this.maxPendingOperations = maxPendingOperations;
+        this.unknownLengthBytes = unknownLengthBytes;
+        this.maxRetryAfterSeconds = maxRetryAfterSeconds;
+
+        gauges(Resource.UPLOADS, maxConcurrentUploads, uploads::get);
+        gauges(Resource.BYTES, maxInFlightBytes, bytes::get);
+        gauges(Resource.PENDING, maxPendingOperations, this::pendingOperations);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !UploadMetricsFilter.isUploadRequest(request);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        long length = request.getContentLengthLong();
+        // corpo chunked: reserva o tamanho máximo esperado de um vídeo
+        long reserved = length >= 0 ? length : unknownLengthBytes;
+        sampleCompletedOperations();
+
+        DependencyGuard unavailable = guards.unavailableForUploads();
+        if (unavailable != null) {
+            registry.counter("video.upload.admission.rejected", "resource", "dependency").increment();
+            long retryAfter = Math.max(1, Math.min(unavailable.retryAfterSeconds(), maxRetryAfterSeconds));
+            reject(response, HttpStatus.SERVICE_UNAVAILABLE, retryAfter,
+                    "Serviço indisponível (" + unavailable.name() + " com falhas)");
+            return;
+        }
+
+        Resource exceeded = admit(reserved);
+        if (exceeded != null) {
+            reject(response, exceeded, reserved);
+            return;
+        }
+
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            uploads.decrementAndGet();
+            bytes.addAndGet(-reserved);
+            long now = System.nanoTime();
+            completedUploads.add(1, now);
+            completedBytes.add(reserved, now);
+        }
+    }
+
+    /**
+     * Reserva a vaga e os bytes. Retorna o recurso esgotado, ou {@code null} se o upload foi admitido.
+     */
+    Resource admit(long reserved) {
+        if (maxPendingOperations > 0 && pendingOperations() >= maxPendingOperations) {
+            return Resource.PENDING;
+        }
+        if (uploads.incrementAndGet() > maxConcurrentUploads && maxConcurrentUploads > 0) {
+            uploads.decrementAndGet();
+            return Resource.UPLOADS;
+        }
+        long total = bytes.addAndGet(reserved);
+        // um vídeo maior que o limite ainda passa quando é o único em andamento
+        if (maxInFlightBytes > 0 && total > maxInFlightBytes && total != reserved) {
+            bytes.addAndGet(-reserved);
+            uploads.decrementAndGet();
+            return Resource.BYTES;
+        }
+        return null;
+    }
+
+    long retryAfterSeconds(Resource resource, long reserved) {
+        long now = System.nanoTime();
+        double excess;
+        double perSecond;
+        switch (resource) {
+            case UPLOADS -> {
+                excess = uploads.get() - maxConcurrentUploads + 1;
+                perSecond = completedUploads.perSecond(now);
+            }
+            case BYTES -> {
+                excess = bytes.get() + reserved - maxInFlightBytes;
+                perSecond = completedBytes.perSecond(now);
+            }
+            default -> {
+                excess = pendingOperations() - maxPendingOperations + 1;
+                perSecond = completedOperations.perSecond(now);
+            }
+        }
+        if (perSecond <= 0) {
+            // nada terminou recentemente: não há vazão para estimar a espera
+            return maxRetryAfterSeconds;
+        }
+        long seconds = (long) Math.ceil(Math.max(excess, 1) / perSecond);
+        return Math.max(1, Math.min(seconds, maxRetryAfterSeconds));
+    }
+
+    private void reject(HttpServletResponse response, Resource resource, long reserved) throws IOException {
+        long retryAfter = retryAfterSeconds(resource, reserved);
+        registry.counter("video.upload.admission.rejected", "resource", resource.tag()).increment();
+        tooManyRequests(response, retryAfter, "Servidor ocupado (" + description(resource) + ")");
+    }
+
+    /**
+     * Resposta {@code 429} comum aos filtros de upload; também usada pelo {@link UserRateLimitFilter}.
+     */
+    static void tooManyRequests(HttpServletResponse response, long retryAfter, String reason) throws IOException {
+        reject(response, HttpStatus.TOO_MANY_REQUESTS, retryAfter, reason);
+    }
+
+    private static void reject(HttpServletResponse response, HttpStatus status, long retryAfter, String reason)
+            throws IOException {
+        response.setStatus(status.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfter));
+        // o corpo não será lido: fechar evita que o cliente continue enviando o vídeo
+        response.setHeader(HttpHeaders.CONNECTION, "close");
+        response.setContentType(MediaType.TEXT_PLAIN_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.getWriter().write(reason + "; tente novamente em " + retryAfter + " s");
+    }
+
+    private int pendingOperations() {
+        return metrics.pendingOperations() + uploadSpoolService.pending();
+    }
+
+    private static String description(Resource resource) {
+        return switch (resource) {
+            case UPLOADS -> "limite de uploads simultâneos atingido";
+            case BYTES -> "limite de bytes em andamento atingido";
+            case PENDING -> "envios pendentes ao S3/SQS acima do limite";
+        };
+    }
+
+    private void gauges(Resource resource, long limit, Supplier<Number> used) {
+        Gauge.builder("video.upload.admission.limit", () -> limit)
+                .description("Limite de admissão de uploads (0 = sem limite)")
+                .tag("resource", resource.tag())
+                .register(registry);
+        Gauge.builder("video.upload.admission.used", used)
+                .description("Uso atual de cada limite de admissão")
+                .tag("resource", resource.tag())
+                .register(registry);
+    }
+
+    // a vazão das chamadas ao S3/SQS é amostrada a cada upload, pelo contador do UploadMetrics
+    private void sampleCompletedOperations() {
+        long total = metrics.completedOperations();
+        long previous = lastCompletedOperations.getAndSet(total);
+        if (total > previous) {
+            completedOperations.add(total - previous, System.nanoTime());
+        }
+    }
+
+    /**
+     * Eventos por segundo, com média exponencial de constante de tempo de 10 s.
+     */
+    static final class Rate {
+
+        private static final double TAU_SECONDS = 10;
+
+        private double perSecond;
+        private long last = System.nanoTime();
+
+        synchronized void add(double amount, long now) {
+            decay(now);
+            perSecond += amount / TAU_SECONDS;
+        }
+
+        synchronized double perSecond(long now) {
+            decay(now);
+            return perSecond;
+        }
+
+        private void decay(long now) {
+            if (now > last) {
+                perSecond *= Math.exp(-(now - last) / (TAU_SECONDS * 1e9));
+                last = now;
+            }
+        }
+    }
+}
@@ -0,0 +1,181 @@
+package com.videoUploaderService.controller;
+
+import java.io.IOException;
+
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.videoUploaderService.service.UploadMetrics;
+import com.videoUploaderService.service.UploadMetrics.Stage;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Mede as requisições que trazem bytes de vídeo (POST /videos, POST /videos/stream, POST /videos/batch
+ * e PUT /videos/uploads/{id}/parts/{n}): tempo ponta a ponta, tempo recebendo o corpo do cliente,
+ * uploads/bytes em andamento e bytes por resultado.
+ */
+@Component
+public class UploadMetricsFilter extends OncePerRequestFilter {
+
+    private final UploadMetrics metrics;
+
+    public UploadMetricsFilter(UploadMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !isUploadRequest(request);
+    }
+
+    /**
+     * Requisições que trazem bytes de vídeo no corpo; usado também pelo {@link UploadAdmissionFilter}.
+     */
+    static boolean isUploadRequest(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        if ("PUT".equals(request.getMethod())) {
+            return path.startsWith("/videos/uploads/");
+        }
+        return "POST".equals(request.getMethod())
+                && ("/videos".equals(path) || "/videos/stream".equals(path) || "/videos/batch".equals(path));
+    }
+
+    /**
+     * Lote de vídeos, lido parte a parte pelo controller em vez de pelo Tomcat.
+     */
+    static boolean isBatchRequest(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return "POST".equals(request.getMethod()) && "/videos/batch".equals(path);
+    }
+
+    /**
+     * Multipart que o Tomcat lê inteiro antes do controller, sem passar pelo {@code getInputStream}.
+     */
+    static boolean isBufferedMultipart(HttpServletRequest request) {
+        return isMultipart(request) && !isBatchRequest(request);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        long start = System.nanoTime();
+        metrics.uploadStarted();
+        MeteredRequest metered = new MeteredRequest(request);
+        boolean failed = true;
+        try {
+            if (isBufferedMultipart(request)) {
+                // o Spring só lê o multipart depois dos filtros; lendo aqui separamos o tempo de recepção
+                long receiveStart = System.nanoTime();
+                try {
+                    request.getParts();
+                } catch (IOException | ServletException | IllegalStateException e) {
+                    // o Spring repete a leitura e responde com o erro adequado
+                }
+                // somado ao tempo de leitura do wrapper: uma única amostra de recepção por requisição
+                metered.readNanos += System.nanoTime() - receiveStart;
+                metered.received(Math.max(request.getContentLengthLong(), 0));
+            }
+
+            chain.doFilter(metered, response);
+            failed = response.getStatus() >= 400;
+        } finally {
+            long bytes = metered.bytes;
+            if (metered.readNanos > 0) {
+                metrics.record(Stage.RECEIVE, metered.readNanos);
+            }
+            metrics.addInFlightBytes(-bytes);
+            metrics.uploadFinished(bytes, !failed);
+            metrics.record(Stage.REQUEST, System.nanoTime() - start);
+        }
+    }
+
+    static boolean isMultipart(HttpServletRequest request) {
+        String contentType = request.getContentType();
+        return contentType != null && contentType.toLowerCase().startsWith("multipart/");
+    }
+
+    /**
+     * Conta os bytes lidos do corpo e o tempo bloqueado esperando o cliente.
+     */
+    private final class MeteredRequest extends HttpServletRequestWrapper {
+
+        private long bytes;
+        private long readNanos;
+        private ServletInputStream stream;
+
+        private MeteredRequest(HttpServletRequest request) {
+            super(request);
+        }
+
+        private void received(long count) {
+            bytes += count;
+            metrics.addInFlightBytes(count);
+        }
+
+        @Override
+        public ServletInputStream getInputStream() throws IOException {
+            if (stream == null) {
+                stream = new MeteredInputStream(super.getInputStream());
+            }
+            return stream;
+        }
+
+        private final class MeteredInputStream extends ServletInputStream {
+
+            private final ServletInputStream delegate;
+
+            private MeteredInputStream(ServletInputStream delegate) {
+                this.delegate = delegate;
+            }
+
+            @Override
+            public int read() throws IOException {
+                long start = System.nanoTime();
+                int b = delegate.read();
+                readNanos += System.nanoTime() - start;
+                if (b >= 0) {
+                    received(1);
+                }
+                return b;
+            }
+
+            @Override
+            public int read(byte[] buffer, int offset, int length) throws IOException {
+                long start = System.nanoTime();
+                int n = delegate.read(buffer, offset, length);
+                readNanos += System.nanoTime() - start;
+                if (n > 0) {
+                    received(n);
+                }
+                return n;
+            }
+
+            @Override
+            public boolean isFinished() {
+                return delegate.isFinished();
+            }
+
+            @Override
+            public boolean isReady() {
+                return delegate.isReady();
+            }
+
+            @Override
+            public void setReadListener(ReadListener readListener) {
+                delegate.setReadListener(readListener);
+            }
+
+            @Override
+            public void close() throws IOException {
+                delegate.close();
+            }
+        }
+    }
+}
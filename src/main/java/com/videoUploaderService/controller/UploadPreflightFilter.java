@@ -0,0 +1,117 @@
+package com.videoUploaderService.controller;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.videoUploaderService.service.TokenService;
+import com.videoUploaderService.service.TokenService.UserInfo;
+import com.videoUploaderService.service.UploadLimits;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Recusa um upload só pelos cabeçalhos, antes de o corpo ser lido: sem token ou com token inválido
+ * ({@code 401}), ou com {@code Content-Length} acima do limite do usuário ({@link UploadLimits}) ou do
+ * {@code max-request-size} do multipart ({@code 413}). Com o Tomcat em
+ * {@code continueResponseTiming=onRead}, um cliente que mandou {@code Expect: 100-continue} recebe a
+ * resposta final sem ter enviado o vídeo.
+ *
+ * <p>Corpo chunked não tem tamanho declarado e segue para os limites aplicados na leitura (no
+ * {@code /videos/stream}, o {@link LimitedInputStream}). O lote ({@code POST /videos/batch}) só passa
+ * pela verificação do token: o limite dele é por arquivo.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+public class UploadPreflightFilter extends OncePerRequestFilter {
+
+    private final TokenService tokenService;
+    private final UploadLimits limits;
+    private final MeterRegistry registry;
+    private final boolean enabled;
+    private final long maxRequestBytes;
+
+    public UploadPreflightFilter(TokenService tokenService, UploadLimits limits, MeterRegistry registry,
+                                 @Value("${upload.preflight.enabled:true}") boolean enabled,
+                                 @Value("${spring.servlet.multipart.max-request-size:500MB}") DataSize maxRequestSize) {
+        this.tokenService = tokenService;
+        this.limits = limits;
+        this.registry = registry;
+        this.enabled = enabled;
+        this.maxRequestBytes = maxRequestSize.toBytes();
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled || !UploadMetricsFilter.isUploadRequest(request);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String token = request.getHeader("auth-token");
+        if (token == null || token.isBlank()) {
+            reject(response, HttpStatus.UNAUTHORIZED, "missing_token",
+                    "Acesso negado: Header 'auth-token' não foi recebido do Gateway.");
+            return;
+        }
+
+        UserInfo userInfo;
+        try {
+            // fica no cache do TokenService: o controller não verifica a assinatura de novo
+            userInfo = tokenService.decodeToken(token);
+        } catch (RuntimeException e) {
+            reject(response, HttpStatus.UNAUTHORIZED, "invalid_token", "Token inválido: " + e.getMessage());
+            return;
+        }
+
+        long length = request.getContentLengthLong();
+        long limit = maxBytes(request, userInfo);
+        if (length >= 0 && limit > 0 && length > limit) {
+            reject(response, HttpStatus.CONTENT_TOO_LARGE, "too_large",
+                    "Upload de " + length + " bytes excede o limite de " + limit + " bytes");
+            return;
+        }
+
+        chain.doFilter(request, response);
+    }
+
+    /**
+     * Maior {@code Content-Length} aceito na requisição, ou 0 se não há limite. O lote não tem um
+     * total: o {@link BatchUploadController} aplica o limite do usuário a cada arquivo.
+     */
+    long maxBytes(HttpServletRequest request, UserInfo userInfo) {
+        if (UploadMetricsFilter.isBatchRequest(request)) {
+            return 0;
+        }
+        long limit = limits.maxBytes(userInfo);
+        if (UploadMetricsFilter.isMultipart(request) && maxRequestBytes > 0) {
+            limit = limit > 0 ? Math.min(limit, maxRequestBytes) : maxRequestBytes;
+        }
+        return limit;
+    }
+
+    private void reject(HttpServletResponse response, HttpStatus status, String reason, String message)
+            throws IOException {
+        registry.counter("video.upload.preflight.rejected", "reason", reason).increment();
+        response.setStatus(status.value());
+        // o corpo não será lido: fechar evita que o cliente envie o vídeo depois da resposta
+        response.setHeader(HttpHeaders.CONNECTION, "close");
+        response.setContentType(MediaType.TEXT_PLAIN_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.getWriter().write(message);
+    }
+}
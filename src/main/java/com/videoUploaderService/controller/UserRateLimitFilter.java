@@ -0,0 +1,169 @@
+package com.videoUploaderService.controller;
+
+import java.io.IOException;
+
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.videoUploaderService.service.TokenService;
+import com.videoUploaderService.service.UserRateLimiter;
+import com.videoUploaderService.service.UserRateLimiter.Transfer;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Aplica o {@link UserRateLimiter} aos uploads, pelo {@code username} do auth-token. Acima do limite
+ * de requisições responde {@code 429} com {@code Retry-After}; dentro dele, cada leitura do corpo
+ * espera o necessário para o usuário ficar na sua taxa de bytes. O multipart, que a aplicação não lê
+ * aos poucos, é cobrado antes de seguir e recebe {@code 429} se a espera passar do limite.
+ *
+ * <p>Roda antes do controle de admissão, para que um usuário acima do limite não ocupe vagas dos
+ * demais. Sem token ou com token inválido a requisição já foi recusada pelo {@link UploadPreflightFilter};
+ * com ele desligado, segue e o controller responde {@code 401}.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 5)
+public class UserRateLimitFilter extends OncePerRequestFilter {
+
+    private final UserRateLimiter limiter;
+    private final TokenService tokenService;
+
+    public UserRateLimitFilter(UserRateLimiter limiter, TokenService tokenService) {
+        this.limiter = limiter;
+        this.tokenService = tokenService;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !limiter.isEnabled() || !UploadMetricsFilter.isUploadRequest(request);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String username = username(request);
+        if (username == null) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        long wait = limiter.tryAcquireRequest(username);
+        if (wait > 0) {
+            UploadAdmissionFilter.tooManyRequests(response, retryAfterSeconds(wait),
+                    "Limite de requisições do usuário atingido");
+            return;
+        }
+
+        try (Transfer transfer = limiter.startTransfer(username)) {
+            if (UploadMetricsFilter.isBufferedMultipart(request)) {
+                // o Tomcat lê as partes sem passar pelo getInputStream: o corpo é cobrado de uma vez, e
+                // uma dívida longa demais vira 429 em vez de prender a thread antes da leitura
+                long debt = transfer.reserveUpFront(Math.max(request.getContentLengthLong(), 0));
+                if (debt > 0) {
+                    UploadAdmissionFilter.tooManyRequests(response, retryAfterSeconds(debt),
+                            "Limite de banda do usuário atingido");
+                    return;
+                }
+                chain.doFilter(request, response);
+            } else {
+                chain.doFilter(new ThrottledRequest(request, transfer), response);
+            }
+        }
+    }
+
+    static long retryAfterSeconds(long waitNanos) {
+        return Math.max(1, (waitNanos + 999_999_999L) / 1_000_000_000L);
+    }
+
+    private String username(HttpServletRequest request) {
+        String token = request.getHeader("auth-token");
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            // o TokenService guarda o token verificado: a chamada do controller cai no cache
+            return tokenService.decodeToken(token).username();
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Passa cada leitura do corpo pelo limite de bytes do usuário.
+     */
+    private static final class ThrottledRequest extends HttpServletRequestWrapper {
+
+        private final Transfer transfer;
+        private ServletInputStream stream;
+
+        private ThrottledRequest(HttpServletRequest request, Transfer transfer) {
+            super(request);
+            this.transfer = transfer;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() throws IOException {
+            if (stream == null) {
+                stream = new ThrottledInputStream(super.getInputStream(), transfer);
+            }
+            return stream;
+        }
+    }
+
+    private static final class ThrottledInputStream extends ServletInputStream {
+
+        private final ServletInputStream delegate;
+        private final Transfer transfer;
+
+        private ThrottledInputStream(ServletInputStream delegate, Transfer transfer) {
+            this.delegate = delegate;
+            this.transfer = transfer;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = delegate.read();
+            if (b >= 0) {
+                transfer.throttle(1);
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int n = delegate.read(buffer, offset, length);
+            if (n > 0) {
+                transfer.throttle(n);
+            }
+            return n;
+        }
+
+        @Override
+        public boolean isFinished() {
+            return delegate.isFinished();
+        }
+
+        @Override
+        public boolean isReady() {
+            return delegate.isReady();
+        }
+
+        @Override
+        public void setReadListener(ReadListener readListener) {
+            delegate.setReadListener(readListener);
+        }
+
+        @Override
+        public void close() throws IOException {
+            delegate.close();
+        }
+    }
+}
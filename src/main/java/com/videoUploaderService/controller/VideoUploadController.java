@@ -1,12 +1,17 @@
 package com.videoUploaderService.controller;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Optional;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -14,11 +19,23 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.multipart.MultipartFile;
 
+import com.videoUploaderService.controller.MultipartStream.PartTooLargeException;
+import com.videoUploaderService.service.ChecksumMismatchException;
+import com.videoUploaderService.service.DependencyUnavailableException;
+import com.videoUploaderService.service.ExpectedChecksums;
+import com.videoUploaderService.service.SpooledUpload;
+import com.videoUploaderService.service.StoredVideo;
 import com.videoUploaderService.service.TokenService;
 import com.videoUploaderService.service.TokenService.UserInfo;
+import com.videoUploaderService.service.UnsupportedVideoFormatException;
+import com.videoUploaderService.service.UploadLimits;
+import com.videoUploaderService.service.UploadMetrics;
+import com.videoUploaderService.service.UploadMetrics.Stage;
+import com.videoUploaderService.service.UploadSpoolService;
 import com.videoUploaderService.service.VideoQueueService;
 import com.videoUploaderService.service.VideoStorageService;
 
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.constraints.NotBlank;
 
 @RestController
@@ -29,12 +46,19 @@ public class VideoUploadController {
     private final VideoStorageService videoStorageService;
     private final VideoQueueService videoQueueService;
     private final TokenService tokenService;
+    private final UploadSpoolService uploadSpoolService;
+    private final UploadMetrics metrics;
+    private final UploadLimits limits;
 
     public VideoUploadController(VideoStorageService videoStorageService, VideoQueueService videoQueueService,
-            TokenService tokenService) {
+            TokenService tokenService, UploadSpoolService uploadSpoolService, UploadMetrics metrics,
+            UploadLimits limits) {
         this.videoStorageService = videoStorageService;
         this.videoQueueService = videoQueueService;
         this.tokenService = tokenService;
+        this.uploadSpoolService = uploadSpoolService;
+        this.metrics = metrics;
+        this.limits = limits;
     }
 
     @PostMapping
@@ -45,10 +69,14 @@ public class VideoUploadController {
             
             @RequestParam("file") MultipartFile file,
             @RequestParam("title") @NotBlank String title,
-            @RequestParam(value = "description", required = false) String description) {
+            @RequestParam(value = "description", required = false) String description,
+            // checksums opcionais do cliente, no formato do S3 (Base64)
+            @RequestHeader(value = ExpectedChecksums.CRC32C_HEADER, required = false) String checksumCrc32c,
+            @RequestHeader(value = ExpectedChecksums.SHA256_HEADER, required = false) String checksumSha256) {
 
         // 2. Validação Manual do Header (Para evitar erro 400 genérico do Spring)
         if (tokenHeader == null || tokenHeader.isBlank()) {
+            metrics.error("missing_token");
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
                     .body("Acesso negado: Header 'auth-token' não foi recebido do Gateway.");
         }
@@ -57,30 +85,228 @@ public class VideoUploadController {
             return ResponseEntity.badRequest().body("Arquivo de vídeo é obrigatório");
         }
 
+        ExpectedChecksums expected;
+        try {
+            expected = ExpectedChecksums.fromHeaders(checksumCrc32c, checksumSha256);
+        } catch (IllegalArgumentException e) {
+            metrics.error(e);
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+
         try {
             // 3. Decodifica o token (O TokenService já remove o 'Bearer ' se necessário)
-            UserInfo userInfo = tokenService.decodeToken(tokenHeader);
-            
-            String key = videoStorageService.uploadVideo(file);
-            String url = videoStorageService.getVideoUrl(key);
+            UserInfo userInfo = metrics.time(Stage.JWT, () -> tokenService.decodeToken(tokenHeader));
+
+            // 4. Modo assíncrono: grava no spool local e responde sem esperar S3/SQS
+            if (uploadSpoolService.isEnabled()) {
+                String uploadId;
+                try (InputStream in = file.getInputStream()) {
+                    uploadId = uploadSpoolService.spool(in, file.getOriginalFilename(), title, description, userInfo,
+                            expected);
+                }
+                return accepted(uploadId);
+            }
 
-            videoQueueService.sendVideoMessage(key, url, title, description, userInfo.username(), userInfo.email());
+            StoredVideo stored = videoStorageService.uploadVideo(file, expected, userInfo.username());
 
-            Map<String, Object> response = new HashMap<>();
-            response.put("message", "Upload realizado com sucesso");
-            response.put("s3Key", key);
-            response.put("s3Url", url);
+            return uploaded(stored, title, description, userInfo);
 
-            return ResponseEntity.status(HttpStatus.CREATED).body(response);
+        } catch (UnsupportedVideoFormatException e) {
+            metrics.error(e);
+            return unsupportedFormat(e);
+
+        } catch (ChecksumMismatchException e) {
+            metrics.error(e);
+            return ResponseEntity.badRequest().body(e.getMessage());
+
+        } catch (DependencyUnavailableException e) {
+            metrics.error(e);
+            return unavailable(e);
 
         } catch (IOException e) {
+            metrics.error(e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .body("Erro ao fazer upload do vídeo: " + e.getMessage());
 
         } catch (RuntimeException e) {
             // Captura erros de validação do JWT (ex: expirado, assinatura inválida)
+            metrics.error(e);
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
                     .body("Token inválido: " + e.getMessage());
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Upload com o vídeo como corpo bruto da requisição (application/octet-stream).
+     * O corpo é lido uma única vez e enviado ao S3 em partes enquanto chega, sem spool em disco.
+     * O limite do usuário vale também para corpo chunked: é conferido na leitura e responde {@code 413}.
+     */
+    @PostMapping("/stream")
+    public ResponseEntity<?> uploadVideoStream(
+            @RequestHeader(value = "auth-token", required = false) String tokenHeader,
+            @RequestParam("title") @NotBlank String title,
+            @RequestParam(value = "description", required = false) String description,
+            @RequestParam(value = "filename", required = false) String filename,
+            @RequestHeader(value = ExpectedChecksums.CRC32C_HEADER, required = false) String checksumCrc32c,
+            @RequestHeader(value = ExpectedChecksums.SHA256_HEADER, required = false) String checksumSha256,
+            HttpServletRequest request) {
+
+        if (tokenHeader == null || tokenHeader.isBlank()) {
+            metrics.error("missing_token");
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                    .body("Acesso negado: Header 'auth-token' não foi recebido do Gateway.");
+        }
+
+        if (request.getContentLengthLong() == 0) {
+            return ResponseEntity.badRequest().body("Arquivo de vídeo é obrigatório");
+        }
+
+        ExpectedChecksums expected;
+        try {
+            expected = ExpectedChecksums.fromHeaders(checksumCrc32c, checksumSha256);
+        } catch (IllegalArgumentException e) {
+            metrics.error(e);
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+
+        try {
+            UserInfo userInfo = metrics.time(Stage.JWT, () -> tokenService.decodeToken(tokenHeader));
+            long maxBytes = limits.maxBytes(userInfo);
+
+            if (uploadSpoolService.isEnabled()) {
+                String uploadId;
+                try (InputStream in = new LimitedInputStream(request.getInputStream(), maxBytes)) {
+                    uploadId = uploadSpoolService.spool(in, filename, title, description, userInfo, expected);
+                }
+                return accepted(uploadId);
+            }
+
+            StoredVideo stored;
+            try (InputStream in = new LimitedInputStream(request.getInputStream(), maxBytes)) {
+                stored = videoStorageService.uploadVideo(in, filename, expected, userInfo.username());
+            }
+
+            return uploaded(stored, title, description, userInfo);
+
+        } catch (UnsupportedVideoFormatException e) {
+            metrics.error(e);
+            return unsupportedFormat(e);
+
+        } catch (ChecksumMismatchException e) {
+            metrics.error(e);
+            return ResponseEntity.badRequest().body(e.getMessage());
+
+        } catch (DependencyUnavailableException e) {
+            metrics.error(e);
+            return unavailable(e);
+
+        } catch (IOException e) {
+            Optional<PartTooLargeException> tooLarge = LimitedInputStream.limitExceeded(e);
+            if (tooLarge.isPresent()) {
+                metrics.error("bad_request");
+                return tooLarge(tooLarge.get());
+            }
+            metrics.error(e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body("Erro ao fazer upload do vídeo: " + e.getMessage());
+
+        } catch (RuntimeException e) {
+            metrics.error(e);
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                    .body("Token inválido: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Status de um upload aceito no modo assíncrono.
+     */
+    @GetMapping("/status/{uploadId}")
+    public ResponseEntity<?> uploadStatus(
+            @RequestHeader(value = "auth-token", required = false) String tokenHeader,
+            @PathVariable("uploadId") String uploadId) {
+
+        if (tokenHeader == null || tokenHeader.isBlank()) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                    .body("Acesso negado: Header 'auth-token' não foi recebido do Gateway.");
+        }
+
+        UserInfo userInfo;
+        try {
+            userInfo = metrics.time(Stage.JWT, () -> tokenService.decodeToken(tokenHeader));
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                    .body("Token inválido: " + e.getMessage());
+        }
+
+        return uploadSpoolService.status(uploadId)
+                .filter(upload -> upload.username() != null && upload.username().equals(userInfo.username()))
+                .<ResponseEntity<?>>map(upload -> ResponseEntity.ok(statusBody(upload)))
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND).body("Upload não encontrado: " + uploadId));
+    }
+
+    private static ResponseEntity<?> unsupportedFormat(UnsupportedVideoFormatException e) {
+        // o resto do corpo não será lido: fechar evita que o cliente continue enviando
+        return ResponseEntity.status(HttpStatus.UNSUPPORTED_MEDIA_TYPE)
+                .header(HttpHeaders.CONNECTION, "close")
+                .body(e.getMessage());
+    }
+
+    private static ResponseEntity<?> tooLarge(PartTooLargeException e) {
+        // o resto do corpo não será lido: fechar evita que o cliente continue enviando
+        return ResponseEntity.status(HttpStatus.CONTENT_TOO_LARGE)
+                .header(HttpHeaders.CONNECTION, "close")
+                .body(e.getMessage());
+    }
+
+    /**
+     * Circuito do S3 ou do SQS aberto: o cliente tenta de novo depois do {@code Retry-After}.
+     */
+    private static ResponseEntity<?> unavailable(DependencyUnavailableException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                .header(HttpHeaders.CONNECTION, "close")
+                .body(e.getMessage());
+    }
+
+    private ResponseEntity<?> accepted(String uploadId) {
+        String statusUrl = "/videos/status/" + uploadId;
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("message", "Upload recebido; envio ao S3 em andamento");
+        response.put("uploadId", uploadId);
+        response.put("statusUrl", statusUrl);
+
+        return ResponseEntity.status(HttpStatus.ACCEPTED).header("Location", statusUrl).body(response);
+    }
+
+    private Map<String, Object> statusBody(SpooledUpload upload) {
+        Map<String, Object> body = new HashMap<>();
+        body.put("uploadId", upload.uploadId());
+        body.put("state", upload.state());
+        body.put("attempts", upload.attempts());
+        body.put("s3Key", upload.s3Key());
+        body.put("s3Url", upload.s3Url());
+        body.put("error", upload.error());
+        body.put("acceptedAt", upload.acceptedAt());
+        body.put("updatedAt", upload.updatedAt());
+        body.put("attributes", upload.attributes());
+        return body;
+    }
+
+    private ResponseEntity<?> uploaded(StoredVideo stored, String title, String description, UserInfo userInfo) {
+        String key = stored.key();
+        String url = videoStorageService.getVideoUrl(key);
+
+        videoQueueService.sendVideoMessage(key, url, title, description, userInfo.username(), userInfo.email(),
+                stored.attributes());
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("message", "Upload realizado com sucesso");
+        response.put("s3Key", key);
+        response.put("s3Url", url);
+        // conteúdo idêntico a um upload anterior: a chave devolvida é a do objeto que já existia
+        response.put("deduplicated", stored.deduplicated());
+
+        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+    }
+}
@@ -0,0 +1,120 @@
+package com.videoUploaderService.service;
+
+import com.videoUploaderService.service.UploadMetrics.Stage;
+import org.reactivestreams.Publisher;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import software.amazon.awssdk.core.async.AsyncRequestBody;
+import software.amazon.awssdk.core.async.BlockingInputStreamAsyncRequestBody;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
+import software.amazon.awssdk.services.s3.model.ChecksumAlgorithm;
+import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Backend não bloqueante ({@code upload.store=async}): {@link S3AsyncClient} do SDK v2 sobre Netty NIO.
+ * O envio ao S3 acontece nas threads do event loop, então centenas de uploads ficam em andamento
+ * com poucas threads. A thread chamadora só lê o stream de origem, que é bloqueante, e entrega os
+ * bytes ao cliente com backpressure; objetos de tamanho desconhecido ou maiores que
+ * {@code aws.s3.multipart.partSize} vão em multipart. Também aceita um {@link Publisher} de buffers,
+ * usado pelo servidor reativo, em que nenhuma thread fica bloqueada.
+ *
+ * <p>As partes em trânsito ficam em buffers do próprio SDK, fora do {@link ByteBufferPool}: cada upload
+ * ocupa até {@code partSize * maxInFlightParts}, sem limite global. Por isso não é o padrão.
+ */
+@Component
+@ConditionalOnProperty(name = "upload.store", havingValue = "async")
+public class AsyncS3VideoStore implements VideoStore {
+
+    private final S3AsyncClient s3AsyncClient;
+    private final String bucketName;
+    private final UploadMetrics metrics;
+
+    public AsyncS3VideoStore(S3AsyncClient s3AsyncClient,
+                             @Value("${aws.s3.bucket}") String bucketName,
+                             UploadMetrics metrics) {
+        this.s3AsyncClient = s3AsyncClient;
+        this.bucketName = bucketName;
+        this.metrics = metrics;
+    }
+
+    @Override
+    public CompletableFuture<Void> put(String key, InputStream in, long size) {
+        Long contentLength = size >= 0 ? size : null;
+        BlockingInputStreamAsyncRequestBody body = AsyncRequestBody.forBlockingInputStream(contentLength);
+        CompletableFuture<Void> upload = send(key, contentLength, body);
+
+        try {
+            // retorna quando o último byte foi entregue ao cliente; se o S3 falhar antes, o envio é cancelado
+            body.writeInputStream(in);
+        } catch (RuntimeException e) {
+            if (upload.isCompletedExceptionally()) {
+                return upload;
+            }
+            body.cancel();
+            return CompletableFuture.failedFuture(new IOException("Falha ao ler o vídeo enviado: " + e.getMessage(), e));
+        }
+        return upload;
+    }
+
+    /**
+     * Envio sem thread bloqueada: o cliente pede os buffers ao publisher conforme as partes saem, e
+     * é essa demanda que segura a leitura do corpo da requisição.
+     */
+    @Override
+    public CompletableFuture<Void> put(String key, Publisher<ByteBuffer> body) {
+        return send(key, null, AsyncRequestBody.fromPublisher(body));
+    }
+
+    private CompletableFuture<Void> send(String key, Long contentLength, AsyncRequestBody body) {
+        PutObjectRequest request = PutObjectRequest.builder()
+                .bucket(bucketName)
+                .key(key)
+                .contentLength(contentLength)
+                // o SDK calcula o CRC32C de cada requisição (ou parte) e o S3 recusa o que não conferir
+                .checksumAlgorithm(ChecksumAlgorithm.CRC32_C)
+                .build();
+
+        long start = System.nanoTime();
+        metrics.operationStarted();
+        return s3AsyncClient.putObject(request, body)
+                .handle((response, error) -> {
+                    metrics.record(Stage.S3, System.nanoTime() - start);
+                    metrics.operationFinished();
+                    if (error != null) {
+                        throw new CompletionException(failure(error));
+                    }
+                    return null;
+                });
+    }
+
+    @Override
+    public CompletableFuture<Void> delete(String key) {
+        return s3AsyncClient.deleteObject(builder -> builder.bucket(bucketName).key(key))
+                .handle((response, error) -> {
+                    if (error != null) {
+                        throw new CompletionException(failure(error));
+                    }
+                    return null;
+                });
+    }
+
+    @Override
+    public String url(String key) {
+        return s3AsyncClient.utilities().getUrl(builder -> builder.bucket(bucketName).key(key)).toString();
+    }
+
+    private static IOException failure(Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        if (cause instanceof IOException io) {
+            return io;
+        }
+        return new IOException("Falha ao enviar objeto para o S3: " + cause.getMessage(), cause);
+    }
+}
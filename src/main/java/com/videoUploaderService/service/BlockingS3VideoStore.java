@@ -0,0 +1,59 @@
+package com.videoUploaderService.service;
+
+import com.amazonaws.AmazonClientException;
+import com.amazonaws.services.s3.AmazonS3;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Backend padrão, com o cliente bloqueante do SDK v1 ({@code upload.store=blocking}): o futuro já volta
+ * concluído, porque a thread chamadora fica presa no envio até o S3 responder. As partes usam o
+ * {@link ByteBufferPool}, então a memória de todos os uploads juntos tem limite.
+ */
+@Component
+@ConditionalOnProperty(name = "upload.store", havingValue = "blocking", matchIfMissing = true)
+public class BlockingS3VideoStore implements VideoStore {
+
+    private final AmazonS3 amazonS3;
+    private final S3MultipartUploader multipartUploader;
+    private final String bucketName;
+
+    public BlockingS3VideoStore(AmazonS3 amazonS3,
+                                S3MultipartUploader multipartUploader,
+                                @Value("${aws.s3.bucket}") String bucketName) {
+        this.amazonS3 = amazonS3;
+        this.multipartUploader = multipartUploader;
+        this.bucketName = bucketName;
+    }
+
+    @Override
+    public CompletableFuture<Void> put(String key, InputStream in, long size) {
+        try {
+            // o uploader lê em partes de tamanho fixo, então o tamanho total não é necessário
+            multipartUploader.upload(bucketName, key, in);
+            return CompletableFuture.completedFuture(null);
+        } catch (IOException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    @Override
+    public CompletableFuture<Void> delete(String key) {
+        try {
+            amazonS3.deleteObject(bucketName, key);
+            return CompletableFuture.completedFuture(null);
+        } catch (AmazonClientException e) {
+            return CompletableFuture.failedFuture(new IOException("Falha ao remover objeto do S3: " + e.getMessage(), e));
+        }
+    }
+
+    @Override
+    public String url(String key) {
+        return amazonS3.getUrl(bucketName, key).toString();
+    }
+}
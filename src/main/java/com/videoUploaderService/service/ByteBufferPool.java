@@ -0,0 +1,72 @@
+package com.videoUploaderService.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Pool global e limitado de {@link ByteBuffer}s diretos reutilizáveis, compartilhado por todos os uploads.
+ * O total de memória usada pelas partes em trânsito nunca passa de {@code capacity * bufferSize};
+ * quando o pool esgota, quem pede um buffer espera até outro upload devolver o seu.
+ */
+@Component
+public class ByteBufferPool {
+
+    private final int bufferSize;
+    private final int capacity;
+    private final Semaphore permits;
+    private final ConcurrentLinkedQueue<ByteBuffer> free = new ConcurrentLinkedQueue<>();
+
+    public ByteBufferPool(@Value("${aws.s3.multipart.partSize:8388608}") int bufferSize,
+                          @Value("${aws.s3.multipart.bufferPoolSize:32}") int capacity) {
+        if (bufferSize <= 0 || capacity <= 0) {
+            throw new IllegalArgumentException("Tamanho e capacidade do pool de buffers devem ser positivos");
+        }
+        this.bufferSize = bufferSize;
+        this.capacity = capacity;
+        this.permits = new Semaphore(capacity, true);
+    }
+
+    /**
+     * Obtém um buffer limpo, bloqueando enquanto o pool estiver esgotado.
+     * Os buffers são alocados sob demanda, até a capacidade, e depois apenas reutilizados.
+     */
+    public ByteBuffer acquire() throws IOException {
+        try {
+            permits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrompido aguardando buffer livre");
+        }
+
+        ByteBuffer buffer = free.poll();
+        if (buffer == null) {
+            buffer = ByteBuffer.allocateDirect(bufferSize);
+        }
+        buffer.clear();
+        return buffer;
+    }
+
+    public void release(ByteBuffer buffer) {
+        buffer.clear();
+        free.offer(buffer);
+        permits.release();
+    }
+
+    public int bufferSize() {
+        return bufferSize;
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    public int available() {
+        return permits.availablePermits();
+    }
+}
@@ -0,0 +1,86 @@
+package com.videoUploaderService.service;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Map;
+
+/**
+ * Calcula os {@link ContentChecksums} na mesma leitura que alimenta o backend. Ao chegar no fim do
+ * stream compara com os {@link ExpectedChecksums} e, se não conferirem, a leitura falha com
+ * {@link ChecksumMismatchException}: o backend aborta a gravação e o objeto não chega a ficar visível.
+ */
+public class ChecksumInputStream extends FilterInputStream {
+
+    private final ContentChecksums checksums;
+
+    public ChecksumInputStream(InputStream in, ExpectedChecksums expected, boolean sha256) {
+        super(in);
+        this.checksums = new ContentChecksums(expected, sha256);
+    }
+
+    @Override
+    public int read() throws IOException {
+        int b = in.read();
+        if (b >= 0) {
+            checksums.update(b);
+        } else {
+            finish();
+        }
+        return b;
+    }
+
+    @Override
+    public int read(byte[] buffer, int offset, int length) throws IOException {
+        int n = in.read(buffer, offset, length);
+        if (n > 0) {
+            checksums.update(buffer, offset, n);
+        } else if (n < 0) {
+            finish();
+        }
+        return n;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        // bytes pulados ficariam fora do checksum: lê e descarta
+        byte[] discard = new byte[(int) Math.min(n, 8192)];
+        long skipped = 0;
+        while (skipped < n) {
+            int read = read(discard, 0, (int) Math.min(discard.length, n - skipped));
+            if (read < 0) {
+                break;
+            }
+            skipped += read;
+        }
+        return skipped;
+    }
+
+    @Override
+    public boolean markSupported() {
+        return false;
+    }
+
+    /**
+     * Fecha os checksums e compara com os esperados. Chamado no fim do stream e, de novo, por quem
+     * usou o stream, para o caso de o backend parar de ler sem ver o fim; as chamadas seguintes só
+     * repetem o resultado.
+     */
+    public void finish() throws ChecksumMismatchException {
+        checksums.finish();
+    }
+
+    /**
+     * SHA-256 em hexadecimal, no formato do {@link ContentHashIndex}; só depois de {@link #finish()}.
+     */
+    public String sha256Hex() {
+        return checksums.sha256Hex();
+    }
+
+    /**
+     * Checksums em Base64, como o S3 os devolve, para a mensagem do SQS; só depois de {@link #finish()}.
+     */
+    public Map<String, Object> attributes() {
+        return checksums.attributes();
+    }
+}
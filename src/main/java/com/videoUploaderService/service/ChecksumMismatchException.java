@@ -0,0 +1,14 @@
+package com.videoUploaderService.service;
+
+import java.io.IOException;
+
+/**
+ * O checksum calculado sobre o corpo não confere com o informado pelo cliente. Lançada ao chegar no
+ * fim do stream, o que faz o backend abortar a gravação.
+ */
+public class ChecksumMismatchException extends IOException {
+
+    public ChecksumMismatchException(String algorithm, String expected, String actual) {
+        super("Checksum " + algorithm + " não confere: esperado " + expected + ", calculado " + actual);
+    }
+}
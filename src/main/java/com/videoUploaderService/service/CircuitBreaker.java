@@ -0,0 +1,140 @@
+package com.videoUploaderService.service;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * Circuit breaker por contagem: guarda o resultado das últimas {@code windowSize} chamadas e abre
+ * quando, com pelo menos {@code minimumCalls} registradas, a fração de falhas chega a
+ * {@code failureRateThreshold}. Aberto, recusa tudo por {@code openNanos}; depois deixa passar
+ * {@code halfOpenCalls} chamadas de teste, que fecham o circuito se todas derem certo ou o reabrem na
+ * primeira falha. Os instantes vêm do chamador ({@link System#nanoTime()}), como no {@link TokenBucket}.
+ */
+public final class CircuitBreaker {
+
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN;
+
+        public String tag() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+    }
+
+    private final double failureRateThreshold;
+    private final int minimumCalls;
+    private final long openNanos;
+    private final int halfOpenCalls;
+
+    private final boolean[] outcomes;
+    private int next;
+    private int recorded;
+    private int failures;
+
+    private State state = State.CLOSED;
+    private long openedAt;
+    private int probes;
+    private int probeSuccesses;
+
+    CircuitBreaker(double failureRateThreshold, int windowSize, int minimumCalls, long openNanos, int halfOpenCalls) {
+        if (failureRateThreshold <= 0 || failureRateThreshold > 1) {
+            throw new IllegalArgumentException("failureRateThreshold deve estar entre 0 (exclusive) e 1");
+        }
+        if (windowSize <= 0 || minimumCalls <= 0 || minimumCalls > windowSize) {
+            throw new IllegalArgumentException("minimumCalls deve estar entre 1 e windowSize");
+        }
+        this.failureRateThreshold = failureRateThreshold;
+        this.minimumCalls = minimumCalls;
+        this.openNanos = openNanos;
+        this.halfOpenCalls = halfOpenCalls;
+        this.outcomes = new boolean[windowSize];
+    }
+
+    /**
+     * Verdadeiro se a chamada pode seguir. Toda chamada permitida deve terminar em
+     * {@link #onSuccess}, {@link #onFailure} ou {@link #onIgnored}.
+     */
+    synchronized boolean tryAcquire(long now) {
+        if (state == State.OPEN) {
+            if (now - openedAt < openNanos) {
+                return false;
+            }
+            state = State.HALF_OPEN;
+            probes = 0;
+            probeSuccesses = 0;
+        }
+        if (state == State.HALF_OPEN) {
+            if (probes >= halfOpenCalls) {
+                return false;
+            }
+            probes++;
+        }
+        return true;
+    }
+
+    synchronized void onSuccess(long now) {
+        if (state == State.HALF_OPEN) {
+            if (++probeSuccesses >= halfOpenCalls) {
+                transition(State.CLOSED, now);
+            }
+        } else if (state == State.CLOSED) {
+            record(false, now);
+        }
+    }
+
+    synchronized void onFailure(long now) {
+        if (state == State.HALF_OPEN) {
+            transition(State.OPEN, now);
+        } else if (state == State.CLOSED) {
+            record(true, now);
+        }
+    }
+
+    /**
+     * A chamada terminou sem dizer nada sobre a dependência (falha do próprio cliente, por exemplo):
+     * só devolve a vaga de teste, se era uma.
+     */
+    synchronized void onIgnored() {
+        if (state == State.HALF_OPEN && probes > probeSuccesses) {
+            probes--;
+        }
+    }
+
+    public synchronized State state() {
+        return state;
+    }
+
+    /**
+     * Quanto falta para o circuito aberto aceitar chamadas de teste; 0 se ele não está aberto.
+     */
+    synchronized long remainingOpenNanos(long now) {
+        return state == State.OPEN ? Math.max(0, openedAt + openNanos - now) : 0;
+    }
+
+    private void record(boolean failed, long now) {
+        if (recorded == outcomes.length) {
+            if (outcomes[next]) {
+                failures--;
+            }
+        } else {
+            recorded++;
+        }
+        outcomes[next] = failed;
+        if (failed) {
+            failures++;
+        }
+        next = (next + 1) % outcomes.length;
+        if (recorded >= minimumCalls && failures >= failureRateThreshold * recorded) {
+            transition(State.OPEN, now);
+        }
+    }
+
+    private void transition(State target, long now) {
+        state = target;
+        openedAt = now;
+        // a janela recomeça a cada mudança: falhas antigas não reabrem o circuito recém-fechado
+        Arrays.fill(outcomes, false);
+        next = 0;
+        recorded = 0;
+        failures = 0;
+    }
+}
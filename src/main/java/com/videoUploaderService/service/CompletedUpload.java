@@ -0,0 +1,6 @@
+package com.videoUploaderService.service;
+
+/**
+ * Resultado de um upload concluído e já publicado na fila.
+ */
+public record CompletedUpload(String s3Key, String s3Url) {}
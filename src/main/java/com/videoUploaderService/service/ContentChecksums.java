@@ -0,0 +1,99 @@
+package com.videoUploaderService.service;
+
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.zip.CRC32C;
+
+/**
+ * CRC32C (com a instrução de hardware, quando a CPU tem) e, se pedido, SHA-256 do conteúdo de um
+ * upload, alimentados pelos mesmos bytes que vão ao backend. Usado pelo {@link ChecksumInputStream}
+ * e, com {@link ByteBuffer}s, pelo envio reativo. Não é thread-safe.
+ */
+public class ContentChecksums {
+
+    public static final String CHECKSUM_CRC32C = "checksumCrc32c";
+    public static final String CHECKSUM_SHA256 = "checksumSha256";
+
+    private final CRC32C crc32c = new CRC32C();
+    private final MessageDigest sha256;
+    private final ExpectedChecksums expected;
+
+    private String crc32cValue;
+    private byte[] sha256Value;
+
+    public ContentChecksums(ExpectedChecksums expected, boolean sha256) {
+        this.expected = expected;
+        this.sha256 = sha256 || expected.sha256() != null ? ContentHashIndex.newDigest() : null;
+    }
+
+    public void update(int b) {
+        crc32c.update(b);
+        if (sha256 != null) {
+            sha256.update((byte) b);
+        }
+    }
+
+    public void update(byte[] buffer, int offset, int length) {
+        crc32c.update(buffer, offset, length);
+        if (sha256 != null) {
+            sha256.update(buffer, offset, length);
+        }
+    }
+
+    /**
+     * Consome os bytes restantes do buffer sem alterar a posição dele; buffers diretos não são copiados.
+     */
+    public void update(ByteBuffer buffer) {
+        crc32c.update(buffer.duplicate());
+        if (sha256 != null) {
+            sha256.update(buffer.duplicate());
+        }
+    }
+
+    /**
+     * Fecha os checksums e compara com os esperados. Pode ser chamado mais de uma vez; as chamadas
+     * seguintes só repetem o resultado.
+     */
+    public void finish() throws ChecksumMismatchException {
+        if (crc32cValue == null) {
+            crc32cValue = Base64.getEncoder().encodeToString(
+                    ByteBuffer.allocate(4).putInt((int) crc32c.getValue()).array());
+            sha256Value = sha256 != null ? sha256.digest() : null;
+        }
+        if (expected.crc32c() != null && !expected.crc32c().equals(crc32cValue)) {
+            throw new ChecksumMismatchException("CRC32C", expected.crc32c(), crc32cValue);
+        }
+        if (expected.sha256() != null && !expected.sha256().equals(sha256Base64())) {
+            throw new ChecksumMismatchException("SHA-256", expected.sha256(), sha256Base64());
+        }
+    }
+
+    /**
+     * SHA-256 em hexadecimal, no formato do {@link ContentHashIndex}; só depois de {@link #finish()}.
+     */
+    public String sha256Hex() {
+        return sha256Value != null ? HexFormat.of().formatHex(sha256Value) : null;
+    }
+
+    /**
+     * Checksums em Base64, como o S3 os devolve, para a mensagem do SQS; só depois de {@link #finish()}.
+     */
+    public Map<String, Object> attributes() {
+        Map<String, Object> attributes = new HashMap<>();
+        if (crc32cValue != null) {
+            attributes.put(CHECKSUM_CRC32C, crc32cValue);
+        }
+        if (sha256Value != null) {
+            attributes.put(CHECKSUM_SHA256, sha256Base64());
+        }
+        return attributes;
+    }
+
+    private String sha256Base64() {
+        return sha256Value != null ? Base64.getEncoder().encodeToString(sha256Value) : null;
+    }
+}
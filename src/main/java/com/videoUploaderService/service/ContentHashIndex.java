@@ -0,0 +1,154 @@
+package com.videoUploaderService.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Índice SHA-256 do conteúdo → chave do vídeo já armazenado, usado para deduplicar uploads idênticos.
+ *
+ * <p>O índice é separado por dono: a entrada é o SHA-256 de {@code <usuário>\0<hash do conteúdo>}, então
+ * um usuário só reaproveita os próprios uploads. Um índice global devolveria a chave e a URL do vídeo de
+ * outro usuário e deixaria qualquer um confirmar que um arquivo já foi enviado.
+ *
+ * <p>Cada entrada é um arquivo {@code <dir>/<2 primeiros caracteres>/<entrada>} com a chave. A inclusão usa
+ * {@link Files#createLink}, que falha de forma atômica se o hash já existir, então dois uploads iguais
+ * em paralelo (inclusive em instâncias que compartilham o diretório) chegam à mesma chave. Um LRU em
+ * memória evita ler o disco para os hashes mais recentes.
+ */
+@Component
+public class ContentHashIndex {
+
+    public static final String CONTENT_SHA256 = "contentSha256";
+    public static final String DEDUPLICATED = "deduplicated";
+
+    private final boolean enabled;
+    private final Path dir;
+    private final Map<String, String> cache;
+
+    public ContentHashIndex(@Value("${upload.dedup.enabled:false}") boolean enabled,
+                            @Value("${upload.dedup.dir:}") String dir,
+                            @Value("${upload.dedup.cacheSize:100000}") int cacheSize) {
+        // o diretório temporário é limpo pelo sistema e não é compartilhado entre instâncias:
+        // o índice tem de ficar em um diretório escolhido para ele
+        if (enabled && (dir == null || dir.isBlank())) {
+            throw new IllegalArgumentException("upload.dedup.dir deve ser configurado com a deduplicação ligada");
+        }
+        this.enabled = enabled;
+        this.dir = dir == null || dir.isBlank() ? null : Paths.get(dir);
+        this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+                return size() > cacheSize;
+            }
+        };
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * A chave já registrada pelo dono para o conteúdo, se houver.
+     */
+    public Optional<String> find(String owner, String sha256) throws IOException {
+        return find(entryName(owner, sha256));
+    }
+
+    /**
+     * Registra a chave para o conteúdo do dono, a menos que outra já esteja registrada. Retorna a chave
+     * que ficou no índice: a informada ou a que já existia.
+     */
+    public String putIfAbsent(String owner, String sha256, String key) throws IOException {
+        String name = entryName(owner, sha256);
+        Optional<String> existing = find(name);
+        if (existing.isPresent()) {
+            return existing.get();
+        }
+
+        Path entry = entry(name);
+        Files.createDirectories(entry.getParent());
+        // grava em um arquivo temporário e publica com link(): a entrada nunca aparece incompleta
+        Path temp = entry.resolveSibling(name + "." + UUID.randomUUID() + ".tmp");
+        Files.writeString(temp, key, StandardCharsets.UTF_8);
+        try {
+            Files.createLink(entry, temp);
+            cache(name, key);
+            return key;
+        } catch (FileAlreadyExistsException e) {
+            return find(name).orElse(key);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Digest para calcular o hash enquanto o stream é lido, com {@link java.security.DigestInputStream}.
+     */
+    public static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            // toda JVM é obrigada a oferecer SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public static String hex(MessageDigest digest) {
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private Optional<String> find(String name) throws IOException {
+        String cached = cached(name);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        try {
+            String key = Files.readString(entry(name), StandardCharsets.UTF_8);
+            cache(name, key);
+            return Optional.of(key);
+        } catch (NoSuchFileException e) {
+            return Optional.empty();
+        }
+    }
+
+    private static String entryName(String owner, String sha256) {
+        if (owner == null || owner.isEmpty()) {
+            throw new IllegalArgumentException("Dono do upload não informado");
+        }
+        if (sha256 == null || !sha256.matches("[0-9a-f]{64}")) {
+            throw new IllegalArgumentException("Hash SHA-256 inválido: " + sha256);
+        }
+        MessageDigest digest = newDigest();
+        digest.update(owner.getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) 0);
+        digest.update(sha256.getBytes(StandardCharsets.US_ASCII));
+        return hex(digest);
+    }
+
+    private Path entry(String name) {
+        return dir.resolve(name.substring(0, 2)).resolve(name);
+    }
+
+    private synchronized String cached(String name) {
+        return cache.get(name);
+    }
+
+    private synchronized void cache(String name, String key) {
+        cache.put(name, key);
+    }
+}
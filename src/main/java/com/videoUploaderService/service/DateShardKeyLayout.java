@@ -0,0 +1,42 @@
+package com.videoUploaderService.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.UUID;
+
+/**
+ * {@code videos/<yyyy>/<MM>/<dd>/<hh>/<epochMillis>-<uuid><ext>}, com a data em UTC: os vídeos de
+ * um dia ficam listáveis pelo prefixo da data, e dentro dele a rajada se espalha pelos 16^n shards
+ * do {@link HashPrefixKeyLayout}.
+ */
+@Component
+@ConditionalOnProperty(name = "upload.keys.layout", havingValue = "date")
+public class DateShardKeyLayout implements VideoKeyLayout {
+
+    static final int VERSION = 3;
+
+    private final int prefixLength;
+
+    public DateShardKeyLayout(@Value("${upload.keys.prefixLength:2}") int prefixLength) {
+        this.prefixLength = HashPrefixKeyLayout.checkPrefixLength(prefixLength);
+    }
+
+    @Override
+    public int version() {
+        return VERSION;
+    }
+
+    @Override
+    public String newKey(String extension) {
+        Instant now = Instant.now();
+        LocalDate date = LocalDate.ofInstant(now, ZoneOffset.UTC);
+        String id = UUID.randomUUID().toString();
+        return ROOT + String.format("%04d/%02d/%02d/", date.getYear(), date.getMonthValue(), date.getDayOfMonth())
+                + id.substring(0, prefixLength) + "/" + now.toEpochMilli() + "-" + id + extension;
+    }
+}
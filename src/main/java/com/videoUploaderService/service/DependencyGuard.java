@@ -0,0 +1,344 @@
+package com.videoUploaderService.service;
+
+import com.amazonaws.AmazonClientException;
+import com.amazonaws.AmazonServiceException;
+import com.amazonaws.retry.RetryUtils;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import software.amazon.awssdk.core.exception.SdkClientException;
+import software.amazon.awssdk.core.exception.SdkServiceException;
+
+import java.net.SocketTimeoutException;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Resiliência das chamadas a uma dependência (S3 ou SQS), criada pelo {@link DependencyGuards}:
+ * <ul>
+ *     <li>circuit breaker ({@link CircuitBreaker}): com a dependência falhando, as chamadas são recusadas
+ *     na hora com {@link DependencyUnavailableException}, em vez de prenderem threads até o timeout;</li>
+ *     <li>retries com backoff "decorrelated jitter" (cada espera é sorteada entre a base e o triplo da
+ *     anterior), limitados pelo {@link RetryBudget};</li>
+ *     <li>hedge opcional ({@link #hedged}): se a chamada passa do p95 das latências recentes, uma cópia
+ *     dela sai em paralelo e vale a primeira resposta.</li>
+ * </ul>
+ * Só falhas da dependência contam para o breaker e são repetidas: 5xx, throttling, timeouts e erros de
+ * rede. Um 4xx ou um erro do próprio upload (checksum, contêiner) é resposta válida da dependência.
+ */
+public class DependencyGuard {
+
+    // chamadas de teste com o circuito meio aberto
+    static final int HALF_OPEN_CALLS = 3;
+    // amostras antes de o p95 valer como atraso do hedge
+    static final int MIN_HEDGE_SAMPLES = 20;
+
+    private final String name;
+    private final boolean enabled;
+    private final CircuitBreaker breaker;
+    private final RetryBudget budget;
+    private final int maxAttempts;
+    private final long baseBackoffNanos;
+    private final long maxBackoffNanos;
+    private final boolean hedging;
+    private final LatencyWindow latencies = new LatencyWindow(256);
+
+    private final Counter rejected;
+    private final Counter retries;
+    private final Counter retriesDenied;
+    private final Counter hedges;
+    private final Counter hedgesWon;
+
+    DependencyGuard(String name, boolean enabled, CircuitBreaker breaker, RetryBudget budget, int maxAttempts,
+                    long baseBackoffMillis, long maxBackoffMillis, boolean hedging, MeterRegistry registry) {
+        if (maxAttempts < 1) {
+            throw new IllegalArgumentException("upload.resilience.maxAttempts deve ser pelo menos 1");
+        }
+        this.name = name;
+        this.enabled = enabled;
+        this.breaker = breaker;
+        this.budget = budget;
+        this.maxAttempts = maxAttempts;
+        this.baseBackoffNanos = TimeUnit.MILLISECONDS.toNanos(baseBackoffMillis);
+        this.maxBackoffNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(baseBackoffMillis, maxBackoffMillis));
+        this.hedging = hedging;
+
+        for (CircuitBreaker.State state : CircuitBreaker.State.values()) {
+            Gauge.builder("video.upload.dependency.breaker.state", () -> breaker.state() == state ? 1 : 0)
+                    .description("1 no estado atual do circuit breaker da dependência")
+                    .tag("dependency", name)
+                    .tag("state", state.tag())
+                    .register(registry);
+        }
+        rejected = registry.counter("video.upload.dependency.rejected", "dependency", name);
+        retries = registry.counter("video.upload.dependency.retries", "dependency", name, "outcome", "retried");
+        retriesDenied = registry.counter("video.upload.dependency.retries", "dependency", name, "outcome", "budget_exhausted");
+        hedges = registry.counter("video.upload.dependency.hedges", "dependency", name, "outcome", "sent");
+        hedgesWon = registry.counter("video.upload.dependency.hedges", "dependency", name, "outcome", "won");
+    }
+
+    public String name() {
+        return name;
+    }
+
+    public CircuitBreaker.State state() {
+        return breaker.state();
+    }
+
+    /**
+     * Verdadeiro enquanto o circuito está aberto e ainda recusa todas as chamadas.
+     */
+    public boolean isOpen() {
+        return enabled && breaker.remainingOpenNanos(System.nanoTime()) > 0;
+    }
+
+    public long retryAfterSeconds() {
+        return Math.max(1, (long) Math.ceil(breaker.remainingOpenNanos(System.nanoTime()) / 1e9));
+    }
+
+    /**
+     * Executa a chamada, repetindo falhas da dependência enquanto houver tentativas e orçamento. A
+     * chamada precisa poder ser repetida: o corpo da requisição tem de ser recriado a cada tentativa.
+     */
+    public <T> T call(Supplier<T> call) {
+        if (!enabled) {
+            return call.get();
+        }
+        budget.deposit();
+        long backoff = baseBackoffNanos;
+        for (int attempt = 1; ; attempt++) {
+            acquire();
+            long start = System.nanoTime();
+            try {
+                T result = call.get();
+                long end = System.nanoTime();
+                breaker.onSuccess(end);
+                latencies.record(end - start);
+                return result;
+            } catch (RuntimeException e) {
+                if (!completed(e)) {
+                    throw e;
+                }
+                if (attempt >= maxAttempts) {
+                    throw e;
+                }
+                if (!budget.tryWithdraw(System.nanoTime())) {
+                    retriesDenied.increment();
+                    throw e;
+                }
+                retries.increment();
+                backoff = nextBackoff(backoff);
+                try {
+                    TimeUnit.NANOSECONDS.sleep(backoff);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    throw e;
+                }
+            }
+        }
+    }
+
+    /**
+     * Uma única tentativa, só com o circuit breaker: para chamadas cujo corpo é um stream que não pode
+     * ser relido (o SDK ainda repete o que tiver em buffer).
+     */
+    public <T> T callOnce(Supplier<T> call) {
+        if (!enabled) {
+            return call.get();
+        }
+        acquire();
+        try {
+            T result = call.get();
+            breaker.onSuccess(System.nanoTime());
+            return result;
+        } catch (RuntimeException e) {
+            completed(e);
+            throw e;
+        }
+    }
+
+    /**
+     * Versão de {@link #callOnce} para chamadas assíncronas; a recusa do breaker vem no futuro.
+     */
+    public <T> CompletableFuture<T> guard(Supplier<CompletableFuture<T>> call) {
+        if (!enabled) {
+            return call.get();
+        }
+        try {
+            acquire();
+        } catch (DependencyUnavailableException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        CompletableFuture<T> future;
+        try {
+            future = call.get();
+        } catch (RuntimeException e) {
+            completed(e);
+            throw e;
+        }
+        return future.whenComplete((result, error) -> {
+            if (error == null) {
+                breaker.onSuccess(System.nanoTime());
+            } else {
+                completed(error);
+            }
+        });
+    }
+
+    /**
+     * Como {@link #call}, mas assíncrona: a primeira tentativa roda no {@code executor} e o futuro volta
+     * na hora. Com o hedge ligado, uma cópia da chamada sai se ela não terminar no p95 das latências
+     * recentes; a primeira resposta completa o futuro e a outra é descartada, então a chamada precisa
+     * tolerar ser feita duas vezes. A cópia saca do orçamento de retries e precisa de uma thread livre
+     * no {@code executor} enquanto a primeira ainda está presa.
+     */
+    public <T> CompletableFuture<T> hedged(Supplier<T> call, ScheduledExecutorService executor) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        long delay = enabled && hedging ? latencies.percentile(0.95, MIN_HEDGE_SAMPLES) : -1;
+        AtomicInteger running = new AtomicInteger(1);
+        if (delay >= 0) {
+            ScheduledFuture<?> hedge = scheduleHedge(executor, delay, () -> {
+                running.incrementAndGet();
+                if (result.isDone() || !budget.tryWithdraw(System.nanoTime())) {
+                    running.decrementAndGet();
+                    return;
+                }
+                hedges.increment();
+                attempt(call, result, running, true);
+            });
+            if (hedge != null) {
+                result.whenComplete((value, error) -> hedge.cancel(false));
+            }
+        }
+        try {
+            executor.execute(() -> attempt(call, result, running, false));
+        } catch (RejectedExecutionException e) {
+            // executor desligando: a primeira tentativa roda na thread do chamador
+            attempt(call, result, running, false);
+        }
+        return result;
+    }
+
+    private static ScheduledFuture<?> scheduleHedge(ScheduledExecutorService executor, long delay, Runnable hedge) {
+        try {
+            return executor.schedule(hedge, delay, TimeUnit.NANOSECONDS);
+        } catch (RejectedExecutionException e) {
+            // executor desligando: segue só com a primeira tentativa
+            return null;
+        }
+    }
+
+    private <T> void attempt(Supplier<T> call, CompletableFuture<T> result, AtomicInteger running, boolean hedge) {
+        T value;
+        try {
+            value = call(call);
+        } catch (RuntimeException e) {
+            // a falha só vale se a outra tentativa também não responder
+            if (running.decrementAndGet() == 0) {
+                result.completeExceptionally(e);
+            }
+            return;
+        }
+        running.decrementAndGet();
+        if (result.complete(value) && hedge) {
+            hedgesWon.increment();
+        }
+    }
+
+    private void acquire() {
+        if (!breaker.tryAcquire(System.nanoTime())) {
+            rejected.increment();
+            throw new DependencyUnavailableException(name, retryAfterSeconds());
+        }
+    }
+
+    /**
+     * Registra no breaker o fim de uma chamada que falhou e diz se a falha foi da dependência.
+     */
+    private boolean completed(Throwable error) {
+        if (isDependencyFailure(error)) {
+            breaker.onFailure(System.nanoTime());
+            return true;
+        }
+        breaker.onIgnored();
+        return false;
+    }
+
+    private long nextBackoff(long previous) {
+        long upper = Math.max(baseBackoffNanos + 1, previous * 3);
+        return Math.min(maxBackoffNanos, ThreadLocalRandom.current().nextLong(baseBackoffNanos, upper));
+    }
+
+    /**
+     * Falha da dependência, e não da requisição: 5xx, throttling, timeout ou erro de rede.
+     */
+    static boolean isDependencyFailure(Throwable error) {
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            // falhas do próprio upload chegam embrulhadas pelo SDK como erro do corpo
+            if (cause instanceof UnsupportedVideoFormatException || cause instanceof ChecksumMismatchException
+                    || cause instanceof DependencyUnavailableException) {
+                return false;
+            }
+        }
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (cause instanceof CompletionException) {
+                continue;
+            }
+            if (cause instanceof AmazonServiceException service) {
+                return RetryUtils.isRetryableServiceException(service) || RetryUtils.isThrottlingException(service);
+            }
+            if (cause instanceof AmazonClientException client) {
+                return client.isRetryable();
+            }
+            if (cause instanceof SdkServiceException service) {
+                return service.statusCode() >= 500 || service.isThrottlingException();
+            }
+            if (cause instanceof SdkClientException || cause instanceof SocketTimeoutException
+                    || cause instanceof TimeoutException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Últimas latências bem-sucedidas, para o atraso do hedge.
+     */
+    static final class LatencyWindow {
+
+        private final long[] samples;
+        private int next;
+        private int count;
+
+        LatencyWindow(int size) {
+            samples = new long[size];
+        }
+
+        synchronized void record(long nanos) {
+            samples[next] = nanos;
+            next = (next + 1) % samples.length;
+            count = Math.min(count + 1, samples.length);
+        }
+
+        /**
+         * Quantil das amostras, ou -1 se ainda há menos de {@code minSamples}.
+         */
+        synchronized long percentile(double quantile, int minSamples) {
+            if (count < minSamples) {
+                return -1;
+            }
+            long[] sorted = Arrays.copyOf(samples, count);
+            Arrays.sort(sorted);
+            return sorted[Math.min(count - 1, (int) Math.ceil(quantile * count) - 1)];
+        }
+    }
+}
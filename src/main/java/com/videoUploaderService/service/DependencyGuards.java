@@ -0,0 +1,81 @@
+package com.videoUploaderService.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Os {@link DependencyGuard} do S3 e do SQS, com as mesmas configurações de {@code upload.resilience.*}
+ * e breakers independentes: o SQS degradado não recusa envios ao S3, e vice-versa.
+ */
+@Component
+public class DependencyGuards {
+
+    private final DependencyGuard s3;
+    private final DependencyGuard sqs;
+    private final boolean asyncUploads;
+    private final boolean outbox;
+
+    public DependencyGuards(MeterRegistry registry,
+                            @Value("${upload.resilience.enabled:true}") boolean enabled,
+                            @Value("${upload.resilience.maxAttempts:3}") int maxAttempts,
+                            @Value("${upload.resilience.retryBudgetRatio:0.1}") double retryBudgetRatio,
+                            @Value("${upload.resilience.minRetriesPerSecond:5}") double minRetriesPerSecond,
+                            @Value("${upload.resilience.baseBackoffMillis:25}") long baseBackoffMillis,
+                            @Value("${upload.resilience.maxBackoffMillis:1000}") long maxBackoffMillis,
+                            @Value("${upload.resilience.breaker.failureRateThreshold:0.5}") double failureRateThreshold,
+                            @Value("${upload.resilience.breaker.windowSize:50}") int windowSize,
+                            @Value("${upload.resilience.breaker.minimumCalls:20}") int minimumCalls,
+                            @Value("${upload.resilience.breaker.openMillis:10000}") long openMillis,
+                            @Value("${upload.resilience.sqs.hedging:false}") boolean sqsHedging,
+                            @Value("${upload.async.enabled:false}") boolean asyncUploads,
+                            @Value("${upload.outbox.enabled:false}") boolean outbox) {
+        long openNanos = TimeUnit.MILLISECONDS.toNanos(openMillis);
+        this.s3 = new DependencyGuard("s3", enabled,
+                new CircuitBreaker(failureRateThreshold, windowSize, minimumCalls, openNanos, DependencyGuard.HALF_OPEN_CALLS),
+                new RetryBudget(retryBudgetRatio, minRetriesPerSecond), maxAttempts, baseBackoffMillis, maxBackoffMillis,
+                false, registry);
+        this.sqs = new DependencyGuard("sqs", enabled,
+                new CircuitBreaker(failureRateThreshold, windowSize, minimumCalls, openNanos, DependencyGuard.HALF_OPEN_CALLS),
+                new RetryBudget(retryBudgetRatio, minRetriesPerSecond), maxAttempts, baseBackoffMillis, maxBackoffMillis,
+                sqsHedging, registry);
+        this.asyncUploads = asyncUploads;
+        this.outbox = outbox;
+    }
+
+    /**
+     * Sem retry, breaker nem hedge: as chamadas passam direto, como antes desta camada. Para os
+     * benchmarks e os testes que não tratam de resiliência.
+     */
+    public static DependencyGuards disabled(MeterRegistry registry) {
+        return new DependencyGuards(registry, false, 1, 0, 0, 0, 0, 1, 1, 1, 0, false, false, false);
+    }
+
+    public DependencyGuard s3() {
+        return s3;
+    }
+
+    public DependencyGuard sqs() {
+        return sqs;
+    }
+
+    /**
+     * Dependência aberta da qual um upload novo não teria como escapar, ou {@code null}. O modo
+     * assíncrono grava no spool e repete o envio ao S3 e ao SQS depois, e o outbox guarda a mensagem
+     * até o SQS voltar; com eles, o circuito aberto não impede a admissão.
+     */
+    public DependencyGuard unavailableForUploads() {
+        if (asyncUploads) {
+            return null;
+        }
+        if (s3.isOpen()) {
+            return s3;
+        }
+        if (!outbox && sqs.isOpen()) {
+            return sqs;
+        }
+        return null;
+    }
+}
@@ -0,0 +1,25 @@
+package com.videoUploaderService.service;
+
+/**
+ * A chamada foi recusada sem ir à rede porque o circuit breaker da dependência está aberto. O
+ * chamador responde {@code 503} com o {@code Retry-After} sugerido.
+ */
+public class DependencyUnavailableException extends RuntimeException {
+
+    private final String dependency;
+    private final long retryAfterSeconds;
+
+    public DependencyUnavailableException(String dependency, long retryAfterSeconds) {
+        super("Dependência " + dependency + " indisponível; tente novamente em " + retryAfterSeconds + " s");
+        this.dependency = dependency;
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public String getDependency() {
+        return dependency;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -0,0 +1,43 @@
+package com.videoUploaderService.service;
+
+import java.util.Base64;
+
+/**
+ * Checksums informados pelo cliente nos cabeçalhos {@code x-amz-checksum-crc32c} e
+ * {@code x-amz-checksum-sha256}, em Base64 como no S3. Campos nulos não são verificados.
+ */
+public record ExpectedChecksums(String crc32c, String sha256) {
+
+    public static final String CRC32C_HEADER = "x-amz-checksum-crc32c";
+    public static final String SHA256_HEADER = "x-amz-checksum-sha256";
+
+    public static final ExpectedChecksums NONE = new ExpectedChecksums(null, null);
+
+    /**
+     * Valida o formato dos cabeçalhos antes de o corpo ser lido.
+     *
+     * @throws IllegalArgumentException se algum valor não for Base64 do tamanho do algoritmo
+     */
+    public static ExpectedChecksums fromHeaders(String crc32c, String sha256) {
+        return new ExpectedChecksums(decoded(CRC32C_HEADER, crc32c, 4), decoded(SHA256_HEADER, sha256, 32));
+    }
+
+    public boolean isEmpty() {
+        return crc32c == null && sha256 == null;
+    }
+
+    private static String decoded(String header, String value, int bytes) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        String trimmed = value.trim();
+        try {
+            if (Base64.getDecoder().decode(trimmed).length == bytes) {
+                return trimmed;
+            }
+        } catch (IllegalArgumentException e) {
+            // cai na mensagem abaixo
+        }
+        throw new IllegalArgumentException("Cabeçalho " + header + " deve ter " + bytes + " bytes em Base64");
+    }
+}
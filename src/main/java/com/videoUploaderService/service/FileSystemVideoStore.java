@@ -0,0 +1,124 @@
+package com.videoUploaderService.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Backend em disco local ({@code upload.store=filesystem}), para instalações on-prem e testes de
+ * carga sem AWS. Cada vídeo é gravado em {@code <raiz>/<chave>}, com a mesma chave do S3; com várias
+ * raízes (uma por disco), a raiz é escolhida pelo hash da chave, então a URL é calculada sem consultar
+ * o disco.
+ *
+ * <p>A gravação usa {@link FileChannel#transferFrom}. A origem chega sempre embrulhada pela
+ * verificação de checksums e do contêiner, então os bytes passam pelo heap mesmo quando vêm do spool.
+ * O arquivo é gravado como {@code .part} e só é renomeado depois de completo.
+ */
+@Component
+@ConditionalOnProperty(name = "upload.store", havingValue = "filesystem")
+public class FileSystemVideoStore implements VideoStore {
+
+    private static final long TRANSFER_CHUNK = 8 * 1024 * 1024;
+
+    private final List<Path> roots = new ArrayList<>();
+    private final String baseUrl;
+    private final boolean fsync;
+
+    public FileSystemVideoStore(@Value("${upload.store.filesystem.roots}") List<String> roots,
+                                @Value("${upload.store.filesystem.baseUrl:}") String baseUrl,
+                                @Value("${upload.store.filesystem.fsync:true}") boolean fsync) {
+        for (String root : roots) {
+            if (!root.isBlank()) {
+                this.roots.add(Paths.get(root.trim()).toAbsolutePath().normalize());
+            }
+        }
+        if (this.roots.isEmpty()) {
+            throw new IllegalArgumentException("upload.store.filesystem.roots deve ter pelo menos um diretório");
+        }
+        this.baseUrl = baseUrl == null || baseUrl.isBlank() ? null : baseUrl.replaceAll("/+$", "");
+        this.fsync = fsync;
+    }
+
+    @Override
+    public CompletableFuture<Void> put(String key, InputStream in, long size) {
+        try {
+            write(path(key), in);
+            return CompletableFuture.completedFuture(null);
+        } catch (IOException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    @Override
+    public CompletableFuture<Void> delete(String key) {
+        try {
+            Files.deleteIfExists(path(key));
+            return CompletableFuture.completedFuture(null);
+        } catch (IOException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+     * {@code baseUrl/<chave>} quando há um servidor HTTP na frente dos discos; senão, a URI {@code file://}.
+     */
+    @Override
+    public String url(String key) {
+        if (baseUrl != null) {
+            return baseUrl + "/" + key;
+        }
+        try {
+            return path(key).toUri().toString();
+        } catch (IOException e) {
+            throw new IllegalArgumentException(e.getMessage(), e);
+        }
+    }
+
+    Path path(String key) throws IOException {
+        Path root = roots.get(Math.floorMod(key.hashCode(), roots.size()));
+        Path path = root.resolve(key).normalize();
+        // a extensão vem do nome enviado pelo cliente: não pode sair da raiz
+        if (!path.startsWith(root) || path.equals(root)) {
+            throw new IOException("Chave inválida para armazenamento local: " + key);
+        }
+        return path;
+    }
+
+    private void write(Path target, InputStream in) throws IOException {
+        Files.createDirectories(target.getParent());
+        Path partial = target.resolveSibling(target.getFileName() + "." + UUID.randomUUID() + ".part");
+
+        try (FileChannel file = FileChannel.open(partial, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+            ReadableByteChannel source = Channels.newChannel(in);
+            long position = 0;
+            long transferred;
+            // a origem é bloqueante: 0 bytes transferidos indica fim do stream
+            while ((transferred = file.transferFrom(source, position, TRANSFER_CHUNK)) > 0) {
+                position += transferred;
+            }
+            if (fsync) {
+                file.force(true);
+            }
+        } catch (IOException e) {
+            Files.deleteIfExists(partial);
+            throw e;
+        }
+
+        Files.move(partial, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+}
@@ -0,0 +1,47 @@
+package com.videoUploaderService.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * {@code videos/<hh>/<epochMillis>-<uuid><ext>}: o prefixo são os primeiros caracteres hexadecimais
+ * do UUID, que é aleatório e funciona como um hash uniforme. Com {@code upload.keys.prefixLength}
+ * caracteres, os uploads se espalham por 16^n prefixos e cada um recebe só uma fração da rajada.
+ */
+@Component
+@ConditionalOnProperty(name = "upload.keys.layout", havingValue = "hash", matchIfMissing = true)
+public class HashPrefixKeyLayout implements VideoKeyLayout {
+
+    static final int VERSION = 2;
+
+    private final int prefixLength;
+
+    public HashPrefixKeyLayout(@Value("${upload.keys.prefixLength:2}") int prefixLength) {
+        this.prefixLength = checkPrefixLength(prefixLength);
+    }
+
+    @Override
+    public int version() {
+        return VERSION;
+    }
+
+    @Override
+    public String newKey(String extension) {
+        String id = UUID.randomUUID().toString();
+        return ROOT + id.substring(0, prefixLength) + "/" + Instant.now().toEpochMilli() + "-" + id + extension;
+    }
+
+    /**
+     * O primeiro bloco do UUID tem 8 caracteres hexadecimais.
+     */
+    static int checkPrefixLength(int prefixLength) {
+        if (prefixLength < 1 || prefixLength > 8) {
+            throw new IllegalArgumentException("upload.keys.prefixLength deve estar entre 1 e 8: " + prefixLength);
+        }
+        return prefixLength;
+    }
+}
@@ -0,0 +1,56 @@
+package com.videoUploaderService.service;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class InMemoryUploadSessionStore implements UploadSessionStore {
+
+    private final Map<String, UploadSession> sessions = new ConcurrentHashMap<>();
+
+    @Override
+    public void create(UploadSession session) {
+        sessions.put(session.uploadId(), session);
+    }
+
+    @Override
+    public Optional<UploadSession> find(String uploadId) {
+        return Optional.ofNullable(sessions.get(uploadId));
+    }
+
+    @Override
+    public void putPart(String uploadId, UploadSession.UploadedPart part) {
+        UploadSession session = sessions.get(uploadId);
+        if (session == null) {
+            throw new UploadSessionNotFoundException(uploadId);
+        }
+        session.parts().put(part.partNumber(), part);
+    }
+
+    @Override
+    public void updateStatus(String uploadId, UploadSession.Status status) {
+        if (sessions.computeIfPresent(uploadId, (id, session) -> session.withStatus(status)) == null) {
+            throw new UploadSessionNotFoundException(uploadId);
+        }
+    }
+
+    @Override
+    public void delete(String uploadId) {
+        sessions.remove(uploadId);
+    }
+
+    @Override
+    public List<UploadSession> expire(Instant createdBefore) {
+        List<UploadSession> expired = new ArrayList<>();
+        for (UploadSession session : sessions.values()) {
+            // remove(key, value) não apaga uma sessão que mudou de estado no meio da varredura
+            if (session.createdAt().isBefore(createdBefore) && sessions.remove(session.uploadId(), session)) {
+                expired.add(session);
+            }
+        }
+        return expired;
+    }
+}
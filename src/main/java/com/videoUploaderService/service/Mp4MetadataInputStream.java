@@ -0,0 +1,58 @@
+package com.videoUploaderService.service;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Passa cada byte lido pelo {@link Mp4MetadataParser}, como um {@link java.security.DigestInputStream}.
+ */
+public class Mp4MetadataInputStream extends FilterInputStream {
+
+    private final Mp4MetadataParser parser;
+    private final byte[] single = new byte[1];
+
+    public Mp4MetadataInputStream(InputStream in, Mp4MetadataParser parser) {
+        super(in);
+        this.parser = parser;
+    }
+
+    @Override
+    public int read() throws IOException {
+        int b = in.read();
+        if (b >= 0) {
+            single[0] = (byte) b;
+            parser.update(single, 0, 1);
+        }
+        return b;
+    }
+
+    @Override
+    public int read(byte[] buffer, int offset, int length) throws IOException {
+        int n = in.read(buffer, offset, length);
+        if (n > 0) {
+            parser.update(buffer, offset, n);
+        }
+        return n;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        // pular bytes esconderia átomos do parser: lê e descarta
+        byte[] discard = new byte[(int) Math.min(n, 8192)];
+        long skipped = 0;
+        while (skipped < n) {
+            int read = read(discard, 0, (int) Math.min(discard.length, n - skipped));
+            if (read < 0) {
+                break;
+            }
+            skipped += read;
+        }
+        return skipped;
+    }
+
+    @Override
+    public boolean markSupported() {
+        return false;
+    }
+}
@@ -0,0 +1,269 @@
+package com.videoUploaderService.service;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Extrai duração, resolução e codecs de um MP4/MOV enquanto os bytes passam para o backend, sem
+ * guardar o arquivo: os átomos de primeiro nível são só contados, exceto o {@code moov}, que é
+ * copiado até {@code maxMoovBytes} e interpretado ({@code mvhd}, {@code tkhd}, {@code hdlr} e
+ * {@code stsd}). Com o {@code moov} no fim do arquivo, depois do {@code mdat}, a leitura é a mesma:
+ * o {@code mdat} é pulado e só o {@code moov} do final é guardado.
+ *
+ * <p>Usado como o {@link java.security.MessageDigest} de um {@link java.security.DigestInputStream},
+ * por meio do {@link Mp4MetadataInputStream}. Não é thread-safe.
+ */
+public class Mp4MetadataParser {
+
+    public static final String METADATA = "metadata";
+
+    private static final int SCRATCH_BYTES = 8192;
+
+    private enum State { HEADER, SKIP, MOOV, DONE }
+
+    private final int maxMoovBytes;
+    private final byte[] header = new byte[16];
+
+    private State state = State.HEADER;
+    private int headerLength;
+    private long skip;
+    private byte[] moov;
+    private int moovLength;
+    private byte[] scratch;
+    private Map<String, Object> metadata = Map.of();
+
+    public Mp4MetadataParser(int maxMoovBytes) {
+        this.maxMoovBytes = maxMoovBytes;
+    }
+
+    public void update(byte[] buffer, int offset, int length) {
+        int end = offset + length;
+        while (offset < end && state != State.DONE) {
+            switch (state) {
+                case HEADER -> offset = header(buffer, offset, end);
+                case SKIP -> {
+                    int n = (int) Math.min(skip, end - offset);
+                    skip -= n;
+                    offset += n;
+                    if (skip == 0) {
+                        state = State.HEADER;
+                    }
+                }
+                case MOOV -> {
+                    int n = Math.min(moov.length - moovLength, end - offset);
+                    System.arraycopy(buffer, offset, moov, moovLength, n);
+                    moovLength += n;
+                    offset += n;
+                    if (moovLength == moov.length) {
+                        metadata = parseMoov(ByteBuffer.wrap(moov));
+                        moov = null;
+                        state = State.DONE;
+                    }
+                }
+                default -> offset = end;
+            }
+        }
+    }
+
+    /**
+     * Mesmo que {@link #update(byte[], int, int)}, sem alterar a posição do buffer. O conteúdo do
+     * {@code mdat} só é pulado; de buffers diretos são copiados apenas cabeçalhos e o {@code moov}.
+     */
+    public void update(ByteBuffer buffer) {
+        ByteBuffer view = buffer.duplicate();
+        if (view.hasArray()) {
+            update(view.array(), view.arrayOffset() + view.position(), view.remaining());
+            return;
+        }
+        while (view.hasRemaining() && state != State.DONE) {
+            if (state == State.SKIP) {
+                int n = (int) Math.min(skip, view.remaining());
+                view.position(view.position() + n);
+                skip -= n;
+                if (skip == 0) {
+                    state = State.HEADER;
+                }
+                continue;
+            }
+            if (scratch == null) {
+                scratch = new byte[SCRATCH_BYTES];
+            }
+            // no cabeçalho copia só o que falta dele, para o corpo do átomo seguinte ser pulado sem cópia
+            int n = Math.min(state == State.HEADER ? header.length - headerLength : scratch.length, view.remaining());
+            view.get(scratch, 0, n);
+            update(scratch, 0, n);
+        }
+    }
+
+    /**
+     * Metadados encontrados, ou vazio se o {@code moov} não apareceu, era maior que o limite ou
+     * estava corrompido.
+     */
+    public Map<String, Object> metadata() {
+        return metadata;
+    }
+
+    private int header(byte[] buffer, int offset, int end) {
+        int needed = headerLength < 8 ? 8 : 16;
+        int n = Math.min(needed - headerLength, end - offset);
+        System.arraycopy(buffer, offset, header, headerLength, n);
+        headerLength += n;
+        offset += n;
+        if (headerLength < 8) {
+            return offset;
+        }
+
+        ByteBuffer box = ByteBuffer.wrap(header);
+        long size = Integer.toUnsignedLong(box.getInt(0));
+        if (size == 1) {
+            // tamanho de 64 bits logo após o tipo
+            if (headerLength < 16) {
+                return offset;
+            }
+            size = box.getLong(8);
+        } else if (size == 0) {
+            // átomo vai até o fim do arquivo: não há moov depois dele
+            state = State.DONE;
+            return offset;
+        }
+        if (size < headerLength) {
+            state = State.DONE;
+            return offset;
+        }
+
+        long body = size - headerLength;
+        boolean isMoov = "moov".equals(type(header, 4));
+        headerLength = 0;
+        if (isMoov && body <= maxMoovBytes) {
+            moov = new byte[(int) body];
+            moovLength = 0;
+            state = body == 0 ? State.DONE : State.MOOV;
+        } else if (isMoov) {
+            state = State.DONE;
+        } else {
+            skip = body;
+            state = body == 0 ? State.HEADER : State.SKIP;
+        }
+        return offset;
+    }
+
+    static Map<String, Object> parseMoov(ByteBuffer moov) {
+        Movie movie = new Movie();
+        try {
+            children(moov, movie, null);
+        } catch (RuntimeException e) {
+            // átomo truncado ou inconsistente: fica o que já foi lido
+        }
+
+        Map<String, Object> metadata = new LinkedHashMap<>();
+        if (movie.timescale > 0 && movie.duration >= 0) {
+            metadata.put("durationSeconds", Math.round(movie.duration * 1000.0 / movie.timescale) / 1000.0);
+        }
+        for (Track track : movie.tracks) {
+            if ("vide".equals(track.handler) && !metadata.containsKey("videoCodec")) {
+                metadata.put("width", track.width);
+                metadata.put("height", track.height);
+                if (track.codec != null) {
+                    metadata.put("videoCodec", track.codec);
+                }
+            } else if ("soun".equals(track.handler) && track.codec != null && !metadata.containsKey("audioCodec")) {
+                metadata.put("audioCodec", track.codec);
+            }
+        }
+        return metadata;
+    }
+
+    private static void children(ByteBuffer parent, Movie movie, Track track) {
+        while (parent.remaining() >= 8) {
+            int start = parent.position();
+            long size = Integer.toUnsignedLong(parent.getInt());
+            String type = type(parent);
+            int headerSize = 8;
+            if (size == 1) {
+                size = parent.getLong();
+                headerSize = 16;
+            } else if (size == 0) {
+                size = parent.limit() - start;
+            }
+            if (size < headerSize || size > parent.limit() - start) {
+                return;
+            }
+            ByteBuffer body = parent.slice(start + headerSize, (int) size - headerSize);
+            parent.position(start + (int) size);
+
+            switch (type) {
+                case "trak" -> {
+                    Track trak = new Track();
+                    movie.tracks.add(trak);
+                    children(body, movie, trak);
+                }
+                case "mdia", "minf", "stbl" -> children(body, movie, track);
+                case "mvhd" -> mvhd(body, movie);
+                case "tkhd" -> {
+                    if (track != null) {
+                        tkhd(body, track);
+                    }
+                }
+                case "hdlr" -> {
+                    if (track != null) {
+                        // versão/flags e pre_defined antes do tipo
+                        track.handler = type(body.position(8));
+                    }
+                }
+                case "stsd" -> {
+                    if (track != null && body.getInt(4) > 0) {
+                        // versão/flags, número de entradas e o tamanho da primeira; o formato é o codec
+                        track.codec = type(body.position(12)).trim();
+                    }
+                }
+                default -> {
+                }
+            }
+        }
+    }
+
+    private static void mvhd(ByteBuffer body, Movie movie) {
+        int version = body.get(0);
+        if (version == 1) {
+            movie.timescale = Integer.toUnsignedLong(body.getInt(20));
+            movie.duration = body.getLong(24);
+        } else {
+            movie.timescale = Integer.toUnsignedLong(body.getInt(12));
+            movie.duration = Integer.toUnsignedLong(body.getInt(16));
+        }
+    }
+
+    private static void tkhd(ByteBuffer body, Track track) {
+        // largura e altura em ponto fixo 16.16 nos últimos 8 bytes do átomo
+        int dimensions = body.get(0) == 1 ? 88 : 76;
+        track.width = body.getInt(dimensions) >>> 16;
+        track.height = body.getInt(dimensions + 4) >>> 16;
+    }
+
+    private static String type(ByteBuffer buffer) {
+        byte[] type = new byte[4];
+        buffer.get(type);
+        return new String(type, StandardCharsets.ISO_8859_1);
+    }
+
+    private static String type(byte[] buffer, int offset) {
+        return new String(buffer, offset, 4, StandardCharsets.ISO_8859_1);
+    }
+
+    private static final class Movie {
+        long timescale;
+        long duration = -1;
+        final List<Track> tracks = new ArrayList<>();
+    }
+
+    private static final class Track {
+        String handler;
+        String codec;
+        int width;
+        int height;
+    }
+}
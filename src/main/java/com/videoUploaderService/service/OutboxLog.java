@@ -0,0 +1,268 @@
+package com.videoUploaderService.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Outbox local append-only: as mensagens para o SQS são gravadas aqui antes de o upload ser
+ * confirmado ao cliente e o {@link OutboxRelay} as publica depois.
+ *
+ * <p>O log é dividido em segmentos mapeados em memória ({@code <n>.log}). Cada registro é
+ * {@code [tamanho][crc32][corpo UTF-8]}; a área ainda não escrita do segmento fica zerada.
+ * O arquivo {@code checkpoint} guarda a posição até onde o relay já publicou; segmentos
+ * anteriores a ela são apagados. No startup, o fim do último segmento é reencontrado validando
+ * os CRCs, então um registro escrito pela metade é descartado.
+ */
+@Component
+public class OutboxLog {
+
+    private static final Logger logger = LoggerFactory.getLogger(OutboxLog.class);
+
+    static final int HEADER_SIZE = 8;
+
+    private final boolean enabled;
+    private final Path dir;
+    private final int segmentSize;
+    private final boolean fsync;
+
+    private final Object writeLock = new Object();
+    private MappedByteBuffer writeBuffer;
+    private volatile Position end;
+
+    private final Object readLock = new Object();
+    private long readSegment = -1;
+    private ByteBuffer readBuffer;
+    private volatile Position checkpoint;
+
+    public OutboxLog(@Value("${upload.outbox.enabled:false}") boolean enabled,
+                     @Value("${upload.outbox.dir:${java.io.tmpdir}/video-uploader-outbox}") String dir,
+                     @Value("${upload.outbox.segmentSize:16777216}") int segmentSize,
+                     @Value("${upload.outbox.fsync:true}") boolean fsync) throws IOException {
+        if (segmentSize <= HEADER_SIZE) {
+            throw new IllegalArgumentException("upload.outbox.segmentSize deve ser maior que " + HEADER_SIZE + " bytes");
+        }
+        this.enabled = enabled;
+        this.dir = Path.of(dir);
+        this.segmentSize = segmentSize;
+        this.fsync = fsync;
+        if (enabled) {
+            open();
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Grava a mensagem no fim do log. Com {@code upload.outbox.fsync=true}, só retorna depois de o
+     * registro estar no disco.
+     */
+    public void append(String body) throws IOException {
+        appendAll(List.of(body));
+    }
+
+    /**
+     * Grava as mensagens em sequência, com um único {@code force} por segmento tocado em vez de um
+     * por mensagem. Se alguma for inválida, nenhuma é gravada.
+     */
+    public void appendAll(List<String> bodies) throws IOException {
+        List<byte[]> records = new ArrayList<>(bodies.size());
+        for (String body : bodies) {
+            byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+            if (bytes.length == 0 || bytes.length > segmentSize - HEADER_SIZE) {
+                throw new IllegalArgumentException("Mensagem do outbox deve ter entre 1 e " + (segmentSize - HEADER_SIZE) + " bytes");
+            }
+            records.add(bytes);
+        }
+
+        synchronized (writeLock) {
+            Position position = end;
+            int syncFrom = position.offset();
+            for (byte[] bytes : records) {
+                if (position.offset() + HEADER_SIZE + bytes.length > segmentSize) {
+                    sync(syncFrom, position.offset());
+                    position = new Position(position.segment() + 1, 0);
+                    writeBuffer = map(position.segment());
+                    syncFrom = 0;
+                }
+                int offset = position.offset();
+                CRC32 crc = new CRC32();
+                crc.update(bytes);
+                writeBuffer.putInt(offset + 4, (int) crc.getValue());
+                writeBuffer.put(offset + HEADER_SIZE, bytes);
+                // o tamanho é gravado por último: um registro com tamanho diferente de zero está completo
+                writeBuffer.putInt(offset, bytes.length);
+                position = new Position(position.segment(), offset + HEADER_SIZE + bytes.length);
+            }
+            sync(syncFrom, position.offset());
+            end = position;
+        }
+    }
+
+    private void sync(int from, int to) {
+        if (fsync && to > from) {
+            writeBuffer.force(from, to - from);
+        }
+    }
+
+    /**
+     * Lê até {@code max} registros a partir de {@code from}. Cada entrada traz a posição logo após ela,
+     * que pode ser passada para {@link #commit(Position)}.
+     */
+    public List<Entry> read(Position from, int max) {
+        List<Entry> entries = new ArrayList<>();
+        Position limit = end;
+        Position position = from;
+        synchronized (readLock) {
+            while (entries.size() < max && position.compareTo(limit) < 0) {
+                ByteBuffer segment = segment(position.segment());
+                int offset = position.offset();
+                int length = offset + HEADER_SIZE <= segmentSize ? segment.getInt(offset) : 0;
+                if (length == 0) {
+                    // resto do segmento não coube o próximo registro: ele está no início do seguinte
+                    position = new Position(position.segment() + 1, 0);
+                    continue;
+                }
+                byte[] bytes = new byte[length];
+                segment.get(offset + HEADER_SIZE, bytes);
+                position = new Position(position.segment(), offset + HEADER_SIZE + length);
+                entries.add(new Entry(new String(bytes, StandardCharsets.UTF_8), position));
+            }
+        }
+        return entries;
+    }
+
+    /**
+     * Registra que tudo antes de {@code position} já foi publicado e apaga os segmentos anteriores.
+     */
+    public void commit(Position position) throws IOException {
+        Path temp = dir.resolve("checkpoint.tmp");
+        Files.write(temp, ByteBuffer.allocate(12).putLong(position.segment()).putInt(position.offset()).array());
+        Files.move(temp, dir.resolve("checkpoint"), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        checkpoint = position;
+
+        for (long segment : segments()) {
+            if (segment < position.segment()) {
+                Files.deleteIfExists(segmentPath(segment));
+            }
+        }
+    }
+
+    public Position checkpoint() {
+        return checkpoint;
+    }
+
+    public Position end() {
+        return end;
+    }
+
+    private void open() throws IOException {
+        Files.createDirectories(dir);
+
+        Path checkpointPath = dir.resolve("checkpoint");
+        if (Files.exists(checkpointPath)) {
+            ByteBuffer stored = ByteBuffer.wrap(Files.readAllBytes(checkpointPath));
+            checkpoint = new Position(stored.getLong(), stored.getInt());
+        } else {
+            checkpoint = new Position(0, 0);
+        }
+
+        List<Long> segments = segments();
+        for (long segment : segments) {
+            if (segment < checkpoint.segment()) {
+                Files.deleteIfExists(segmentPath(segment));
+            }
+        }
+        long last = segments.isEmpty() ? checkpoint.segment() : Math.max(segments.get(segments.size() - 1), checkpoint.segment());
+        writeBuffer = map(last);
+        end = new Position(last, recoverEnd(writeBuffer));
+
+        if (end.compareTo(checkpoint) > 0) {
+            logger.info("Outbox {} com mensagens pendentes desde {} até {}", dir, checkpoint, end);
+        }
+    }
+
+    /**
+     * Percorre o segmento até o primeiro registro vazio ou corrompido (escrita interrompida).
+     */
+    private int recoverEnd(ByteBuffer segment) {
+        int offset = 0;
+        while (offset + HEADER_SIZE <= segmentSize) {
+            int length = segment.getInt(offset);
+            if (length <= 0 || offset + HEADER_SIZE + length > segmentSize) {
+                break;
+            }
+            byte[] bytes = new byte[length];
+            segment.get(offset + HEADER_SIZE, bytes);
+            CRC32 crc = new CRC32();
+            crc.update(bytes);
+            if ((int) crc.getValue() != segment.getInt(offset + 4)) {
+                logger.warn("Registro corrompido no outbox na posição {}; descartando o restante do segmento", offset);
+                break;
+            }
+            offset += HEADER_SIZE + length;
+        }
+        return offset;
+    }
+
+    private ByteBuffer segment(long segment) {
+        if (segment != readSegment) {
+            try (FileChannel channel = FileChannel.open(segmentPath(segment), StandardOpenOption.READ)) {
+                readBuffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, segmentSize);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Falha ao abrir segmento " + segment + " do outbox", e);
+            }
+            readSegment = segment;
+        }
+        return readBuffer;
+    }
+
+    private MappedByteBuffer map(long segment) throws IOException {
+        try (FileChannel channel = FileChannel.open(segmentPath(segment),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            return channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+        }
+    }
+
+    private List<Long> segments() throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.map(path -> path.getFileName().toString())
+                    .filter(name -> name.endsWith(".log"))
+                    .map(name -> Long.parseLong(name.substring(0, name.length() - 4)))
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    private Path segmentPath(long segment) {
+        return dir.resolve(String.format("%020d.log", segment));
+    }
+
+    public record Position(long segment, int offset) implements Comparable<Position> {
+        @Override
+        public int compareTo(Position other) {
+            int bySegment = Long.compare(segment, other.segment);
+            return bySegment != 0 ? bySegment : Integer.compare(offset, other.offset);
+        }
+    }
+
+    public record Entry(String body, Position next) {}
+}
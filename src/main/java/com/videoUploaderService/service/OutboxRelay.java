@@ -0,0 +1,104 @@
+package com.videoUploaderService.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Publica no SQS as mensagens gravadas no {@link OutboxLog}, em blocos de até {@code relayBatchSize}
+ * entradas, e avança o checkpoint até a última entrada confirmada sem lacunas. Começa no startup,
+ * então o que ficou pendente de uma execução anterior é reenviado primeiro.
+ *
+ * <p>A entrega é pelo menos uma vez: se o processo cair entre a publicação e o checkpoint, as
+ * mensagens do último bloco são publicadas de novo.
+ */
+@Service
+public class OutboxRelay {
+
+    private static final Logger logger = LoggerFactory.getLogger(OutboxRelay.class);
+
+    private final OutboxLog outbox;
+    private final SqsBatchPublisher publisher;
+    private final ScheduledExecutorService executor;
+    private final long intervalMillis;
+    private final int batchSize;
+
+    public OutboxRelay(OutboxLog outbox,
+                       SqsBatchPublisher publisher,
+                       @Qualifier("outboxRelayExecutor") ScheduledExecutorService executor,
+                       @Value("${upload.outbox.relayIntervalMillis:50}") long intervalMillis,
+                       @Value("${upload.outbox.relayBatchSize:1000}") int batchSize) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("upload.outbox.relayBatchSize deve ser positivo");
+        }
+        this.outbox = outbox;
+        this.publisher = publisher;
+        this.executor = executor;
+        this.intervalMillis = intervalMillis;
+        this.batchSize = batchSize;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!outbox.isEnabled()) {
+            return;
+        }
+        executor.scheduleWithFixedDelay(this::drainSafely, 0, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    private void drainSafely() {
+        try {
+            drain();
+        } catch (IOException | RuntimeException e) {
+            // uma exceção cancelaria o agendamento; a próxima rodada recomeça do checkpoint
+            logger.warn("Falha ao publicar mensagens do outbox, nova tentativa em {} ms: {}", intervalMillis, e.getMessage());
+        }
+    }
+
+    /**
+     * Publica tudo o que estiver pendente. Retorna quantas mensagens foram confirmadas.
+     */
+    long drain() throws IOException {
+        long published = 0;
+        while (true) {
+            List<OutboxLog.Entry> entries = outbox.read(outbox.checkpoint(), batchSize);
+            if (entries.isEmpty()) {
+                return published;
+            }
+
+            List<CompletableFuture<String>> futures = new ArrayList<>(entries.size());
+            for (OutboxLog.Entry entry : entries) {
+                futures.add(publisher.publish(entry.body()));
+            }
+            // o final do bloco não precisa esperar o linger
+            publisher.flush();
+
+            OutboxLog.Position confirmed = null;
+            for (int i = 0; i < entries.size(); i++) {
+                try {
+                    futures.get(i).join();
+                } catch (CompletionException e) {
+                    if (confirmed != null) {
+                        outbox.commit(confirmed);
+                    }
+                    throw new IOException("Falha ao publicar mensagem do outbox: " + e.getCause().getMessage(), e.getCause());
+                }
+                confirmed = entries.get(i).next();
+                published++;
+            }
+            outbox.commit(confirmed);
+        }
+    }
+}
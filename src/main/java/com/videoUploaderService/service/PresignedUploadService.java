@@ -0,0 +1,125 @@
+package com.videoUploaderService.service;
+
+import com.amazonaws.services.s3.model.ObjectMetadata;
+import com.amazonaws.services.s3.model.PartETag;
+import com.videoUploaderService.service.TokenService.UserInfo;
+import com.videoUploaderService.service.UploadSession.Status;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Upload direto para o S3 com URLs pré-assinadas. Este serviço só trata metadados:
+ * emite as URLs, e na conclusão confere o objeto com um HEAD antes de publicar a mensagem SQS.
+ */
+@Service
+public class PresignedUploadService {
+
+    private final VideoStorageService videoStorageService;
+    private final VideoQueueService videoQueueService;
+    private final UploadSessionStore sessionStore;
+    private final Duration expiration;
+
+    public PresignedUploadService(VideoStorageService videoStorageService,
+                                  VideoQueueService videoQueueService,
+                                  UploadSessionStore sessionStore,
+                                  @Value("${aws.s3.presign.expirationMinutes:60}") long expirationMinutes) {
+        this.videoStorageService = videoStorageService;
+        this.videoQueueService = videoQueueService;
+        this.sessionStore = sessionStore;
+        this.expiration = Duration.ofMinutes(expirationMinutes);
+    }
+
+    /**
+     * Uma única URL de PUT para o objeto inteiro (até 5GB).
+     */
+    public PresignedUpload presignSingle(String filename, String title, String description, UserInfo userInfo) {
+        String key = videoStorageService.newKey(filename);
+        Instant expiresAt = Instant.now().plus(expiration);
+
+        UploadSession session = newSession(key, null, title, description, userInfo);
+        String url = videoStorageService.presignPutObject(key, expiresAt).toString();
+
+        return new PresignedUpload(session.uploadId(), key, expiresAt, List.of(new PresignedPart(1, url)));
+    }
+
+    /**
+     * Inicia um multipart upload e emite uma URL por parte. O cliente guarda o ETag de cada
+     * resposta do S3 e o informa na conclusão.
+     */
+    public PresignedUpload presignMultipart(String filename, String title, String description, int partCount,
+                                            UserInfo userInfo) throws IOException {
+        if (partCount < 1 || partCount > ResumableUploadService.MAX_PART_NUMBER) {
+            throw new IllegalArgumentException("Quantidade de partes deve estar entre 1 e " + ResumableUploadService.MAX_PART_NUMBER);
+        }
+
+        String key = videoStorageService.newKey(filename);
+        Instant expiresAt = Instant.now().plus(expiration);
+        String s3UploadId = videoStorageService.initiateMultipartUpload(key);
+
+        UploadSession session = newSession(key, s3UploadId, title, description, userInfo);
+        List<PresignedPart> parts = new ArrayList<>(partCount);
+        for (int partNumber = 1; partNumber <= partCount; partNumber++) {
+            String url = videoStorageService.presignUploadPart(key, s3UploadId, partNumber, expiresAt).toString();
+            parts.add(new PresignedPart(partNumber, url));
+        }
+
+        return new PresignedUpload(session.uploadId(), key, expiresAt, parts);
+    }
+
+    /**
+     * Callback de conclusão: fecha o multipart upload (se houver), confirma que o objeto existe
+     * com um HEAD e publica a mensagem na fila. Como no upload retomável, pode ser repetido: depois
+     * de uma falha na fila só a mensagem é reenviada, e depois de publicada nada é publicado de novo.
+     */
+    public CompletedUpload complete(String uploadId, List<PartETag> partETags, UserInfo userInfo)
+            throws IOException {
+        UploadSession session = sessionStore.findOwned(uploadId, userInfo.username());
+
+        if (session.status() == Status.UPLOADING) {
+            if (session.s3UploadId() != null) {
+                if (partETags == null || partETags.isEmpty()) {
+                    throw new IllegalArgumentException("Informe o ETag de cada parte enviada");
+                }
+                List<PartETag> sorted = new ArrayList<>(partETags);
+                sorted.sort(Comparator.comparingInt(PartETag::getPartNumber));
+                videoStorageService.completeMultipartUpload(session.s3Key(), session.s3UploadId(), sorted);
+            }
+
+            ObjectMetadata metadata = videoStorageService.headObject(session.s3Key())
+                    .orElseThrow(() -> new IllegalStateException("Vídeo ainda não foi enviado ao S3"));
+            if (metadata.getContentLength() == 0) {
+                throw new IllegalStateException("Vídeo enviado ao S3 está vazio");
+            }
+            sessionStore.updateStatus(uploadId, Status.STORED);
+        }
+
+        String url = videoStorageService.getVideoUrl(session.s3Key());
+        if (session.status() != Status.PUBLISHED) {
+            videoQueueService.sendVideoMessage(session.s3Key(), url, session.title(), session.description(),
+                    session.username(), session.email());
+            // a sessão fica até expirar ({@link UploadSessionSweeper}) para responder a conclusões repetidas
+            sessionStore.updateStatus(uploadId, Status.PUBLISHED);
+        }
+
+        return new CompletedUpload(session.s3Key(), url);
+    }
+
+    private UploadSession newSession(String key, String s3UploadId, String title, String description, UserInfo userInfo) {
+        UploadSession session = new UploadSession(UUID.randomUUID().toString(), key, s3UploadId, title, description,
+                userInfo.username(), userInfo.email(), Instant.now());
+        sessionStore.create(session);
+        return session;
+    }
+
+    public record PresignedPart(int partNumber, String url) {}
+
+    public record PresignedUpload(String uploadId, String s3Key, Instant expiresAt, List<PresignedPart> parts) {}
+}
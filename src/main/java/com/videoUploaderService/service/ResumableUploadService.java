@@ -0,0 +1,131 @@
+package com.videoUploaderService.service;
+
+import com.amazonaws.services.s3.model.PartETag;
+import com.videoUploaderService.service.TokenService.UserInfo;
+import com.videoUploaderService.service.UploadSession.Status;
+import com.videoUploaderService.service.UploadSession.UploadedPart;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Upload retomável em chunks: cada chunk vira uma parte de um multipart upload no S3,
+ * pode ser reenviado isoladamente e o estado fica no {@link UploadSessionStore}.
+ */
+@Service
+public class ResumableUploadService {
+
+    static final int MAX_PART_NUMBER = 10_000;
+
+    private final VideoStorageService videoStorageService;
+    private final VideoQueueService videoQueueService;
+    private final UploadSessionStore sessionStore;
+
+    public ResumableUploadService(VideoStorageService videoStorageService,
+                                  VideoQueueService videoQueueService,
+                                  UploadSessionStore sessionStore) {
+        this.videoStorageService = videoStorageService;
+        this.videoQueueService = videoQueueService;
+        this.sessionStore = sessionStore;
+    }
+
+    public UploadSession initiate(String filename, String title, String description, UserInfo userInfo) throws IOException {
+        String key = videoStorageService.newKey(filename);
+        String s3UploadId = videoStorageService.initiateMultipartUpload(key);
+
+        UploadSession session = new UploadSession(UUID.randomUUID().toString(), key, s3UploadId, title, description,
+                userInfo.username(), userInfo.email(), Instant.now());
+        sessionStore.create(session);
+        return session;
+    }
+
+    public UploadedPart uploadPart(String uploadId, int partNumber, InputStream in, long size, UserInfo userInfo)
+            throws IOException {
+        if (partNumber < 1 || partNumber > MAX_PART_NUMBER) {
+            throw new IllegalArgumentException("Número de chunk deve estar entre 1 e " + MAX_PART_NUMBER);
+        }
+        if (size <= 0) {
+            throw new IllegalArgumentException("Chunk vazio ou sem Content-Length");
+        }
+
+        UploadSession session = uploading(uploadId, userInfo);
+        String eTag = videoStorageService.uploadPart(session.s3Key(), session.s3UploadId(), partNumber, in, size);
+
+        UploadedPart part = new UploadedPart(partNumber, eTag, size);
+        sessionStore.putPart(uploadId, part);
+        return part;
+    }
+
+    public List<UploadedPart> listParts(String uploadId, UserInfo userInfo) {
+        return new ArrayList<>(find(uploadId, userInfo).parts().values());
+    }
+
+    /**
+     * Conclui o multipart upload e envia a mesma mensagem SQS do upload direto. Pode ser repetida: se a
+     * mensagem falhou, a nova tentativa só a reenvia; se já foi publicada, devolve o mesmo resultado
+     * sem publicar de novo. A sessão fica até expirar ({@link UploadSessionSweeper}).
+     */
+    public CompletedUpload complete(String uploadId, UserInfo userInfo) throws IOException {
+        UploadSession session = find(uploadId, userInfo);
+        if (session.status() == Status.UPLOADING) {
+            List<PartETag> partETags = validateParts(session);
+            videoStorageService.completeMultipartUpload(session.s3Key(), session.s3UploadId(), partETags);
+            // o multipart upload deixou de existir no S3: não pode ser concluído de novo
+            sessionStore.updateStatus(uploadId, Status.STORED);
+        }
+
+        String url = videoStorageService.getVideoUrl(session.s3Key());
+        if (session.status() != Status.PUBLISHED) {
+            videoQueueService.sendVideoMessage(session.s3Key(), url, session.title(), session.description(),
+                    session.username(), session.email());
+            sessionStore.updateStatus(uploadId, Status.PUBLISHED);
+        }
+
+        return new CompletedUpload(session.s3Key(), url);
+    }
+
+    public void abort(String uploadId, UserInfo userInfo) throws IOException {
+        UploadSession session = uploading(uploadId, userInfo);
+        videoStorageService.abortMultipartUpload(session.s3Key(), session.s3UploadId());
+        sessionStore.delete(uploadId);
+    }
+
+    private List<PartETag> validateParts(UploadSession session) {
+        List<UploadedPart> parts = new ArrayList<>(session.parts().values());
+        if (parts.isEmpty()) {
+            throw new IllegalStateException("Nenhum chunk foi enviado");
+        }
+
+        List<PartETag> partETags = new ArrayList<>(parts.size());
+        for (int i = 0; i < parts.size(); i++) {
+            UploadedPart part = parts.get(i);
+            if (part.partNumber() != i + 1) {
+                throw new IllegalStateException("Chunk " + (i + 1) + " ainda não foi enviado");
+            }
+            // o S3 exige no mínimo 5MB em todas as partes, exceto a última
+            if (i < parts.size() - 1 && part.size() < S3MultipartUploader.MIN_PART_SIZE) {
+                throw new IllegalStateException("Chunk " + part.partNumber() + " menor que o mínimo de "
+                        + S3MultipartUploader.MIN_PART_SIZE + " bytes");
+            }
+            partETags.add(new PartETag(part.partNumber(), part.eTag()));
+        }
+        return partETags;
+    }
+
+    private UploadSession find(String uploadId, UserInfo userInfo) {
+        return sessionStore.findOwned(uploadId, userInfo.username());
+    }
+
+    private UploadSession uploading(String uploadId, UserInfo userInfo) {
+        UploadSession session = find(uploadId, userInfo);
+        if (session.status() != Status.UPLOADING) {
+            throw new IllegalStateException("Upload já foi concluído");
+        }
+        return session;
+    }
+}
@@ -0,0 +1,47 @@
+package com.videoUploaderService.service;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Orçamento de retries: cada chamada original deposita {@code ratio} de um retry e cada retry (ou
+ * requisição hedge) saca um inteiro, então os retries ficam limitados a uma fração do tráfego e não
+ * multiplicam a carga de uma dependência que já está degradada. Com o saldo zerado ainda passam
+ * {@code minPerSecond} retries por segundo, para o tráfego baixo não ficar sem nenhum.
+ */
+final class RetryBudget {
+
+    // saldo em milésimos de retry
+    private static final long SCALE = 1000;
+    private static final long MAX_BALANCE = 100 * SCALE;
+
+    private final long deposit;
+    private final double minPerSecond;
+    private final AtomicLong balance = new AtomicLong();
+    private final TokenBucket floor = new TokenBucket();
+
+    RetryBudget(double ratio, double minPerSecond) {
+        if (ratio < 0 || minPerSecond < 0) {
+            throw new IllegalArgumentException("ratio e minPerSecond não podem ser negativos");
+        }
+        this.deposit = (long) (ratio * SCALE);
+        this.minPerSecond = minPerSecond;
+    }
+
+    void deposit() {
+        balance.updateAndGet(current -> Math.min(MAX_BALANCE, current + deposit));
+    }
+
+    /**
+     * Verdadeiro se há orçamento para mais um retry, que é descontado.
+     */
+    boolean tryWithdraw(long now) {
+        long current;
+        do {
+            current = balance.get();
+            if (current < SCALE) {
+                return minPerSecond > 0 && floor.tryAcquire(1, minPerSecond, minPerSecond, now) == 0;
+            }
+        } while (!balance.compareAndSet(current, current - SCALE));
+        return true;
+    }
+}
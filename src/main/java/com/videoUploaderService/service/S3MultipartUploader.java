@@ -0,0 +1,283 @@
+package com.videoUploaderService.service;
+
+import com.amazonaws.AmazonClientException;
+import com.amazonaws.services.s3.AmazonS3;
+import com.amazonaws.services.s3.model.AbortMultipartUploadRequest;
+import com.amazonaws.services.s3.model.CompleteMultipartUploadRequest;
+import com.amazonaws.services.s3.model.InitiateMultipartUploadRequest;
+import com.amazonaws.services.s3.model.ObjectMetadata;
+import com.amazonaws.services.s3.model.PartETag;
+import com.amazonaws.services.s3.model.UploadPartRequest;
+import com.videoUploaderService.service.UploadMetrics.Stage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Envia um stream para o S3 em partes de tamanho fixo, lendo a origem uma única vez.
+ * Enquanto a próxima parte é lida, até {@code maxInFlightParts} partes do mesmo vídeo são enviadas
+ * em paralelo. Os buffers vêm do {@link ByteBufferPool} global, então o heap/memória direta usada
+ * não depende do tamanho nem da quantidade de vídeos sendo enviados.
+ */
+@Component
+public class S3MultipartUploader {
+
+    private static final Logger logger = LoggerFactory.getLogger(S3MultipartUploader.class);
+
+    // Menor tamanho de parte aceito pelo S3 (exceto a última)
+    static final int MIN_PART_SIZE = 5 * 1024 * 1024;
+
+    private final AmazonS3 amazonS3;
+    private final ByteBufferPool bufferPool;
+    private final ExecutorService executor;
+    private final int maxInFlightParts;
+    private final UploadMetrics metrics;
+    private final DependencyGuard guard;
+
+    public S3MultipartUploader(AmazonS3 amazonS3,
+                               ByteBufferPool bufferPool,
+                               @Qualifier("s3PartUploadExecutor") ExecutorService executor,
+                               @Value("${aws.s3.multipart.maxInFlightParts:4}") int maxInFlightParts,
+                               UploadMetrics metrics,
+                               DependencyGuards guards) {
+        if (bufferPool.bufferSize() < MIN_PART_SIZE) {
+            throw new IllegalArgumentException("aws.s3.multipart.partSize deve ser de pelo menos " + MIN_PART_SIZE + " bytes");
+        }
+        if (maxInFlightParts <= 0) {
+            throw new IllegalArgumentException("aws.s3.multipart.maxInFlightParts deve ser positivo");
+        }
+        this.amazonS3 = amazonS3;
+        this.bufferPool = bufferPool;
+        this.executor = executor;
+        this.maxInFlightParts = maxInFlightParts;
+        this.metrics = metrics;
+        this.guard = guards.s3();
+    }
+
+    public void upload(String bucketName, String key, InputStream in) throws IOException {
+        ReadableByteChannel channel = Channels.newChannel(in);
+
+        ByteBuffer first = bufferPool.acquire();
+        boolean multipart = false;
+        try {
+            // Objeto cabe em uma parte: um único PUT com Content-Length conhecido
+            if (fill(channel, first) < first.capacity()) {
+                ObjectMetadata metadata = new ObjectMetadata();
+                metadata.setContentLength(first.remaining());
+                metadata.setContentMD5(md5(first));
+                try {
+                    // o buffer continua inteiro: cada tentativa relê do início
+                    metrics.time(Stage.S3, () -> guard.call(
+                            () -> amazonS3.putObject(bucketName, key, new ByteBufferInputStream(first), metadata)));
+                } catch (AmazonClientException | DependencyUnavailableException e) {
+                    throw new IOException("Falha ao enviar objeto para o S3: " + e.getMessage(), e);
+                }
+                return;
+            }
+            multipart = true;
+        } finally {
+            if (!multipart) {
+                bufferPool.release(first);
+            }
+        }
+
+        // a partir daqui o buffer da primeira parte pertence ao pipeline
+        uploadMultipart(bucketName, key, channel, first);
+    }
+
+    private void uploadMultipart(String bucketName, String key, ReadableByteChannel channel, ByteBuffer firstPart)
+            throws IOException {
+        String uploadId;
+        try {
+            uploadId = guard.call(() -> amazonS3.initiateMultipartUpload(new InitiateMultipartUploadRequest(bucketName, key)))
+                    .getUploadId();
+        } catch (AmazonClientException | DependencyUnavailableException e) {
+            bufferPool.release(firstPart);
+            throw new IOException("Falha ao iniciar upload multipart: " + e.getMessage(), e);
+        }
+
+        Semaphore inFlight = new Semaphore(maxInFlightParts);
+        List<Future<PartETag>> parts = new ArrayList<>();
+        ByteBuffer buffer = firstPart;
+        try {
+            int partNumber = 1;
+            while (buffer != null) {
+                acquire(inFlight);
+                ByteBuffer part = buffer;
+                buffer = null;
+                parts.add(submitPart(bucketName, key, uploadId, partNumber++, part, inFlight));
+                failFast(parts);
+
+                // lê a próxima parte enquanto as anteriores ainda estão sendo enviadas
+                buffer = bufferPool.acquire();
+                if (fill(channel, buffer) == 0) {
+                    bufferPool.release(buffer);
+                    buffer = null;
+                }
+            }
+
+            List<PartETag> partETags = new ArrayList<>();
+            for (Future<PartETag> part : parts) {
+                partETags.add(await(part));
+            }
+            partETags.sort(Comparator.comparingInt(PartETag::getPartNumber));
+
+            guard.call(() -> amazonS3.completeMultipartUpload(
+                    new CompleteMultipartUploadRequest(bucketName, key, uploadId, partETags)));
+        } catch (IOException | RuntimeException e) {
+            if (buffer != null) {
+                bufferPool.release(buffer);
+            }
+            drain(parts);
+            abort(bucketName, key, uploadId);
+            if (e instanceof AmazonClientException || e instanceof DependencyUnavailableException) {
+                throw new IOException("Falha no upload multipart: " + e.getMessage(), e);
+            }
+            throw e;
+        }
+    }
+
+    private Future<PartETag> submitPart(String bucketName, String key, String uploadId, int partNumber,
+                                        ByteBuffer buffer, Semaphore inFlight) {
+        try {
+            return executor.submit(() -> {
+                try {
+                    String md5 = md5(buffer);
+                    // a parte está inteira no buffer: cada tentativa monta a requisição e relê do início
+                    return metrics.time(Stage.S3, () -> guard.call(() -> amazonS3.uploadPart(new UploadPartRequest()
+                            .withBucketName(bucketName)
+                            .withKey(key)
+                            .withUploadId(uploadId)
+                            .withPartNumber(partNumber)
+                            .withInputStream(new ByteBufferInputStream(buffer))
+                            .withPartSize(buffer.remaining())
+                            .withMD5Digest(md5)))).getPartETag();
+                } finally {
+                    bufferPool.release(buffer);
+                    inFlight.release();
+                }
+            });
+        } catch (RuntimeException e) {
+            bufferPool.release(buffer);
+            inFlight.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Content-MD5 da parte, que já está inteira em memória: o S3 recusa a parte se o corpo recebido
+     * não conferir. Com o valor informado, o SDK deixa de calcular o próprio MD5 durante o envio.
+     */
+    static String md5(ByteBuffer buffer) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("MD5");
+            digest.update(buffer.duplicate());
+            return Base64.getEncoder().encodeToString(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            // toda JVM é obrigada a oferecer MD5
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Interrompe a leitura assim que alguma parte já enviada falhar, sem esperar o resto do corpo.
+     */
+    private void failFast(List<Future<PartETag>> parts) throws IOException {
+        for (Future<PartETag> part : parts) {
+            if (part.isDone()) {
+                await(part);
+            }
+        }
+    }
+
+    /**
+     * Espera as partes já submetidas terminarem antes de abortar. As tarefas não são canceladas
+     * porque são elas que devolvem o buffer ao pool; são no máximo {@code maxInFlightParts}.
+     */
+    private void drain(List<Future<PartETag>> parts) {
+        boolean interrupted = false;
+        for (Future<PartETag> part : parts) {
+            while (true) {
+                try {
+                    part.get();
+                    break;
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                } catch (ExecutionException | CancellationException e) {
+                    break;
+                }
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private PartETag await(Future<PartETag> part) throws IOException {
+        try {
+            return part.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrompido aguardando envio de parte");
+        } catch (CancellationException e) {
+            throw new IOException("Envio de parte cancelado", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException io) {
+                throw io;
+            }
+            throw new IOException("Falha no upload multipart: " + cause.getMessage(), cause);
+        }
+    }
+
+    private void acquire(Semaphore inFlight) throws IOException {
+        try {
+            inFlight.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrompido aguardando envio de parte");
+        }
+    }
+
+    private void abort(String bucketName, String key, String uploadId) {
+        try {
+            amazonS3.abortMultipartUpload(new AbortMultipartUploadRequest(bucketName, key, uploadId));
+        } catch (RuntimeException e) {
+            logger.warn("Não foi possível abortar o upload multipart {} de {}: {}", uploadId, key, e.getMessage());
+        }
+    }
+
+    /**
+     * Preenche o buffer até o fim ou até o término do stream e o deixa pronto para leitura.
+     * Retorna a quantidade lida.
+     */
+    static int fill(ReadableByteChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer) < 0) {
+                break;
+            }
+        }
+        buffer.flip();
+        return buffer.limit();
+    }
+}
@@ -0,0 +1,51 @@
+package com.videoUploaderService.service;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Upload aceito no modo assíncrono. É persistido como JSON ao lado do vídeo no diretório de spool,
+ * para que o envio possa ser retomado depois de um restart. {@code attributes} guarda o que já se sabe
+ * do conteúdo (o SHA-256 calculado no spool e, depois do envio, os atributos do {@link StoredVideo}).
+ */
+public record SpooledUpload(
+        String uploadId,
+        String filename,
+        String title,
+        String description,
+        String username,
+        String email,
+        State state,
+        int attempts,
+        String s3Key,
+        String s3Url,
+        String error,
+        String acceptedAt,
+        String updatedAt,
+        Map<String, Object> attributes) {
+
+    public SpooledUpload {
+        // estado gravado por versões anteriores não tem atributos
+        attributes = attributes == null ? Map.of() : Map.copyOf(attributes);
+    }
+
+    public enum State { ACCEPTED, UPLOADING, RETRYING, COMPLETED, FAILED }
+
+    SpooledUpload withState(State newState, String newError) {
+        return new SpooledUpload(uploadId, filename, title, description, username, email, newState, attempts,
+                s3Key, s3Url, newError, acceptedAt, Instant.now().toString(), attributes);
+    }
+
+    SpooledUpload withAttempt() {
+        return new SpooledUpload(uploadId, filename, title, description, username, email, State.UPLOADING,
+                attempts + 1, s3Key, s3Url, error, acceptedAt, Instant.now().toString(), attributes);
+    }
+
+    SpooledUpload withS3Object(String key, String url, Map<String, Object> storedAttributes) {
+        Map<String, Object> merged = new HashMap<>(attributes);
+        merged.putAll(storedAttributes);
+        return new SpooledUpload(uploadId, filename, title, description, username, email, state, attempts,
+                key, url, error, acceptedAt, Instant.now().toString(), merged);
+    }
+}
@@ -0,0 +1,200 @@
+package com.videoUploaderService.service;
+
+import com.amazonaws.services.sqs.AmazonSQS;
+import com.amazonaws.services.sqs.model.BatchResultErrorEntry;
+import com.amazonaws.services.sqs.model.SendMessageBatchRequest;
+import com.amazonaws.services.sqs.model.SendMessageBatchRequestEntry;
+import com.amazonaws.services.sqs.model.SendMessageBatchResult;
+import com.amazonaws.services.sqs.model.SendMessageBatchResultEntry;
+import com.amazonaws.services.sqs.model.SendMessageRequest;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Agrupa as mensagens em chamadas {@code SendMessageBatch} de até 10 entradas. O lote é enviado
+ * quando enche ou quando a primeira mensagem espera {@code lingerMillis}; os envios rodam no executor
+ * {@code sqsBatchScheduler}, então vários lotes podem estar em voo ao mesmo tempo.
+ * Cada chamador recebe um future com o resultado da própria entrada; entradas que falharem dentro
+ * de um lote são reenviadas individualmente. As chamadas passam pelo {@link DependencyGuard} do SQS
+ * (retry, circuit breaker e, se ligado, hedge do lote).
+ */
+@Component
+public class SqsBatchPublisher {
+
+    private static final Logger logger = LoggerFactory.getLogger(SqsBatchPublisher.class);
+
+    // Limites do SendMessageBatch
+    static final int MAX_BATCH_ENTRIES = 10;
+    static final int MAX_BATCH_BYTES = 256 * 1024;
+
+    private final AmazonSQS amazonSQS;
+    private final String queueUrl;
+    private final ScheduledExecutorService scheduler;
+    private final long lingerMillis;
+    private final DependencyGuard guard;
+
+    private final Object lock = new Object();
+    private List<Pending> batch = new ArrayList<>();
+    private int batchBytes;
+
+    public SqsBatchPublisher(AmazonSQS amazonSQS,
+                             @Value("${aws.sqs.queueUrl}") String queueUrl,
+                             @Qualifier("sqsBatchScheduler") ScheduledExecutorService scheduler,
+                             @Value("${aws.sqs.batch.lingerMillis:20}") long lingerMillis,
+                             DependencyGuards guards) {
+        if (lingerMillis < 0) {
+            throw new IllegalArgumentException("aws.sqs.batch.lingerMillis não pode ser negativo");
+        }
+        this.amazonSQS = amazonSQS;
+        this.queueUrl = queueUrl;
+        this.scheduler = scheduler;
+        this.lingerMillis = lingerMillis;
+        this.guard = guards.sqs();
+    }
+
+    /**
+     * Enfileira a mensagem no lote atual. O future completa com o MessageId atribuído pelo SQS.
+     */
+    public CompletableFuture<String> publish(String body) {
+        Pending pending = new Pending(body);
+        int size = body.getBytes(StandardCharsets.UTF_8).length;
+
+        List<List<Pending>> ready = new ArrayList<>(2);
+        boolean scheduleFlush = false;
+        synchronized (lock) {
+            // a mensagem não cabe no lote atual: ele segue como está e esta abre o próximo
+            if (!batch.isEmpty() && batchBytes + size > MAX_BATCH_BYTES) {
+                ready.add(takeBatch());
+            }
+            batch.add(pending);
+            batchBytes += size;
+            if (batch.size() == MAX_BATCH_ENTRIES) {
+                ready.add(takeBatch());
+            } else {
+                scheduleFlush = batch.size() == 1;
+            }
+        }
+
+        if (scheduleFlush) {
+            scheduleFlush(pending);
+        }
+        for (List<Pending> entries : ready) {
+            dispatch(entries);
+        }
+        return pending.future;
+    }
+
+    /**
+     * Envia o que estiver pendente sem esperar o linger e aguarda a resposta do SQS.
+     */
+    @PreDestroy
+    public void flush() {
+        List<Pending> pending;
+        synchronized (lock) {
+            pending = takeBatch();
+        }
+        if (!pending.isEmpty()) {
+            // o envio é assíncrono: no desligamento o lote precisa sair antes de o scheduler parar
+            send(pending).exceptionally(error -> null).join();
+        }
+    }
+
+    private void scheduleFlush(Pending first) {
+        try {
+            scheduler.schedule(() -> flushIfStillPending(first), lingerMillis, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            // desligando: envia na thread do chamador
+            flush();
+        }
+    }
+
+    private void dispatch(List<Pending> entries) {
+        try {
+            scheduler.execute(() -> send(entries));
+        } catch (RejectedExecutionException e) {
+            send(entries);
+        }
+    }
+
+    private void flushIfStillPending(Pending first) {
+        List<Pending> pending;
+        synchronized (lock) {
+            // o lote que abriu este agendamento já foi enviado por ter enchido
+            if (batch.isEmpty() || batch.get(0) != first) {
+                return;
+            }
+            pending = takeBatch();
+        }
+        send(pending);
+    }
+
+    private List<Pending> takeBatch() {
+        List<Pending> taken = batch;
+        batch = new ArrayList<>();
+        batchBytes = 0;
+        return taken;
+    }
+
+    private CompletableFuture<?> send(List<Pending> entries) {
+        List<SendMessageBatchRequestEntry> requestEntries = new ArrayList<>(entries.size());
+        for (int i = 0; i < entries.size(); i++) {
+            requestEntries.add(new SendMessageBatchRequestEntry(String.valueOf(i), entries.get(i).body));
+        }
+
+        // cada tentativa monta a própria requisição: o hedge pode enviar duas ao mesmo tempo
+        return guard.hedged(() -> amazonSQS.sendMessageBatch(new SendMessageBatchRequest(queueUrl, requestEntries)), scheduler)
+                .whenComplete((result, error) -> {
+                    if (error != null) {
+                        // qualquer falha precisa completar os futures, senão os chamadores ficam esperando
+                        for (Pending pending : entries) {
+                            pending.future.completeExceptionally(error);
+                        }
+                        return;
+                    }
+                    completed(entries, result);
+                });
+    }
+
+    private void completed(List<Pending> entries, SendMessageBatchResult result) {
+        for (SendMessageBatchResultEntry successful : result.getSuccessful()) {
+            entries.get(Integer.parseInt(successful.getId())).future.complete(successful.getMessageId());
+        }
+        for (BatchResultErrorEntry failed : result.getFailed()) {
+            Pending pending = entries.get(Integer.parseInt(failed.getId()));
+            logger.warn("Mensagem rejeitada no lote do SQS ({}: {}), reenviando individualmente",
+                    failed.getCode(), failed.getMessage());
+            sendSingle(pending);
+        }
+    }
+
+    private void sendSingle(Pending pending) {
+        try {
+            String messageId = guard.call(() -> amazonSQS.sendMessage(new SendMessageRequest(queueUrl, pending.body)))
+                    .getMessageId();
+            pending.future.complete(messageId);
+        } catch (RuntimeException e) {
+            pending.future.completeExceptionally(e);
+        }
+    }
+
+    private static final class Pending {
+        private final String body;
+        private final CompletableFuture<String> future = new CompletableFuture<>();
+
+        private Pending(String body) {
+            this.body = body;
+        }
+    }
+}
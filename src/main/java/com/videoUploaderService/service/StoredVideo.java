@@ -0,0 +1,29 @@
+package com.videoUploaderService.service;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Resultado da gravação de um vídeo: a chave no backend e os atributos apurados durante o envio
+ * (por exemplo {@code container}, {@code metadata}, {@code contentSha256} e {@code deduplicated}), repassados na mensagem do SQS.
+ */
+public record StoredVideo(String key, Map<String, Object> attributes) {
+
+    public StoredVideo {
+        attributes = attributes == null ? Map.of() : Map.copyOf(attributes);
+    }
+
+    public static StoredVideo of(String key) {
+        return new StoredVideo(key, Map.of());
+    }
+
+    public StoredVideo withAttributes(Map<String, Object> extra) {
+        Map<String, Object> merged = new HashMap<>(attributes);
+        merged.putAll(extra);
+        return new StoredVideo(key, merged);
+    }
+
+    public boolean deduplicated() {
+        return Boolean.TRUE.equals(attributes.get(ContentHashIndex.DEDUPLICATED));
+    }
+}
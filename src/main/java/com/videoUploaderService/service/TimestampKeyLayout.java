@@ -0,0 +1,28 @@
+package com.videoUploaderService.service;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Layout original, {@code videos/<epochMillis>-<uuid><ext>}: todas as chaves dividem o prefixo
+ * {@code videos/} e os mesmos primeiros dígitos do timestamp, então uma rajada cai numa partição só.
+ */
+@Component
+@ConditionalOnProperty(name = "upload.keys.layout", havingValue = "timestamp")
+public class TimestampKeyLayout implements VideoKeyLayout {
+
+    static final int VERSION = 1;
+
+    @Override
+    public int version() {
+        return VERSION;
+    }
+
+    @Override
+    public String newKey(String extension) {
+        return ROOT + Instant.now().toEpochMilli() + "-" + UUID.randomUUID() + extension;
+    }
+}
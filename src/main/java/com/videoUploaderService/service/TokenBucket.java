@@ -0,0 +1,70 @@
+package com.videoUploaderService.service;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token bucket sem lock, no formato GCRA: o estado inteiro é um único {@code long} com o instante
+ * teórico em que o balde volta a ficar cheio. Cada aquisição é um CAS, e a taxa pode mudar a cada
+ * chamada, o que permite dividir a banda entre os usuários ativos sem recriar o balde.
+ */
+final class TokenBucket {
+
+    private final AtomicLong fullAt = new AtomicLong(Long.MIN_VALUE);
+
+    /**
+     * Tenta consumir {@code permits} sem esperar. Retorna 0 se consumiu, ou quantos nanossegundos
+     * faltam para haver tokens suficientes (nada é consumido nesse caso).
+     */
+    long tryAcquire(long permits, double perSecond, double burst, long now) {
+        long cost = nanos(permits, perSecond);
+        long tolerance = nanos(burst, perSecond);
+        while (true) {
+            long current = fullAt.get();
+            long next = Math.max(current, now) + cost;
+            long excess = next - now - tolerance;
+            if (excess > 0) {
+                return excess;
+            }
+            if (fullAt.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Consome {@code permits} mesmo que o balde fique negativo e retorna quanto o chamador deve esperar
+     * para respeitar a taxa. A espera cobre só a dívida anterior: um pedido grande passa na hora e
+     * atrasa os seguintes, como no {@code RateLimiter} do Guava.
+     */
+    long reserve(long permits, double perSecond, double burst, long now) {
+        return tryReserve(permits, perSecond, burst, Long.MAX_VALUE, now);
+    }
+
+    /**
+     * Como {@link #reserve}, mas só consome se a espera não passar de {@code maxWait}. Uma espera maior
+     * é retornada sem consumir nada.
+     */
+    long tryReserve(long permits, double perSecond, double burst, long maxWait, long now) {
+        long cost = nanos(permits, perSecond);
+        long tolerance = nanos(burst, perSecond);
+        while (true) {
+            long current = fullAt.get();
+            long base = Math.max(current, now);
+            long wait = Math.max(0, base - now - tolerance);
+            if (wait > maxWait || fullAt.compareAndSet(current, base + cost)) {
+                return wait;
+            }
+        }
+    }
+
+    /**
+     * Verdadeiro se o balde já se encheu de novo, ou seja, o estado pode ser descartado.
+     */
+    boolean isIdle(long now) {
+        return fullAt.get() <= now;
+    }
+
+    private static long nanos(double permits, double perSecond) {
+        return (long) (permits / perSecond * 1e9);
+    }
+}
@@ -1,26 +1,130 @@
 package com.videoUploaderService.service;
 
 import com.auth0.jwt.JWT;
+import com.auth0.jwt.JWTVerifier;
 import com.auth0.jwt.algorithms.Algorithm;
 import com.auth0.jwt.interfaces.DecodedJWT;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
 @Component
 public class TokenService {
 
     @Value("${api.security.token.secret}") // Pegando do application.properties
     private String secret;
 
+    // Tokens já verificados ficam em cache até o exp (0 desliga o cache)
+    @Value("${api.security.token.cacheSize:10000}")
+    private int cacheSize;
+
+    // Validade máxima no cache para tokens sem exp
+    @Value("${api.security.token.cacheTtlSeconds:300}")
+    private long cacheTtlSeconds;
+
+    private Clock clock = Clock.systemUTC();
+
+    private volatile JWTVerifier verifier;
+
+    // Chave é o SHA-256 do token, para não manter o token em memória
+    private final Map<String, CachedUser> cache = new ConcurrentHashMap<>();
+
     public UserInfo decodeToken(String tokenHeader) {
         String token = tokenHeader.replace("Bearer ", "");
-        
-        DecodedJWT jwt = JWT.require(Algorithm.HMAC256(secret))
-                .build()
-                .verify(token);
 
-        return new UserInfo(jwt.getSubject(), jwt.getClaim("email").asString());
+        if (cacheSize <= 0) {
+            return toUserInfo(verifier().verify(token));
+        }
+
+        String key = digest(token);
+        long now = clock.millis();
+        CachedUser cached = cache.get(key);
+        if (cached != null) {
+            if (cached.expiresAtMillis() > now) {
+                return cached.userInfo();
+            }
+            cache.remove(key, cached);
+        }
+
+        DecodedJWT jwt = verifier().verify(token);
+        UserInfo userInfo = toUserInfo(jwt);
+        cache(key, userInfo, expiresAt(jwt, now), now);
+        return userInfo;
+    }
+
+    int cachedTokens() {
+        return cache.size();
+    }
+
+    private JWTVerifier verifier() {
+        JWTVerifier current = verifier;
+        if (current == null) {
+            // o verifier é imutável e thread-safe: construído uma vez e reutilizado
+            current = JWT.require(Algorithm.HMAC256(secret)).build();
+            verifier = current;
+        }
+        return current;
+    }
+
+    private long expiresAt(DecodedJWT jwt, long now) {
+        long maxExpiry = now + cacheTtlSeconds * 1000;
+        Instant exp = jwt.getExpiresAtAsInstant();
+        return exp == null ? maxExpiry : Math.min(exp.toEpochMilli(), maxExpiry);
+    }
+
+    private void cache(String key, UserInfo userInfo, long expiresAtMillis, long now) {
+        if (cache.size() >= cacheSize) {
+            evict(now);
+        }
+        cache.put(key, new CachedUser(userInfo, expiresAtMillis));
     }
 
-    public record UserInfo(String username, String email) {}
-}
\ No newline at end of file
+    /**
+     * Remove os tokens expirados; se o cache continuar cheio, descarta entradas arbitrárias até
+     * liberar 10% da capacidade.
+     */
+    private void evict(long now) {
+        cache.values().removeIf(cached -> cached.expiresAtMillis() <= now);
+
+        int excess = cache.size() - (cacheSize - Math.max(1, cacheSize / 10));
+        Iterator<String> keys = cache.keySet().iterator();
+        while (excess-- > 0 && keys.hasNext()) {
+            keys.next();
+            keys.remove();
+        }
+    }
+
+    private static UserInfo toUserInfo(DecodedJWT jwt) {
+        return new UserInfo(jwt.getSubject(), jwt.getClaim("email").asString(), jwt.getClaim("tier").asString());
+    }
+
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 indisponível", e);
+        }
+    }
+
+    private record CachedUser(UserInfo userInfo, long expiresAtMillis) {}
+
+    /**
+     * Usuário do token; {@code tier} é o plano (claim {@code tier}), usado pelo {@link UploadLimits}.
+     */
+    public record UserInfo(String username, String email, String tier) {
+
+        public UserInfo(String username, String email) {
+            this(username, email, null);
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.videoUploaderService.service;
+
+import java.io.IOException;
+
+/**
+ * O início do conteúdo não corresponde a nenhum {@link VideoContainer} aceito. Estende
+ * {@link IOException} porque interrompe a leitura do upload, como qualquer falha de E/S.
+ */
+public class UnsupportedVideoFormatException extends IOException {
+
+    public UnsupportedVideoFormatException() {
+        super("Conteúdo não é um vídeo em formato suportado (MP4, MOV, Matroska/WebM, AVI ou MPEG-TS)");
+    }
+}
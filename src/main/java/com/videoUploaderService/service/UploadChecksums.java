@@ -0,0 +1,39 @@
+package com.videoUploaderService.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.InputStream;
+
+/**
+ * Configuração dos checksums de integridade dos uploads. O CRC32C é sempre calculado; o SHA-256 só
+ * quando {@code upload.checksum.sha256} está ligado, quando a deduplicação precisa dele ou quando o
+ * cliente informou um SHA-256 para conferir.
+ */
+@Component
+public class UploadChecksums {
+
+    private final boolean sha256;
+
+    public UploadChecksums(@Value("${upload.checksum.sha256:false}") boolean sha256) {
+        this.sha256 = sha256;
+    }
+
+    public boolean isSha256Enabled() {
+        return sha256;
+    }
+
+    /**
+     * @param sha256Required a deduplicação vai usar o SHA-256 mesmo com {@code upload.checksum.sha256} desligado
+     */
+    public ChecksumInputStream stream(InputStream in, ExpectedChecksums expected, boolean sha256Required) {
+        return new ChecksumInputStream(in, expected, sha256 || sha256Required);
+    }
+
+    /**
+     * Os mesmos checksums, para quem recebe o conteúdo em buffers em vez de um {@link InputStream}.
+     */
+    public ContentChecksums checksums(ExpectedChecksums expected, boolean sha256Required) {
+        return new ContentChecksums(expected, sha256 || sha256Required);
+    }
+}
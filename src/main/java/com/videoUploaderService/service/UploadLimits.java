@@ -0,0 +1,59 @@
+package com.videoUploaderService.service;
+
+import com.videoUploaderService.service.TokenService.UserInfo;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Tamanho máximo de um upload de cada usuário: o limite próprio dele ({@code upload.limits.users}),
+ * senão o do plano ({@code upload.limits.tiers}, pela claim {@code tier} do JWT), senão o padrão.
+ * As listas têm o formato {@code nome=tamanho,...}, com tamanhos como {@code 100MB} ou {@code 5GB}.
+ * Um limite 0 significa sem limite.
+ */
+@Component
+public class UploadLimits {
+
+    private final long defaultMaxBytes;
+    private final Map<String, Long> tiers;
+    private final Map<String, Long> users;
+
+    public UploadLimits(@Value("${upload.limits.defaultMaxBytes:0}") DataSize defaultMaxBytes,
+                        @Value("${upload.limits.tiers:}") String tiers,
+                        @Value("${upload.limits.users:}") String users) {
+        this.defaultMaxBytes = defaultMaxBytes.toBytes();
+        this.tiers = parse("upload.limits.tiers", tiers);
+        this.users = parse("upload.limits.users", users);
+    }
+
+    /**
+     * Maior upload aceito para o usuário, em bytes; 0 se não há limite.
+     */
+    public long maxBytes(UserInfo user) {
+        Long limit = users.get(user.username());
+        if (limit == null && user.tier() != null) {
+            limit = tiers.get(user.tier());
+        }
+        return limit != null ? limit : defaultMaxBytes;
+    }
+
+    static Map<String, Long> parse(String property, String value) {
+        Map<String, Long> limits = new HashMap<>();
+        if (value == null || value.isBlank()) {
+            return limits;
+        }
+        for (String entry : value.split(",")) {
+            int separator = entry.indexOf('=');
+            if (separator <= 0) {
+                throw new IllegalArgumentException(property + ": entrada inválida '" + entry.trim()
+                        + "', use nome=tamanho");
+            }
+            limits.put(entry.substring(0, separator).trim(),
+                    DataSize.parse(entry.substring(separator + 1).trim()).toBytes());
+        }
+        return limits;
+    }
+}
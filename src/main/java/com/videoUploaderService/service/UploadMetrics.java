@@ -0,0 +1,199 @@
+package com.videoUploaderService.service;
+
+import com.amazonaws.AmazonClientException;
+import com.amazonaws.AmazonServiceException;
+import com.auth0.jwt.exceptions.JWTVerificationException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+import software.amazon.awssdk.core.exception.SdkException;
+import software.amazon.awssdk.services.s3.model.S3Exception;
+
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Métricas do pipeline de upload, expostas em {@code /actuator/prometheus}:
+ * <ul>
+ *   <li>{@code video_upload_stage_seconds{stage}}: jwt, receive (bytes vindos do cliente), s3, sqs e request
+ *       (ponta a ponta). É um histograma: p50/p95/p99 saem de {@code histogram_quantile} sobre os buckets,
+ *       o que permite agregar várias instâncias;</li>
+ *   <li>{@code video_upload_bytes_total{outcome}}: bytes recebidos, por resultado da requisição;</li>
+ *   <li>{@code video_upload_inflight} e {@code video_upload_inflight_bytes}: uploads e bytes em andamento;</li>
+ *   <li>{@code video_upload_pending_operations}: chamadas ao S3 e ao SQS em andamento;</li>
+ *   <li>{@code video_upload_dedup_total{outcome}}: uploads com deduplicação ligada, por hit/miss no índice de hashes;</li>
+ *   <li>{@code video_upload_errors_total{cause}}: falhas por causa.</li>
+ * </ul>
+ */
+@Component
+public class UploadMetrics {
+
+    public enum Stage {
+        JWT, RECEIVE, S3, SQS, REQUEST;
+
+        String tag() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+    }
+
+    @FunctionalInterface
+    public interface TimedCall<T, E extends Exception> {
+        T call() throws E;
+    }
+
+    private final MeterRegistry registry;
+    private final Map<Stage, Timer> timers = new EnumMap<>(Stage.class);
+    private final Counter bytesSucceeded;
+    private final Counter bytesFailed;
+    private final AtomicInteger inFlightUploads = new AtomicInteger();
+    private final AtomicLong inFlightBytes = new AtomicLong();
+    private final AtomicInteger pendingOperations = new AtomicInteger();
+    private final AtomicLong completedOperations = new AtomicLong();
+
+    public UploadMetrics(MeterRegistry registry) {
+        this.registry = registry;
+        for (Stage stage : Stage.values()) {
+            timers.put(stage, Timer.builder("video.upload.stage")
+                    .description("Duração de cada etapa do upload")
+                    .tag("stage", stage.tag())
+                    .publishPercentileHistogram()
+                    .register(registry));
+        }
+        bytesSucceeded = bytesCounter("success");
+        bytesFailed = bytesCounter("failure");
+        Gauge.builder("video.upload.inflight", inFlightUploads, AtomicInteger::get)
+                .description("Uploads em andamento")
+                .register(registry);
+        Gauge.builder("video.upload.inflight.bytes", inFlightBytes, AtomicLong::get)
+                .description("Bytes de uploads em andamento")
+                .baseUnit("bytes")
+                .register(registry);
+        Gauge.builder("video.upload.pending.operations", pendingOperations, AtomicInteger::get)
+                .description("Chamadas ao S3 e ao SQS em andamento")
+                .register(registry);
+    }
+
+    public <T, E extends Exception> T time(Stage stage, TimedCall<T, E> call) throws E {
+        boolean operation = stage == Stage.S3 || stage == Stage.SQS;
+        if (operation) {
+            operationStarted();
+        }
+        long start = System.nanoTime();
+        try {
+            return call.call();
+        } finally {
+            record(stage, System.nanoTime() - start);
+            if (operation) {
+                operationFinished();
+            }
+        }
+    }
+
+    public void record(Stage stage, long nanos) {
+        timers.get(stage).record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void uploadStarted() {
+        inFlightUploads.incrementAndGet();
+    }
+
+    public void uploadFinished(long bytes, boolean success) {
+        inFlightUploads.decrementAndGet();
+        (success ? bytesSucceeded : bytesFailed).increment(bytes);
+    }
+
+    public void addInFlightBytes(long delta) {
+        inFlightBytes.addAndGet(delta);
+    }
+
+    /**
+     * Chamadas ao S3/SQS em andamento. {@link #time} já conta as etapas s3 e sqs; estes métodos
+     * servem para as chamadas assíncronas, que terminam em outra thread.
+     */
+    public void operationStarted() {
+        pendingOperations.incrementAndGet();
+    }
+
+    public void operationFinished() {
+        pendingOperations.decrementAndGet();
+        completedOperations.incrementAndGet();
+    }
+
+    public int pendingOperations() {
+        return pendingOperations.get();
+    }
+
+    public long completedOperations() {
+        return completedOperations.get();
+    }
+
+    public void deduplication(boolean hit) {
+        registry.counter("video.upload.dedup", "outcome", hit ? "hit" : "miss").increment();
+    }
+
+    public void error(Throwable e) {
+        error(cause(e));
+    }
+
+    public void error(String cause) {
+        registry.counter("video.upload.errors", "cause", cause).increment();
+    }
+
+    /**
+     * Classifica a falha para o tag {@code cause}. Erros da AWS são identificados pelo serviço que
+     * respondeu; falhas de rede antes de uma resposta da AWS ficam como {@code aws}.
+     */
+    static String cause(Throwable e) {
+        if (e instanceof JWTVerificationException) {
+            return "invalid_token";
+        }
+        if (e instanceof UnsupportedVideoFormatException) {
+            return "unsupported_format";
+        }
+        if (e instanceof ChecksumMismatchException) {
+            return "checksum_mismatch";
+        }
+        if (e instanceof UploadSessionNotFoundException) {
+            return "not_found";
+        }
+        if (e instanceof IllegalArgumentException) {
+            return "bad_request";
+        }
+        if (e instanceof IllegalStateException) {
+            return "conflict";
+        }
+        boolean aws = false;
+        for (Throwable current = e; current != null; current = current.getCause()) {
+            // recusada pelo circuit breaker: a causa é a mesma dependência, sem ter ido à rede
+            if (current instanceof DependencyUnavailableException unavailable) {
+                return unavailable.getDependency();
+            }
+            if (current instanceof AmazonServiceException service && service.getServiceName() != null) {
+                return service.getServiceName().contains("SQS") ? "sqs" : "s3";
+            }
+            if (current instanceof S3Exception) {
+                return "s3";
+            }
+            aws |= current instanceof AmazonClientException || current instanceof SdkException;
+        }
+        if (aws) {
+            return "aws";
+        }
+        return e instanceof IOException ? "io" : "internal";
+    }
+
+    private Counter bytesCounter(String outcome) {
+        return Counter.builder("video.upload.bytes")
+                .description("Bytes recebidos dos clientes")
+                .baseUnit("bytes")
+                .tag("outcome", outcome)
+                .register(registry);
+    }
+}
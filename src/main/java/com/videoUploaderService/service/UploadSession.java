@@ -0,0 +1,43 @@
+package com.videoUploaderService.service;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Estado de um upload retomável: o multipart upload no S3 e as partes já armazenadas.
+ */
+public record UploadSession(
+        String uploadId,
+        String s3Key,
+        String s3UploadId,
+        String title,
+        String description,
+        String username,
+        String email,
+        Instant createdAt,
+        Status status,
+        Map<Integer, UploadedPart> parts) {
+
+    public UploadSession(String uploadId, String s3Key, String s3UploadId, String title, String description,
+                         String username, String email, Instant createdAt) {
+        this(uploadId, s3Key, s3UploadId, title, description, username, email, createdAt, Status.UPLOADING,
+                new ConcurrentSkipListMap<>());
+    }
+
+    public UploadSession withStatus(Status status) {
+        return new UploadSession(uploadId, s3Key, s3UploadId, title, description, username, email, createdAt, status,
+                parts);
+    }
+
+    public record UploadedPart(int partNumber, String eTag, long size) {}
+
+    public enum Status {
+        /** Recebendo partes; o multipart upload ainda está aberto no S3. */
+        UPLOADING,
+        /** Objeto completo no S3, mensagem ainda não publicada. */
+        STORED,
+        /** Mensagem publicada; a sessão só responde a conclusões repetidas até expirar. */
+        PUBLISHED
+    }
+}
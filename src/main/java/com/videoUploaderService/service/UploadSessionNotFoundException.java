@@ -0,0 +1,8 @@
+package com.videoUploaderService.service;
+
+public class UploadSessionNotFoundException extends RuntimeException {
+
+    public UploadSessionNotFoundException(String uploadId) {
+        super("Sessão de upload não encontrada: " + uploadId);
+    }
+}
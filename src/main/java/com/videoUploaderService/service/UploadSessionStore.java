@@ -0,0 +1,45 @@
+package com.videoUploaderService.service;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Armazena o estado dos uploads retomáveis. A implementação padrão é em memória
+ * ({@link InMemoryUploadSessionStore}); para várias réplicas, registre um bean próprio
+ * (ex: Redis ou DynamoDB) e ele substitui o padrão.
+ */
+public interface UploadSessionStore {
+
+    void create(UploadSession session);
+
+    Optional<UploadSession> find(String uploadId);
+
+    /**
+     * Busca a sessão do usuário. Sessões de outro usuário são tratadas como inexistentes.
+     */
+    default UploadSession findOwned(String uploadId, String username) {
+        return find(uploadId)
+                .filter(session -> session.username() != null && session.username().equals(username))
+                .orElseThrow(() -> new UploadSessionNotFoundException(uploadId));
+    }
+
+    /**
+     * Registra (ou substitui) uma parte armazenada. Chamado a cada chunk recebido.
+     */
+    void putPart(String uploadId, UploadSession.UploadedPart part);
+
+    void updateStatus(String uploadId, UploadSession.Status status);
+
+    void delete(String uploadId);
+
+    /**
+     * Remove e devolve as sessões criadas antes de {@code createdBefore}, para o
+     * {@link UploadSessionSweeper} abortar os multipart uploads abandonados. Um store com expiração
+     * própria (ex: TTL do Redis) pode manter o padrão, mas aí os multipart uploads abandonados
+     * ficam para a regra de ciclo de vida do bucket.
+     */
+    default List<UploadSession> expire(Instant createdBefore) {
+        return List.of();
+    }
+}
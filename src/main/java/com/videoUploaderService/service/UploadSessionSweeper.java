@@ -0,0 +1,89 @@
+package com.videoUploaderService.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Descarta as sessões de upload retomável e pré-assinado mais antigas que {@code upload.sessions.ttlMinutes}.
+ * Um multipart upload abandonado continua ocupando (e sendo cobrado) no S3 até ser abortado, então a
+ * varredura aborta os que ainda estavam abertos.
+ */
+@Service
+public class UploadSessionSweeper {
+
+    private static final Logger logger = LoggerFactory.getLogger(UploadSessionSweeper.class);
+
+    static final long MAX_SWEEP_INTERVAL_MILLIS = TimeUnit.MINUTES.toMillis(1);
+
+    private final UploadSessionStore sessionStore;
+    private final VideoStorageService videoStorageService;
+    private final ScheduledExecutorService executor;
+    private final Duration ttl;
+    private Clock clock = Clock.systemUTC();
+
+    public UploadSessionSweeper(UploadSessionStore sessionStore,
+                                VideoStorageService videoStorageService,
+                                @Qualifier("uploadSessionSweepExecutor") ScheduledExecutorService executor,
+                                @Value("${upload.sessions.ttlMinutes:1440}") long ttlMinutes) {
+        if (ttlMinutes <= 0) {
+            throw new IllegalArgumentException("upload.sessions.ttlMinutes deve ser positivo");
+        }
+        this.sessionStore = sessionStore;
+        this.videoStorageService = videoStorageService;
+        this.executor = executor;
+        this.ttl = Duration.ofMinutes(ttlMinutes);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        long interval = Math.min(ttl.toMillis(), MAX_SWEEP_INTERVAL_MILLIS);
+        executor.scheduleWithFixedDelay(this::sweepSafely, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    private void sweepSafely() {
+        try {
+            sweep();
+        } catch (RuntimeException e) {
+            // uma exceção cancelaria o agendamento
+            logger.warn("Falha ao descartar sessões de upload expiradas: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Remove as sessões expiradas. Retorna quantas foram removidas.
+     */
+    int sweep() {
+        List<UploadSession> expired = sessionStore.expire(clock.instant().minus(ttl));
+        for (UploadSession session : expired) {
+            if (session.status() == UploadSession.Status.STORED) {
+                logger.warn("Sessão {} expirou com o vídeo {} no S3 e sem mensagem publicada",
+                        session.uploadId(), session.s3Key());
+            } else if (session.status() == UploadSession.Status.UPLOADING && session.s3UploadId() != null) {
+                abort(session);
+            }
+        }
+        return expired.size();
+    }
+
+    private void abort(UploadSession session) {
+        try {
+            videoStorageService.abortMultipartUpload(session.s3Key(), session.s3UploadId());
+        } catch (IOException e) {
+            // a regra de ciclo de vida do bucket ainda limpa as partes
+            logger.warn("Não foi possível abortar o multipart upload da sessão {}: {}", session.uploadId(),
+                    e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,393 @@
+package com.videoUploaderService.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.videoUploaderService.service.SpooledUpload.State;
+import com.videoUploaderService.service.TokenService.UserInfo;
+import com.videoUploaderService.service.VideoContainerSniffer.Sniffed;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Modo assíncrono de upload: o vídeo é gravado no diretório de spool local e a requisição
+ * é respondida com 202; um pool limitado de workers envia os arquivos ao S3 e ao SQS em
+ * segundo plano, com retentativas. Uploads pendentes são retomados no startup.
+ *
+ * <p>Cada upload ocupa dois arquivos: {@code <id>.video} com os bytes e {@code <id>.json}
+ * com o estado. O vídeo é gravado primeiro como {@code .part} e só é renomeado depois do
+ * fsync, então um {@code .video} sempre está completo.
+ *
+ * <p>O status de um upload concluído ou que falhou de vez continua consultável por
+ * {@code statusTtlSeconds} depois do fim; passado esse tempo, ou com mais de {@code statusCacheSize}
+ * uploads terminados em memória, {@link #status} deixa de encontrá-lo. Os arquivos de um upload que
+ * falhou de vez ficam no spool pelo mesmo tempo, para inspeção, e depois são apagados.
+ */
+@Service
+public class UploadSpoolService {
+
+    private static final Logger logger = LoggerFactory.getLogger(UploadSpoolService.class);
+
+    private static final long TRANSFER_CHUNK = 8 * 1024 * 1024;
+
+    private final VideoStorageService videoStorageService;
+    private final VideoQueueService videoQueueService;
+    private final ContentHashIndex contentHashIndex;
+    private final VideoContainerSniffer sniffer;
+    private final UploadChecksums checksums;
+    private final ObjectMapper objectMapper;
+    private final ScheduledExecutorService executor;
+    private final Path spoolDir;
+    private final boolean enabled;
+    private final int maxAttempts;
+    private final long retryBackoffMillis;
+    private final long statusTtlMillis;
+    private final int statusCacheSize;
+
+    private Clock clock = Clock.systemUTC();
+
+    // uploads ainda em andamento; os terminados passam para finished, que é limitado
+    private final Map<String, SpooledUpload> uploads = new ConcurrentHashMap<>();
+    private final Map<String, FinishedUpload> finished = new ConcurrentHashMap<>();
+    private final AtomicInteger pending = new AtomicInteger();
+
+    public UploadSpoolService(VideoStorageService videoStorageService,
+                              VideoQueueService videoQueueService,
+                              ContentHashIndex contentHashIndex,
+                              VideoContainerSniffer sniffer,
+                              UploadChecksums checksums,
+                              ObjectMapper objectMapper,
+                              @Qualifier("spoolShipperExecutor") ScheduledExecutorService executor,
+                              @Value("${upload.async.enabled:false}") boolean enabled,
+                              @Value("${upload.spool.dir:${java.io.tmpdir}/video-uploader-spool}") String spoolDir,
+                              @Value("${upload.spool.maxAttempts:5}") int maxAttempts,
+                              @Value("${upload.spool.retryBackoffMillis:2000}") long retryBackoffMillis,
+                              @Value("${upload.spool.statusTtlSeconds:3600}") long statusTtlSeconds,
+                              @Value("${upload.spool.statusCacheSize:10000}") int statusCacheSize) {
+        this.videoStorageService = videoStorageService;
+        this.videoQueueService = videoQueueService;
+        this.contentHashIndex = contentHashIndex;
+        this.sniffer = sniffer;
+        this.checksums = checksums;
+        this.objectMapper = objectMapper;
+        this.executor = executor;
+        this.enabled = enabled;
+        this.spoolDir = Paths.get(spoolDir);
+        this.maxAttempts = maxAttempts;
+        this.retryBackoffMillis = retryBackoffMillis;
+        this.statusTtlMillis = TimeUnit.SECONDS.toMillis(statusTtlSeconds);
+        this.statusCacheSize = statusCacheSize;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Grava o vídeo no spool com {@link FileChannel#transferFrom} e agenda o envio.
+     * Retorna o ID usado para consultar o status. Com deduplicação ligada, o SHA-256 é calculado
+     * nessa mesma leitura, para que o envio possa ser dispensado se o conteúdo já estiver no S3.
+     * Um conteúdo que não é vídeo falha com {@link UnsupportedVideoFormatException}.
+     */
+    public String spool(InputStream in, String filename, String title, String description, UserInfo userInfo)
+            throws IOException {
+        return spool(in, filename, title, description, userInfo, ExpectedChecksums.NONE);
+    }
+
+    /**
+     * Como {@link #spool(InputStream, String, String, String, UserInfo)}, conferindo os checksums
+     * informados pelo cliente antes de responder: se não conferirem, nada fica no spool.
+     */
+    public String spool(InputStream in, String filename, String title, String description, UserInfo userInfo,
+                        ExpectedChecksums expected) throws IOException {
+        // um conteúdo que não é vídeo é recusado antes de ocupar o disco e a resposta 202
+        Sniffed sniffed = sniffer.sniff(in);
+        Files.createDirectories(spoolDir);
+        String uploadId = UUID.randomUUID().toString();
+        Path partial = spoolDir.resolve(uploadId + ".part");
+        ChecksumInputStream body = checksums.stream(sniffed.stream(), expected, contentHashIndex.isEnabled());
+
+        try (FileChannel file = FileChannel.open(partial, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+            ReadableByteChannel source = Channels.newChannel(body);
+            long position = 0;
+            long transferred;
+            // a origem é bloqueante: 0 bytes transferidos indica fim do stream
+            while ((transferred = file.transferFrom(source, position, TRANSFER_CHUNK)) > 0) {
+                position += transferred;
+            }
+            body.finish();
+            file.force(true);
+        } catch (IOException e) {
+            Files.deleteIfExists(partial);
+            throw e;
+        }
+
+        String now = Instant.now().toString();
+        Map<String, Object> attributes = new HashMap<>(body.attributes());
+        if (contentHashIndex.isEnabled()) {
+            attributes.put(ContentHashIndex.CONTENT_SHA256, body.sha256Hex());
+        }
+        attributes.putAll(sniffed.attributes());
+        SpooledUpload upload = new SpooledUpload(uploadId, filename, title, description, userInfo.username(),
+                userInfo.email(), State.ACCEPTED, 0, null, null, null, now, now, attributes);
+        save(upload);
+        Files.move(partial, videoPath(uploadId), StandardCopyOption.ATOMIC_MOVE);
+
+        pending.incrementAndGet();
+        submit(uploadId, 0);
+        return uploadId;
+    }
+
+    /**
+     * Uploads aceitos que ainda não terminaram o envio ao S3/SQS (nem falharam de vez).
+     */
+    public int pending() {
+        return pending.get();
+    }
+
+    /**
+     * Estado do upload; um upload terminado só é encontrado até {@code statusTtlSeconds} depois do fim.
+     */
+    public Optional<SpooledUpload> status(String uploadId) {
+        SpooledUpload upload = uploads.get(uploadId);
+        if (upload != null) {
+            return Optional.of(upload);
+        }
+        FinishedUpload done = finished.get(uploadId);
+        if (done == null) {
+            return Optional.empty();
+        }
+        if (done.expiresAtMillis() <= clock.millis()) {
+            finished.remove(uploadId, done);
+            return Optional.empty();
+        }
+        return Optional.of(done.upload());
+    }
+
+    int trackedUploads() {
+        return uploads.size() + finished.size();
+    }
+
+    /**
+     * Retoma os uploads que ficaram pendentes no spool antes do último desligamento.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumePending() throws IOException {
+        if (!enabled || !Files.isDirectory(spoolDir)) {
+            return;
+        }
+
+        int resumed = 0;
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(spoolDir, "*.json")) {
+            for (Path metadata : files) {
+                SpooledUpload upload = objectMapper.readValue(metadata.toFile(), SpooledUpload.class);
+                if (upload.state() == State.FAILED) {
+                    // a retenção conta a partir da falha, não do restart
+                    long failedAt = finishedAtMillis(upload);
+                    long remaining = failedAt + statusTtlMillis - clock.millis();
+                    if (remaining <= 0) {
+                        discard(upload.uploadId());
+                    } else {
+                        track(upload, failedAt);
+                        scheduleDiscard(upload.uploadId(), remaining);
+                    }
+                    continue;
+                }
+                track(upload);
+                if (Files.exists(videoPath(upload.uploadId()))) {
+                    pending.incrementAndGet();
+                    submit(upload.uploadId(), 0);
+                    resumed++;
+                } else {
+                    save(upload.withState(State.FAILED, "Arquivo do upload não encontrado no spool"));
+                    scheduleDiscard(upload.uploadId(), statusTtlMillis);
+                }
+            }
+        }
+        // gravações interrompidas no meio não chegaram a ser aceitas
+        try (DirectoryStream<Path> partials = Files.newDirectoryStream(spoolDir, "*.part")) {
+            for (Path partial : partials) {
+                Files.deleteIfExists(partial);
+            }
+        }
+
+        if (resumed > 0) {
+            logger.info("Retomando {} upload(s) pendente(s) do spool {}", resumed, spoolDir);
+        }
+    }
+
+    void ship(String uploadId) {
+        SpooledUpload upload = uploads.get(uploadId).withAttempt();
+        try {
+            save(upload);
+
+            // se o S3 já recebeu o vídeo em uma tentativa anterior, só falta a mensagem
+            if (upload.s3Key() == null) {
+                StoredVideo stored;
+                try (InputStream in = Files.newInputStream(videoPath(uploadId))) {
+                    // com o hash já calculado, um conteúdo repetido nem chega a ser lido
+                    stored = videoStorageService.uploadVideo(in, upload.filename(),
+                            (String) upload.attributes().get(ContentHashIndex.CONTENT_SHA256), upload.username());
+                }
+                upload = upload.withS3Object(stored.key(), videoStorageService.getVideoUrl(stored.key()),
+                        stored.attributes());
+                save(upload);
+            }
+
+            videoQueueService.sendVideoMessage(upload.s3Key(), upload.s3Url(), upload.title(), upload.description(),
+                    upload.username(), upload.email(), upload.attributes());
+
+            track(upload.withState(State.COMPLETED, null));
+            Files.deleteIfExists(videoPath(uploadId));
+            Files.deleteIfExists(metadataPath(uploadId));
+            pending.decrementAndGet();
+        } catch (IOException | RuntimeException e) {
+            retryOrFail(upload, e);
+        }
+    }
+
+    private void retryOrFail(SpooledUpload upload, Exception cause) {
+        boolean retry = upload.attempts() < maxAttempts;
+        SpooledUpload updated = upload.withState(retry ? State.RETRYING : State.FAILED, cause.getMessage());
+        try {
+            save(updated);
+        } catch (IOException e) {
+            track(updated);
+            logger.error("Não foi possível atualizar o estado do upload {} no spool: {}", updated.uploadId(), e.getMessage());
+        }
+
+        if (retry) {
+            long delay = retryBackoffMillis << Math.min(upload.attempts() - 1, 10);
+            logger.warn("Falha ao enviar upload {} (tentativa {}/{}), nova tentativa em {} ms: {}",
+                    upload.uploadId(), upload.attempts(), maxAttempts, delay, cause.getMessage());
+            submit(upload.uploadId(), delay);
+        } else {
+            pending.decrementAndGet();
+            logger.error("Upload {} falhou após {} tentativas; arquivo mantido em {} por {} s",
+                    upload.uploadId(), upload.attempts(), videoPath(upload.uploadId()),
+                    TimeUnit.MILLISECONDS.toSeconds(statusTtlMillis), cause);
+            scheduleDiscard(upload.uploadId(), statusTtlMillis);
+        }
+    }
+
+    private void scheduleDiscard(String uploadId, long delayMillis) {
+        try {
+            executor.schedule(() -> discard(uploadId), delayMillis, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            // desligando: o próximo startup apaga o que já tiver expirado
+            logger.debug("Remoção do upload {} adiada para o próximo startup", uploadId);
+        }
+    }
+
+    /**
+     * Apaga os arquivos de um upload que falhou de vez.
+     */
+    private void discard(String uploadId) {
+        try {
+            Files.deleteIfExists(videoPath(uploadId));
+            Files.deleteIfExists(metadataPath(uploadId));
+        } catch (IOException e) {
+            logger.warn("Não foi possível remover o upload {} do spool: {}", uploadId, e.getMessage());
+        }
+    }
+
+    private long finishedAtMillis(SpooledUpload upload) {
+        if (upload.updatedAt() != null) {
+            try {
+                return Instant.parse(upload.updatedAt()).toEpochMilli();
+            } catch (DateTimeParseException e) {
+                // sem horário válido, a retenção recomeça agora
+            }
+        }
+        return clock.millis();
+    }
+
+    private void submit(String uploadId, long delayMillis) {
+        try {
+            executor.schedule(() -> ship(uploadId), delayMillis, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            // desligando: o arquivo continua no spool e será retomado no próximo startup
+            logger.warn("Envio do upload {} adiado para o próximo startup", uploadId);
+        }
+    }
+
+    private void save(SpooledUpload upload) throws IOException {
+        Path temp = spoolDir.resolve(upload.uploadId() + ".json.tmp");
+        Files.write(temp, objectMapper.writeValueAsBytes(upload));
+        Files.move(temp, metadataPath(upload.uploadId()), StandardCopyOption.ATOMIC_MOVE,
+                StandardCopyOption.REPLACE_EXISTING);
+        track(upload);
+    }
+
+    private void track(SpooledUpload upload) {
+        track(upload, clock.millis());
+    }
+
+    private void track(SpooledUpload upload, long finishedAtMillis) {
+        if (upload.state() != State.COMPLETED && upload.state() != State.FAILED) {
+            uploads.put(upload.uploadId(), upload);
+            return;
+        }
+        long now = clock.millis();
+        if (statusCacheSize > 0 && statusTtlMillis > 0) {
+            if (finished.size() >= statusCacheSize) {
+                evict(now);
+            }
+            finished.put(upload.uploadId(), new FinishedUpload(upload, finishedAtMillis + statusTtlMillis));
+        }
+        uploads.remove(upload.uploadId());
+    }
+
+    /**
+     * Remove os status expirados; se continuar cheio, descarta entradas arbitrárias até liberar 10% da
+     * capacidade.
+     */
+    private void evict(long now) {
+        finished.values().removeIf(done -> done.expiresAtMillis() <= now);
+
+        int excess = finished.size() - (statusCacheSize - Math.max(1, statusCacheSize / 10));
+        Iterator<String> ids = finished.keySet().iterator();
+        while (excess-- > 0 && ids.hasNext()) {
+            ids.next();
+            ids.remove();
+        }
+    }
+
+    private Path videoPath(String uploadId) {
+        return spoolDir.resolve(uploadId + ".video");
+    }
+
+    private Path metadataPath(String uploadId) {
+        return spoolDir.resolve(uploadId + ".json");
+    }
+
+    private record FinishedUpload(SpooledUpload upload, long expiresAtMillis) {}
+}
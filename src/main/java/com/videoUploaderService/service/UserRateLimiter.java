@@ -0,0 +1,253 @@
+package com.videoUploaderService.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.InterruptedIOException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Limites por usuário (o {@code username} do JWT): requisições de upload por segundo e bytes por
+ * segundo, cada um em um {@link TokenBucket}. Com {@code upload.ratelimit.totalBytesPerSecond}
+ * configurado e o serviço saturado (vazão recente acima de 90% desse total), a banda é dividida
+ * igualmente entre os usuários com upload em andamento.
+ *
+ * <p>O caminho de cada chunk não tem lock compartilhado: um CAS no balde do próprio usuário e um
+ * {@link LongAdder} global. A saturação é recalculada a cada 100 ms e os usuários ociosos são
+ * removidos a cada {@code upload.ratelimit.idleSeconds}, pela thread que passar primeiro.
+ */
+@Component
+public class UserRateLimiter {
+
+    private static final long TICK_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+    private static final double SATURATION = 0.9;
+
+    private final double requestsPerSecond;
+    private final double requestBurst;
+    private final double bytesPerSecond;
+    private final double byteBurst;
+    private final double totalBytesPerSecond;
+    private final long idleNanos;
+    private final long maxUpFrontWaitNanos;
+
+    private final ConcurrentHashMap<String, UserState> users = new ConcurrentHashMap<>();
+    private final AtomicInteger activeUsers = new AtomicInteger();
+    private final LongAdder transferred = new LongAdder();
+    private final AtomicLong lastTick = new AtomicLong(System.nanoTime());
+    private volatile long lastTransferred;
+    private volatile long lastSweep = System.nanoTime();
+    private volatile boolean saturated;
+
+    private final Counter rejected;
+    private final Counter throttledSeconds;
+
+    public UserRateLimiter(MeterRegistry registry,
+                           @Value("${upload.ratelimit.requestsPerSecond:10}") double requestsPerSecond,
+                           @Value("${upload.ratelimit.requestBurst:20}") double requestBurst,
+                           @Value("${upload.ratelimit.bytesPerSecond:0}") double bytesPerSecond,
+                           @Value("${upload.ratelimit.byteBurst:8388608}") double byteBurst,
+                           @Value("${upload.ratelimit.totalBytesPerSecond:0}") double totalBytesPerSecond,
+                           @Value("${upload.ratelimit.idleSeconds:300}") long idleSeconds,
+                           @Value("${upload.ratelimit.maxUpFrontWaitMillis:1000}") long maxUpFrontWaitMillis) {
+        this.requestsPerSecond = requestsPerSecond;
+        this.requestBurst = Math.max(requestBurst, 1);
+        this.bytesPerSecond = bytesPerSecond;
+        this.byteBurst = byteBurst;
+        this.totalBytesPerSecond = totalBytesPerSecond;
+        this.idleNanos = TimeUnit.SECONDS.toNanos(idleSeconds);
+        this.maxUpFrontWaitNanos = TimeUnit.MILLISECONDS.toNanos(maxUpFrontWaitMillis);
+
+        rejected = Counter.builder("video.upload.ratelimit.rejected")
+                .description("Requisições recusadas pelos limites de requisições ou de banda do usuário")
+                .register(registry);
+        throttledSeconds = Counter.builder("video.upload.ratelimit.throttled")
+                .description("Tempo que as leituras esperaram pelo limite de banda do usuário")
+                .baseUnit("seconds")
+                .register(registry);
+        Gauge.builder("video.upload.ratelimit.users.active", activeUsers, AtomicInteger::get)
+                .description("Usuários com upload em andamento")
+                .register(registry);
+        Gauge.builder("video.upload.ratelimit.users.tracked", users, ConcurrentHashMap::size)
+                .description("Usuários com estado de limite em memória")
+                .register(registry);
+        Gauge.builder("video.upload.ratelimit.saturated", () -> saturated ? 1 : 0)
+                .description("1 quando a banda total está sendo dividida entre os usuários")
+                .register(registry);
+    }
+
+    public boolean isEnabled() {
+        return requestsPerSecond > 0 || bytesPerSecond > 0 || totalBytesPerSecond > 0;
+    }
+
+    /**
+     * Consome uma requisição do usuário. Retorna 0 se ela pode seguir, ou os nanossegundos até
+     * haver uma vaga.
+     */
+    public long tryAcquireRequest(String username) {
+        long now = System.nanoTime();
+        tick(now);
+        if (requestsPerSecond <= 0) {
+            return 0;
+        }
+        long wait = state(username, now).requests.tryAcquire(1, requestsPerSecond, requestBurst, now);
+        if (wait > 0) {
+            rejected.increment();
+        }
+        return wait;
+    }
+
+    /**
+     * Marca o usuário como ativo até o {@link Transfer#close()}; os bytes do corpo passam por
+     * {@link Transfer#throttle(long)}.
+     */
+    public Transfer startTransfer(String username) {
+        UserState state = state(username, System.nanoTime());
+        if (state.transfers.getAndIncrement() == 0) {
+            activeUsers.incrementAndGet();
+        }
+        return new Transfer(state);
+    }
+
+    /**
+     * Taxa de bytes de cada usuário agora: o limite individual e, com o serviço saturado, a parte
+     * igual da banda total. 0 significa sem limite.
+     */
+    double bytesPerSecond() {
+        if (!saturated) {
+            return bytesPerSecond;
+        }
+        double share = totalBytesPerSecond / Math.max(1, activeUsers.get());
+        return bytesPerSecond > 0 ? Math.min(bytesPerSecond, share) : share;
+    }
+
+    boolean isSaturated() {
+        return saturated;
+    }
+
+    int trackedUsers() {
+        return users.size();
+    }
+
+    private UserState state(String username, long now) {
+        UserState state = users.get(username);
+        if (state == null) {
+            state = users.computeIfAbsent(username, key -> new UserState());
+        }
+        state.lastUsed = now;
+        return state;
+    }
+
+    /**
+     * Trabalho periódico sem thread própria: só quem ganha o CAS do instante recalcula a saturação
+     * e, de tempos em tempos, remove os usuários ociosos.
+     */
+    void tick(long now) {
+        long last = lastTick.get();
+        if (now - last < TICK_NANOS || !lastTick.compareAndSet(last, now)) {
+            return;
+        }
+        if (totalBytesPerSecond > 0) {
+            long total = transferred.sum();
+            double perSecond = (total - lastTransferred) / ((now - last) / 1e9);
+            lastTransferred = total;
+            saturated = perSecond >= totalBytesPerSecond * SATURATION;
+        }
+        if (now - lastSweep >= idleNanos) {
+            lastSweep = now;
+            // um estado removido enquanto outra thread o usa só perde o histórico daquele usuário
+            users.values().removeIf(state -> state.isIdle(now, idleNanos));
+        }
+    }
+
+    public final class Transfer implements AutoCloseable {
+
+        private final UserState state;
+        private boolean closed;
+
+        private Transfer(UserState state) {
+            this.state = state;
+        }
+
+        /**
+         * Conta os bytes recebidos e bloqueia o tempo necessário para o usuário ficar dentro da taxa.
+         */
+        public void throttle(long bytes) throws InterruptedIOException {
+            long now = System.nanoTime();
+            transferred.add(bytes);
+            tick(now);
+            double perSecond = bytesPerSecond();
+            if (perSecond <= 0) {
+                return;
+            }
+            sleep(state.bytes.reserve(bytes, perSecond, byteBurst, now));
+        }
+
+        /**
+         * Cobra de uma vez um corpo que a aplicação não lê aos poucos (o multipart que o Tomcat lê
+         * sozinho), antes de ele ser lido. A espera pela dívida anterior do usuário só é feita se não
+         * passar de {@code upload.ratelimit.maxUpFrontWaitMillis}: nesse caso retorna 0. Senão nada é
+         * cobrado e retorna os nanossegundos até a espera caber no limite, para a resposta {@code 429}.
+         */
+        public long reserveUpFront(long bytes) throws InterruptedIOException {
+            long now = System.nanoTime();
+            tick(now);
+            double perSecond = bytesPerSecond();
+            if (perSecond <= 0) {
+                transferred.add(bytes);
+                return 0;
+            }
+            long wait = state.bytes.tryReserve(bytes, perSecond, byteBurst, maxUpFrontWaitNanos, now);
+            if (wait > maxUpFrontWaitNanos) {
+                rejected.increment();
+                return wait - maxUpFrontWaitNanos;
+            }
+            transferred.add(bytes);
+            sleep(wait);
+            return 0;
+        }
+
+        private void sleep(long wait) throws InterruptedIOException {
+            if (wait <= 0) {
+                return;
+            }
+            throttledSeconds.increment(wait / 1e9);
+            try {
+                TimeUnit.NANOSECONDS.sleep(wait);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrompido aguardando o limite de banda do usuário");
+            }
+        }
+
+        @Override
+        public void close() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            state.lastUsed = System.nanoTime();
+            if (state.transfers.decrementAndGet() == 0) {
+                activeUsers.decrementAndGet();
+            }
+        }
+    }
+
+    private static final class UserState {
+
+        final TokenBucket requests = new TokenBucket();
+        final TokenBucket bytes = new TokenBucket();
+        final AtomicInteger transfers = new AtomicInteger();
+        volatile long lastUsed;
+
+        boolean isIdle(long now, long idleNanos) {
+            return transfers.get() == 0 && now - lastUsed >= idleNanos && requests.isIdle(now) && bytes.isIdle(now);
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.videoUploaderService.service;
+
+/**
+ * Formatos de contêiner aceitos no upload, identificados pela assinatura dos primeiros bytes.
+ */
+public enum VideoContainer {
+
+    MP4("mp4"),
+    MOV("mov"),
+    MATROSKA("matroska"),
+    WEBM("webm"),
+    AVI("avi"),
+    MPEG_TS("mpeg-ts");
+
+    private final String tag;
+
+    VideoContainer(String tag) {
+        this.tag = tag;
+    }
+
+    /**
+     * Nome enviado na mensagem do SQS.
+     */
+    public String tag() {
+        return tag;
+    }
+}
@@ -0,0 +1,182 @@
+package com.videoUploaderService.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Identifica o contêiner pelos primeiros bytes do upload, antes de qualquer byte seguir para o
+ * backend. Um PDF, zip ou arquivo truncado é recusado com {@link UnsupportedVideoFormatException}
+ * depois de lidos no máximo {@value #HEAD_BYTES} bytes, em vez de ser enviado inteiro ao S3 e
+ * falhar só no processador.
+ *
+ * <p>Assinaturas reconhecidas: caixa {@code ftyp} (MP4, ou MOV com a marca {@code qt}) e átomos
+ * QuickTime antigos, cabeçalho EBML (Matroska ou WebM, pelo {@code DocType}), {@code RIFF....AVI }
+ * e o byte de sincronismo do MPEG-TS a cada 188 bytes (ou 192, no M2TS).
+ */
+@Component
+public class VideoContainerSniffer {
+
+    public static final String CONTAINER = "container";
+
+    static final int HEAD_BYTES = 4096;
+
+    private static final int TS_PACKET = 188;
+    private static final int M2TS_PACKET = 192;
+    private static final int TS_SYNC = 0x47;
+    private static final int TS_PACKETS_CHECKED = 3;
+    // elemento DocType dentro do cabeçalho EBML
+    private static final int EBML_DOCTYPE_ID = 0x4282;
+
+    private final boolean enabled;
+    private final int maxMoovBytes;
+
+    public VideoContainerSniffer(@Value("${upload.sniffing.enabled:true}") boolean enabled,
+                                 @Value("${upload.metadata.maxMoovBytes:16777216}") int maxMoovBytes) {
+        this.enabled = enabled;
+        this.maxMoovBytes = maxMoovBytes;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Lê o início do stream e identifica o contêiner. O stream devolvido repete os bytes já lidos,
+     * então pode ser enviado inteiro ao backend. Em MP4/MOV ele também alimenta um
+     * {@link Mp4MetadataParser}, cujos metadados ficam prontos quando o stream chega ao fim.
+     *
+     * @throws UnsupportedVideoFormatException se o início não for de um contêiner de vídeo aceito
+     */
+    public Sniffed sniff(InputStream in) throws IOException {
+        if (!enabled) {
+            return new Sniffed(null, in, null);
+        }
+        byte[] head = in.readNBytes(HEAD_BYTES);
+        Sniffed identified = identify(head);
+        InputStream stream = new SequenceInputStream(new ByteArrayInputStream(head), in);
+        Mp4MetadataParser parser = identified.parser();
+        return new Sniffed(identified.container(),
+                parser != null ? new Mp4MetadataInputStream(stream, parser) : stream, parser);
+    }
+
+    /**
+     * Identifica o contêiner pelos primeiros {@value #HEAD_BYTES} bytes já recebidos (ou todos, se o
+     * vídeo for menor), para quem recebe o upload em buffers. Não há stream no resultado: o parser,
+     * quando existe, deve receber o conteúdo inteiro, inclusive esses bytes.
+     *
+     * @throws UnsupportedVideoFormatException se o início não for de um contêiner de vídeo aceito
+     */
+    public Sniffed identify(byte[] head) throws UnsupportedVideoFormatException {
+        if (!enabled) {
+            return new Sniffed(null, null, null);
+        }
+        VideoContainer container = detect(head);
+        if (container == null) {
+            throw new UnsupportedVideoFormatException();
+        }
+        if ((container == VideoContainer.MP4 || container == VideoContainer.MOV) && maxMoovBytes > 0) {
+            return new Sniffed(container, null, new Mp4MetadataParser(maxMoovBytes));
+        }
+        return new Sniffed(container, null, null);
+    }
+
+    static VideoContainer detect(byte[] head) {
+        if (head.length >= 12 && ascii(head, 4, "ftyp")) {
+            return ascii(head, 8, "qt  ") ? VideoContainer.MOV : VideoContainer.MP4;
+        }
+        if (head.length >= 8 && (ascii(head, 4, "moov") || ascii(head, 4, "mdat") || ascii(head, 4, "wide"))) {
+            return VideoContainer.MOV;
+        }
+        if (head.length >= 4 && u8(head, 0) == 0x1A && u8(head, 1) == 0x45 && u8(head, 2) == 0xDF
+                && u8(head, 3) == 0xA3) {
+            return "webm".equals(ebmlDocType(head)) ? VideoContainer.WEBM : VideoContainer.MATROSKA;
+        }
+        if (head.length >= 12 && ascii(head, 0, "RIFF") && ascii(head, 8, "AVI ")) {
+            return VideoContainer.AVI;
+        }
+        if (transportStream(head, 0, TS_PACKET) || transportStream(head, 4, M2TS_PACKET)) {
+            return VideoContainer.MPEG_TS;
+        }
+        return null;
+    }
+
+    /**
+     * Pacotes de tamanho fixo começando com 0x47. Exige três pacotes seguidos, para não confundir com
+     * um arquivo qualquer que comece com 'G'.
+     */
+    private static boolean transportStream(byte[] head, int offset, int packet) {
+        if (head.length < offset + (TS_PACKETS_CHECKED - 1) * packet + 1) {
+            return false;
+        }
+        for (int i = 0; i < TS_PACKETS_CHECKED; i++) {
+            if (u8(head, offset + i * packet) != TS_SYNC) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Procura o {@code DocType} no cabeçalho EBML. O tamanho do elemento é um inteiro de tamanho
+     * variável de um byte, o que cobre os valores "webm" e "matroska".
+     */
+    private static String ebmlDocType(byte[] head) {
+        for (int i = 4; i + 3 <= head.length && i < 64; i++) {
+            if ((u8(head, i) << 8 | u8(head, i + 1)) != EBML_DOCTYPE_ID) {
+                continue;
+            }
+            int size = u8(head, i + 2);
+            if ((size & 0x80) == 0) {
+                return null;
+            }
+            int length = size & 0x7F;
+            int start = i + 3;
+            return start + length <= head.length
+                    ? new String(head, start, length, StandardCharsets.US_ASCII)
+                    : null;
+        }
+        return null;
+    }
+
+    private static boolean ascii(byte[] head, int offset, String expected) {
+        for (int i = 0; i < expected.length(); i++) {
+            if (head[offset + i] != expected.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int u8(byte[] head, int index) {
+        return head[index] & 0xFF;
+    }
+
+    /**
+     * Contêiner identificado ({@code null} com a verificação desligada), o stream completo e o parser
+     * de metadados, quando o contêiner tem um.
+     */
+    public record Sniffed(VideoContainer container, InputStream stream, Mp4MetadataParser parser) {
+
+        /**
+         * Atributos para a mensagem do SQS. Os metadados só aparecem depois de o stream ser lido até o fim.
+         */
+        public Map<String, Object> attributes() {
+            Map<String, Object> attributes = new HashMap<>();
+            if (container != null) {
+                attributes.put(CONTAINER, container.tag());
+            }
+            if (parser != null && !parser.metadata().isEmpty()) {
+                attributes.put(Mp4MetadataParser.METADATA, parser.metadata());
+            }
+            return attributes;
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.videoUploaderService.service;
+
+/**
+ * Formato das chaves dos vídeos no bucket, escolhido por {@code upload.keys.layout}. O S3 limita a
+ * taxa de requisições por prefixo (cerca de 3.500 PUTs/s cada): chaves que começam todas iguais
+ * concentram uma rajada de uploads no mesmo prefixo, que responde {@code 503 SlowDown} até o S3
+ * particionar. A versão do layout vai na mensagem do SQS ({@link #VERSION_ATTRIBUTE}), para o
+ * consumidor saber o formato da chave que recebeu.
+ */
+public interface VideoKeyLayout {
+
+    String ROOT = "videos/";
+
+    String VERSION_ATTRIBUTE = "keyLayoutVersion";
+
+    int version();
+
+    /**
+     * Nova chave única terminando com {@code extension} (com o ponto, ou vazia).
+     */
+    String newKey(String extension);
+
+    /**
+     * Versão do layout que gerou a chave, deduzida do formato, ou 0 se ela não é de nenhum layout
+     * conhecido. Vale para chaves gravadas antes de uma troca de layout (reaproveitadas pela
+     * deduplicação, por exemplo).
+     */
+    static int versionOf(String key) {
+        if (key == null || !key.startsWith(ROOT)) {
+            return 0;
+        }
+        String[] segments = key.substring(ROOT.length()).split("/", -1);
+        if (!isTimestamped(segments[segments.length - 1])) {
+            return 0;
+        }
+        return switch (segments.length) {
+            case 1 -> TimestampKeyLayout.VERSION;
+            case 2 -> isHex(segments[0]) ? HashPrefixKeyLayout.VERSION : 0;
+            case 5 -> isDigits(segments[0]) && isDigits(segments[1]) && isDigits(segments[2]) && isHex(segments[3])
+                    ? DateShardKeyLayout.VERSION : 0;
+            default -> 0;
+        };
+    }
+
+    /**
+     * Nome do objeto em todos os layouts: {@code <epochMillis>-<uuid><ext>}.
+     */
+    private static boolean isTimestamped(String name) {
+        int dash = name.indexOf('-');
+        return dash > 0 && isDigits(name.substring(0, dash));
+    }
+
+    private static boolean isHex(String segment) {
+        return !segment.isEmpty() && segment.chars().allMatch(c -> Character.digit(c, 16) >= 0);
+    }
+
+    private static boolean isDigits(String segment) {
+        return !segment.isEmpty() && segment.chars().allMatch(Character::isDigit);
+    }
+}
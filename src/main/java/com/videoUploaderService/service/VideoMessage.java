@@ -0,0 +1,14 @@
+package com.videoUploaderService.service;
+
+import java.util.Map;
+
+/**
+ * Mensagem de vídeo gravado para o SQS, usada no envio em lote de {@link VideoQueueService}.
+ */
+public record VideoMessage(String s3Key, String s3Url, String title, String description, String username,
+                           String email, Map<String, Object> attributes) {
+
+    public VideoMessage {
+        attributes = attributes == null ? Map.of() : attributes;
+    }
+}
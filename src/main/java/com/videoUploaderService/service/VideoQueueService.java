@@ -1,33 +1,131 @@
 package com.videoUploaderService.service;
 
-import com.amazonaws.services.sqs.AmazonSQS;
-import com.amazonaws.services.sqs.model.SendMessageRequest;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import org.springframework.beans.factory.annotation.Value;
+import com.videoUploaderService.service.UploadMetrics.Stage;
 import org.springframework.stereotype.Service;
 
+import java.io.IOException;
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 @Service
 public class VideoQueueService {
 
-    private final AmazonSQS amazonSQS;
-    private final String queueUrl;
+    private final SqsBatchPublisher publisher;
+    private final OutboxLog outbox;
     private final ObjectMapper objectMapper;
+    private final UploadMetrics metrics;
 
-    public VideoQueueService(AmazonSQS amazonSQS,
-                             @Value("${aws.sqs.queueUrl}") String queueUrl,
-                             ObjectMapper objectMapper) {
-        this.amazonSQS = amazonSQS;
-        this.queueUrl = queueUrl;
+    public VideoQueueService(SqsBatchPublisher publisher, OutboxLog outbox, ObjectMapper objectMapper,
+                             UploadMetrics metrics) {
+        this.publisher = publisher;
+        this.outbox = outbox;
         this.objectMapper = objectMapper;
+        this.metrics = metrics;
     }
 
+    /**
+     * Com o outbox ligado, grava a mensagem no log local e retorna; o {@link OutboxRelay} publica depois.
+     * Sem outbox, publica e espera a confirmação do SQS (chamadas concorrentes compartilham o mesmo
+     * {@code SendMessageBatch}).
+     */
     public void sendVideoMessage(String s3Key, String s3Url, String title, String description, String username, String email) {
-        Map<String, Object> payload = new HashMap<>();
+        sendVideoMessage(s3Key, s3Url, title, description, username, email, Map.of());
+    }
+
+    /**
+     * Inclui na mensagem os atributos apurados na gravação (ver {@link StoredVideo}); os campos
+     * principais não podem ser sobrescritos por eles. A versão do layout da chave
+     * ({@link VideoKeyLayout#VERSION_ATTRIBUTE}) é deduzida da própria chave.
+     */
+    public void sendVideoMessage(String s3Key, String s3Url, String title, String description, String username,
+                                 String email, Map<String, Object> attributes) {
+        String body = messageBody(s3Key, s3Url, title, description, username, email, attributes);
+
+        if (outbox.isEnabled()) {
+            try {
+                outbox.append(body);
+            } catch (IOException e) {
+                throw new RuntimeException("Falha ao gravar mensagem de vídeo no outbox", e);
+            }
+            return;
+        }
+
+        try {
+            // inclui a espera pelo lote: é o tempo que o SQS acrescenta à requisição
+            metrics.time(Stage.SQS, () -> publisher.publish(body).join());
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new RuntimeException("Falha ao enviar mensagem de vídeo para o SQS", e.getCause());
+        }
+    }
+
+    /**
+     * Envia as mensagens de um lote de uploads de uma vez: no outbox, uma única gravação; no SQS,
+     * todas entram no {@link SqsBatchPublisher} antes de esperar, para ocuparem o mínimo de
+     * {@code SendMessageBatch}. Retorna uma falha por mensagem, na mesma ordem ({@code null} para as
+     * enviadas), para o chamador informar o resultado de cada vídeo.
+     */
+    public List<RuntimeException> sendVideoMessages(List<VideoMessage> messages) {
+        List<RuntimeException> failures = new ArrayList<>(messages.size());
+        List<String> bodies = new ArrayList<>(messages.size());
+        for (VideoMessage message : messages) {
+            try {
+                bodies.add(messageBody(message.s3Key(), message.s3Url(), message.title(), message.description(),
+                        message.username(), message.email(), message.attributes()));
+                failures.add(null);
+            } catch (RuntimeException e) {
+                bodies.add(null);
+                failures.add(e);
+            }
+        }
+
+        if (outbox.isEnabled()) {
+            try {
+                outbox.appendAll(bodies.stream().filter(Objects::nonNull).toList());
+            } catch (IOException e) {
+                RuntimeException failure = new RuntimeException("Falha ao gravar mensagem de vídeo no outbox", e);
+                failures.replaceAll(previous -> previous != null ? previous : failure);
+            }
+            return failures;
+        }
+
+        List<CompletableFuture<String>> published = new ArrayList<>(bodies.size());
+        for (String body : bodies) {
+            published.add(body == null ? null : publisher.publish(body));
+        }
+        // o último lote incompleto sai agora, sem esperar o linger
+        publisher.flush();
+        metrics.time(Stage.SQS, () -> {
+            for (int i = 0; i < published.size(); i++) {
+                CompletableFuture<String> future = published.get(i);
+                if (future == null) {
+                    continue;
+                }
+                try {
+                    future.join();
+                } catch (CompletionException e) {
+                    failures.set(i, e.getCause() instanceof RuntimeException cause ? cause
+                            : new RuntimeException("Falha ao enviar mensagem de vídeo para o SQS", e.getCause()));
+                }
+            }
+            return null;
+        });
+        return failures;
+    }
+
+    String messageBody(String s3Key, String s3Url, String title, String description, String username, String email,
+                       Map<String, Object> attributes) {
+        Map<String, Object> payload = new HashMap<>(attributes);
         payload.put("s3Key", s3Key);
         payload.put("s3Url", s3Url);
         payload.put("title", title);
@@ -35,19 +133,15 @@ public class VideoQueueService {
         payload.put("email", email);
         payload.put("description", description);
         payload.put("uploadedAt", Instant.now().toString());
+        int keyLayoutVersion = VideoKeyLayout.versionOf(s3Key);
+        if (keyLayoutVersion > 0) {
+            payload.put(VideoKeyLayout.VERSION_ATTRIBUTE, keyLayoutVersion);
+        }
 
         try {
-            String body = objectMapper.writeValueAsString(payload);
-
-            SendMessageRequest request = new SendMessageRequest()
-                    .withQueueUrl(queueUrl)
-                    .withMessageBody(body);
-
-            amazonSQS.sendMessage(request);
+            return objectMapper.writeValueAsString(payload);
         } catch (JsonProcessingException e) {
             throw new RuntimeException("Erro ao serializar mensagem de vídeo", e);
         }
     }
 }
-
-
@@ -1,45 +1,437 @@
 package com.videoUploaderService.service;
 
+import com.amazonaws.AmazonClientException;
+import com.amazonaws.AmazonServiceException;
+import com.amazonaws.HttpMethod;
 import com.amazonaws.services.s3.AmazonS3;
+import com.amazonaws.services.s3.model.AbortMultipartUploadRequest;
+import com.amazonaws.services.s3.model.CompleteMultipartUploadRequest;
+import com.amazonaws.services.s3.model.GeneratePresignedUrlRequest;
+import com.amazonaws.services.s3.model.InitiateMultipartUploadRequest;
+import com.amazonaws.services.s3.model.ObjectMetadata;
+import com.amazonaws.services.s3.model.PartETag;
+import com.amazonaws.services.s3.model.UploadPartRequest;
+import com.videoUploaderService.service.UploadMetrics.Stage;
+import com.videoUploaderService.service.VideoContainerSniffer.Sniffed;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
 import java.net.URL;
+import java.nio.ByteBuffer;
 import java.time.Instant;
-import java.util.UUID;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
 
 @Service
 public class VideoStorageService {
 
+    private static final Logger logger = LoggerFactory.getLogger(VideoStorageService.class);
+
     private final AmazonS3 amazonS3;
+    private final VideoStore videoStore;
     private final String bucketName;
+    private final UploadMetrics metrics;
+    private final ContentHashIndex contentHashIndex;
+    private final VideoContainerSniffer sniffer;
+    private final UploadChecksums checksums;
+    private final VideoKeyLayout keyLayout;
+    private final DependencyGuard guard;
 
     public VideoStorageService(AmazonS3 amazonS3,
-                               @Value("${aws.s3.bucket}") String bucketName) {
+                               VideoStore videoStore,
+                               @Value("${aws.s3.bucket}") String bucketName,
+                               UploadMetrics metrics,
+                               ContentHashIndex contentHashIndex,
+                               VideoContainerSniffer sniffer,
+                               UploadChecksums checksums,
+                               VideoKeyLayout keyLayout,
+                               DependencyGuards guards) {
         this.amazonS3 = amazonS3;
+        this.videoStore = videoStore;
         this.bucketName = bucketName;
+        this.metrics = metrics;
+        this.contentHashIndex = contentHashIndex;
+        this.sniffer = sniffer;
+        this.checksums = checksums;
+        this.keyLayout = keyLayout;
+        this.guard = guards.s3();
     }
 
-    public String uploadVideo(MultipartFile file) throws IOException {
-        String originalFilename = file.getOriginalFilename();
-        String extension = "";
-        if (originalFilename != null && originalFilename.contains(".")) {
-            extension = originalFilename.substring(originalFilename.lastIndexOf('.'));
+    /**
+     * Envia o arquivo sem dono conhecido; ele não entra no índice de deduplicação.
+     */
+    public StoredVideo uploadVideo(MultipartFile file) throws IOException {
+        return uploadVideo(file, ExpectedChecksums.NONE, null);
+    }
+
+    /**
+     * Envia o arquivo conferindo os checksums informados pelo cliente; se não conferirem, a gravação
+     * é abortada com {@link ChecksumMismatchException}. A deduplicação só reaproveita uploads do
+     * mesmo {@code owner}.
+     */
+    public StoredVideo uploadVideo(MultipartFile file, ExpectedChecksums expected, String owner) throws IOException {
+        String key = newKey(file.getOriginalFilename());
+        try (InputStream in = file.getInputStream()) {
+            return store(key, in, file.getSize(), expected, owner);
         }
+    }
 
-        String key = "videos/" + Instant.now().toEpochMilli() + "-" + UUID.randomUUID() + extension;
+    /**
+     * Envia o vídeo lendo o stream uma única vez, sem conhecer o tamanho total.
+     */
+    public StoredVideo uploadVideo(InputStream in, String originalFilename) throws IOException {
+        return uploadVideo(in, originalFilename, ExpectedChecksums.NONE, null);
+    }
 
-        amazonS3.putObject(bucketName, key, file.getInputStream(), null);
+    public StoredVideo uploadVideo(InputStream in, String originalFilename, ExpectedChecksums expected, String owner)
+            throws IOException {
+        return store(newKey(originalFilename), in, -1, expected, owner);
+    }
+
+    /**
+     * Envia um vídeo cujo SHA-256 já foi calculado antes (no spool). Se o mesmo dono já tiver
+     * armazenado o conteúdo, o stream não é lido e a chave existente é reaproveitada.
+     */
+    public StoredVideo uploadVideo(InputStream in, String originalFilename, String contentSha256, String owner)
+            throws IOException {
+        if (contentSha256 == null || !deduplicates(owner)) {
+            return uploadVideo(in, originalFilename, ExpectedChecksums.NONE, owner);
+        }
 
-        return key;
+        Optional<String> existing = contentHashIndex.find(owner, contentSha256);
+        if (existing.isPresent()) {
+            metrics.deduplication(true);
+            return stored(existing.get(), contentSha256, true);
+        }
+
+        String key = newKey(originalFilename);
+        Sniffed sniffed = sniffer.sniff(in);
+        ChecksumInputStream body = checksums.stream(sniffed.stream(), ExpectedChecksums.NONE, false);
+        put(key, body, -1);
+        return register(key, owner, contentSha256).withAttributes(sniffed.attributes()).withAttributes(body.attributes());
+    }
+
+    /**
+     * Versão não bloqueante de {@link #uploadVideo(InputStream, String, ExpectedChecksums, String)}, usada
+     * pelo servidor reativo. Os buffers seguem ao backend conforme ele os pede, então a leitura do
+     * cliente acompanha o ritmo do S3. Os primeiros {@value VideoContainerSniffer#HEAD_BYTES} bytes
+     * ficam retidos até o contêiner ser identificado; nenhum byte segue antes disso. Os buffers não
+     * são copiados e passam a pertencer ao backend, então a memória deles não pode ser reaproveitada
+     * por quem os emitiu.
+     */
+    public Mono<StoredVideo> uploadVideo(Flux<ByteBuffer> body, String originalFilename, ExpectedChecksums expected,
+                                         String owner) {
+        return Mono.defer(() -> {
+            String key = newKey(originalFilename);
+            ContainerCheck check = new ContainerCheck();
+            boolean deduplicate = deduplicates(owner);
+            ContentChecksums content = checksums.checksums(expected, deduplicate);
+
+            Flux<ByteBuffer> inspected = body
+                    .concatMap(check::offer)
+                    .concatWith(Flux.defer(check::complete))
+                    .doOnNext(buffer -> {
+                        content.update(buffer);
+                        check.parse(buffer);
+                    })
+                    // divergência vira erro do publisher, e o backend aborta a gravação
+                    .concatWith(Mono.defer(() -> verify(content)));
+
+            return Mono.fromFuture(() -> guard.guard(() -> videoStore.put(key, inspected)))
+                    .onErrorMap(CompletionException.class, e -> e.getCause() != null ? e.getCause() : e)
+                    .onErrorMap(IOException.class, VideoStorageService::rejection)
+                    .then(Mono.defer(() -> {
+                        try {
+                            content.finish();
+                        } catch (ChecksumMismatchException e) {
+                            // o backend parou de ler antes do fim: o objeto gravado não vale
+                            return Mono.fromRunnable(() -> deleteQuietly(key)).then(Mono.error(e));
+                        }
+                        if (!deduplicate) {
+                            return Mono.just(StoredVideo.of(key));
+                        }
+                        // o índice de hashes grava em disco: fora da thread do event loop
+                        return Mono.fromCallable(() -> register(key, owner, content.sha256Hex()))
+                                .subscribeOn(Schedulers.boundedElastic());
+                    }))
+                    .map(stored -> stored.withAttributes(check.attributes()).withAttributes(content.attributes()));
+        });
     }
 
     public String getVideoUrl(String key) {
-        URL url = amazonS3.getUrl(bucketName, key);
-        return url.toString();
+        return videoStore.url(key);
     }
-}
 
+    // Operações de multipart upload controladas pelo cliente (upload retomável em chunks)
+
+    public String initiateMultipartUpload(String key) throws IOException {
+        try {
+            return guard.call(() -> amazonS3.initiateMultipartUpload(new InitiateMultipartUploadRequest(bucketName, key)))
+                    .getUploadId();
+        } catch (AmazonClientException | DependencyUnavailableException e) {
+            throw new IOException("Falha ao iniciar upload multipart: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Envia uma parte de um multipart upload já iniciado. Reenviar o mesmo número de parte
+     * substitui a anterior, então cada chunk pode ser repetido isoladamente.
+     */
+    public String uploadPart(String key, String uploadId, int partNumber, InputStream in, long size) throws IOException {
+        UploadPartRequest request = new UploadPartRequest()
+                .withBucketName(bucketName)
+                .withKey(key)
+                .withUploadId(uploadId)
+                .withPartNumber(partNumber)
+                .withInputStream(in)
+                .withPartSize(size);
+        try {
+            // o corpo é o stream do cliente, que não pode ser relido: quem repete a parte é o cliente
+            return metrics.time(Stage.S3, () -> guard.callOnce(() -> amazonS3.uploadPart(request))).getETag();
+        } catch (AmazonClientException | DependencyUnavailableException e) {
+            throw new IOException("Falha ao enviar parte " + partNumber + ": " + e.getMessage(), e);
+        }
+    }
+
+    public void completeMultipartUpload(String key, String uploadId, List<PartETag> partETags) throws IOException {
+        try {
+            guard.call(() -> amazonS3.completeMultipartUpload(
+                    new CompleteMultipartUploadRequest(bucketName, key, uploadId, partETags)));
+        } catch (AmazonClientException | DependencyUnavailableException e) {
+            throw new IOException("Falha ao concluir upload multipart: " + e.getMessage(), e);
+        }
+    }
+
+    public void abortMultipartUpload(String key, String uploadId) throws IOException {
+        try {
+            guard.call(() -> {
+                amazonS3.abortMultipartUpload(new AbortMultipartUploadRequest(bucketName, key, uploadId));
+                return null;
+            });
+        } catch (AmazonClientException | DependencyUnavailableException e) {
+            throw new IOException("Falha ao abortar upload multipart: " + e.getMessage(), e);
+        }
+    }
+
+    // URLs pré-assinadas: o cliente envia os bytes direto ao S3, sem passar por este serviço
+
+    public URL presignPutObject(String key, Instant expiresAt) {
+        GeneratePresignedUrlRequest request = new GeneratePresignedUrlRequest(bucketName, key, HttpMethod.PUT)
+                .withExpiration(Date.from(expiresAt));
+        return amazonS3.generatePresignedUrl(request);
+    }
+
+    public URL presignUploadPart(String key, String uploadId, int partNumber, Instant expiresAt) {
+        GeneratePresignedUrlRequest request = new GeneratePresignedUrlRequest(bucketName, key, HttpMethod.PUT)
+                .withExpiration(Date.from(expiresAt));
+        request.addRequestParameter("uploadId", uploadId);
+        request.addRequestParameter("partNumber", String.valueOf(partNumber));
+        return amazonS3.generatePresignedUrl(request);
+    }
+
+    /**
+     * HEAD no objeto. Retorna vazio se ele ainda não existir no bucket.
+     */
+    public Optional<ObjectMetadata> headObject(String key) throws IOException {
+        try {
+            return Optional.of(guard.call(() -> amazonS3.getObjectMetadata(bucketName, key)));
+        } catch (AmazonServiceException e) {
+            if (e.getStatusCode() == 404) {
+                return Optional.empty();
+            }
+            throw new IOException("Falha ao consultar objeto no S3: " + e.getMessage(), e);
+        } catch (AmazonClientException | DependencyUnavailableException e) {
+            throw new IOException("Falha ao consultar objeto no S3: " + e.getMessage(), e);
+        }
+    }
+
+    private StoredVideo store(String key, InputStream in, long size, ExpectedChecksums expected, String owner)
+            throws IOException {
+        boolean deduplicate = deduplicates(owner);
+        // o contêiner é verificado antes de o backend receber qualquer byte
+        Sniffed sniffed = sniffer.sniff(in);
+        // checksums, metadados e o hash da deduplicação saem da mesma leitura que alimenta o envio,
+        // então só são conhecidos depois do último byte
+        ChecksumInputStream body = checksums.stream(sniffed.stream(), expected, deduplicate);
+        put(key, body, size);
+        StoredVideo stored = deduplicate ? register(key, owner, body.sha256Hex()) : StoredVideo.of(key);
+        return stored.withAttributes(sniffed.attributes()).withAttributes(body.attributes());
+    }
+
+    /**
+     * Grava o objeto e confere os checksums. Normalmente a divergência aparece no fim do stream e o
+     * backend aborta a gravação; se ele parou de ler antes do fim, o objeto já gravado é removido.
+     */
+    private void put(String key, ChecksumInputStream body, long size) throws IOException {
+        try {
+            await(guard.guard(() -> videoStore.put(key, body, size)));
+        } catch (IOException e) {
+            // o backend pode embrulhar a falha de leitura do stream
+            for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+                if (cause instanceof ChecksumMismatchException mismatch) {
+                    throw mismatch;
+                }
+            }
+            throw e;
+        }
+        try {
+            body.finish();
+        } catch (ChecksumMismatchException e) {
+            deleteQuietly(key);
+            throw e;
+        }
+    }
+
+    /**
+     * Sem dono não há como separar o índice por usuário, então o upload não é deduplicado.
+     */
+    private boolean deduplicates(String owner) {
+        return contentHashIndex.isEnabled() && owner != null && !owner.isEmpty();
+    }
+
+    /**
+     * Indexa o objeto recém-gravado. Se o mesmo dono já tinha o conteúdo indexado, a cópia nova é
+     * removida e a chave antiga é devolvida.
+     */
+    private StoredVideo register(String key, String owner, String contentSha256) throws IOException {
+        String indexedKey = contentHashIndex.putIfAbsent(owner, contentSha256, key);
+        boolean duplicate = !indexedKey.equals(key);
+        metrics.deduplication(duplicate);
+
+        if (duplicate) {
+            // a cópia extra só ocupa espaço; o upload continua válido com a chave indexada
+            deleteQuietly(key);
+        }
+        return stored(indexedKey, contentSha256, duplicate);
+    }
+
+    private void deleteQuietly(String key) {
+        try {
+            await(videoStore.delete(key));
+        } catch (IOException e) {
+            logger.warn("Não foi possível remover o objeto {}: {}", key, e.getMessage());
+        }
+    }
+
+    private static <T> Mono<T> verify(ContentChecksums content) {
+        try {
+            content.finish();
+            return Mono.empty();
+        } catch (ChecksumMismatchException e) {
+            return Mono.error(e);
+        }
+    }
+
+    /**
+     * O backend embrulha o erro do publisher; o contêiner recusado e o checksum divergente voltam
+     * como são, para o chamador responder 415 e 400.
+     */
+    private static IOException rejection(IOException e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof UnsupportedVideoFormatException || cause instanceof ChecksumMismatchException) {
+                return (IOException) cause;
+            }
+        }
+        return e;
+    }
+
+    /**
+     * Retém os primeiros buffers até haver {@value VideoContainerSniffer#HEAD_BYTES} bytes (ou até o
+     * fim, se o vídeo for menor) e identifica o contêiner. Só o início é copiado, para a identificação.
+     */
+    private final class ContainerCheck {
+
+        private final List<ByteBuffer> pending = new ArrayList<>();
+        private final byte[] head = new byte[VideoContainerSniffer.HEAD_BYTES];
+        private int length;
+        private Sniffed sniffed;
+
+        Flux<ByteBuffer> offer(ByteBuffer buffer) {
+            if (sniffed != null) {
+                return Flux.just(buffer);
+            }
+            int n = Math.min(head.length - length, buffer.remaining());
+            buffer.duplicate().get(head, length, n);
+            length += n;
+            pending.add(buffer);
+            return length < head.length ? Flux.empty() : release();
+        }
+
+        Flux<ByteBuffer> complete() {
+            return sniffed != null ? Flux.empty() : release();
+        }
+
+        void parse(ByteBuffer buffer) {
+            if (sniffed.parser() != null) {
+                sniffed.parser().update(buffer);
+            }
+        }
+
+        Map<String, Object> attributes() {
+            return sniffed != null ? sniffed.attributes() : Map.of();
+        }
+
+        private Flux<ByteBuffer> release() {
+            try {
+                sniffed = sniffer.identify(Arrays.copyOf(head, length));
+            } catch (UnsupportedVideoFormatException e) {
+                return Flux.error(e);
+            }
+            List<ByteBuffer> released = new ArrayList<>(pending);
+            pending.clear();
+            return Flux.fromIterable(released);
+        }
+    }
+
+    private static StoredVideo stored(String key, String contentSha256, boolean deduplicated) {
+        return new StoredVideo(key, Map.of(
+                ContentHashIndex.CONTENT_SHA256, contentSha256,
+                ContentHashIndex.DEDUPLICATED, deduplicated));
+    }
 
+    private static void await(CompletableFuture<Void> upload) throws IOException {
+        try {
+            upload.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrompido aguardando envio ao S3");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException io) {
+                throw io;
+            }
+            if (e.getCause() instanceof DependencyUnavailableException unavailable) {
+                throw unavailable;
+            }
+            throw new IOException("Falha ao enviar objeto para o S3: " + e.getCause().getMessage(), e.getCause());
+        }
+    }
+
+    /**
+     * Nova chave no formato de {@code upload.keys.layout} ({@link VideoKeyLayout}), com a extensão do
+     * arquivo original.
+     */
+    public String newKey(String originalFilename) {
+        String extension = "";
+        if (originalFilename != null && originalFilename.contains(".")) {
+            extension = originalFilename.substring(originalFilename.lastIndexOf('.'));
+        }
+
+        return keyLayout.newKey(extension);
+    }
+}
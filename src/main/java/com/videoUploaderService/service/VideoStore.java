@@ -0,0 +1,40 @@
+package com.videoUploaderService.service;
+
+import org.reactivestreams.Publisher;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Backend onde os vídeos são gravados. O {@link VideoStorageService} gera a chave e delega a gravação;
+ * o backend é escolhido por {@code upload.store}.
+ */
+public interface VideoStore {
+
+    /**
+     * Grava o objeto lendo o stream até o fim. {@code size} é o tamanho do conteúdo, ou negativo se
+     * desconhecido. O stream pertence ao chamador e não pode ser fechado antes de o futuro terminar;
+     * falhas completam o futuro com {@link java.io.IOException}.
+     */
+    CompletableFuture<Void> put(String key, InputStream in, long size);
+
+    /**
+     * Grava o objeto consumindo os buffers do publisher, de tamanho total desconhecido, sem bloquear
+     * thread: o próximo buffer só é pedido quando o backend tem espaço para ele. Os buffers passam a
+     * pertencer ao backend, que pode mantê-los até o fim do envio. Um erro do publisher aborta a
+     * gravação. Só o backend {@code async} implementa; os demais falham.
+     */
+    default CompletableFuture<Void> put(String key, Publisher<ByteBuffer> body) {
+        return CompletableFuture.failedFuture(new IOException(
+                "Backend " + getClass().getSimpleName() + " não aceita envio reativo; use upload.store=async"));
+    }
+
+    /**
+     * Remove o objeto. Remover uma chave que não existe não é erro.
+     */
+    CompletableFuture<Void> delete(String key);
+
+    String url(String key);
+}
@@ -0,0 +1,247 @@
+package com.videoUploaderService;
+
+import com.amazonaws.services.s3.AmazonS3;
+import com.amazonaws.services.sqs.AmazonSQS;
+import com.amazonaws.services.sqs.model.SendMessageBatchRequest;
+import com.amazonaws.services.sqs.model.SendMessageBatchResult;
+import com.amazonaws.services.sqs.model.SendMessageBatchResultEntry;
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.algorithms.Algorithm;
+import jakarta.servlet.Filter;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.server.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.URI;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Teste de carga com clientes lentos: N conexões abertas ao mesmo tempo enviando o corpo do
+ * {@code POST /videos/stream} em pedaços espaçados, como um celular com rede ruim.
+ * Mede quantas requisições o servidor consegue atender simultaneamente com o pool fixo de
+ * platform threads do Tomcat e com virtual threads.
+ *
+ * <p>Não roda no {@code mvn test}; use {@code mvn -P load-test test} (o cenário com virtual
+ * threads só é executado com Java 21+). {@code -DloadTest.clients=N} altera a quantidade de clientes.
+ * O resultado de cada cenário é impresso com o prefixo {@code [load]}.
+ */
+@Tag("load")
+class SlowClientLoadTest {
+
+    private static final int CLIENTS = Integer.getInteger("loadTest.clients", 2000);
+    private static final int TOMCAT_THREADS = 200;
+    private static final int CHUNKS = 4;
+    private static final int CHUNK_SIZE = 1024;
+    private static final long CHUNK_INTERVAL_MILLIS = 250;
+    private static final String SECRET = "load-test-secret";
+
+    @Test
+    @DisplayName("Platform threads: clientes lentos simultâneos ficam limitados ao pool do Tomcat")
+    void slowClients_PlatformThreads() throws Exception {
+        LoadResult result = run(false);
+
+        assertEquals(CLIENTS, result.accepted());
+        assertTrue(result.peakInFlight() <= TOMCAT_THREADS);
+    }
+
+    @Test
+    @DisplayName("Virtual threads: clientes lentos simultâneos não ficam limitados ao pool do Tomcat")
+    void slowClients_VirtualThreads() throws Exception {
+        Assumptions.assumeTrue(Runtime.version().feature() >= 21, "virtual threads requerem Java 21+");
+
+        LoadResult result = run(true);
+
+        assertEquals(CLIENTS, result.accepted());
+        // A leitura bloqueante do Tomcat usa synchronized/Object.wait: até o Java 23 isso prende a
+        // carrier thread (JEP 491), então o ganho completo só aparece a partir do Java 24
+        if (Runtime.version().feature() >= 24) {
+            assertTrue(result.peakInFlight() > TOMCAT_THREADS);
+        }
+    }
+
+    private LoadResult run(boolean virtualThreads) throws Exception {
+        InFlightCounter counter = new InFlightCounter();
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(Application.class, FakeAwsConfig.class)
+                .initializers(ctx -> ctx.getBeanFactory().registerSingleton("inFlightCounter", counter))
+                .run("--server.port=0",
+                        "--server.tomcat.threads.max=" + TOMCAT_THREADS,
+                        "--server.tomcat.accept-count=" + CLIENTS,
+                        "--spring.threads.virtual.enabled=" + virtualThreads,
+                        "--upload.async.enabled=true",
+                        // mede a capacidade do servidor: sem controle de admissão todos os clientes entram
+                        "--upload.admission.maxConcurrentUploads=0",
+                        "--upload.admission.maxPendingOperations=0",
+                        // todos os clientes usam o mesmo token: sem limite por usuário
+                        "--upload.ratelimit.requestsPerSecond=0",
+                        // vídeos gravados em disco: o teste não depende do S3
+                        "--upload.store=filesystem",
+                        "--upload.store.filesystem.roots=" + Files.createTempDirectory(Path.of("target"), "load-test-store-a-")
+                                + "," + Files.createTempDirectory(Path.of("target"), "load-test-store-b-"),
+                        "--upload.store.filesystem.fsync=false",
+                        "--upload.spool.dir=" + Files.createTempDirectory(Path.of("target"), "load-test-spool-"),
+                        "--api.security.token.secret=" + SECRET,
+                        "--aws.accessKeyId=test",
+                        "--aws.secretKey=test",
+                        "--aws.sessionToken=",
+                        "--logging.level.root=WARN")) {
+
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            long start = System.nanoTime();
+            int accepted = slowUploads(port);
+            long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+            // as métricas do upload ficam expostas no endpoint do Prometheus
+            assertTrue(scrape(port).contains("video_upload_stage_seconds_count{stage=\"request\"} " + CLIENTS));
+
+            LoadResult result = new LoadResult(accepted, counter.peak.get(), elapsedMillis);
+            System.out.printf("[load] %s threads: %d clientes, %d aceitos, pico de %d requisições simultâneas, %d ms%n",
+                    virtualThreads ? "virtual" : "platform", CLIENTS, result.accepted(), result.peakInFlight(),
+                    result.elapsedMillis());
+            return result;
+        }
+    }
+
+    /**
+     * Abre todas as conexões, envia os cabeçalhos e depois o corpo em pedaços com intervalo fixo.
+     * Um único thread dirige todos os clientes; o kernel guarda o que o servidor ainda não leu.
+     */
+    private int slowUploads(int port) throws IOException, InterruptedException {
+        String token = JWT.create().withSubject("load").withClaim("email", "load@test.com")
+                .sign(Algorithm.HMAC256(SECRET));
+        byte[] head = ("POST /videos/stream?title=carga&filename=video.mp4 HTTP/1.1\r\n"
+                + "Host: localhost\r\n"
+                + "auth-token: " + token + "\r\n"
+                + "Content-Type: application/octet-stream\r\n"
+                + "Content-Length: " + (CHUNKS * CHUNK_SIZE) + "\r\n"
+                + "Connection: close\r\n\r\n").getBytes(StandardCharsets.US_ASCII);
+        byte[] chunk = new byte[CHUNK_SIZE];
+        // o primeiro pedaço abre com uma caixa ftyp, para passar pela identificação do contêiner
+        byte[] first = chunk.clone();
+        byte[] ftyp = {0, 0, 0, 0x18, 'f', 't', 'y', 'p', 'i', 's', 'o', 'm'};
+        System.arraycopy(ftyp, 0, first, 0, ftyp.length);
+
+        List<Socket> sockets = new ArrayList<>(CLIENTS);
+        try {
+            for (int i = 0; i < CLIENTS; i++) {
+                Socket socket = new Socket();
+                socket.connect(new InetSocketAddress("localhost", port), 10_000);
+                socket.setSoTimeout(60_000);
+                socket.getOutputStream().write(head);
+                sockets.add(socket);
+            }
+            for (int i = 0; i < CHUNKS; i++) {
+                Thread.sleep(CHUNK_INTERVAL_MILLIS);
+                for (Socket socket : sockets) {
+                    OutputStream out = socket.getOutputStream();
+                    out.write(i == 0 ? first : chunk);
+                    out.flush();
+                }
+            }
+
+            int accepted = 0;
+            for (Socket socket : sockets) {
+                if (statusLine(socket.getInputStream()).startsWith("HTTP/1.1 202")) {
+                    accepted++;
+                }
+            }
+            return accepted;
+        } finally {
+            for (Socket socket : sockets) {
+                socket.close();
+            }
+        }
+    }
+
+    private static String scrape(int port) throws IOException {
+        HttpURLConnection connection = (HttpURLConnection) URI.create("http://localhost:" + port + "/actuator/prometheus")
+                .toURL().openConnection();
+        try (InputStream in = connection.getInputStream()) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        } finally {
+            connection.disconnect();
+        }
+    }
+
+    private static String statusLine(InputStream in) throws IOException {
+        StringBuilder line = new StringBuilder();
+        int b;
+        while ((b = in.read()) >= 0 && b != '\n') {
+            line.append((char) b);
+        }
+        return line.toString().trim();
+    }
+
+    private record LoadResult(int accepted, int peakInFlight, long elapsedMillis) {}
+
+    /**
+     * Conta as requisições em atendimento ao mesmo tempo (do início da leitura do corpo até a resposta).
+     */
+    static class InFlightCounter implements Filter {
+
+        private final AtomicInteger current = new AtomicInteger();
+        private final AtomicInteger peak = new AtomicInteger();
+
+        @Override
+        public void doFilter(jakarta.servlet.ServletRequest request, jakarta.servlet.ServletResponse response,
+                             jakarta.servlet.FilterChain chain) throws IOException, jakarta.servlet.ServletException {
+            peak.accumulateAndGet(current.incrementAndGet(), Math::max);
+            try {
+                chain.doFilter(request, response);
+            } finally {
+                current.decrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * S3 e SQS falsos: o teste mede o lado HTTP, não a AWS.
+     */
+    @Configuration
+    static class FakeAwsConfig {
+
+        @Bean
+        @Primary
+        AmazonS3 fakeAmazonS3() throws Exception {
+            AmazonS3 amazonS3 = mock(AmazonS3.class, withSettings().stubOnly());
+            when(amazonS3.getUrl(anyString(), anyString())).thenReturn(new URL("http://localhost/fake"));
+            return amazonS3;
+        }
+
+        @Bean
+        @Primary
+        AmazonSQS fakeAmazonSQS() {
+            AmazonSQS amazonSQS = mock(AmazonSQS.class, withSettings().stubOnly());
+            when(amazonSQS.sendMessageBatch(any(SendMessageBatchRequest.class))).thenAnswer(invocation -> {
+                SendMessageBatchRequest request = invocation.getArgument(0);
+                SendMessageBatchResult result = new SendMessageBatchResult();
+                request.getEntries().forEach(entry ->
+                        result.withSuccessful(new SendMessageBatchResultEntry().withId(entry.getId()).withMessageId("m")));
+                return result;
+            });
+            return amazonSQS;
+        }
+    }
+}
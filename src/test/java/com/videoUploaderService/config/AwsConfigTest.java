@@ -1,5 +1,6 @@
 package com.videoUploaderService.config;
 
+import com.amazonaws.ClientConfiguration;
 import com.amazonaws.auth.AWSCredentials;
 import com.amazonaws.auth.BasicAWSCredentials;
 import com.amazonaws.auth.BasicSessionCredentials;
@@ -8,6 +9,9 @@ import com.amazonaws.services.sqs.AmazonSQS;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
 import org.springframework.test.util.ReflectionTestUtils;
+import software.amazon.awssdk.auth.credentials.AwsCredentials;
+import software.amazon.awssdk.auth.credentials.AwsSessionCredentials;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -58,6 +62,47 @@ class AwsConfigTest {
         assertNotNull(s3);
     }
 
+    // =========================
+    // S3 ASYNC CLIENT (SDK v2)
+    // =========================
+
+    @Test
+    void s3AsyncClient_withoutEndpoint() {
+        AwsConfig config = createBaseConfig();
+        ReflectionTestUtils.setField(config, "sessionToken", "");
+        ReflectionTestUtils.setField(config, "s3Endpoint", "");
+
+        try (S3AsyncClient s3 = config.s3AsyncClient(8 * 1024 * 1024, 4)) {
+            assertEquals("https://bucket.s3.amazonaws.com/key",
+                    s3.utilities().getUrl(r -> r.bucket("bucket").key("key")).toString());
+        }
+    }
+
+    @Test
+    void s3AsyncClient_withEndpointAndSessionToken_usesPathStyle() {
+        AwsConfig config = createBaseConfig();
+        ReflectionTestUtils.setField(config, "sessionToken", "token");
+        ReflectionTestUtils.setField(config, "s3Endpoint", "http://localhost:4566");
+        ReflectionTestUtils.setField(config, "s3MaxConnections", 500);
+
+        try (S3AsyncClient s3 = config.s3AsyncClient(8 * 1024 * 1024, 4)) {
+            assertEquals("http://localhost:4566/bucket/key",
+                    s3.utilities().getUrl(r -> r.bucket("bucket").key("key")).toString());
+        }
+    }
+
+    @Test
+    void toV2_keepsSessionToken() {
+        AwsCredentials session = (AwsCredentials) ReflectionTestUtils.invokeMethod(AwsConfig.class, "toV2",
+                new BasicSessionCredentials("key", "secret", "token"));
+        AwsCredentials basic = (AwsCredentials) ReflectionTestUtils.invokeMethod(AwsConfig.class, "toV2",
+                new BasicAWSCredentials("key", "secret"));
+
+        assertEquals("token", ((AwsSessionCredentials) session).sessionToken());
+        assertEquals("key", basic.accessKeyId());
+        assertFalse(basic instanceof AwsSessionCredentials);
+    }
+
     // =========================
     // AMAZON SQS
     // =========================
@@ -124,4 +169,42 @@ class AwsConfigTest {
         assertNotNull(credentials);
         assertTrue(credentials instanceof BasicSessionCredentials);
     }
+
+    // =========================
+    // CLIENT CONFIGURATION
+    // =========================
+
+    @Test
+    void clientConfiguration_withMaxConnections_overridesDefault() {
+        AwsConfig config = createBaseConfig();
+
+        ClientConfiguration configuration =
+                (ClientConfiguration) ReflectionTestUtils.invokeMethod(config, "clientConfiguration", 500, 0);
+
+        assertEquals(500, configuration.getMaxConnections());
+    }
+
+    @Test
+    void clientConfiguration_withoutMaxConnections_keepsSdkDefault() {
+        AwsConfig config = createBaseConfig();
+
+        ClientConfiguration configuration =
+                (ClientConfiguration) ReflectionTestUtils.invokeMethod(config, "clientConfiguration", 0, 0);
+
+        assertEquals(ClientConfiguration.DEFAULT_MAX_CONNECTIONS, configuration.getMaxConnections());
+        assertEquals(ClientConfiguration.DEFAULT_REQUEST_TIMEOUT, configuration.getRequestTimeout());
+        assertEquals(-1, configuration.getMaxErrorRetry());
+    }
+
+    @Test
+    void clientConfiguration_withResilience_disablesSdkRetriesAndSetsTimeout() {
+        AwsConfig config = createBaseConfig();
+        ReflectionTestUtils.setField(config, "resilienceEnabled", true);
+
+        ClientConfiguration configuration =
+                (ClientConfiguration) ReflectionTestUtils.invokeMethod(config, "clientConfiguration", 0, 5000);
+
+        assertEquals(0, configuration.getMaxErrorRetry());
+        assertEquals(5000, configuration.getRequestTimeout());
+    }
 }
@@ -0,0 +1,92 @@
+package com.videoUploaderService.config;
+
+import com.amazonaws.auth.AWS4Signer;
+import com.amazonaws.partitions.model.Partitions;
+import com.videoUploaderService.service.SpooledUpload;
+import org.apache.http.conn.ConnectionRequest;
+import org.apache.http.conn.HttpClientConnectionManager;
+import org.apache.http.pool.ConnPoolControl;
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.TypeReference;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NativeRuntimeHintsTest {
+
+    private static final TypeReference WRAPPED = TypeReference.of("com.amazonaws.http.conn.Wrapped");
+
+    private final ClassLoader classLoader = getClass().getClassLoader();
+
+    private RuntimeHints hints() {
+        RuntimeHints hints = new RuntimeHints();
+        new NativeRuntimeHints().registerHints(hints, classLoader);
+        return hints;
+    }
+
+    // =========================
+    // AWS SDK v1
+    // =========================
+
+    @Test
+    void registerHints_awsSdkResourcesAndJsonModel() {
+        RuntimeHints hints = hints();
+
+        assertTrue(RuntimeHintsPredicates.resource().forResource("com/amazonaws/partitions/endpoints.json").test(hints));
+        assertTrue(RuntimeHintsPredicates.resource()
+                .forResource("com/amazonaws/internal/config/awssdk_config_default.json").test(hints));
+        assertTrue(RuntimeHintsPredicates.resource().forResource("com/amazonaws/services/sqs/request.handlers").test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onType(Partitions.class)
+                .withMemberCategory(MemberCategory.INVOKE_DECLARED_CONSTRUCTORS).test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onType(AWS4Signer.class)
+                .withMemberCategory(MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS).test(hints));
+    }
+
+    @Test
+    void registerHints_connectionPoolProxies() {
+        RuntimeHints hints = hints();
+
+        assertTrue(RuntimeHintsPredicates.proxies()
+                .forInterfaces(TypeReference.of(HttpClientConnectionManager.class), TypeReference.of(ConnPoolControl.class),
+                        WRAPPED).test(hints));
+        assertTrue(RuntimeHintsPredicates.proxies()
+                .forInterfaces(TypeReference.of(HttpClientConnectionManager.class), WRAPPED).test(hints));
+        assertTrue(RuntimeHintsPredicates.proxies()
+                .forInterfaces(TypeReference.of(ConnectionRequest.class), WRAPPED).test(hints));
+    }
+
+    @Test
+    void registerHints_everyResourceAndTypeExistsOnClasspath() {
+        RuntimeHints hints = hints();
+
+        // um nome errado só apareceria como falha na imagem nativa
+        hints.resources().resourcePatternHints()
+                .flatMap(patterns -> patterns.getIncludes().stream())
+                // o Spring registra também os diretórios de cada arquivo
+                .filter(pattern -> !pattern.getPattern().equals("/") && pattern.getPattern().contains("."))
+                .forEach(pattern -> assertNotNull(classLoader.getResource(pattern.getPattern()), pattern.getPattern()));
+        // registerTypeIfPresent ignora nomes que não existem: todos os 31 das bibliotecas precisam estar lá
+        assertEquals(31, hints.reflection().typeHints()
+                .map(hint -> hint.getType().getName())
+                .filter(name -> name.startsWith("com.amazonaws.") || name.startsWith("com.auth0."))
+                .count());
+    }
+
+    // =========================
+    // JACKSON E JAVA-JWT
+    // =========================
+
+    @Test
+    void registerHints_jacksonRecordsAndJwtInternals() {
+        RuntimeHints hints = hints();
+
+        assertTrue(RuntimeHintsPredicates.reflection().onType(SpooledUpload.class)
+                .withMemberCategory(MemberCategory.INVOKE_DECLARED_CONSTRUCTORS).test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onType(TypeReference.of("com.auth0.jwt.impl.PayloadDeserializer"))
+                .withMemberCategory(MemberCategory.INVOKE_DECLARED_CONSTRUCTORS).test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onType(TypeReference.of("com.auth0.jwt.impl.HeaderDeserializer$1"))
+                .test(hints));
+    }
+}
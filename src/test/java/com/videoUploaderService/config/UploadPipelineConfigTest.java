@@ -0,0 +1,84 @@
+package com.videoUploaderService.config;
+
+import com.videoUploaderService.service.InMemoryUploadSessionStore;
+import org.apache.catalina.connector.Connector;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UploadPipelineConfigTest {
+
+    private static final boolean VIRTUAL_THREADS_AVAILABLE = Runtime.version().feature() >= 21;
+
+    // =========================
+    // PLATFORM THREADS
+    // =========================
+
+    @Test
+    void executors_withPlatformThreads_useNamedDaemonThreads() throws Exception {
+        UploadPipelineConfig config = new UploadPipelineConfig();
+
+        ExecutorService partExecutor = config.s3PartUploadExecutor(2);
+        ScheduledExecutorService spoolExecutor = config.spoolShipperExecutor(1);
+        try {
+            Thread partThread = partExecutor.submit(Thread::currentThread).get(1, TimeUnit.SECONDS);
+            Thread spoolThread = spoolExecutor.submit(Thread::currentThread).get(1, TimeUnit.SECONDS);
+
+            assertTrue(partThread.getName().startsWith("s3-part-upload-"));
+            assertTrue(partThread.isDaemon());
+            assertTrue(spoolThread.getName().startsWith("spool-shipper-"));
+        } finally {
+            partExecutor.shutdown();
+            spoolExecutor.shutdown();
+        }
+    }
+
+    @Test
+    void continueOnReadConnectorCustomizer_delays100ContinueUntilBodyIsRead() {
+        Connector connector = new Connector();
+
+        new UploadPipelineConfig().continueOnReadConnectorCustomizer().customize(connector);
+
+        assertEquals("onRead", connector.getProperty("continueResponseTiming"));
+    }
+
+    // =========================
+    // VIRTUAL THREADS
+    // =========================
+
+    @Test
+    void executors_withVirtualThreads_requireJava21() throws Exception {
+        UploadPipelineConfig config = new UploadPipelineConfig();
+        ReflectionTestUtils.setField(config, "virtualThreads", true);
+
+        if (!VIRTUAL_THREADS_AVAILABLE) {
+            assertThrows(IllegalStateException.class, () -> config.s3PartUploadExecutor(2));
+            return;
+        }
+
+        ExecutorService partExecutor = config.s3PartUploadExecutor(2);
+        ScheduledExecutorService spoolExecutor = config.spoolShipperExecutor(1);
+        try {
+            CompletableFuture<Boolean> isVirtual = new CompletableFuture<>();
+            partExecutor.execute(() -> isVirtual.complete((Boolean) ReflectionTestUtils.invokeMethod(Thread.currentThread(), "isVirtual")));
+
+            assertTrue(isVirtual.get(1, TimeUnit.SECONDS));
+            assertTrue(spoolExecutor.submit(() -> Thread.currentThread().getName()).get(1, TimeUnit.SECONDS)
+                    .startsWith("spool-shipper-"));
+        } finally {
+            partExecutor.shutdown();
+            spoolExecutor.shutdown();
+        }
+    }
+
+    @Test
+    void uploadSessionStore_defaultsToInMemory() {
+        assertInstanceOf(InMemoryUploadSessionStore.class, new UploadPipelineConfig().uploadSessionStore());
+    }
+}
@@ -0,0 +1,387 @@
+package com.videoUploaderService.controller;
+
+import com.videoUploaderService.service.ChecksumMismatchException;
+import com.videoUploaderService.service.ExpectedChecksums;
+import com.videoUploaderService.service.StoredVideo;
+import com.videoUploaderService.service.TokenService;
+import com.videoUploaderService.service.TokenService.UserInfo;
+import com.videoUploaderService.service.UnsupportedVideoFormatException;
+import com.videoUploaderService.service.UploadLimits;
+import com.videoUploaderService.service.UploadMetrics;
+import com.videoUploaderService.service.UploadSpoolService;
+import com.videoUploaderService.service.VideoMessage;
+import com.videoUploaderService.service.VideoQueueService;
+import com.videoUploaderService.service.VideoStorageService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BatchUploadControllerTest {
+
+    private static final String BOUNDARY = "lote-xyz";
+    private static final String TOKEN = "Bearer token-valido-123";
+
+    @Mock
+    private VideoStorageService videoStorageService;
+
+    @Mock
+    private VideoQueueService videoQueueService;
+
+    @Mock
+    private TokenService tokenService;
+
+    @Mock
+    private UploadSpoolService uploadSpoolService;
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final UploadMetrics metrics = new UploadMetrics(registry);
+
+    private BatchUploadController controller;
+    private UserInfo userInfo;
+
+    @BeforeEach
+    void setUp() {
+        controller = new BatchUploadController(videoStorageService, videoQueueService, tokenService,
+                uploadSpoolService, metrics, new UploadLimits(DataSize.ofBytes(0), "free=100B", ""), 4,
+                DataSize.ofBytes(1000));
+        userInfo = new UserInfo("usuarioTeste", "email@teste.com");
+    }
+
+    @Test
+    @DisplayName("Sucesso: cada arquivo é gravado ao chegar e as mensagens saem em uma única chamada")
+    @SuppressWarnings("unchecked")
+    void uploadBatch_Success_SendsMessagesTogether() throws IOException {
+        // Arrange
+        when(tokenService.decodeToken(TOKEN)).thenReturn(userInfo);
+        List<String> contents = new ArrayList<>();
+        when(videoStorageService.uploadVideo(any(InputStream.class), anyString(), any(ExpectedChecksums.class), any()))
+                .thenAnswer(invocation -> {
+                    contents.add(new String(invocation.<InputStream>getArgument(0).readAllBytes(), StandardCharsets.UTF_8));
+                    return StoredVideo.of("videos/" + invocation.getArgument(1));
+                });
+        when(videoStorageService.getVideoUrl(anyString())).thenAnswer(invocation -> "https://s3/" + invocation.getArgument(0));
+        when(videoQueueService.sendVideoMessages(anyList())).thenReturn(Arrays.asList(null, null));
+
+        MockHttpServletRequest request = request(new Body()
+                .field("title", "Primeiro").field("description", "Desc 1").file("a.mp4", "conteudo-a")
+                .field("title", "Segundo").file("b.mp4", "conteudo-b"));
+
+        // Act
+        ResponseEntity<?> response = controller.uploadBatch(TOKEN, request);
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        List<Map<String, Object>> files = files(response);
+        assertEquals(2, files.size());
+        assertEquals(201, files.get(0).get("status"));
+        assertEquals("videos/a.mp4", files.get(0).get("s3Key"));
+        assertEquals("https://s3/videos/b.mp4", files.get(1).get("s3Url"));
+        assertEquals(List.of("conteudo-a", "conteudo-b"), contents);
+
+        ArgumentCaptor<List<VideoMessage>> captor = ArgumentCaptor.forClass(List.class);
+        verify(videoQueueService).sendVideoMessages(captor.capture());
+        assertEquals(List.of(
+                new VideoMessage("videos/a.mp4", "https://s3/videos/a.mp4", "Primeiro", "Desc 1",
+                        "usuarioTeste", "email@teste.com", Map.of()),
+                new VideoMessage("videos/b.mp4", "https://s3/videos/b.mp4", "Segundo", null,
+                        "usuarioTeste", "email@teste.com", Map.of())), captor.getValue());
+    }
+
+    @Test
+    @DisplayName("Falhas por arquivo não devem impedir os arquivos seguintes")
+    void uploadBatch_PerFileFailures_Continue() throws IOException {
+        // Arrange
+        when(tokenService.decodeToken(TOKEN)).thenReturn(userInfo);
+        when(videoStorageService.uploadVideo(any(InputStream.class), eq("texto.mp4"), any(ExpectedChecksums.class), any()))
+                .thenThrow(new UnsupportedVideoFormatException());
+        when(videoStorageService.uploadVideo(any(InputStream.class), eq("corrompido.mp4"), any(ExpectedChecksums.class), any()))
+                .thenThrow(new ChecksumMismatchException("CRC32C", "AAAAAA==", "4waSgw=="));
+        when(videoStorageService.uploadVideo(any(InputStream.class), eq("ok.mp4"), any(ExpectedChecksums.class), any()))
+                .thenReturn(StoredVideo.of("videos/ok.mp4"));
+        when(videoQueueService.sendVideoMessages(anyList())).thenReturn(Arrays.asList((RuntimeException) null));
+
+        MockHttpServletRequest request = request(new Body()
+                .field("title", "Texto").file("texto.mp4", "nao e video")
+                .file("sem-titulo.mp4", "x")
+                .field("title", "Corrompido").file("corrompido.mp4", "y")
+                .field("title", "Ok").file("ok.mp4", "z"));
+
+        // Act
+        ResponseEntity<?> response = controller.uploadBatch(TOKEN, request);
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        List<Map<String, Object>> files = files(response);
+        assertEquals(415, files.get(0).get("status"));
+        assertEquals(400, files.get(1).get("status"));
+        assertEquals("Campo 'title' deve vir antes do arquivo", files.get(1).get("error"));
+        assertEquals(400, files.get(2).get("status"));
+        assertEquals(201, files.get(3).get("status"));
+        assertEquals(1.0, registry.get("video.upload.errors").tag("cause", "unsupported_format").counter().count());
+        assertEquals(1.0, registry.get("video.upload.errors").tag("cause", "checksum_mismatch").counter().count());
+    }
+
+    @Test
+    @DisplayName("Arquivo acima do limite deve receber 413 sem interromper o lote")
+    void uploadBatch_FileTooLarge_Returns413ForFile() throws IOException {
+        // Arrange
+        when(tokenService.decodeToken(TOKEN)).thenReturn(userInfo);
+        when(videoStorageService.uploadVideo(any(InputStream.class), anyString(), any(ExpectedChecksums.class), any()))
+                .thenAnswer(invocation -> {
+                    invocation.<InputStream>getArgument(0).readAllBytes();
+                    return StoredVideo.of("videos/" + invocation.getArgument(1));
+                });
+        when(videoQueueService.sendVideoMessages(anyList())).thenReturn(Arrays.asList((RuntimeException) null));
+
+        MockHttpServletRequest request = request(new Body()
+                .field("title", "Grande").file("grande.mp4", "g".repeat(1001))
+                .field("title", "Pequeno").file("pequeno.mp4", "p"));
+
+        // Act
+        ResponseEntity<?> response = controller.uploadBatch(TOKEN, request);
+
+        // Assert
+        List<Map<String, Object>> files = files(response);
+        assertEquals(413, files.get(0).get("status"));
+        assertEquals(201, files.get(1).get("status"));
+    }
+
+    @Test
+    @DisplayName("Arquivo acima do limite do plano do usuário deve receber 413 sem interromper o lote")
+    void uploadBatch_FileAboveUserLimit_Returns413ForFile() throws IOException {
+        // Arrange
+        when(tokenService.decodeToken(TOKEN)).thenReturn(new UserInfo("usuarioTeste", "email@teste.com", "free"));
+        when(videoStorageService.uploadVideo(any(InputStream.class), anyString(), any(ExpectedChecksums.class), any()))
+                .thenAnswer(invocation -> {
+                    invocation.<InputStream>getArgument(0).readAllBytes();
+                    return StoredVideo.of("videos/" + invocation.getArgument(1));
+                });
+        when(videoQueueService.sendVideoMessages(anyList())).thenReturn(Arrays.asList((RuntimeException) null));
+
+        MockHttpServletRequest request = request(new Body()
+                .field("title", "Grande").file("grande.mp4", "g".repeat(101))
+                .field("title", "Pequeno").file("pequeno.mp4", "p".repeat(100)));
+
+        // Act
+        ResponseEntity<?> response = controller.uploadBatch(TOKEN, request);
+
+        // Assert
+        List<Map<String, Object>> files = files(response);
+        assertEquals(413, files.get(0).get("status"));
+        assertTrue(((String) files.get(0).get("error")).contains("100"));
+        assertEquals(201, files.get(1).get("status"));
+    }
+
+    @Test
+    @DisplayName("Falha no SQS deve aparecer como 500 no arquivo já gravado")
+    void uploadBatch_QueueFails_Returns500ForFile() throws IOException {
+        // Arrange
+        when(tokenService.decodeToken(TOKEN)).thenReturn(userInfo);
+        when(videoStorageService.uploadVideo(any(InputStream.class), anyString(), any(ExpectedChecksums.class), any()))
+                .thenAnswer(invocation -> StoredVideo.of("videos/" + invocation.getArgument(1)));
+        when(videoQueueService.sendVideoMessages(anyList()))
+                .thenReturn(Arrays.asList(null, new RuntimeException("SQS indisponível")));
+
+        MockHttpServletRequest request = request(new Body()
+                .field("title", "A").file("a.mp4", "a")
+                .field("title", "B").file("b.mp4", "b"));
+
+        // Act
+        ResponseEntity<?> response = controller.uploadBatch(TOKEN, request);
+
+        // Assert
+        List<Map<String, Object>> files = files(response);
+        assertEquals(201, files.get(0).get("status"));
+        assertEquals(500, files.get(1).get("status"));
+        assertEquals("Vídeo gravado, mas a mensagem não foi enviada: SQS indisponível", files.get(1).get("error"));
+    }
+
+    @Test
+    @DisplayName("Spool ligado: cada arquivo recebe 202 com o id do upload")
+    void uploadBatch_SpoolEnabled_ReturnsAccepted() throws IOException {
+        // Arrange
+        when(tokenService.decodeToken(TOKEN)).thenReturn(userInfo);
+        when(uploadSpoolService.isEnabled()).thenReturn(true);
+        when(uploadSpoolService.spool(any(InputStream.class), eq("a.mp4"), eq("A"), nullable(String.class),
+                eq(userInfo), any(ExpectedChecksums.class))).thenReturn("up-1");
+
+        MockHttpServletRequest request = request(new Body().field("title", "A").file("a.mp4", "a"));
+
+        // Act
+        ResponseEntity<?> response = controller.uploadBatch(TOKEN, request);
+
+        // Assert
+        Map<String, Object> file = files(response).get(0);
+        assertEquals(202, file.get("status"));
+        assertEquals("up-1", file.get("uploadId"));
+        assertEquals("/videos/status/up-1", file.get("statusUrl"));
+        verify(videoQueueService, never()).sendVideoMessages(anyList());
+    }
+
+    @Test
+    @DisplayName("Lote acima do limite de arquivos deve parar e fechar a conexão")
+    void uploadBatch_TooManyFiles_Aborts() throws IOException {
+        // Arrange
+        when(tokenService.decodeToken(TOKEN)).thenReturn(userInfo);
+        when(uploadSpoolService.isEnabled()).thenReturn(true);
+        when(uploadSpoolService.spool(any(InputStream.class), anyString(), anyString(), nullable(String.class),
+                eq(userInfo), any(ExpectedChecksums.class))).thenReturn("up");
+        Body body = new Body();
+        for (int i = 0; i < 5; i++) {
+            body.field("title", "V" + i).file(i + ".mp4", "v");
+        }
+
+        // Act
+        ResponseEntity<?> response = controller.uploadBatch(TOKEN, request(body));
+
+        // Assert
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        assertEquals("close", response.getHeaders().getFirst(HttpHeaders.CONNECTION));
+        assertEquals(4, files(response).size());
+        assertEquals("Limite de 4 arquivos por lote", body(response).get("error"));
+    }
+
+    @Test
+    @DisplayName("Corpo truncado deve manter os resultados já obtidos e enviar suas mensagens")
+    void uploadBatch_TruncatedBody_ReturnsPartialResults() throws IOException {
+        // Arrange
+        when(tokenService.decodeToken(TOKEN)).thenReturn(userInfo);
+        when(videoStorageService.uploadVideo(any(InputStream.class), eq("a.mp4"), any(ExpectedChecksums.class), any()))
+                .thenReturn(StoredVideo.of("videos/a.mp4"));
+        when(videoStorageService.uploadVideo(any(InputStream.class), eq("b.mp4"), any(ExpectedChecksums.class), any()))
+                .thenAnswer(invocation -> {
+                    invocation.<InputStream>getArgument(0).readAllBytes();
+                    return StoredVideo.of("videos/b.mp4");
+                });
+        when(videoQueueService.sendVideoMessages(anyList())).thenReturn(Arrays.asList((RuntimeException) null));
+        byte[] complete = new Body().field("title", "A").file("a.mp4", "a").field("title", "B").file("b.mp4", "b".repeat(100)).bytes();
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/videos/batch");
+        request.setContentType("multipart/form-data; boundary=" + BOUNDARY);
+        request.setContent(Arrays.copyOf(complete, complete.length - 60));
+
+        // Act
+        ResponseEntity<?> response = controller.uploadBatch(TOKEN, request);
+
+        // Assert
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        List<Map<String, Object>> files = files(response);
+        assertEquals(201, files.get(0).get("status"));
+        assertEquals(500, files.get(1).get("status"));
+        assertEquals("Corpo do lote interrompido no arquivo b.mp4", body(response).get("error"));
+    }
+
+    @Test
+    @DisplayName("Lote sem arquivos deve retornar 400")
+    void uploadBatch_NoFiles_ReturnsBadRequest() {
+        // Arrange
+        when(tokenService.decodeToken(TOKEN)).thenReturn(userInfo);
+
+        // Act
+        ResponseEntity<?> response = controller.uploadBatch(TOKEN, request(new Body().field("title", "Só título")));
+
+        // Assert
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        assertEquals("Nenhum arquivo de vídeo no lote", response.getBody());
+    }
+
+    @Test
+    @DisplayName("Erro: 401 sem token e 400 quando o corpo não é multipart")
+    void uploadBatch_InvalidRequest_Rejected() {
+        // Arrange
+        MockHttpServletRequest raw = new MockHttpServletRequest("POST", "/videos/batch");
+        raw.setContentType("application/octet-stream");
+
+        // Act
+        ResponseEntity<?> noToken = controller.uploadBatch(null, request(new Body()));
+        ResponseEntity<?> notMultipart = controller.uploadBatch(TOKEN, raw);
+
+        // Assert
+        assertEquals(HttpStatus.UNAUTHORIZED, noToken.getStatusCode());
+        assertEquals(HttpStatus.BAD_REQUEST, notMultipart.getStatusCode());
+        verifyNoInteractions(tokenService, videoStorageService);
+    }
+
+    @Test
+    @DisplayName("Erro: token inválido deve retornar 401")
+    void uploadBatch_InvalidToken_ReturnsUnauthorized() {
+        // Arrange
+        when(tokenService.decodeToken(TOKEN)).thenThrow(new RuntimeException("expirado"));
+
+        // Act
+        ResponseEntity<?> response = controller.uploadBatch(TOKEN, request(new Body()));
+
+        // Assert
+        assertEquals(HttpStatus.UNAUTHORIZED, response.getStatusCode());
+        assertEquals("Token inválido: expirado", response.getBody());
+    }
+
+    private static MockHttpServletRequest request(Body body) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/videos/batch");
+        request.setContentType("multipart/form-data; boundary=" + BOUNDARY);
+        request.setContent(body.bytes());
+        return request;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> body(ResponseEntity<?> response) {
+        return (Map<String, Object>) response.getBody();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<Map<String, Object>> files(ResponseEntity<?> response) {
+        return (List<Map<String, Object>>) body(response).get("files");
+    }
+
+    private static final class Body {
+
+        private final ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        Body field(String name, String value) {
+            write("--" + BOUNDARY + "\r\nContent-Disposition: form-data; name=\"" + name + "\"\r\n\r\n" + value + "\r\n");
+            return this;
+        }
+
+        Body file(String filename, String content) {
+            write("--" + BOUNDARY + "\r\nContent-Disposition: form-data; name=\"file\"; filename=\"" + filename
+                    + "\"\r\nContent-Type: video/mp4\r\n\r\n" + content + "\r\n");
+            return this;
+        }
+
+        byte[] bytes() {
+            ByteArrayOutputStream copy = new ByteArrayOutputStream();
+            copy.writeBytes(out.toByteArray());
+            copy.writeBytes(("--" + BOUNDARY + "--\r\n").getBytes(StandardCharsets.US_ASCII));
+            return copy.toByteArray();
+        }
+
+        private void write(String text) {
+            out.writeBytes(text.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+}
@@ -0,0 +1,193 @@
+package com.videoUploaderService.controller;
+
+import com.videoUploaderService.controller.MultipartStream.Part;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MultipartStreamTest {
+
+    private static final String BOUNDARY = "----lote123";
+
+    @Test
+    @DisplayName("Deve entregar campos e arquivos na ordem, com o conteúdo exato de cada parte")
+    void next_ReturnsPartsInOrder() throws IOException {
+        // Arrange
+        byte[] video = randomBytes(200_000);
+        byte[] body = new Body()
+                .preamble("preambulo ignorado")
+                .field("title", "Meu vídeo")
+                .file("file", "a.mp4", video)
+                .close("epílogo ignorado");
+
+        // Act
+        MultipartStream parts = new MultipartStream(new ByteArrayInputStream(body), BOUNDARY, Long.MAX_VALUE);
+        Part title = parts.next();
+        String titleValue = new String(title.body().readAllBytes(), StandardCharsets.UTF_8);
+        Part file = parts.next();
+        byte[] content = file.body().readAllBytes();
+
+        // Assert
+        assertEquals("title", title.name());
+        assertNull(title.filename());
+        assertEquals("Meu vídeo", titleValue);
+        assertEquals("file", file.name());
+        assertEquals("a.mp4", file.filename());
+        assertEquals("video/mp4", file.header("content-type"));
+        assertArrayEquals(video, content);
+        assertNull(parts.next());
+        assertNull(parts.next());
+        assertFalse(parts.isBroken());
+    }
+
+    @Test
+    @DisplayName("Leituras byte a byte da requisição não devem quebrar o delimitador")
+    void next_OneByteReads_FindsDelimiters() throws IOException {
+        // Arrange: conteúdo com trechos parecidos com o delimitador
+        byte[] tricky = ("\r\n--" + BOUNDARY.substring(0, 5) + "x\r\n-\r\n--").getBytes(StandardCharsets.US_ASCII);
+        byte[] body = new Body().file("file", "a.mp4", tricky).file("file", "b.mp4", new byte[0]).close(null);
+        InputStream slow = new FilterInputStream(new ByteArrayInputStream(body)) {
+            @Override
+            public int read(byte[] b, int off, int len) throws IOException {
+                return super.read(b, off, Math.min(len, 1));
+            }
+        };
+
+        // Act
+        MultipartStream parts = new MultipartStream(slow, BOUNDARY, Long.MAX_VALUE);
+        byte[] first = parts.next().body().readAllBytes();
+        byte[] second = parts.next().body().readAllBytes();
+
+        // Assert
+        assertArrayEquals(tricky, first);
+        assertEquals(0, second.length);
+        assertNull(parts.next());
+    }
+
+    @Test
+    @DisplayName("Parte não lida deve ser descartada ao avançar")
+    void next_UnreadPart_IsSkipped() throws IOException {
+        // Arrange
+        byte[] body = new Body().file("file", "a.mp4", randomBytes(150_000)).field("title", "depois").close(null);
+        MultipartStream parts = new MultipartStream(new ByteArrayInputStream(body), BOUNDARY, Long.MAX_VALUE);
+        Part first = parts.next();
+        first.body().read(new byte[10]);
+
+        // Act
+        Part second = parts.next();
+
+        // Assert
+        assertEquals("depois", new String(second.body().readAllBytes(), StandardCharsets.UTF_8));
+        assertEquals(-1, first.body().read());
+    }
+
+    @Test
+    @DisplayName("Parte acima do limite deve falhar sem impedir a leitura das seguintes")
+    void read_PartTooLarge_Fails() throws IOException {
+        // Arrange
+        byte[] body = new Body().file("file", "grande.mp4", new byte[100]).file("file", "b.mp4", new byte[10]).close(null);
+        MultipartStream parts = new MultipartStream(new ByteArrayInputStream(body), BOUNDARY, 50);
+
+        // Act & Assert
+        Part large = parts.next();
+        assertThrows(MultipartStream.PartTooLargeException.class, () -> large.body().readAllBytes());
+        assertEquals(10, parts.next().body().readAllBytes().length);
+        assertFalse(parts.isBroken());
+    }
+
+    @Test
+    @DisplayName("Corpo truncado deve falhar e marcar o leitor como interrompido")
+    void read_TruncatedBody_MarksBroken() throws IOException {
+        // Arrange
+        byte[] body = new Body().file("file", "a.mp4", new byte[1000]).close(null);
+        byte[] truncated = java.util.Arrays.copyOf(body, body.length - 40);
+        MultipartStream parts = new MultipartStream(new ByteArrayInputStream(truncated), BOUNDARY, Long.MAX_VALUE);
+        Part part = parts.next();
+
+        // Act & Assert
+        assertThrows(IOException.class, () -> part.body().readAllBytes());
+        assertTrue(parts.isBroken());
+    }
+
+    @Test
+    @DisplayName("Cabeçalho de parte sem dois-pontos deve ser rejeitado")
+    void next_InvalidHeader_Fails() {
+        // Arrange
+        byte[] body = ("--" + BOUNDARY + "\r\nsem separador\r\n\r\nx\r\n--" + BOUNDARY + "--").getBytes(StandardCharsets.US_ASCII);
+        MultipartStream parts = new MultipartStream(new ByteArrayInputStream(body), BOUNDARY, Long.MAX_VALUE);
+
+        // Act & Assert
+        assertThrows(IOException.class, parts::next);
+        assertTrue(parts.isBroken());
+    }
+
+    @Test
+    @DisplayName("Boundary deve ser extraído só de multipart/form-data")
+    void boundary_ParsesContentType() {
+        assertEquals("abc", MultipartStream.boundary("multipart/form-data; boundary=abc"));
+        assertEquals("a b;c", MultipartStream.boundary("Multipart/Form-Data; charset=utf-8; boundary=\"a b;c\""));
+        assertNull(MultipartStream.boundary("application/octet-stream"));
+        assertNull(MultipartStream.boundary("multipart/form-data"));
+        assertNull(MultipartStream.boundary(null));
+    }
+
+    @Test
+    @DisplayName("Parâmetros com aspas e escapes devem ser lidos")
+    void parameters_QuotedValues() {
+        Part part = new Part(java.util.Map.of("content-disposition",
+                "form-data; name=\"file\"; filename=\"meu \\\"clip\\\".mp4\""), InputStream.nullInputStream());
+
+        assertEquals("file", part.name());
+        assertEquals("meu \"clip\".mp4", part.filename());
+    }
+
+    private static byte[] randomBytes(int size) {
+        byte[] bytes = new byte[size];
+        new Random(42).nextBytes(bytes);
+        return bytes;
+    }
+
+    /**
+     * Monta um corpo multipart/form-data com o {@link #BOUNDARY}.
+     */
+    static final class Body {
+
+        private final ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        Body preamble(String text) {
+            write(text + "\r\n");
+            return this;
+        }
+
+        Body field(String name, String value) {
+            write("--" + BOUNDARY + "\r\nContent-Disposition: form-data; name=\"" + name + "\"\r\n\r\n" + value + "\r\n");
+            return this;
+        }
+
+        Body file(String name, String filename, byte[] content) {
+            write("--" + BOUNDARY + "\r\nContent-Disposition: form-data; name=\"" + name + "\"; filename=\""
+                    + filename + "\"\r\nContent-Type: video/mp4\r\n\r\n");
+            out.writeBytes(content);
+            write("\r\n");
+            return this;
+        }
+
+        byte[] close(String epilogue) {
+            write("--" + BOUNDARY + "--\r\n" + (epilogue == null ? "" : epilogue));
+            return out.toByteArray();
+        }
+
+        private void write(String text) {
+            out.writeBytes(text.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package com.videoUploaderService.controller;
+
+import com.amazonaws.services.s3.model.PartETag;
+import com.videoUploaderService.service.CompletedUpload;
+import com.videoUploaderService.service.DependencyUnavailableException;
+import com.videoUploaderService.service.PresignedUploadService;
+import com.videoUploaderService.service.PresignedUploadService.PresignedPart;
+import com.videoUploaderService.service.PresignedUploadService.PresignedUpload;
+import com.videoUploaderService.service.TokenService;
+import com.videoUploaderService.service.TokenService.UserInfo;
+import com.videoUploaderService.service.UploadMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PresignedUploadControllerTest {
+
+    @Mock
+    private PresignedUploadService presignedUploadService;
+
+    @Mock
+    private TokenService tokenService;
+
+    @Spy
+    private UploadMetrics metrics = new UploadMetrics(new SimpleMeterRegistry());
+
+    @InjectMocks
+    private PresignedUploadController controller;
+
+    private final String validToken = "Bearer token-valido-123";
+    private final UserInfo userInfo = new UserInfo("usuarioTeste", "email@teste.com");
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(tokenService.decodeToken(validToken)).thenReturn(userInfo);
+    }
+
+    @Test
+    @DisplayName("Sucesso: Emite URL pré-assinada para upload simples")
+    void presignSingle_Success() {
+        PresignedUpload upload = new PresignedUpload("up-1", "videos/1.mp4", Instant.now(),
+                List.of(new PresignedPart(1, "https://s3/videos/1.mp4?sig")));
+        when(presignedUploadService.presignSingle("video.mp4", "Titulo", null, userInfo)).thenReturn(upload);
+
+        ResponseEntity<?> response = controller.presignSingle(validToken, "Titulo", null, "video.mp4");
+
+        assertEquals(HttpStatus.CREATED, response.getStatusCode());
+        assertEquals(upload, response.getBody());
+    }
+
+    @Test
+    @DisplayName("Sucesso: Emite URLs pré-assinadas por parte")
+    void presignMultipart_Success() throws IOException {
+        PresignedUpload upload = new PresignedUpload("up-1", "videos/1.mp4", Instant.now(),
+                List.of(new PresignedPart(1, "u1"), new PresignedPart(2, "u2")));
+        when(presignedUploadService.presignMultipart("video.mp4", "Titulo", null, 2, userInfo)).thenReturn(upload);
+
+        ResponseEntity<?> response = controller.presignMultipart(validToken, "Titulo", null, "video.mp4", 2);
+
+        assertEquals(HttpStatus.CREATED, response.getStatusCode());
+        assertEquals(upload, response.getBody());
+    }
+
+    @Test
+    @DisplayName("Sucesso: Callback de conclusão repassa os ETags das partes")
+    void complete_Success() throws IOException {
+        when(presignedUploadService.complete(eq("up-1"), anyList(), eq(userInfo)))
+                .thenReturn(new CompletedUpload("videos/1.mp4", "https://s3/videos/1.mp4"));
+        PresignedUploadController.CompleteRequest body = new PresignedUploadController.CompleteRequest(
+                List.of(new PresignedUploadController.CompletedPart(1, "etag-1")));
+
+        ResponseEntity<?> response = controller.complete(validToken, "up-1", body);
+
+        assertEquals(HttpStatus.CREATED, response.getStatusCode());
+        assertEquals("https://s3/videos/1.mp4", ((Map<?, ?>) response.getBody()).get("s3Url"));
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<PartETag>> captor = ArgumentCaptor.forClass(List.class);
+        verify(presignedUploadService).complete(eq("up-1"), captor.capture(), eq(userInfo));
+        assertEquals("etag-1", captor.getValue().get(0).getETag());
+    }
+
+    @Test
+    @DisplayName("Erro 409: Objeto ainda não existe no S3")
+    void complete_ObjectMissing_ReturnsConflict() throws IOException {
+        when(presignedUploadService.complete("up-1", List.of(), userInfo))
+                .thenThrow(new IllegalStateException("Vídeo ainda não foi enviado ao S3"));
+
+        ResponseEntity<?> response = controller.complete(validToken, "up-1", null);
+
+        assertEquals(HttpStatus.CONFLICT, response.getStatusCode());
+    }
+
+    @Test
+    @DisplayName("Erro 503: Circuito aberto devolve o Retry-After sugerido")
+    void complete_DependencyUnavailable_ReturnsServiceUnavailable() throws IOException {
+        when(presignedUploadService.complete("up-1", List.of(), userInfo))
+                .thenThrow(new DependencyUnavailableException("sqs", 7));
+
+        ResponseEntity<?> response = controller.complete(validToken, "up-1", null);
+
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, response.getStatusCode());
+        assertEquals("7", response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+        assertEquals("close", response.getHeaders().getFirst(HttpHeaders.CONNECTION));
+    }
+
+    @Test
+    @DisplayName("Erro 503: Falha ao publicar a mensagem não é tratada como token inválido")
+    void complete_QueueFailure_ReturnsServiceUnavailable() throws IOException {
+        when(presignedUploadService.complete("up-1", List.of(), userInfo))
+                .thenThrow(new RuntimeException("Falha ao enviar mensagem de vídeo para o SQS"));
+
+        ResponseEntity<?> response = controller.complete(validToken, "up-1", null);
+
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, response.getStatusCode());
+        assertEquals(String.valueOf(SessionRequestHandler.QUEUE_RETRY_AFTER_SECONDS),
+                response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+    }
+
+    @Test
+    @DisplayName("Erro 401: Sem token")
+    void presignSingle_MissingToken_ReturnsUnauthorized() {
+        ResponseEntity<?> response = controller.presignSingle(null, "Titulo", null, "video.mp4");
+
+        assertEquals(HttpStatus.UNAUTHORIZED, response.getStatusCode());
+        verifyNoInteractions(presignedUploadService);
+    }
+}
@@ -0,0 +1,128 @@
+package com.videoUploaderService.controller;
+
+import com.videoUploaderService.service.DependencyGuards;
+import com.videoUploaderService.service.ExpectedChecksums;
+import com.videoUploaderService.service.StoredVideo;
+import com.videoUploaderService.service.TokenService;
+import com.videoUploaderService.service.TokenService.UserInfo;
+import com.videoUploaderService.service.UploadLimits;
+import com.videoUploaderService.service.UploadMetrics;
+import com.videoUploaderService.service.UserRateLimiter;
+import com.videoUploaderService.service.VideoQueueService;
+import com.videoUploaderService.service.VideoStorageService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.http.client.MultipartBodyBuilder;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.reactive.function.BodyInserters;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReactiveUploadServerTest {
+
+    private static final String TOKEN = "Bearer token-valido-123";
+
+    @Mock
+    private VideoStorageService videoStorageService;
+
+    @Mock
+    private VideoQueueService videoQueueService;
+
+    @Mock
+    private TokenService tokenService;
+
+    private ReactiveUploadServer server;
+
+    @AfterEach
+    void tearDown() {
+        server.stop();
+    }
+
+    @Test
+    @DisplayName("Upload pela rede deve chegar ao serviço em buffers de heap, com o conteúdo intacto")
+    void upload_OverSocket_DeliversHeapBuffers() {
+        // Arrange
+        server = start(2);
+        byte[] content = new byte[512 * 1024];
+        Arrays.fill(content, (byte) 7);
+        ByteArrayOutputStream received = new ByteArrayOutputStream();
+        AtomicBoolean heapOnly = new AtomicBoolean(true);
+        when(tokenService.decodeToken(TOKEN)).thenReturn(new UserInfo("usuario", "email@teste.com"));
+        when(videoStorageService.getVideoUrl("videos/1.mp4")).thenReturn("https://s3.aws/1.mp4");
+        when(videoStorageService.uploadVideo(ArgumentMatchers.<Flux<ByteBuffer>>any(), anyString(), any(ExpectedChecksums.class), any()))
+                .thenAnswer(invocation -> invocation.<Flux<ByteBuffer>>getArgument(0)
+                        .doOnNext(buffer -> {
+                            heapOnly.compareAndSet(true, buffer.hasArray());
+                            received.write(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining());
+                        })
+                        .then(Mono.just(StoredVideo.of("videos/1.mp4"))));
+        MultipartBodyBuilder body = new MultipartBodyBuilder();
+        body.part("title", "Título");
+        body.part("file", new ByteArrayResource(content) {
+            @Override
+            public String getFilename() {
+                return "clip.mp4";
+            }
+        });
+
+        // Act & Assert
+        client().post().uri("/videos").header("auth-token", TOKEN)
+                .body(BodyInserters.fromMultipartData(body.build()))
+                .exchange()
+                .expectStatus().isCreated();
+        assertTrue(heapOnly.get());
+        assertArrayEquals(content, received.toByteArray());
+        verify(videoQueueService).sendVideoMessage(eq("videos/1.mp4"), eq("https://s3.aws/1.mp4"), eq("Título"),
+                isNull(), eq("usuario"), eq("email@teste.com"), anyMap());
+    }
+
+    @Test
+    @DisplayName("Iniciar de novo não deve abrir outra porta e parar deve liberar a porta")
+    void start_Twice_KeepsSameServer() {
+        // Arrange
+        server = start(0);
+        int port = server.port();
+
+        // Act
+        server.start();
+
+        // Assert
+        assertEquals(port, server.port());
+        client().post().uri("/videos").exchange().expectStatus().isUnauthorized();
+        server.stop();
+        assertThrows(NullPointerException.class, server::port);
+    }
+
+    private ReactiveUploadServer start(int eventLoopThreads) {
+        ReactiveVideoUploadHandler handler = new ReactiveVideoUploadHandler(videoStorageService, videoQueueService,
+                tokenService, new UploadMetrics(new SimpleMeterRegistry()), new UploadLimits(DataSize.ofBytes(0), "", ""),
+                DependencyGuards.disabled(new SimpleMeterRegistry()),
+                new UserRateLimiter(new SimpleMeterRegistry(), 0, 1, 0, 0, 0, 300, 1000), DataSize.ofMegabytes(1));
+        ReactiveUploadServer started = new ReactiveUploadServer(handler, 0, eventLoopThreads);
+        started.start();
+        return started;
+    }
+
+    private WebTestClient client() {
+        return WebTestClient.bindToServer().baseUrl("http://localhost:" + server.port()).build();
+    }
+}
@@ -0,0 +1,336 @@
+package com.videoUploaderService.controller;
+
+import com.videoUploaderService.service.ChecksumMismatchException;
+import com.videoUploaderService.service.DependencyGuard;
+import com.videoUploaderService.service.DependencyGuards;
+import com.videoUploaderService.service.ExpectedChecksums;
+import com.videoUploaderService.service.StoredVideo;
+import com.videoUploaderService.service.TokenService;
+import com.videoUploaderService.service.TokenService.UserInfo;
+import com.videoUploaderService.service.UnsupportedVideoFormatException;
+import com.videoUploaderService.service.UploadLimits;
+import com.videoUploaderService.service.UploadMetrics;
+import com.videoUploaderService.service.UserRateLimiter;
+import com.videoUploaderService.service.VideoQueueService;
+import com.videoUploaderService.service.VideoStorageService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.MultipartBodyBuilder;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.reactive.function.BodyInserters;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReactiveVideoUploadHandlerTest {
+
+    private static final String TOKEN = "Bearer token-valido-123";
+    private static final String S3_KEY = "videos/123.mp4";
+    private static final String S3_URL = "https://s3.aws/123.mp4";
+
+    @Mock
+    private VideoStorageService videoStorageService;
+
+    @Mock
+    private VideoQueueService videoQueueService;
+
+    @Mock
+    private TokenService tokenService;
+
+    @Mock
+    private DependencyGuards guards;
+
+    @Mock
+    private DependencyGuard s3;
+
+    @Mock
+    private UserRateLimiter rateLimiter;
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final UserInfo userInfo = new UserInfo("usuarioTeste", "email@teste.com");
+    private final ByteArrayOutputStream received = new ByteArrayOutputStream();
+    private WebTestClient client;
+
+    @BeforeEach
+    void setUp() {
+        ReactiveVideoUploadHandler handler = new ReactiveVideoUploadHandler(videoStorageService, videoQueueService,
+                tokenService, new UploadMetrics(registry), new UploadLimits(DataSize.ofBytes(0), "free=100B", ""),
+                guards, rateLimiter, DataSize.ofBytes(1000));
+        client = WebTestClient.bindToRouterFunction(handler.routes()).build();
+        lenient().when(tokenService.decodeToken(TOKEN)).thenReturn(userInfo);
+        lenient().when(videoStorageService.getVideoUrl(S3_KEY)).thenReturn(S3_URL);
+        lenient().when(guards.s3()).thenReturn(s3);
+    }
+
+    @Test
+    @DisplayName("Sucesso: arquivo repassado em buffers e mensagem publicada")
+    void upload_Success_StreamsFileAndSendsMessage() {
+        // Arrange
+        consumeOnUpload(StoredVideo.of(S3_KEY).withAttributes(Map.of("container", "mp4")));
+        MultipartBodyBuilder body = form("Meu vídeo", "Descrição");
+        body.part("file", file("conteudo do video")).contentType(MediaType.valueOf("video/mp4"));
+
+        // Act & Assert
+        post(body).expectStatus().isCreated()
+                .expectBody()
+                .jsonPath("$.s3Key").isEqualTo(S3_KEY)
+                .jsonPath("$.s3Url").isEqualTo(S3_URL)
+                .jsonPath("$.deduplicated").isEqualTo(false);
+        assertEquals("conteudo do video", received.toString());
+        verify(videoStorageService).uploadVideo(ArgumentMatchers.<Flux<ByteBuffer>>any(), eq("clip.mp4"),
+                eq(ExpectedChecksums.NONE), eq(userInfo.username()));
+        verify(videoQueueService).sendVideoMessage(S3_KEY, S3_URL, "Meu vídeo", "Descrição",
+                userInfo.username(), userInfo.email(), Map.of("container", "mp4"));
+        assertEquals(0.0, registry.get("video.upload.inflight.bytes").gauge().value());
+    }
+
+    @Test
+    @DisplayName("Falha: sem header auth-token deve retornar 401")
+    void upload_MissingToken_Returns401() {
+        client.post().uri("/videos")
+                .body(BodyInserters.fromMultipartData(form("Título", null).build()))
+                .exchange()
+                .expectStatus().isUnauthorized();
+        verifyNoInteractions(tokenService, videoStorageService, videoQueueService);
+    }
+
+    @Test
+    @DisplayName("Falha: token inválido deve retornar 401")
+    void upload_InvalidToken_Returns401() {
+        // Arrange
+        when(tokenService.decodeToken("invalido")).thenThrow(new RuntimeException("assinatura"));
+
+        // Act & Assert
+        client.post().uri("/videos").header("auth-token", "invalido")
+                .body(BodyInserters.fromMultipartData(form("Título", null).build()))
+                .exchange()
+                .expectStatus().isUnauthorized()
+                .expectBody(String.class).isEqualTo("Token inválido: assinatura");
+        verifyNoInteractions(videoStorageService);
+    }
+
+    @Test
+    @DisplayName("Falha: header de checksum malformado deve retornar 400 antes do corpo")
+    void upload_MalformedChecksumHeader_Returns400() {
+        client.post().uri("/videos").header("auth-token", TOKEN).header(ExpectedChecksums.CRC32C_HEADER, "xyz")
+                .body(BodyInserters.fromMultipartData(form("Título", null).build()))
+                .exchange()
+                .expectStatus().isBadRequest();
+        verifyNoInteractions(tokenService, videoStorageService);
+    }
+
+    @Test
+    @DisplayName("Falha: título depois do arquivo deve retornar 400 sem gravar nada")
+    void upload_TitleAfterFile_Returns400() {
+        // Arrange
+        MultipartBodyBuilder body = new MultipartBodyBuilder();
+        body.part("file", file("conteudo"));
+        body.part("title", "Atrasado");
+
+        // Act & Assert
+        post(body).expectStatus().isBadRequest()
+                .expectBody(String.class).isEqualTo("Campo 'title' deve vir antes do arquivo");
+        verifyNoInteractions(videoStorageService, videoQueueService);
+    }
+
+    @Test
+    @DisplayName("Falha: sem arquivo deve retornar 400")
+    void upload_MissingFile_Returns400() {
+        post(form("Título", "Descrição")).expectStatus().isBadRequest()
+                .expectBody(String.class).isEqualTo("Arquivo de vídeo é obrigatório");
+        verifyNoInteractions(videoStorageService, videoQueueService);
+    }
+
+    @Test
+    @DisplayName("Falha: conteúdo que não é vídeo deve retornar 415 e fechar a conexão")
+    void upload_NotAVideo_Returns415() {
+        // Arrange
+        when(videoStorageService.uploadVideo(ArgumentMatchers.<Flux<ByteBuffer>>any(), anyString(), any(ExpectedChecksums.class), any()))
+                .thenReturn(Mono.error(new UnsupportedVideoFormatException()));
+        MultipartBodyBuilder body = form("Título", null);
+        body.part("file", file("%PDF-1.7"));
+
+        // Act & Assert
+        post(body).expectStatus().isEqualTo(HttpStatus.UNSUPPORTED_MEDIA_TYPE)
+                .expectHeader().valueEquals("Connection", "close");
+        verifyNoInteractions(videoQueueService);
+    }
+
+    @Test
+    @DisplayName("Falha: arquivo acima do limite deve retornar 413")
+    void upload_FileTooLarge_Returns413() {
+        // Arrange
+        consumeOnUpload(StoredVideo.of(S3_KEY));
+        MultipartBodyBuilder body = form("Título", null);
+        body.part("file", file("x".repeat(2000)));
+
+        // Act & Assert
+        post(body).expectStatus().isEqualTo(HttpStatus.CONTENT_TOO_LARGE);
+        verifyNoInteractions(videoQueueService);
+        assertEquals(0.0, registry.get("video.upload.inflight.bytes").gauge().value());
+    }
+
+    @Test
+    @DisplayName("Falha: Content-Length acima do limite do plano deve retornar 413 sem ler o corpo")
+    void upload_OverTierLimit_Returns413BeforeBody() {
+        // Arrange
+        when(tokenService.decodeToken("Bearer gratis")).thenReturn(new UserInfo("gratis", "g@teste.com", "free"));
+
+        // Act & Assert
+        client.post().uri("/videos").header("auth-token", "Bearer gratis")
+                .contentType(MediaType.parseMediaType("multipart/form-data; boundary=limite"))
+                .bodyValue(new byte[500])
+                .exchange()
+                .expectStatus().isEqualTo(HttpStatus.CONTENT_TOO_LARGE)
+                .expectBody(String.class).isEqualTo("Upload de 500 bytes excede o limite de 100 bytes");
+        verifyNoInteractions(videoStorageService);
+    }
+
+    @Test
+    @DisplayName("Falha: circuito de uma dependência aberto deve retornar 503 com Retry-After sem ler o corpo")
+    void upload_DependencyOpen_Returns503BeforeBody() {
+        // Arrange
+        DependencyGuard sqs = mock(DependencyGuard.class);
+        when(sqs.name()).thenReturn("sqs");
+        when(sqs.retryAfterSeconds()).thenReturn(7L);
+        when(guards.unavailableForUploads()).thenReturn(sqs);
+
+        // Act & Assert
+        post(form("Título", null)).expectStatus().isEqualTo(HttpStatus.SERVICE_UNAVAILABLE)
+                .expectHeader().valueEquals("Retry-After", "7")
+                .expectHeader().valueEquals("Connection", "close")
+                .expectBody(String.class).isEqualTo("Serviço indisponível (sqs com falhas)");
+        verifyNoInteractions(videoStorageService, videoQueueService, rateLimiter);
+        assertEquals(1, registry.get("video.upload.errors").tag("cause", "sqs").counter().count());
+    }
+
+    @Test
+    @DisplayName("Falha: S3 aberto deve retornar 503 mesmo quando o modo assíncrono aceitaria o upload")
+    void upload_S3Open_Returns503EvenWithAsyncUploads() {
+        // Arrange
+        when(s3.isOpen()).thenReturn(true);
+        when(s3.name()).thenReturn("s3");
+        when(s3.retryAfterSeconds()).thenReturn(0L);
+
+        // Act & Assert
+        post(form("Título", null)).expectStatus().isEqualTo(HttpStatus.SERVICE_UNAVAILABLE)
+                .expectHeader().valueEquals("Retry-After", "1");
+        verify(guards, never()).unavailableForUploads();
+        verifyNoInteractions(videoStorageService);
+    }
+
+    @Test
+    @DisplayName("Falha: limite de requisições do usuário atingido deve retornar 429 com Retry-After")
+    void upload_RateLimited_Returns429BeforeBody() {
+        // Arrange
+        when(rateLimiter.tryAcquireRequest(userInfo.username())).thenReturn(1_500_000_000L);
+
+        // Act & Assert
+        post(form("Título", null)).expectStatus().isEqualTo(HttpStatus.TOO_MANY_REQUESTS)
+                .expectHeader().valueEquals("Retry-After", "2")
+                .expectHeader().valueEquals("Connection", "close")
+                .expectBody(String.class).isEqualTo("Limite de requisições do usuário atingido");
+        verifyNoInteractions(videoStorageService, videoQueueService);
+    }
+
+    @Test
+    @DisplayName("Falha: arquivo do plano sem Content-Length deve parar no limite do plano")
+    void upload_OverTierLimitWhileStreaming_Returns413() {
+        // Arrange
+        when(tokenService.decodeToken("Bearer gratis")).thenReturn(new UserInfo("gratis", "g@teste.com", "free"));
+        consumeOnUpload(StoredVideo.of(S3_KEY));
+        MultipartBodyBuilder body = form("Título", null);
+        body.part("file", file("x".repeat(500)));
+
+        // Act & Assert: o multipart do WebTestClient vai sem Content-Length
+        client.post().uri("/videos").header("auth-token", "Bearer gratis")
+                .body(BodyInserters.fromMultipartData(body.build()))
+                .exchange()
+                .expectStatus().isEqualTo(HttpStatus.CONTENT_TOO_LARGE)
+                .expectBody(String.class).isEqualTo("Arquivo excede o limite de 100 bytes");
+        verifyNoInteractions(videoQueueService);
+    }
+
+    @Test
+    @DisplayName("Falha: checksum divergente deve retornar 400")
+    void upload_ChecksumMismatch_Returns400() {
+        // Arrange
+        when(videoStorageService.uploadVideo(ArgumentMatchers.<Flux<ByteBuffer>>any(), anyString(), any(ExpectedChecksums.class), any()))
+                .thenReturn(Mono.error(new ChecksumMismatchException("CRC32C", "AAAAAA==", "4waSgw==")));
+        MultipartBodyBuilder body = form("Título", null);
+        body.part("file", file("123456789"));
+
+        // Act & Assert
+        post(body).expectStatus().isBadRequest();
+        verifyNoInteractions(videoQueueService);
+    }
+
+    @Test
+    @DisplayName("Falha: erro ao publicar no SQS deve retornar 500")
+    void upload_QueueFails_Returns500() {
+        // Arrange
+        consumeOnUpload(StoredVideo.of(S3_KEY));
+        doThrow(new RuntimeException("SQS indisponível")).when(videoQueueService).sendVideoMessage(
+                anyString(), anyString(), anyString(), any(), anyString(), anyString(), anyMap());
+        MultipartBodyBuilder body = form("Título", null);
+        body.part("file", file("conteudo"));
+
+        // Act & Assert
+        post(body).expectStatus().is5xxServerError()
+                .expectBody(String.class).isEqualTo("Erro ao fazer upload do vídeo: SQS indisponível");
+    }
+
+    private WebTestClient.ResponseSpec post(MultipartBodyBuilder body) {
+        return client.post().uri("/videos").header("auth-token", TOKEN)
+                .body(BodyInserters.fromMultipartData(body.build()))
+                .exchange();
+    }
+
+    private static MultipartBodyBuilder form(String title, String description) {
+        MultipartBodyBuilder body = new MultipartBodyBuilder();
+        body.part("title", title);
+        if (description != null) {
+            body.part("description", description);
+        }
+        return body;
+    }
+
+    private static ByteArrayResource file(String content) {
+        return new ByteArrayResource(content.getBytes()) {
+            @Override
+            public String getFilename() {
+                return "clip.mp4";
+            }
+        };
+    }
+
+    // consome o arquivo como o VideoStorageService faria, guardando os bytes
+    private void consumeOnUpload(StoredVideo stored) {
+        when(videoStorageService.uploadVideo(ArgumentMatchers.<Flux<ByteBuffer>>any(), anyString(),
+                any(ExpectedChecksums.class), any())).thenAnswer(invocation -> invocation.<Flux<ByteBuffer>>getArgument(0)
+                        .doOnNext(buffer -> received.write(buffer.array(), buffer.arrayOffset() + buffer.position(),
+                                buffer.remaining()))
+                        .then(Mono.just(stored)));
+    }
+}
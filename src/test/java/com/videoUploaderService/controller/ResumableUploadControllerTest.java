@@ -0,0 +1,144 @@
+package com.videoUploaderService.controller;
+
+import com.videoUploaderService.service.ResumableUploadService;
+import com.videoUploaderService.service.CompletedUpload;
+import com.videoUploaderService.service.TokenService;
+import com.videoUploaderService.service.TokenService.UserInfo;
+import com.videoUploaderService.service.UploadMetrics;
+import com.videoUploaderService.service.UploadSession;
+import com.videoUploaderService.service.UploadSession.UploadedPart;
+import com.videoUploaderService.service.UploadSessionNotFoundException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ResumableUploadControllerTest {
+
+    @Mock
+    private ResumableUploadService resumableUploadService;
+
+    @Mock
+    private TokenService tokenService;
+
+    @Spy
+    private UploadMetrics metrics = new UploadMetrics(new SimpleMeterRegistry());
+
+    @InjectMocks
+    private ResumableUploadController controller;
+
+    private final String validToken = "Bearer token-valido-123";
+    private final UserInfo userInfo = new UserInfo("usuarioTeste", "email@teste.com");
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(tokenService.decodeToken(validToken)).thenReturn(userInfo);
+    }
+
+    @Test
+    @DisplayName("Sucesso: Inicia sessão de upload")
+    void initiate_Success() throws IOException {
+        UploadSession session = new UploadSession("up-1", "videos/1.mp4", "s3-1", "Titulo", null,
+                "usuarioTeste", "email@teste.com", Instant.now());
+        when(resumableUploadService.initiate("video.mp4", "Titulo", null, userInfo)).thenReturn(session);
+
+        ResponseEntity<?> response = controller.initiate(validToken, "Titulo", null, "video.mp4");
+
+        assertEquals(HttpStatus.CREATED, response.getStatusCode());
+        assertEquals("up-1", ((Map<?, ?>) response.getBody()).get("uploadId"));
+    }
+
+    @Test
+    @DisplayName("Sucesso: Envia chunk numerado")
+    void uploadPart_Success() throws IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("PUT", "/videos/uploads/up-1/parts/1");
+        request.setContent(new byte[]{1, 2, 3});
+        UploadedPart part = new UploadedPart(1, "etag-1", 3);
+        when(resumableUploadService.uploadPart(eq("up-1"), eq(1), any(InputStream.class), eq(3L), eq(userInfo)))
+                .thenReturn(part);
+
+        ResponseEntity<?> response = controller.uploadPart(validToken, "up-1", 1, request);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(part, response.getBody());
+    }
+
+    @Test
+    @DisplayName("Sucesso: Lista chunks armazenados")
+    void listParts_Success() {
+        when(resumableUploadService.listParts("up-1", userInfo)).thenReturn(List.of(new UploadedPart(1, "e", 3)));
+
+        ResponseEntity<?> response = controller.listParts(validToken, "up-1");
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(1, ((List<?>) ((Map<?, ?>) response.getBody()).get("parts")).size());
+    }
+
+    @Test
+    @DisplayName("Sucesso: Conclui upload")
+    void complete_Success() throws IOException {
+        when(resumableUploadService.complete("up-1", userInfo))
+                .thenReturn(new CompletedUpload("videos/1.mp4", "https://s3/videos/1.mp4"));
+
+        ResponseEntity<?> response = controller.complete(validToken, "up-1");
+
+        assertEquals(HttpStatus.CREATED, response.getStatusCode());
+        assertEquals("videos/1.mp4", ((Map<?, ?>) response.getBody()).get("s3Key"));
+    }
+
+    @Test
+    @DisplayName("Sucesso: Aborta upload")
+    void abort_Success() throws IOException {
+        ResponseEntity<?> response = controller.abort(validToken, "up-1");
+
+        assertEquals(HttpStatus.NO_CONTENT, response.getStatusCode());
+        verify(resumableUploadService).abort("up-1", userInfo);
+    }
+
+    @Test
+    @DisplayName("Erro 401: Sem token ou token inválido")
+    void missingOrInvalidToken_ReturnsUnauthorized() {
+        when(tokenService.decodeToken("Bearer invalido")).thenThrow(new RuntimeException("Token expirado"));
+
+        assertEquals(HttpStatus.UNAUTHORIZED, controller.listParts(null, "up-1").getStatusCode());
+        assertEquals(HttpStatus.UNAUTHORIZED, controller.listParts("Bearer invalido", "up-1").getStatusCode());
+        verifyNoInteractions(resumableUploadService);
+    }
+
+    @Test
+    @DisplayName("Erros da sessão devem ser traduzidos para 404, 400, 409 e 500")
+    void serviceErrors_AreMappedToHttpStatus() throws IOException {
+        when(resumableUploadService.listParts("nao-existe", userInfo)).thenThrow(new UploadSessionNotFoundException("nao-existe"));
+        when(resumableUploadService.complete("incompleto", userInfo)).thenThrow(new IllegalStateException("Chunk 1 ainda não foi enviado"));
+        when(resumableUploadService.complete("falha-s3", userInfo)).thenThrow(new IOException("S3 falhou"));
+        MockHttpServletRequest request = new MockHttpServletRequest("PUT", "/videos/uploads/up-1/parts/0");
+        when(resumableUploadService.uploadPart(eq("up-1"), eq(0), any(InputStream.class), anyLong(), eq(userInfo)))
+                .thenThrow(new IllegalArgumentException("Número de chunk inválido"));
+
+        assertEquals(HttpStatus.NOT_FOUND, controller.listParts(validToken, "nao-existe").getStatusCode());
+        assertEquals(HttpStatus.CONFLICT, controller.complete(validToken, "incompleto").getStatusCode());
+        assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, controller.complete(validToken, "falha-s3").getStatusCode());
+        assertEquals(HttpStatus.BAD_REQUEST, controller.uploadPart(validToken, "up-1", 0, request).getStatusCode());
+    }
+}
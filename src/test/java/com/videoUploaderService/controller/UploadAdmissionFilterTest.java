@@ -0,0 +1,205 @@
+package com.videoUploaderService.controller;
+
+import com.videoUploaderService.controller.UploadAdmissionFilter.Resource;
+import com.videoUploaderService.service.DependencyGuard;
+import com.videoUploaderService.service.DependencyGuards;
+import com.videoUploaderService.service.UploadMetrics;
+import com.videoUploaderService.service.UploadSpoolService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UploadAdmissionFilterTest {
+
+    @Mock
+    private UploadSpoolService uploadSpoolService;
+
+    @Mock
+    private DependencyGuards guards;
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final UploadMetrics metrics = new UploadMetrics(registry);
+
+    private UploadAdmissionFilter filter(int maxUploads, long maxBytes, int maxPending) {
+        return new UploadAdmissionFilter(metrics, uploadSpoolService, registry, guards, maxUploads, maxBytes, maxPending,
+                1000, 30);
+    }
+
+    private static MockHttpServletRequest upload(int size) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/videos/stream");
+        request.setContent(new byte[size]);
+        return request;
+    }
+
+    @Test
+    @DisplayName("Upload dentro dos limites deve passar e liberar a vaga ao terminar")
+    void withinLimits_PassesAndReleases() throws ServletException, IOException {
+        // Arrange
+        UploadAdmissionFilter filter = filter(2, 1000, 10);
+        FilterChain chain = (req, res) -> {
+            assertEquals(1, registry.get("video.upload.admission.used").tag("resource", "uploads").gauge().value());
+            assertEquals(100, registry.get("video.upload.admission.used").tag("resource", "bytes").gauge().value());
+        };
+
+        // Act
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(upload(100), response, chain);
+
+        // Assert
+        assertEquals(200, response.getStatus());
+        assertEquals(0, registry.get("video.upload.admission.used").tag("resource", "uploads").gauge().value());
+        assertEquals(0, registry.get("video.upload.admission.used").tag("resource", "bytes").gauge().value());
+        assertEquals(2, registry.get("video.upload.admission.limit").tag("resource", "uploads").gauge().value());
+    }
+
+    @Test
+    @DisplayName("Acima do limite de uploads simultâneos deve responder 429 sem ler o corpo")
+    void tooManyUploads_Rejects429WithoutReadingBody() throws ServletException, IOException {
+        // Arrange
+        UploadAdmissionFilter filter = filter(1, 0, 0);
+        AtomicReference<MockHttpServletResponse> nested = new AtomicReference<>();
+        MockHttpServletRequest rejected = upload(10);
+        FilterChain chain = (req, res) -> {
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            filter.doFilter(rejected, response, new MockFilterChain());
+            nested.set(response);
+        };
+
+        // Act
+        filter.doFilter(upload(10), new MockHttpServletResponse(), chain);
+
+        // Assert
+        MockHttpServletResponse response = nested.get();
+        assertEquals(429, response.getStatus());
+        long retryAfter = Long.parseLong(response.getHeader("Retry-After"));
+        assertTrue(retryAfter >= 1 && retryAfter <= 30);
+        assertTrue(response.getContentAsString().contains("uploads simultâneos"));
+        assertEquals(10, rejected.getInputStream().available());
+        assertEquals(1, registry.get("video.upload.admission.rejected").tag("resource", "uploads").counter().count());
+    }
+
+    @Test
+    @DisplayName("Com o circuito de uma dependência aberto deve responder 503 sem ler o corpo")
+    void dependencyOpen_Rejects503WithoutReadingBody() throws ServletException, IOException {
+        // Arrange
+        DependencyGuard s3 = mock(DependencyGuard.class);
+        when(s3.name()).thenReturn("s3");
+        when(s3.retryAfterSeconds()).thenReturn(60L);
+        when(guards.unavailableForUploads()).thenReturn(s3);
+        MockHttpServletRequest request = upload(10);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+
+        // Act
+        filter(1, 0, 0).doFilter(request, response, chain);
+
+        // Assert
+        assertEquals(503, response.getStatus());
+        assertEquals("30", response.getHeader("Retry-After"));
+        assertEquals("Serviço indisponível (s3 com falhas); tente novamente em 30 s", response.getContentAsString());
+        assertNull(chain.getRequest());
+        assertEquals(10, request.getInputStream().available());
+        assertEquals(1, registry.get("video.upload.admission.rejected").tag("resource", "dependency").counter().count());
+    }
+
+    @Test
+    @DisplayName("Bytes em andamento acima do limite devem ser rejeitados, exceto para um único upload grande")
+    void bytesLimit_RejectsUnlessAlone() {
+        // Arrange
+        UploadAdmissionFilter filter = filter(0, 1000, 0);
+
+        // Act & Assert: sozinho, um upload maior que o limite passa
+        assertNull(filter.admit(5000));
+        assertEquals(Resource.BYTES, filter.admit(1));
+    }
+
+    @Test
+    @DisplayName("Corpo sem Content-Length deve reservar o tamanho configurado")
+    void unknownLength_ReservesConfiguredSize() throws ServletException, IOException {
+        // Arrange
+        UploadAdmissionFilter filter = filter(0, 1500, 0);
+        MockHttpServletRequest chunked = new MockHttpServletRequest("POST", "/videos/stream") {
+            @Override
+            public long getContentLengthLong() {
+                return -1;
+            }
+        };
+        FilterChain chain = (req, res) ->
+                assertEquals(Resource.BYTES, filter.admit(600));
+
+        // Act & Assert
+        filter.doFilter(chunked, new MockHttpServletResponse(), chain);
+        assertNull(filter.admit(600));
+    }
+
+    @Test
+    @DisplayName("Envios pendentes ao S3/SQS, incluindo o spool, devem bloquear novos uploads")
+    void pendingOperations_IncludeSpoolBacklog() throws ServletException, IOException {
+        // Arrange
+        UploadAdmissionFilter filter = filter(0, 0, 3);
+        when(uploadSpoolService.pending()).thenReturn(2);
+        metrics.operationStarted();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // Act
+        filter.doFilter(upload(10), response, new MockFilterChain());
+
+        // Assert
+        assertEquals(429, response.getStatus());
+        assertEquals(3, registry.get("video.upload.admission.used").tag("resource", "pending").gauge().value());
+        assertEquals(1, registry.get("video.upload.admission.rejected").tag("resource", "pending").counter().count());
+    }
+
+    @Test
+    @DisplayName("Retry-After deve ser o excesso dividido pela vazão recente")
+    void retryAfter_UsesRecentThroughput() throws ServletException, IOException {
+        // Arrange: 50 uploads concluídos agora dão uma vazão de ~5 uploads/s (constante de 10 s)
+        UploadAdmissionFilter filter = filter(1, 0, 0);
+        for (int i = 0; i < 50; i++) {
+            filter.doFilter(upload(1), new MockHttpServletResponse(), new MockFilterChain());
+        }
+        filter.admit(1);
+
+        // Act
+        long retryAfter = filter.retryAfterSeconds(Resource.UPLOADS, 1);
+
+        // Assert
+        assertEquals(1, retryAfter);
+    }
+
+    @Test
+    @DisplayName("Sem vazão medida, Retry-After deve usar o máximo configurado")
+    void retryAfter_NoThroughput_UsesMaximum() {
+        assertEquals(30, filter(1, 0, 0).retryAfterSeconds(Resource.PENDING, 1));
+    }
+
+    @Test
+    @DisplayName("Requisições que não enviam vídeo não passam pela admissão")
+    void nonUploadRequests_AreNotFiltered() throws ServletException, IOException {
+        // Arrange
+        UploadAdmissionFilter filter = filter(1, 0, 0);
+        filter.admit(1);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // Act
+        filter.doFilter(new MockHttpServletRequest("GET", "/videos/status/up-1"), response, new MockFilterChain());
+
+        // Assert
+        assertEquals(200, response.getStatus());
+    }
+}
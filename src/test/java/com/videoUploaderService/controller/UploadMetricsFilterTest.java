@@ -0,0 +1,166 @@
+package com.videoUploaderService.controller;
+
+import com.videoUploaderService.service.UploadMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UploadMetricsFilterTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final UploadMetricsFilter filter = new UploadMetricsFilter(new UploadMetrics(registry));
+
+    @Test
+    @DisplayName("Upload em streaming deve contar os bytes lidos e registrar recepção e requisição")
+    void streamUpload_CountsBytesAndStages() throws ServletException, IOException {
+        // Arrange
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/videos/stream");
+        request.setContent(new byte[1000]);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        FilterChain chain = (req, res) -> {
+            try (InputStream in = req.getInputStream()) {
+                in.read();
+                in.readAllBytes();
+            }
+            // durante o upload os bytes lidos aparecem como em andamento
+            assertEquals(1, registry.get("video.upload.inflight").gauge().value());
+            assertEquals(1000, registry.get("video.upload.inflight.bytes").gauge().value());
+            ((MockHttpServletResponse) res).setStatus(201);
+        };
+
+        // Act
+        filter.doFilter(request, response, chain);
+
+        // Assert
+        assertEquals(1000, registry.get("video.upload.bytes").tag("outcome", "success").counter().count());
+        assertEquals(0, registry.get("video.upload.inflight").gauge().value());
+        assertEquals(0, registry.get("video.upload.inflight.bytes").gauge().value());
+        assertEquals(1, registry.get("video.upload.stage").tag("stage", "receive").timer().count());
+        assertEquals(1, registry.get("video.upload.stage").tag("stage", "request").timer().count());
+    }
+
+    @Test
+    @DisplayName("Upload multipart deve medir a recepção antes do controller")
+    void multipartUpload_RecordsReceiveBeforeChain() throws ServletException, IOException {
+        // Arrange
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/videos");
+        request.setContentType("multipart/form-data; boundary=xyz");
+        request.setContent(new byte[500]);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        response.setStatus(500);
+
+        // Act
+        filter.doFilter(request, response, new MockFilterChain());
+
+        // Assert
+        assertEquals(500, registry.get("video.upload.bytes").tag("outcome", "failure").counter().count());
+        assertEquals(0, registry.get("video.upload.bytes").tag("outcome", "success").counter().count());
+        assertEquals(1, registry.get("video.upload.stage").tag("stage", "receive").timer().count());
+        assertEquals(0, registry.get("video.upload.inflight.bytes").gauge().value());
+    }
+
+    @Test
+    @DisplayName("Multipart lido também pelo wrapper deve registrar uma única amostra de recepção")
+    void multipartUpload_AlsoReadThroughWrapper_RecordsSingleReceiveSample() throws ServletException, IOException {
+        // Arrange
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/videos");
+        request.setContentType("multipart/form-data; boundary=xyz");
+        request.setContent(new byte[500]);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        FilterChain chain = (req, res) -> {
+            try (InputStream in = req.getInputStream()) {
+                in.readAllBytes();
+            }
+            ((MockHttpServletResponse) res).setStatus(201);
+        };
+
+        // Act
+        filter.doFilter(request, response, chain);
+
+        // Assert
+        assertEquals(1, registry.get("video.upload.stage").tag("stage", "receive").timer().count());
+        assertEquals(1, registry.get("video.upload.stage").tag("stage", "request").timer().count());
+    }
+
+    @Test
+    @DisplayName("Lote multipart deve ser medido pelas leituras do controller, sem ser lido pelo filtro")
+    void batchUpload_CountsBytesReadByController() throws ServletException, IOException {
+        // Arrange
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/videos/batch");
+        request.setContentType("multipart/form-data; boundary=xyz");
+        request.setContent(new byte[700]);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        FilterChain chain = (req, res) -> {
+            // o corpo chega intacto ao controller
+            assertEquals(700, req.getInputStream().readAllBytes().length);
+            ((MockHttpServletResponse) res).setStatus(200);
+        };
+
+        // Act
+        filter.doFilter(request, response, chain);
+
+        // Assert
+        assertEquals(700, registry.get("video.upload.bytes").tag("outcome", "success").counter().count());
+        assertEquals(1, registry.get("video.upload.stage").tag("stage", "receive").timer().count());
+    }
+
+    @Test
+    @DisplayName("Resolver de multipart do Spring deve deixar o lote de fora")
+    void batchMultipartResolver_SkipsOnlyBatch() {
+        // Arrange
+        BatchMultipartResolver resolver = new BatchMultipartResolver(false);
+        MockHttpServletRequest single = new MockHttpServletRequest("POST", "/videos");
+        single.setContentType("multipart/form-data; boundary=xyz");
+        MockHttpServletRequest batch = new MockHttpServletRequest("POST", "/videos/batch");
+        batch.setContentType("multipart/form-data; boundary=xyz");
+
+        // Act & Assert
+        assertTrue(resolver.isMultipart(single));
+        assertFalse(resolver.isMultipart(batch));
+    }
+
+    @Test
+    @DisplayName("Exceção no controller deve contar o upload como falha")
+    void chainFailure_CountsAsFailure() {
+        // Arrange
+        MockHttpServletRequest request = new MockHttpServletRequest("PUT", "/videos/uploads/up-1/parts/1");
+        request.setContent(new byte[10]);
+        FilterChain chain = (req, res) -> {
+            req.getInputStream().readAllBytes();
+            throw new IOException("conexão encerrada");
+        };
+
+        // Act
+        assertThrows(IOException.class, () -> filter.doFilter(request, new MockHttpServletResponse(), chain));
+
+        // Assert
+        assertEquals(10, registry.get("video.upload.bytes").tag("outcome", "failure").counter().count());
+        assertEquals(0, registry.get("video.upload.inflight").gauge().value());
+    }
+
+    @Test
+    @DisplayName("Requisições que não enviam vídeo não devem ser medidas")
+    void otherRequests_AreIgnored() throws ServletException, IOException {
+        // Arrange
+        MockFilterChain chain = new MockFilterChain();
+
+        // Act
+        filter.doFilter(new MockHttpServletRequest("GET", "/videos/status/up-1"), new MockHttpServletResponse(), chain);
+        filter.doFilter(new MockHttpServletRequest("POST", "/videos/uploads/up-1/complete"), new MockHttpServletResponse(),
+                new MockFilterChain());
+
+        // Assert
+        assertNotNull(chain.getRequest());
+        assertEquals(0, registry.get("video.upload.stage").tag("stage", "request").timer().count());
+    }
+}
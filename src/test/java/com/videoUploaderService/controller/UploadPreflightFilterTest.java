@@ -0,0 +1,164 @@
+package com.videoUploaderService.controller;
+
+import com.auth0.jwt.exceptions.JWTVerificationException;
+import com.videoUploaderService.service.TokenService;
+import com.videoUploaderService.service.TokenService.UserInfo;
+import com.videoUploaderService.service.UploadLimits;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UploadPreflightFilterTest {
+
+    @Mock
+    private TokenService tokenService;
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final AtomicInteger calls = new AtomicInteger();
+    private final FilterChain chain = (req, res) -> calls.incrementAndGet();
+
+    private UploadPreflightFilter filter(boolean enabled) {
+        UploadLimits limits = new UploadLimits(DataSize.ofBytes(0), "free=100B", "");
+        return new UploadPreflightFilter(tokenService, limits, registry, enabled, DataSize.ofBytes(1000));
+    }
+
+    /**
+     * Upload que declara o tamanho e manda {@code Expect: 100-continue}; ler o corpo falha o teste.
+     */
+    private static MockHttpServletRequest upload(String method, String path, String token, long length) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, path) {
+            @Override
+            public ServletInputStream getInputStream() {
+                throw new AssertionError("o corpo não deveria ser lido");
+            }
+
+            @Override
+            public long getContentLengthLong() {
+                return length;
+            }
+        };
+        request.addHeader("Expect", "100-continue");
+        if (token != null) {
+            request.addHeader("auth-token", token);
+        }
+        return request;
+    }
+
+    private double rejected(String reason) {
+        return registry.get("video.upload.preflight.rejected").tag("reason", reason).counter().count();
+    }
+
+    @Test
+    @DisplayName("Sem token deve responder 401 e fechar a conexão sem ler o corpo")
+    void missingToken_Rejects401() throws ServletException, IOException {
+        // Arrange
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // Act
+        filter(true).doFilter(upload("POST", "/videos/stream", null, 50), response, chain);
+
+        // Assert
+        assertEquals(401, response.getStatus());
+        assertEquals("close", response.getHeader("Connection"));
+        assertEquals("Acesso negado: Header 'auth-token' não foi recebido do Gateway.", response.getContentAsString());
+        assertEquals(0, calls.get());
+        assertEquals(1.0, rejected("missing_token"));
+    }
+
+    @Test
+    @DisplayName("Token inválido deve responder 401")
+    void invalidToken_Rejects401() throws ServletException, IOException {
+        // Arrange
+        when(tokenService.decodeToken("invalido")).thenThrow(new JWTVerificationException("assinatura"));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // Act
+        filter(true).doFilter(upload("POST", "/videos", "invalido", 50), response, chain);
+
+        // Assert
+        assertEquals(401, response.getStatus());
+        assertEquals("Token inválido: assinatura", response.getContentAsString());
+        assertEquals(0, calls.get());
+        assertEquals(1.0, rejected("invalid_token"));
+    }
+
+    @Test
+    @DisplayName("Content-Length acima do limite do plano deve responder 413")
+    void overTierLimit_Rejects413() throws ServletException, IOException {
+        // Arrange
+        when(tokenService.decodeToken("token")).thenReturn(new UserInfo("gratis", "g@email.com", "free"));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // Act
+        filter(true).doFilter(upload("PUT", "/videos/uploads/abc/parts/1", "token", 101), response, chain);
+
+        // Assert
+        assertEquals(413, response.getStatus());
+        assertEquals("close", response.getHeader("Connection"));
+        assertEquals("Upload de 101 bytes excede o limite de 100 bytes", response.getContentAsString());
+        assertEquals(0, calls.get());
+        assertEquals(1.0, rejected("too_large"));
+    }
+
+    @Test
+    @DisplayName("Multipart acima do max-request-size deve responder 413 mesmo sem limite do usuário")
+    void multipartOverMaxRequestSize_Rejects413() throws ServletException, IOException {
+        // Arrange
+        when(tokenService.decodeToken("token")).thenReturn(new UserInfo("ana", "ana@email.com"));
+        MockHttpServletRequest request = upload("POST", "/videos", "token", 1001);
+        request.setContentType("multipart/form-data; boundary=x");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // Act
+        filter(true).doFilter(request, response, chain);
+
+        // Assert
+        assertEquals(413, response.getStatus());
+        assertEquals(0, calls.get());
+    }
+
+    @Test
+    @DisplayName("Dentro do limite, sem tamanho declarado ou em lote, a requisição deve seguir")
+    void withinLimitChunkedOrBatch_PassesThrough() throws ServletException, IOException {
+        // Arrange
+        when(tokenService.decodeToken("token")).thenReturn(new UserInfo("gratis", "g@email.com", "free"));
+        MockHttpServletRequest batch = upload("POST", "/videos/batch", "token", 5000);
+        batch.setContentType("multipart/form-data; boundary=x");
+
+        // Act
+        filter(true).doFilter(upload("POST", "/videos/stream", "token", 100), new MockHttpServletResponse(), chain);
+        filter(true).doFilter(upload("POST", "/videos/stream", "token", -1), new MockHttpServletResponse(), chain);
+        filter(true).doFilter(batch, new MockHttpServletResponse(), chain);
+
+        // Assert
+        assertEquals(3, calls.get());
+    }
+
+    @Test
+    @DisplayName("Fora dos uploads ou com o filtro desligado nada deve ser verificado")
+    void notUploadOrDisabled_NotFiltered() throws ServletException, IOException {
+        // Act
+        filter(true).doFilter(upload("GET", "/videos/status/abc", null, -1), new MockHttpServletResponse(), chain);
+        filter(false).doFilter(upload("POST", "/videos", null, 5000), new MockHttpServletResponse(), chain);
+
+        // Assert
+        assertEquals(2, calls.get());
+        verifyNoInteractions(tokenService);
+    }
+}
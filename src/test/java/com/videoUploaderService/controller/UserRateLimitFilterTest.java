@@ -0,0 +1,181 @@
+package com.videoUploaderService.controller;
+
+import com.auth0.jwt.exceptions.JWTVerificationException;
+import com.videoUploaderService.service.TokenService;
+import com.videoUploaderService.service.TokenService.UserInfo;
+import com.videoUploaderService.service.UserRateLimiter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UserRateLimitFilterTest {
+
+    @Mock
+    private TokenService tokenService;
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    private UserRateLimitFilter filter(double requestsPerSecond, double bytesPerSecond) {
+        UserRateLimiter limiter = new UserRateLimiter(registry, requestsPerSecond, 1, bytesPerSecond, 0, 0, 300, 1000);
+        return new UserRateLimitFilter(limiter, tokenService);
+    }
+
+    private static MockHttpServletRequest upload(String token, int size) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/videos/stream");
+        if (token != null) {
+            request.addHeader("auth-token", token);
+        }
+        request.setContent(new byte[size]);
+        return request;
+    }
+
+    @Test
+    @DisplayName("Segunda requisição do usuário acima da taxa deve receber 429 com Retry-After")
+    void overRequestRate_Rejects429() throws ServletException, IOException {
+        // Arrange
+        when(tokenService.decodeToken("token")).thenReturn(new UserInfo("ana", "ana@email.com"));
+        UserRateLimitFilter filter = filter(1, 0);
+        AtomicInteger calls = new AtomicInteger();
+        FilterChain chain = (req, res) -> calls.incrementAndGet();
+
+        // Act
+        filter.doFilter(upload("token", 10), new MockHttpServletResponse(), chain);
+        MockHttpServletResponse rejected = new MockHttpServletResponse();
+        filter.doFilter(upload("token", 10), rejected, chain);
+
+        // Assert
+        assertEquals(1, calls.get());
+        assertEquals(429, rejected.getStatus());
+        assertEquals("1", rejected.getHeader("Retry-After"));
+        assertTrue(rejected.getContentAsString().startsWith("Limite de requisições do usuário atingido"));
+    }
+
+    @Test
+    @DisplayName("Requisição sem token ou com token inválido deve seguir para o controller responder 401")
+    void missingOrInvalidToken_PassesThrough() throws ServletException, IOException {
+        // Arrange
+        when(tokenService.decodeToken("invalido")).thenThrow(new JWTVerificationException("invalido"));
+        UserRateLimitFilter filter = filter(1, 0);
+        AtomicInteger calls = new AtomicInteger();
+        FilterChain chain = (req, res) -> calls.incrementAndGet();
+
+        // Act
+        for (int i = 0; i < 3; i++) {
+            filter.doFilter(upload(null, 10), new MockHttpServletResponse(), chain);
+            filter.doFilter(upload("invalido", 10), new MockHttpServletResponse(), chain);
+        }
+
+        // Assert
+        assertEquals(6, calls.get());
+    }
+
+    @Test
+    @DisplayName("Leitura do corpo deve respeitar a taxa de bytes do usuário")
+    void streamingBody_IsThrottled() throws ServletException, IOException {
+        // Arrange: 10 KB/s
+        when(tokenService.decodeToken("token")).thenReturn(new UserInfo("ana", "ana@email.com"));
+        UserRateLimitFilter filter = filter(0, 10_000);
+        FilterChain chain = (req, res) -> {
+            byte[] buffer = new byte[1000];
+            while (req.getInputStream().read(buffer, 0, buffer.length) > 0) {
+                // descarta
+            }
+            assertEquals(-1, req.getInputStream().read());
+        };
+
+        // Act
+        long start = System.nanoTime();
+        filter.doFilter(upload("token", 2000), new MockHttpServletResponse(), chain);
+        long elapsed = System.nanoTime() - start;
+
+        // Assert
+        assertTrue(elapsed >= TimeUnit.MILLISECONDS.toNanos(90), "esperou " + elapsed + " ns");
+    }
+
+    @Test
+    @DisplayName("Multipart deve ser cobrado pelo Content-Length antes de seguir")
+    void multipartBody_ChargedUpFront() throws ServletException, IOException {
+        // Arrange: 10 KB/s
+        when(tokenService.decodeToken("token")).thenReturn(new UserInfo("ana", "ana@email.com"));
+        UserRateLimitFilter filter = filter(0, 10_000);
+        MockHttpServletRequest first = new MockHttpServletRequest("POST", "/videos");
+        first.addHeader("auth-token", "token");
+        first.setContentType("multipart/form-data; boundary=x");
+        first.setContent(new byte[1000]);
+        MockHttpServletRequest second = upload("token", 10);
+        second.setRequestURI("/videos");
+        second.setContentType("multipart/form-data; boundary=x");
+
+        // Act
+        long start = System.nanoTime();
+        filter.doFilter(first, new MockHttpServletResponse(), (req, res) -> assertSame(first, req));
+        filter.doFilter(second, new MockHttpServletResponse(), (req, res) -> { });
+        long elapsed = System.nanoTime() - start;
+
+        // Assert: o segundo upload espera os 100 ms do primeiro
+        assertTrue(elapsed >= TimeUnit.MILLISECONDS.toNanos(90), "esperou " + elapsed + " ns");
+    }
+
+    @Test
+    @DisplayName("Multipart com espera acima do limite deve receber 429 sem prender a thread")
+    void multipartBody_LongDebt_Rejects429() throws ServletException, IOException {
+        // Arrange: 10 KB/s; o primeiro upload deixa 5 s de dívida, acima do limite de 1 s
+        when(tokenService.decodeToken("token")).thenReturn(new UserInfo("ana", "ana@email.com"));
+        UserRateLimitFilter filter = filter(0, 10_000);
+        MockHttpServletRequest first = multipart(50_000);
+        MockHttpServletRequest second = multipart(10);
+        AtomicInteger calls = new AtomicInteger();
+        FilterChain chain = (req, res) -> calls.incrementAndGet();
+
+        // Act
+        filter.doFilter(first, new MockHttpServletResponse(), chain);
+        long start = System.nanoTime();
+        MockHttpServletResponse rejected = new MockHttpServletResponse();
+        filter.doFilter(second, rejected, chain);
+        long elapsed = System.nanoTime() - start;
+
+        // Assert
+        assertEquals(1, calls.get());
+        assertEquals(429, rejected.getStatus());
+        assertEquals("4", rejected.getHeader("Retry-After"));
+        assertTrue(rejected.getContentAsString().startsWith("Limite de banda do usuário atingido"));
+        assertTrue(elapsed < TimeUnit.MILLISECONDS.toNanos(500), "esperou " + elapsed + " ns");
+        assertEquals(1, registry.get("video.upload.ratelimit.rejected").counter().count());
+    }
+
+    @Test
+    @DisplayName("Limitador desligado ou rota que não é upload não deve passar pelo filtro")
+    void disabledOrNonUpload_NotFiltered() throws ServletException, IOException {
+        // Arrange
+        FilterChain chain = (req, res) -> { };
+
+        // Act
+        filter(0, 0).doFilter(upload("token", 10), new MockHttpServletResponse(), chain);
+        filter(1, 0).doFilter(new MockHttpServletRequest("GET", "/videos/1"), new MockHttpServletResponse(), chain);
+
+        // Assert
+        verifyNoInteractions(tokenService);
+    }
+
+    private static MockHttpServletRequest multipart(int size) {
+        MockHttpServletRequest request = upload("token", size);
+        request.setRequestURI("/videos");
+        request.setContentType("multipart/form-data; boundary=x");
+        return request;
+    }
+}
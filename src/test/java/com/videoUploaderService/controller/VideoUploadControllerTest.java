@@ -1,25 +1,46 @@
 package com.videoUploaderService.controller;
 
+import com.videoUploaderService.service.ChecksumMismatchException;
+import com.videoUploaderService.service.DependencyUnavailableException;
+import com.videoUploaderService.service.ExpectedChecksums;
+import com.videoUploaderService.service.SpooledUpload;
+import com.videoUploaderService.service.StoredVideo;
 import com.videoUploaderService.service.TokenService;
 import com.videoUploaderService.service.TokenService.UserInfo; // Importante para o objeto UserInfo
+import com.videoUploaderService.service.UnsupportedVideoFormatException;
+import com.videoUploaderService.service.UploadLimits;
+import com.videoUploaderService.service.UploadMetrics;
+import com.videoUploaderService.service.UploadMetrics.Stage;
+import com.videoUploaderService.service.UploadSpoolService;
 import com.videoUploaderService.service.VideoQueueService;
 import com.videoUploaderService.service.VideoStorageService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
 import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.util.unit.DataSize;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Map;
+import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -34,6 +55,15 @@ class VideoUploadControllerTest {
     @Mock
     private TokenService tokenService;
 
+    @Mock
+    private UploadSpoolService uploadSpoolService;
+
+    @Spy
+    private UploadMetrics metrics = new UploadMetrics(new SimpleMeterRegistry());
+
+    @Spy
+    private UploadLimits limits = new UploadLimits(DataSize.ofBytes(0), "", "");
+
     @InjectMocks
     private VideoUploadController videoUploadController;
 
@@ -74,22 +104,24 @@ class VideoUploadControllerTest {
         // Simula a decodificação do token
         when(tokenService.decodeToken(validToken)).thenReturn(userInfo);
         
-        when(videoStorageService.uploadVideo(any(MultipartFile.class))).thenReturn(s3Key);
+        when(videoStorageService.uploadVideo(any(MultipartFile.class), any(ExpectedChecksums.class), any())).thenReturn(StoredVideo.of(s3Key));
         when(videoStorageService.getVideoUrl(s3Key)).thenReturn(s3Url);
         
         // Simula o envio para a fila
         doNothing().when(videoQueueService).sendVideoMessage(
-            s3Key, s3Url, title, description, userInfo.username(), userInfo.email()
+            s3Key, s3Url, title, description, userInfo.username(), userInfo.email(), Map.of()
         );
 
         // Act (Passando o token como primeiro argumento)
-        ResponseEntity<?> response = videoUploadController.uploadVideo(validToken, validFile, title, description);
+        ResponseEntity<?> response = videoUploadController.uploadVideo(validToken, validFile, title, description, null, null);
 
         // Assert
         assertEquals(HttpStatus.CREATED, response.getStatusCode());
         
         verify(tokenService).decodeToken(validToken);
-        verify(videoQueueService).sendVideoMessage(s3Key, s3Url, title, description, userInfo.username(), userInfo.email());
+        verify(videoQueueService).sendVideoMessage(s3Key, s3Url, title, description,
+                userInfo.username(), userInfo.email(), Map.of());
+        verify(metrics).record(eq(Stage.JWT), anyLong());
     }
 
     @Test
@@ -101,23 +133,24 @@ class VideoUploadControllerTest {
         String title = "Test Video";
 
         when(tokenService.decodeToken(validToken)).thenReturn(userInfo);
-        when(videoStorageService.uploadVideo(any(MultipartFile.class))).thenReturn(s3Key);
+        when(videoStorageService.uploadVideo(any(MultipartFile.class), any(ExpectedChecksums.class), any())).thenReturn(StoredVideo.of(s3Key));
         when(videoStorageService.getVideoUrl(s3Key)).thenReturn(s3Url);
 
         // Act
-        ResponseEntity<?> response = videoUploadController.uploadVideo(validToken, validFile, title, null);
+        ResponseEntity<?> response = videoUploadController.uploadVideo(validToken, validFile, title, null, null, null);
 
         // Assert
         assertEquals(HttpStatus.CREATED, response.getStatusCode());
 
-        verify(videoQueueService).sendVideoMessage(s3Key, s3Url, title, null, userInfo.username(), userInfo.email());
+        verify(videoQueueService).sendVideoMessage(s3Key, s3Url, title, null,
+                userInfo.username(), userInfo.email(), Map.of());
     }
 
     @Test
     @DisplayName("Erro 400: Arquivo vazio")
     void uploadVideo_EmptyFile_ReturnsBadRequest() throws IOException {
         // Act
-        ResponseEntity<?> response = videoUploadController.uploadVideo(validToken, emptyFile, "Title", null);
+        ResponseEntity<?> response = videoUploadController.uploadVideo(validToken, emptyFile, "Title", null, null, null);
 
         // Assert
         assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
@@ -133,24 +166,42 @@ class VideoUploadControllerTest {
     void uploadVideo_IOException_ReturnsInternalServerError() throws IOException {
         // Arrange
         when(tokenService.decodeToken(validToken)).thenReturn(userInfo);
-        when(videoStorageService.uploadVideo(any(MultipartFile.class))).thenThrow(new IOException("S3 falhou"));
+        when(videoStorageService.uploadVideo(any(MultipartFile.class), any(ExpectedChecksums.class), any())).thenThrow(new IOException("S3 falhou"));
 
         // Act
-        ResponseEntity<?> response = videoUploadController.uploadVideo(validToken, validFile, "Title", null);
+        ResponseEntity<?> response = videoUploadController.uploadVideo(validToken, validFile, "Title", null, null, null);
 
         // Assert
         assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, response.getStatusCode());
         
-        verify(videoStorageService).uploadVideo(validFile);
+        verify(videoStorageService).uploadVideo(eq(validFile), eq(ExpectedChecksums.NONE), eq("usuarioTeste"));
         // Garante que NÃO mandou para fila se o upload falhou
         verifyNoInteractions(videoQueueService);
     }
+
+    @Test
+    @DisplayName("Erro 503: Circuito do S3 aberto")
+    void uploadVideo_DependencyUnavailable_ReturnsServiceUnavailable() throws IOException {
+        // Arrange
+        when(tokenService.decodeToken(validToken)).thenReturn(userInfo);
+        when(videoStorageService.uploadVideo(any(MultipartFile.class), any(ExpectedChecksums.class), any()))
+                .thenThrow(new DependencyUnavailableException("s3", 7));
+
+        // Act
+        ResponseEntity<?> response = videoUploadController.uploadVideo(validToken, validFile, "Title", null, null, null);
+
+        // Assert
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, response.getStatusCode());
+        assertEquals("7", response.getHeaders().getFirst("Retry-After"));
+        assertEquals("close", response.getHeaders().getFirst("Connection"));
+        verifyNoInteractions(videoQueueService);
+    }
     
     @Test
     @DisplayName("Erro 400: Arquivo nulo")
     void uploadVideo_NullFile_ReturnsBadRequest() throws IOException {
         // Act
-        ResponseEntity<?> response = videoUploadController.uploadVideo(validToken, null, "Title", null);
+        ResponseEntity<?> response = videoUploadController.uploadVideo(validToken, null, "Title", null, null, null);
 
         // Assert
         assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
@@ -164,11 +215,343 @@ class VideoUploadControllerTest {
         when(tokenService.decodeToken(invalidToken)).thenThrow(new RuntimeException("Token expirado"));
 
         // Act
-        ResponseEntity<?> response = videoUploadController.uploadVideo(invalidToken, validFile, "Title", null);
+        ResponseEntity<?> response = videoUploadController.uploadVideo(invalidToken, validFile, "Title", null, null, null);
 
         // Assert
         assertEquals(HttpStatus.UNAUTHORIZED, response.getStatusCode());
         
         verifyNoInteractions(videoStorageService);
+        verify(metrics).error("internal");
+    }
+
+    @Test
+    @DisplayName("Sucesso: Upload via corpo bruto em streaming")
+    void uploadVideoStream_Success() throws IOException {
+        // Arrange
+        String s3Key = "videos/123.mp4";
+        String s3Url = "https://s3.aws/123.mp4";
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/videos/stream");
+        request.setContent("test video content".getBytes());
+
+        when(tokenService.decodeToken(validToken)).thenReturn(userInfo);
+        when(videoStorageService.uploadVideo(any(InputStream.class), eq("clip.mp4"), any(ExpectedChecksums.class), any())).thenReturn(StoredVideo.of(s3Key));
+        when(videoStorageService.getVideoUrl(s3Key)).thenReturn(s3Url);
+
+        // Act
+        ResponseEntity<?> response = videoUploadController.uploadVideoStream(validToken, "Title", null, "clip.mp4", null, null, request);
+
+        // Assert
+        assertEquals(HttpStatus.CREATED, response.getStatusCode());
+        verify(videoQueueService).sendVideoMessage(s3Key, s3Url, "Title", null,
+                userInfo.username(), userInfo.email(), Map.of());
+    }
+
+    @Test
+    @DisplayName("Sucesso: Upload repetido reaproveita a chave e marca a mensagem como deduplicada")
+    void uploadVideo_Deduplicated_FlagsMessageAndResponse() throws IOException {
+        // Arrange
+        Map<String, Object> attributes = Map.of("contentSha256", "ab12", "deduplicated", true);
+        when(tokenService.decodeToken(validToken)).thenReturn(userInfo);
+        when(videoStorageService.uploadVideo(any(MultipartFile.class), any(ExpectedChecksums.class), any()))
+                .thenReturn(new StoredVideo("videos/original.mp4", attributes));
+        when(videoStorageService.getVideoUrl("videos/original.mp4")).thenReturn("https://s3.aws/original.mp4");
+
+        // Act
+        ResponseEntity<?> response = videoUploadController.uploadVideo(validToken, validFile, "Title", null, null, null);
+
+        // Assert
+        assertEquals(HttpStatus.CREATED, response.getStatusCode());
+        assertEquals(true, ((Map<?, ?>) response.getBody()).get("deduplicated"));
+        assertEquals("videos/original.mp4", ((Map<?, ?>) response.getBody()).get("s3Key"));
+        verify(videoQueueService).sendVideoMessage("videos/original.mp4", "https://s3.aws/original.mp4", "Title", null,
+                userInfo.username(), userInfo.email(), attributes);
+    }
+
+    @Test
+    @DisplayName("Erro 401: Upload em streaming sem token")
+    void uploadVideoStream_MissingToken_ReturnsUnauthorized() {
+        // Arrange
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/videos/stream");
+        request.setContent("conteudo".getBytes());
+
+        // Act
+        ResponseEntity<?> response = videoUploadController.uploadVideoStream(null, "Title", null, "clip.mp4", null, null, request);
+
+        // Assert
+        assertEquals(HttpStatus.UNAUTHORIZED, response.getStatusCode());
+        verifyNoInteractions(videoStorageService);
+        verify(metrics).error("missing_token");
+    }
+
+    @Test
+    @DisplayName("Erro 400: Upload em streaming com corpo vazio")
+    void uploadVideoStream_EmptyBody_ReturnsBadRequest() {
+        // Arrange
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/videos/stream");
+        request.setContent(new byte[0]);
+
+        // Act
+        ResponseEntity<?> response = videoUploadController.uploadVideoStream(validToken, "Title", null, "clip.mp4", null, null, request);
+
+        // Assert
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        verifyNoInteractions(tokenService);
+    }
+
+    @Test
+    @DisplayName("Erro 500: Falha no S3 durante upload em streaming")
+    void uploadVideoStream_IOException_ReturnsInternalServerError() throws IOException {
+        // Arrange
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/videos/stream");
+        request.setContent("conteudo".getBytes());
+        when(tokenService.decodeToken(validToken)).thenReturn(userInfo);
+        when(videoStorageService.uploadVideo(any(InputStream.class), any(), any(ExpectedChecksums.class), any())).thenThrow(new IOException("S3 falhou"));
+
+        // Act
+        ResponseEntity<?> response = videoUploadController.uploadVideoStream(validToken, "Title", null, null, null, null, request);
+
+        // Assert
+        assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, response.getStatusCode());
+        verifyNoInteractions(videoQueueService);
+    }
+
+    @Test
+    @DisplayName("Erro 415: Conteúdo que não é vídeo")
+    void uploadVideoStream_NotAVideo_ReturnsUnsupportedMediaType() throws IOException {
+        // Arrange
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/videos/stream");
+        request.setContent("%PDF-1.7".getBytes());
+        when(tokenService.decodeToken(validToken)).thenReturn(userInfo);
+        when(videoStorageService.uploadVideo(any(InputStream.class), any(), any(ExpectedChecksums.class), any()))
+                .thenThrow(new UnsupportedVideoFormatException());
+
+        // Act
+        ResponseEntity<?> response = videoUploadController.uploadVideoStream(validToken, "Title", null, null, null, null, request);
+
+        // Assert
+        assertEquals(HttpStatus.UNSUPPORTED_MEDIA_TYPE, response.getStatusCode());
+        assertEquals("close", response.getHeaders().getFirst("Connection"));
+        verify(metrics).error("unsupported_format");
+        verifyNoInteractions(videoQueueService);
+    }
+
+    @Test
+    @DisplayName("Erro 400: Checksum do cliente diferente do conteúdo recebido")
+    void uploadVideoStream_ChecksumMismatch_ReturnsBadRequest() throws IOException {
+        // Arrange
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/videos/stream");
+        request.setContent("conteudo".getBytes());
+        when(tokenService.decodeToken(validToken)).thenReturn(userInfo);
+        when(videoStorageService.uploadVideo(any(InputStream.class), eq("clip.mp4"),
+                eq(new ExpectedChecksums("AAAAAA==", null)), any()))
+                .thenThrow(new ChecksumMismatchException("CRC32C", "AAAAAA==", "3cPzSA=="));
+
+        // Act
+        ResponseEntity<?> response = videoUploadController.uploadVideoStream(validToken, "Title", null, "clip.mp4",
+                "AAAAAA==", null, request);
+
+        // Assert
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        verify(metrics).error("checksum_mismatch");
+        verifyNoInteractions(videoQueueService);
+    }
+
+    @Test
+    @DisplayName("Erro 400: Header de checksum malformado é recusado antes de ler o corpo")
+    void uploadVideo_MalformedChecksumHeader_ReturnsBadRequest() {
+        // Act
+        ResponseEntity<?> response = videoUploadController.uploadVideo(validToken, validFile, "Title", null,
+                "nao-e-base64", null);
+
+        // Assert
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        verifyNoInteractions(videoStorageService);
+        verifyNoInteractions(uploadSpoolService);
+    }
+
+    @Test
+    @DisplayName("Erro 415: Conteúdo que não é vídeo no modo assíncrono")
+    void uploadVideo_AsyncModeNotAVideo_ReturnsUnsupportedMediaType() throws IOException {
+        // Arrange
+        when(tokenService.decodeToken(validToken)).thenReturn(userInfo);
+        when(uploadSpoolService.isEnabled()).thenReturn(true);
+        when(uploadSpoolService.spool(any(InputStream.class), any(), any(), any(), any(), any(ExpectedChecksums.class)))
+                .thenThrow(new UnsupportedVideoFormatException());
+
+        // Act
+        ResponseEntity<?> response = videoUploadController.uploadVideo(validToken, validFile, "Title", null, null, null);
+
+        // Assert
+        assertEquals(HttpStatus.UNSUPPORTED_MEDIA_TYPE, response.getStatusCode());
+        verifyNoInteractions(videoStorageService);
+    }
+
+    @Test
+    @DisplayName("Sucesso 202: Modo assíncrono grava no spool e não espera S3/SQS")
+    void uploadVideo_AsyncMode_ReturnsAccepted() throws IOException {
+        // Arrange
+        when(tokenService.decodeToken(validToken)).thenReturn(userInfo);
+        when(uploadSpoolService.isEnabled()).thenReturn(true);
+        when(uploadSpoolService.spool(any(InputStream.class), eq("test-video.mp4"), eq("Title"), isNull(), eq(userInfo), any(ExpectedChecksums.class)))
+                .thenReturn("up-1");
+
+        // Act
+        ResponseEntity<?> response = videoUploadController.uploadVideo(validToken, validFile, "Title", null, null, null);
+
+        // Assert
+        assertEquals(HttpStatus.ACCEPTED, response.getStatusCode());
+        assertEquals("/videos/status/up-1", response.getHeaders().getFirst("Location"));
+        assertEquals("up-1", ((Map<?, ?>) response.getBody()).get("uploadId"));
+        verifyNoInteractions(videoStorageService);
+        verifyNoInteractions(videoQueueService);
+    }
+
+    @Test
+    @DisplayName("Sucesso 202: Modo assíncrono no upload em streaming")
+    void uploadVideoStream_AsyncMode_ReturnsAccepted() throws IOException {
+        // Arrange
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/videos/stream");
+        request.setContent("conteudo".getBytes());
+        when(tokenService.decodeToken(validToken)).thenReturn(userInfo);
+        when(uploadSpoolService.isEnabled()).thenReturn(true);
+        when(uploadSpoolService.spool(any(InputStream.class), eq("clip.mp4"), eq("Title"), isNull(), eq(userInfo), any(ExpectedChecksums.class)))
+                .thenReturn("up-2");
+
+        // Act
+        ResponseEntity<?> response = videoUploadController.uploadVideoStream(validToken, "Title", null, "clip.mp4", null, null, request);
+
+        // Assert
+        assertEquals(HttpStatus.ACCEPTED, response.getStatusCode());
+        verifyNoInteractions(videoStorageService);
+    }
+
+    @Test
+    @DisplayName("Erro 413: Corpo chunked acima do limite do usuário é recusado durante a leitura")
+    void uploadVideoStream_ChunkedOverLimit_ReturnsContentTooLarge() throws IOException {
+        // Arrange
+        MockHttpServletRequest request = chunked("conteudo de video".getBytes());
+        when(tokenService.decodeToken(validToken)).thenReturn(userInfo);
+        doReturn(8L).when(limits).maxBytes(userInfo);
+        when(videoStorageService.uploadVideo(any(InputStream.class), any(), any(ExpectedChecksums.class), any()))
+                .thenAnswer(invocation -> {
+                    try {
+                        invocation.getArgument(0, InputStream.class).transferTo(OutputStream.nullOutputStream());
+                    } catch (IOException e) {
+                        // como o backend assíncrono, que embrulha a falha de leitura
+                        throw new IOException("Falha ao enviar ao S3", e);
+                    }
+                    return StoredVideo.of("videos/nao-deveria.mp4");
+                });
+
+        // Act
+        ResponseEntity<?> response = videoUploadController.uploadVideoStream(validToken, "Title", null, null, null, null, request);
+
+        // Assert
+        assertEquals(HttpStatus.CONTENT_TOO_LARGE, response.getStatusCode());
+        assertEquals("Arquivo excede o limite de 8 bytes", response.getBody());
+        assertEquals("close", response.getHeaders().getFirst("Connection"));
+        verify(metrics).error("bad_request");
+        verifyNoInteractions(videoQueueService);
+    }
+
+    @Test
+    @DisplayName("Erro 413: Corpo chunked acima do limite também é recusado no modo assíncrono")
+    void uploadVideoStream_ChunkedOverLimitAsync_ReturnsContentTooLarge() throws IOException {
+        // Arrange
+        MockHttpServletRequest request = chunked("conteudo de video".getBytes());
+        when(tokenService.decodeToken(validToken)).thenReturn(userInfo);
+        doReturn(8L).when(limits).maxBytes(userInfo);
+        when(uploadSpoolService.isEnabled()).thenReturn(true);
+        when(uploadSpoolService.spool(any(InputStream.class), any(), any(), any(), any(), any()))
+                .thenAnswer(invocation -> {
+                    invocation.getArgument(0, InputStream.class).transferTo(OutputStream.nullOutputStream());
+                    return "up-3";
+                });
+
+        // Act
+        ResponseEntity<?> response = videoUploadController.uploadVideoStream(validToken, "Title", null, null, null, null, request);
+
+        // Assert
+        assertEquals(HttpStatus.CONTENT_TOO_LARGE, response.getStatusCode());
+    }
+
+    @Test
+    @DisplayName("Sucesso: Corpo chunked dentro do limite do usuário")
+    void uploadVideoStream_ChunkedWithinLimit_Uploads() throws IOException {
+        // Arrange
+        MockHttpServletRequest request = chunked("conteudo".getBytes());
+        when(tokenService.decodeToken(validToken)).thenReturn(userInfo);
+        doReturn(8L).when(limits).maxBytes(userInfo);
+        when(videoStorageService.uploadVideo(any(InputStream.class), any(), any(ExpectedChecksums.class), any()))
+                .thenAnswer(invocation -> {
+                    invocation.getArgument(0, InputStream.class).transferTo(OutputStream.nullOutputStream());
+                    return StoredVideo.of("videos/ok.mp4");
+                });
+
+        // Act
+        ResponseEntity<?> response = videoUploadController.uploadVideoStream(validToken, "Title", null, null, null, null, request);
+
+        // Assert
+        assertEquals(HttpStatus.CREATED, response.getStatusCode());
+    }
+
+    @Test
+    @DisplayName("Status: Retorna o estado do upload do próprio usuário")
+    void uploadStatus_OwnUpload_ReturnsState() {
+        // Arrange
+        SpooledUpload upload = new SpooledUpload("up-1", "v.mp4", "Title", null, userInfo.username(), userInfo.email(),
+                SpooledUpload.State.RETRYING, 2, null, null, "S3 falhou", "t0", "t1", null);
+        when(tokenService.decodeToken(validToken)).thenReturn(userInfo);
+        when(uploadSpoolService.status("up-1")).thenReturn(Optional.of(upload));
+
+        // Act
+        ResponseEntity<?> response = videoUploadController.uploadStatus(validToken, "up-1");
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        Map<?, ?> body = (Map<?, ?>) response.getBody();
+        assertEquals(SpooledUpload.State.RETRYING, body.get("state"));
+        assertEquals(2, body.get("attempts"));
+    }
+
+    @Test
+    @DisplayName("Status: Upload inexistente ou de outro usuário retorna 404")
+    void uploadStatus_UnknownOrOtherUser_ReturnsNotFound() {
+        // Arrange
+        SpooledUpload other = new SpooledUpload("up-2", "v.mp4", "Title", null, "outro", "o@teste.com",
+                SpooledUpload.State.COMPLETED, 1, "k", "u", null, "t0", "t1", null);
+        when(tokenService.decodeToken(validToken)).thenReturn(userInfo);
+        when(uploadSpoolService.status("up-1")).thenReturn(Optional.empty());
+        when(uploadSpoolService.status("up-2")).thenReturn(Optional.of(other));
+
+        // Act & Assert
+        assertEquals(HttpStatus.NOT_FOUND, videoUploadController.uploadStatus(validToken, "up-1").getStatusCode());
+        assertEquals(HttpStatus.NOT_FOUND, videoUploadController.uploadStatus(validToken, "up-2").getStatusCode());
+    }
+
+    @Test
+    @DisplayName("Status: Sem token ou token inválido retorna 401")
+    void uploadStatus_InvalidToken_ReturnsUnauthorized() {
+        // Arrange
+        when(tokenService.decodeToken("Bearer invalido")).thenThrow(new RuntimeException("Token expirado"));
+
+        // Act & Assert
+        assertEquals(HttpStatus.UNAUTHORIZED, videoUploadController.uploadStatus(null, "up-1").getStatusCode());
+        assertEquals(HttpStatus.UNAUTHORIZED, videoUploadController.uploadStatus("Bearer invalido", "up-1").getStatusCode());
+        verifyNoInteractions(uploadSpoolService);
+    }
+
+    /**
+     * Requisição sem {@code Content-Length}, como chega um corpo {@code Transfer-Encoding: chunked}.
+     */
+    private static MockHttpServletRequest chunked(byte[] content) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/videos/stream") {
+            @Override
+            public long getContentLengthLong() {
+                return -1;
+            }
+        };
+        request.setContent(content);
+        return request;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,255 @@
+package com.videoUploaderService.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import reactor.core.publisher.Flux;
+import software.amazon.awssdk.core.async.AsyncRequestBody;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
+import software.amazon.awssdk.services.s3.S3Utilities;
+import software.amazon.awssdk.services.s3.model.DeleteObjectResponse;
+import software.amazon.awssdk.services.s3.model.ChecksumAlgorithm;
+import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+import software.amazon.awssdk.services.s3.model.PutObjectResponse;
+import software.amazon.awssdk.services.s3.model.S3Exception;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AsyncS3VideoStoreTest {
+
+    private static final String BUCKET = "test-bucket";
+    private static final String KEY = "videos/1-abc.mp4";
+
+    @Mock
+    private S3AsyncClient s3AsyncClient;
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final ByteArrayOutputStream received = new ByteArrayOutputStream();
+    private AsyncS3VideoStore store;
+
+    @BeforeEach
+    void setUp() {
+        store = new AsyncS3VideoStore(s3AsyncClient, BUCKET, new UploadMetrics(registry));
+    }
+
+    @Test
+    @DisplayName("Deve entregar o stream ao cliente assíncrono com bucket, chave e tamanho")
+    void put_KnownSize_StreamsBodyToClient() throws Exception {
+        // Arrange
+        byte[] content = "conteudo do video".getBytes();
+        ArgumentCaptor<PutObjectRequest> requestCaptor = ArgumentCaptor.forClass(PutObjectRequest.class);
+        when(s3AsyncClient.putObject(requestCaptor.capture(), any(AsyncRequestBody.class)))
+                .thenAnswer(invocation -> drain(invocation.getArgument(1), null));
+
+        // Act
+        store.put(KEY, new ByteArrayInputStream(content), content.length).get(5, TimeUnit.SECONDS);
+
+        // Assert
+        assertEquals(BUCKET, requestCaptor.getValue().bucket());
+        assertEquals(KEY, requestCaptor.getValue().key());
+        assertEquals(content.length, requestCaptor.getValue().contentLength());
+        assertEquals(ChecksumAlgorithm.CRC32_C, requestCaptor.getValue().checksumAlgorithm());
+        assertArrayEquals(content, received.toByteArray());
+        assertEquals(1, registry.get("video.upload.stage").tag("stage", "s3").timer().count());
+    }
+
+    @Test
+    @DisplayName("Tamanho desconhecido deve ser enviado sem Content-Length")
+    void put_UnknownSize_OmitsContentLength() throws Exception {
+        // Arrange
+        byte[] content = new byte[64 * 1024];
+        ArgumentCaptor<PutObjectRequest> requestCaptor = ArgumentCaptor.forClass(PutObjectRequest.class);
+        when(s3AsyncClient.putObject(requestCaptor.capture(), any(AsyncRequestBody.class)))
+                .thenAnswer(invocation -> drain(invocation.getArgument(1), null));
+
+        // Act
+        store.put(KEY, new ByteArrayInputStream(content), -1).get(5, TimeUnit.SECONDS);
+
+        // Assert
+        assertNull(requestCaptor.getValue().contentLength());
+        assertEquals(content.length, received.size());
+    }
+
+    @Test
+    @DisplayName("Publisher de buffers deve ser enviado sem Content-Length e sem cópia")
+    void put_Publisher_StreamsBuffersToClient() throws Exception {
+        // Arrange
+        byte[] first = "conteudo ".getBytes();
+        byte[] second = "do video".getBytes();
+        ArgumentCaptor<PutObjectRequest> requestCaptor = ArgumentCaptor.forClass(PutObjectRequest.class);
+        when(s3AsyncClient.putObject(requestCaptor.capture(), any(AsyncRequestBody.class)))
+                .thenAnswer(invocation -> drain(invocation.getArgument(1), null));
+
+        // Act
+        store.put(KEY, Flux.just(ByteBuffer.wrap(first), ByteBuffer.wrap(second))).get(5, TimeUnit.SECONDS);
+
+        // Assert
+        assertNull(requestCaptor.getValue().contentLength());
+        assertEquals(ChecksumAlgorithm.CRC32_C, requestCaptor.getValue().checksumAlgorithm());
+        assertEquals("conteudo do video", received.toString());
+    }
+
+    @Test
+    @DisplayName("Erro do publisher deve falhar o envio com a causa original")
+    void put_PublisherError_FailsWithCause() {
+        // Arrange
+        IOException rejected = new UnsupportedVideoFormatException();
+        when(s3AsyncClient.putObject(any(PutObjectRequest.class), any(AsyncRequestBody.class)))
+                .thenAnswer(invocation -> drain(invocation.getArgument(1), null));
+
+        // Act
+        CompletableFuture<Void> upload = store.put(KEY, Flux.error(rejected));
+
+        // Assert
+        ExecutionException exception = assertThrows(ExecutionException.class, () -> upload.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(IOException.class, exception.getCause());
+        assertTrue(causes(exception).contains(rejected));
+    }
+
+    @Test
+    @DisplayName("Erro do S3 deve completar o futuro com IOException")
+    void put_S3Error_FailsWithIOException() {
+        // Arrange
+        S3Exception error = (S3Exception) S3Exception.builder().message("Access Denied").statusCode(403).build();
+        when(s3AsyncClient.putObject(any(PutObjectRequest.class), any(AsyncRequestBody.class)))
+                .thenAnswer(invocation -> drain(invocation.getArgument(1), error));
+
+        // Act
+        CompletableFuture<Void> upload = store.put(KEY, new ByteArrayInputStream(new byte[10]), 10);
+
+        // Assert
+        ExecutionException exception = assertThrows(ExecutionException.class, () -> upload.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(IOException.class, exception.getCause());
+        assertSame(error, exception.getCause().getCause());
+        assertEquals("s3", UploadMetrics.cause(exception.getCause()));
+    }
+
+    @Test
+    @DisplayName("Falha ao ler o stream de origem deve cancelar o envio")
+    void put_SourceReadFails_CancelsUpload() {
+        // Arrange
+        CompletableFuture<PutObjectResponse> response = new CompletableFuture<>();
+        when(s3AsyncClient.putObject(any(PutObjectRequest.class), any(AsyncRequestBody.class)))
+                .thenAnswer(invocation -> {
+                    drain(invocation.getArgument(1), null);
+                    return response;
+                });
+        InputStream broken = new InputStream() {
+            @Override
+            public int read() throws IOException {
+                throw new IOException("cliente desconectou");
+            }
+
+            @Override
+            public int read(byte[] buffer, int offset, int length) throws IOException {
+                throw new IOException("cliente desconectou");
+            }
+        };
+
+        // Act
+        CompletableFuture<Void> upload = store.put(KEY, broken, 100);
+
+        // Assert
+        ExecutionException exception = assertThrows(ExecutionException.class, () -> upload.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(IOException.class, exception.getCause());
+    }
+
+    @Test
+    @DisplayName("Remoção deve completar o futuro com IOException quando o S3 falha")
+    @SuppressWarnings("unchecked")
+    void delete_S3Error_FailsWithIOException() throws Exception {
+        // Arrange
+        S3Exception error = (S3Exception) S3Exception.builder().message("Access Denied").statusCode(403).build();
+        when(s3AsyncClient.deleteObject(any(Consumer.class)))
+                .thenReturn(CompletableFuture.completedFuture(DeleteObjectResponse.builder().build()))
+                .thenReturn(CompletableFuture.failedFuture(error));
+
+        // Act
+        store.delete(KEY).get(5, TimeUnit.SECONDS);
+        CompletableFuture<Void> failed = store.delete(KEY);
+
+        // Assert
+        ExecutionException exception = assertThrows(ExecutionException.class, () -> failed.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(IOException.class, exception.getCause());
+        assertSame(error, exception.getCause().getCause());
+    }
+
+    @Test
+    @DisplayName("URL do objeto deve vir dos utilitários do cliente")
+    void url_UsesClientUtilities() {
+        // Arrange
+        when(s3AsyncClient.utilities()).thenReturn(S3Utilities.builder().region(Region.US_EAST_1).build());
+
+        // Act
+        String url = store.url(KEY);
+
+        // Assert
+        assertEquals("https://test-bucket.s3.amazonaws.com/videos/1-abc.mp4", url);
+    }
+
+    /**
+     * Assina o corpo como o cliente HTTP faria e responde quando ele termina.
+     */
+    private CompletableFuture<PutObjectResponse> drain(AsyncRequestBody body, RuntimeException error) {
+        CompletableFuture<PutObjectResponse> response = new CompletableFuture<>();
+        body.subscribe(new Subscriber<ByteBuffer>() {
+            @Override
+            public void onSubscribe(Subscription subscription) {
+                subscription.request(Long.MAX_VALUE);
+            }
+
+            @Override
+            public void onNext(ByteBuffer buffer) {
+                byte[] bytes = new byte[buffer.remaining()];
+                buffer.get(bytes);
+                received.write(bytes, 0, bytes.length);
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                response.completeExceptionally(t);
+            }
+
+            @Override
+            public void onComplete() {
+                if (error != null) {
+                    response.completeExceptionally(error);
+                } else {
+                    response.complete(PutObjectResponse.builder().eTag("etag").build());
+                }
+            }
+        });
+        return response;
+    }
+
+    private static List<Throwable> causes(Throwable error) {
+        List<Throwable> causes = new ArrayList<>();
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            causes.add(cause);
+        }
+        return causes;
+    }
+}
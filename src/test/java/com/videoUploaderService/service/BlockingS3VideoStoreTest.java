@@ -0,0 +1,99 @@
+package com.videoUploaderService.service;
+
+import com.amazonaws.AmazonServiceException;
+import com.amazonaws.services.s3.AmazonS3;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BlockingS3VideoStoreTest {
+
+    private static final String BUCKET = "test-bucket";
+    private static final String KEY = "videos/1-abc.mp4";
+
+    @Mock
+    private AmazonS3 amazonS3;
+
+    @Mock
+    private S3MultipartUploader multipartUploader;
+
+    private BlockingS3VideoStore store;
+
+    @BeforeEach
+    void setUp() {
+        store = new BlockingS3VideoStore(amazonS3, multipartUploader, BUCKET);
+    }
+
+    @Test
+    @DisplayName("Deve enviar pelo uploader multipart e devolver o futuro já concluído")
+    void put_DelegatesToUploader() throws IOException {
+        // Arrange
+        InputStream in = new ByteArrayInputStream("conteudo".getBytes());
+
+        // Act
+        CompletableFuture<Void> upload = store.put(KEY, in, 8);
+
+        // Assert
+        assertTrue(upload.isDone());
+        assertFalse(upload.isCompletedExceptionally());
+        verify(multipartUploader).upload(BUCKET, KEY, in);
+    }
+
+    @Test
+    @DisplayName("Falha do uploader deve virar um futuro com a IOException original")
+    void put_UploaderFails_ReturnsFailedFuture() throws IOException {
+        // Arrange
+        IOException failure = new IOException("S3 fora do ar");
+        doThrow(failure).when(multipartUploader).upload(eq(BUCKET), eq(KEY), any());
+
+        // Act
+        CompletableFuture<Void> upload = store.put(KEY, new ByteArrayInputStream(new byte[1]), 1);
+
+        // Assert
+        ExecutionException exception = assertThrows(ExecutionException.class, upload::get);
+        assertSame(failure, exception.getCause());
+    }
+
+    @Test
+    @DisplayName("Remoção deve usar o cliente v1 e converter falhas em IOException")
+    void delete_UsesAmazonS3() throws Exception {
+        // Arrange
+        doNothing().doThrow(new AmazonServiceException("Access Denied")).when(amazonS3).deleteObject(BUCKET, KEY);
+
+        // Act
+        store.delete(KEY).get();
+        CompletableFuture<Void> failed = store.delete(KEY);
+
+        // Assert
+        verify(amazonS3, times(2)).deleteObject(BUCKET, KEY);
+        ExecutionException exception = assertThrows(ExecutionException.class, failed::get);
+        assertInstanceOf(IOException.class, exception.getCause());
+    }
+
+    @Test
+    @DisplayName("URL do objeto deve vir do cliente v1")
+    void url_UsesAmazonS3() throws MalformedURLException {
+        // Arrange
+        when(amazonS3.getUrl(BUCKET, KEY)).thenReturn(new URL("https://test-bucket.s3.amazonaws.com/" + KEY));
+
+        // Act & Assert
+        assertEquals("https://test-bucket.s3.amazonaws.com/" + KEY, store.url(KEY));
+    }
+}
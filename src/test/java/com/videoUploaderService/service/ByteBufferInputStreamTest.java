@@ -0,0 +1,38 @@
+package com.videoUploaderService.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ByteBufferInputStreamTest {
+
+    @Test
+    void read_ReturnsBufferContentWithoutConsumingOriginal() {
+        ByteBuffer buffer = ByteBuffer.wrap(new byte[]{1, 2, (byte) 200});
+        ByteBufferInputStream in = new ByteBufferInputStream(buffer);
+
+        assertEquals(3, in.available());
+        assertEquals(1, in.read());
+        byte[] rest = new byte[4];
+        assertEquals(2, in.read(rest, 0, 4));
+        assertEquals(200, rest[1] & 0xFF);
+        assertEquals(-1, in.read());
+        assertEquals(-1, in.read(rest, 0, 4));
+        assertEquals(0, buffer.position());
+    }
+
+    @Test
+    void markAndReset_AllowReplay() {
+        ByteBufferInputStream in = new ByteBufferInputStream(ByteBuffer.wrap(new byte[]{1, 2, 3, 4}));
+
+        assertTrue(in.markSupported());
+        assertEquals(2, in.skip(2));
+        in.mark(0);
+        assertEquals(3, in.read());
+        in.reset();
+        assertEquals(3, in.read());
+        assertEquals(0, in.read(new byte[1], 0, 0));
+    }
+}
@@ -0,0 +1,86 @@
+package com.videoUploaderService.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ByteBufferPoolTest {
+
+    @Test
+    @DisplayName("Deve entregar buffers diretos limpos do tamanho configurado")
+    void acquire_ReturnsDirectBufferOfConfiguredSize() throws IOException {
+        ByteBufferPool pool = new ByteBufferPool(1024, 2);
+
+        ByteBuffer buffer = pool.acquire();
+
+        assertTrue(buffer.isDirect());
+        assertEquals(1024, buffer.capacity());
+        assertEquals(0, buffer.position());
+        assertEquals(1, pool.available());
+    }
+
+    @Test
+    @DisplayName("Buffers devolvidos devem ser reutilizados e chegar limpos")
+    void release_BufferIsReusedAndCleared() throws IOException {
+        ByteBufferPool pool = new ByteBufferPool(16, 1);
+        ByteBuffer buffer = pool.acquire();
+        buffer.put((byte) 1).flip();
+
+        pool.release(buffer);
+        ByteBuffer again = pool.acquire();
+
+        assertSame(buffer, again);
+        assertEquals(0, again.position());
+        assertEquals(16, again.limit());
+    }
+
+    @Test
+    @DisplayName("Pool esgotado deve bloquear até um buffer ser devolvido")
+    void acquire_BlocksWhenExhausted() throws Exception {
+        ByteBufferPool pool = new ByteBufferPool(16, 1);
+        ByteBuffer held = pool.acquire();
+
+        CompletableFuture<ByteBuffer> waiting = CompletableFuture.supplyAsync(() -> {
+            try {
+                return pool.acquire();
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+
+        Thread.sleep(100);
+        assertFalse(waiting.isDone());
+
+        pool.release(held);
+        assertSame(held, waiting.get(1, TimeUnit.SECONDS));
+    }
+
+    @Test
+    @DisplayName("Interrupção enquanto espera deve virar InterruptedIOException")
+    void acquire_Interrupted_ThrowsInterruptedIOException() throws IOException {
+        ByteBufferPool pool = new ByteBufferPool(16, 1);
+        pool.acquire();
+
+        Thread.currentThread().interrupt();
+        try {
+            assertThrows(InterruptedIOException.class, pool::acquire);
+            assertTrue(Thread.currentThread().isInterrupted());
+        } finally {
+            Thread.interrupted();
+        }
+    }
+
+    @Test
+    @DisplayName("Tamanho ou capacidade inválidos devem ser rejeitados")
+    void constructor_InvalidArguments_Throws() {
+        assertThrows(IllegalArgumentException.class, () -> new ByteBufferPool(0, 1));
+        assertThrows(IllegalArgumentException.class, () -> new ByteBufferPool(16, 0));
+    }
+}
@@ -0,0 +1,133 @@
+package com.videoUploaderService.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ChecksumInputStreamTest {
+
+    // valores de referência para "123456789" (RFC 3720, apêndice B.4) e para "abc" (FIPS 180-2)
+    private static final byte[] CHECK = "123456789".getBytes(StandardCharsets.US_ASCII);
+    private static final String CHECK_CRC32C = "4waSgw==";
+    private static final byte[] ABC = "abc".getBytes(StandardCharsets.US_ASCII);
+    private static final String ABC_SHA256 = "ungWv48Bz+pBQUDeXa4iI7ADYaOWF3qctBD/YfIAFa0=";
+
+    @Test
+    @DisplayName("CRC32C deve ser calculado na leitura e exposto em Base64")
+    void read_ComputesCrc32c() throws IOException {
+        // Arrange
+        ChecksumInputStream in = new ChecksumInputStream(new ByteArrayInputStream(CHECK), ExpectedChecksums.NONE, false);
+
+        // Act
+        assertArrayEquals(CHECK, in.readAllBytes());
+
+        // Assert
+        assertEquals(Map.of(ContentChecksums.CHECKSUM_CRC32C, CHECK_CRC32C), in.attributes());
+        assertNull(in.sha256Hex());
+    }
+
+    @Test
+    @DisplayName("SHA-256 deve sair da mesma leitura quando pedido")
+    void read_Sha256Enabled_ComputesBoth() throws IOException {
+        // Arrange
+        ChecksumInputStream in = new ChecksumInputStream(new ByteArrayInputStream(ABC), ExpectedChecksums.NONE, true);
+
+        // Act: byte a byte, pelo outro caminho de leitura
+        while (in.read() >= 0) {
+            // consome
+        }
+
+        // Assert
+        assertEquals(ABC_SHA256, in.attributes().get(ContentChecksums.CHECKSUM_SHA256));
+        assertEquals("ba7816bf8f01cfea414140de5dae2223b00361a396177a9cb410ff61f20015ad", in.sha256Hex());
+    }
+
+    @Test
+    @DisplayName("Checksums do cliente que conferem não devem interromper a leitura")
+    void read_MatchingExpected_Succeeds() throws IOException {
+        // Arrange
+        ChecksumInputStream in = new ChecksumInputStream(new ByteArrayInputStream(ABC),
+                new ExpectedChecksums(null, ABC_SHA256), false);
+
+        // Act & Assert
+        assertArrayEquals(ABC, in.readAllBytes());
+        in.finish();
+    }
+
+    @Test
+    @DisplayName("CRC32C divergente deve falhar ao chegar no fim do stream")
+    void read_Crc32cMismatch_FailsAtEndOfStream() {
+        // Arrange
+        ChecksumInputStream in = new ChecksumInputStream(new ByteArrayInputStream(CHECK),
+                new ExpectedChecksums("AAAAAA==", null), false);
+
+        // Act
+        ChecksumMismatchException e = assertThrows(ChecksumMismatchException.class, in::readAllBytes);
+
+        // Assert
+        assertTrue(e.getMessage().contains(CHECK_CRC32C));
+        assertThrows(ChecksumMismatchException.class, in::finish);
+    }
+
+    @Test
+    @DisplayName("Skip deve passar pelos checksums")
+    void skip_ReadsThroughChecksums() throws IOException {
+        // Arrange
+        ChecksumInputStream in = new ChecksumInputStream(new ByteArrayInputStream(CHECK), ExpectedChecksums.NONE, false);
+
+        // Act
+        assertEquals(CHECK.length, in.skip(100));
+        assertEquals(-1, in.read());
+
+        // Assert
+        assertEquals(CHECK_CRC32C, in.attributes().get(ContentChecksums.CHECKSUM_CRC32C));
+        assertFalse(in.markSupported());
+    }
+
+    @Test
+    @DisplayName("Cabeçalhos devem ser Base64 do tamanho do algoritmo")
+    void fromHeaders_ValidatesFormat() {
+        assertEquals(new ExpectedChecksums(CHECK_CRC32C, null), ExpectedChecksums.fromHeaders(" " + CHECK_CRC32C, ""));
+        assertEquals(new ExpectedChecksums(null, ABC_SHA256), ExpectedChecksums.fromHeaders(null, ABC_SHA256));
+        assertTrue(ExpectedChecksums.fromHeaders(null, null).isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> ExpectedChecksums.fromHeaders("nao-e-base64", null));
+        assertThrows(IllegalArgumentException.class, () -> ExpectedChecksums.fromHeaders(null, CHECK_CRC32C));
+    }
+
+    @Test
+    @DisplayName("Cópia de InputStream comum deve ver o fim e conferir os checksums")
+    void transferTo_VerifiesAtEnd() {
+        // Arrange
+        InputStream in = new ChecksumInputStream(new ByteArrayInputStream(ABC),
+                new ExpectedChecksums(null, "AAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAA="), false);
+
+        // Act & Assert
+        assertThrows(ChecksumMismatchException.class, () -> in.transferTo(OutputStream.nullOutputStream()));
+    }
+
+    @Test
+    @DisplayName("Buffers diretos devem ser somados sem alterar a posição")
+    void contentChecksums_ByteBuffers() throws ChecksumMismatchException {
+        // Arrange
+        ContentChecksums checksums = new ContentChecksums(new ExpectedChecksums(CHECK_CRC32C, null), false);
+        ByteBuffer direct = ByteBuffer.allocateDirect(CHECK.length - 4).put(CHECK, 4, CHECK.length - 4).flip();
+
+        // Act
+        checksums.update(ByteBuffer.wrap(CHECK, 0, 4));
+        checksums.update(direct);
+        checksums.finish();
+
+        // Assert
+        assertEquals(CHECK.length - 4, direct.remaining());
+        assertEquals(Map.of(ContentChecksums.CHECKSUM_CRC32C, CHECK_CRC32C), checksums.attributes());
+    }
+}
@@ -0,0 +1,104 @@
+package com.videoUploaderService.service;
+
+import com.videoUploaderService.service.CircuitBreaker.State;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CircuitBreakerTest {
+
+    private static final long OPEN_NANOS = 1_000;
+
+    // janela de 10, abre com 50% de falhas a partir de 4 chamadas, 2 chamadas de teste
+    private final CircuitBreaker breaker = new CircuitBreaker(0.5, 10, 4, OPEN_NANOS, 2);
+
+    private void calls(int successes, int failures, long now) {
+        for (int i = 0; i < successes; i++) {
+            assertTrue(breaker.tryAcquire(now));
+            breaker.onSuccess(now);
+        }
+        for (int i = 0; i < failures; i++) {
+            assertTrue(breaker.tryAcquire(now));
+            breaker.onFailure(now);
+        }
+    }
+
+    @Test
+    @DisplayName("Deve abrir só com o mínimo de chamadas e a taxa de falhas atingida")
+    void opensAtThresholdAfterMinimumCalls() {
+        // Act & Assert
+        calls(0, 1, 0);
+        calls(2, 0, 0);
+        assertEquals(State.CLOSED, breaker.state());
+
+        calls(0, 1, 10);
+        assertEquals(State.OPEN, breaker.state());
+        assertFalse(breaker.tryAcquire(10 + OPEN_NANOS - 1));
+        assertEquals(OPEN_NANOS - 1, breaker.remainingOpenNanos(11));
+    }
+
+    @Test
+    @DisplayName("Só as últimas chamadas da janela devem contar para a taxa de falhas")
+    void slidingWindow_CountsOnlyRecentCalls() {
+        // Arrange: janela de 4, abre com 75% de falhas
+        CircuitBreaker small = new CircuitBreaker(0.75, 4, 4, OPEN_NANOS, 1);
+        for (int i = 0; i < 8; i++) {
+            small.tryAcquire(0);
+            small.onSuccess(0);
+        }
+
+        // Act: 3 falhas seguidas, 3 de 11 no total mas 3 das últimas 4
+        for (int i = 0; i < 3; i++) {
+            small.tryAcquire(0);
+            small.onFailure(0);
+        }
+
+        // Assert
+        assertEquals(State.OPEN, small.state());
+    }
+
+    @Test
+    @DisplayName("Meio aberto deve limitar as chamadas de teste e fechar quando todas derem certo")
+    void halfOpen_LimitsProbesAndCloses() {
+        // Arrange
+        calls(0, 4, 0);
+        long later = OPEN_NANOS;
+
+        // Act & Assert
+        assertTrue(breaker.tryAcquire(later));
+        assertEquals(State.HALF_OPEN, breaker.state());
+        assertTrue(breaker.tryAcquire(later));
+        assertFalse(breaker.tryAcquire(later));
+
+        breaker.onSuccess(later);
+        breaker.onSuccess(later);
+        assertEquals(State.CLOSED, breaker.state());
+        assertEquals(0, breaker.remainingOpenNanos(later));
+    }
+
+    @Test
+    @DisplayName("Falha de uma chamada de teste deve reabrir o circuito; resultado ignorado devolve a vaga")
+    void halfOpen_FailureReopensAndIgnoredReleases() {
+        // Arrange
+        calls(0, 4, 0);
+        assertTrue(breaker.tryAcquire(OPEN_NANOS));
+        assertTrue(breaker.tryAcquire(OPEN_NANOS));
+
+        // Act & Assert
+        breaker.onIgnored();
+        assertTrue(breaker.tryAcquire(OPEN_NANOS));
+
+        breaker.onFailure(OPEN_NANOS);
+        assertEquals(State.OPEN, breaker.state());
+        assertFalse(breaker.tryAcquire(OPEN_NANOS + 1));
+    }
+
+    @Test
+    @DisplayName("Configuração inválida deve ser recusada")
+    void invalidSettings_Throw() {
+        assertThrows(IllegalArgumentException.class, () -> new CircuitBreaker(0, 10, 4, 1, 1));
+        assertThrows(IllegalArgumentException.class, () -> new CircuitBreaker(1.5, 10, 4, 1, 1));
+        assertThrows(IllegalArgumentException.class, () -> new CircuitBreaker(0.5, 10, 11, 1, 1));
+    }
+}
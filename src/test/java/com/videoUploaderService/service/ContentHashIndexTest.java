@@ -0,0 +1,145 @@
+package com.videoUploaderService.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ContentHashIndexTest {
+
+    private static final String HASH = sha256("conteudo do video");
+    private static final String OWNER = "alice";
+
+    @TempDir
+    Path dir;
+
+    private ContentHashIndex index() {
+        return new ContentHashIndex(true, dir.toString(), 10);
+    }
+
+    @Test
+    @DisplayName("Hash desconhecido não deve ser encontrado")
+    void find_UnknownHash_ReturnsEmpty() throws IOException {
+        assertTrue(index().find(OWNER, HASH).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Primeira chave registrada para o hash deve prevalecer")
+    void putIfAbsent_KeepsFirstKey() throws IOException {
+        // Arrange
+        ContentHashIndex index = index();
+
+        // Act
+        String first = index.putIfAbsent(OWNER, HASH, "videos/1.mp4");
+        String second = index.putIfAbsent(OWNER, HASH, "videos/2.mp4");
+
+        // Assert
+        assertEquals("videos/1.mp4", first);
+        assertEquals("videos/1.mp4", second);
+        assertEquals("videos/1.mp4", index.find(OWNER, HASH).orElseThrow());
+    }
+
+    @Test
+    @DisplayName("Índice deve ser persistido em disco e lido por outra instância")
+    void putIfAbsent_PersistsAcrossInstances() throws IOException {
+        // Arrange
+        index().putIfAbsent(OWNER, HASH, "videos/1.mp4");
+
+        // Act & Assert
+        assertEquals("videos/1.mp4", index().find(OWNER, HASH).orElseThrow());
+        try (Stream<Path> files = Files.walk(dir)) {
+            assertEquals(1, files.filter(Files::isRegularFile).count());
+        }
+    }
+
+    @Test
+    @DisplayName("Registros concorrentes do mesmo hash devem chegar à mesma chave")
+    void putIfAbsent_Concurrent_AgreeOnOneKey() throws Exception {
+        // Arrange: instâncias separadas, sem cache compartilhado, como réplicas com o mesmo diretório
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Callable<String>> tasks = new ArrayList<>();
+        for (int i = 0; i < 16; i++) {
+            String key = "videos/" + i + ".mp4";
+            tasks.add(() -> index().putIfAbsent(OWNER, HASH, key));
+        }
+
+        // Act
+        List<String> keys = new ArrayList<>();
+        try {
+            for (Future<String> result : executor.invokeAll(tasks)) {
+                keys.add(result.get());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // Assert
+        assertEquals(1, keys.stream().distinct().count());
+        assertEquals(keys.get(0), index().find(OWNER, HASH).orElseThrow());
+    }
+
+    @Test
+    @DisplayName("O mesmo conteúdo enviado por outro usuário não deve encontrar a chave do primeiro")
+    void find_OtherOwner_DoesNotSeeKey() throws IOException {
+        // Arrange
+        ContentHashIndex index = index();
+        index.putIfAbsent(OWNER, HASH, "videos/alice.mp4");
+
+        // Act
+        String bobKey = index.putIfAbsent("bob", HASH, "videos/bob.mp4");
+
+        // Assert
+        assertTrue(index().find("bob", HASH).isPresent());
+        assertEquals("videos/bob.mp4", bobKey);
+        assertEquals("videos/alice.mp4", index().find(OWNER, HASH).orElseThrow());
+    }
+
+    @Test
+    @DisplayName("A entrada em disco não deve expor o hash do conteúdo")
+    void putIfAbsent_EntryNameIsNotContentHash() throws IOException {
+        // Act
+        index().putIfAbsent(OWNER, HASH, "videos/1.mp4");
+
+        // Assert
+        assertFalse(Files.exists(dir.resolve(HASH.substring(0, 2)).resolve(HASH)));
+    }
+
+    @Test
+    @DisplayName("Deduplicação ligada sem diretório configurado deve falhar na inicialização")
+    void constructor_EnabledWithoutDir_Fails() {
+        assertThrows(IllegalArgumentException.class, () -> new ContentHashIndex(true, "", 10));
+        assertThrows(IllegalArgumentException.class, () -> new ContentHashIndex(true, null, 10));
+    }
+
+    @Test
+    @DisplayName("Hash fora do formato SHA-256 deve ser rejeitado")
+    void find_InvalidHash_Fails() {
+        assertThrows(IllegalArgumentException.class, () -> index().find(OWNER, "../../etc/passwd"));
+    }
+
+    @Test
+    @DisplayName("Flag de habilitação deve refletir a configuração")
+    void isEnabled_ReflectsConfiguration() {
+        assertTrue(index().isEnabled());
+        assertFalse(new ContentHashIndex(false, dir.toString(), 10).isEnabled());
+    }
+
+    private static String sha256(String content) {
+        MessageDigest digest = ContentHashIndex.newDigest();
+        digest.update(content.getBytes());
+        return ContentHashIndex.hex(digest);
+    }
+}
@@ -0,0 +1,294 @@
+package com.videoUploaderService.service;
+
+import com.amazonaws.AmazonServiceException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.core.exception.SdkClientException;
+import software.amazon.awssdk.core.exception.SdkServiceException;
+
+import java.net.SocketTimeoutException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DependencyGuardTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final AtomicInteger calls = new AtomicInteger();
+    // duas threads: o hedge precisa de uma livre enquanto a primeira tentativa está presa
+    private final ScheduledExecutorService executor = Executors.newScheduledThreadPool(2);
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Breaker com janela de 4 que abre com metade de falhas e fica aberto por um minuto.
+     */
+    private DependencyGuard guard(int maxAttempts, double budgetRatio, double minRetriesPerSecond, boolean hedging) {
+        return new DependencyGuard("sqs", true,
+                new CircuitBreaker(0.5, 4, 4, TimeUnit.MINUTES.toNanos(1), 1),
+                new RetryBudget(budgetRatio, minRetriesPerSecond), maxAttempts, 1, 2, hedging, registry);
+    }
+
+    private static AmazonServiceException serviceError(int status) {
+        AmazonServiceException e = new AmazonServiceException("erro " + status);
+        e.setStatusCode(status);
+        return e;
+    }
+
+    private double counter(String name, String outcome) {
+        return registry.get(name).tag("dependency", "sqs").tag("outcome", outcome).counter().count();
+    }
+
+    private double breakerState(String state) {
+        return registry.get("video.upload.dependency.breaker.state").tag("dependency", "sqs").tag("state", state)
+                .gauge().value();
+    }
+
+    @Test
+    @DisplayName("Falha da dependência deve ser repetida e o retry contado")
+    void call_RetriesDependencyFailure() {
+        // Arrange
+        DependencyGuard guard = guard(3, 1, 0, false);
+
+        // Act
+        String result = guard.call(() -> {
+            if (calls.incrementAndGet() == 1) {
+                throw serviceError(503);
+            }
+            return "ok";
+        });
+
+        // Assert
+        assertEquals("ok", result);
+        assertEquals(2, calls.get());
+        assertEquals(1.0, counter("video.upload.dependency.retries", "retried"));
+    }
+
+    @Test
+    @DisplayName("Erro do cliente (4xx) não deve ser repetido nem abrir o circuito")
+    void call_ClientError_NotRetried() {
+        // Arrange
+        DependencyGuard guard = guard(3, 1, 0, false);
+
+        // Act & Assert
+        for (int i = 0; i < 5; i++) {
+            assertThrows(AmazonServiceException.class, () -> guard.call(() -> {
+                calls.incrementAndGet();
+                throw serviceError(403);
+            }));
+        }
+        assertEquals(5, calls.get());
+        assertEquals(CircuitBreaker.State.CLOSED, guard.state());
+        assertEquals(0.0, counter("video.upload.dependency.retries", "retried"));
+    }
+
+    @Test
+    @DisplayName("Sem orçamento, a falha deve subir sem retry")
+    void call_BudgetExhausted_Throws() {
+        // Arrange
+        DependencyGuard guard = guard(3, 0, 0, false);
+
+        // Act & Assert
+        assertThrows(AmazonServiceException.class, () -> guard.call(() -> {
+            calls.incrementAndGet();
+            throw serviceError(500);
+        }));
+        assertEquals(1, calls.get());
+        assertEquals(1.0, counter("video.upload.dependency.retries", "budget_exhausted"));
+    }
+
+    @Test
+    @DisplayName("Com o circuito aberto, a chamada deve ser recusada sem chegar à dependência")
+    void call_BreakerOpen_FailsFast() {
+        // Arrange
+        DependencyGuard guard = guard(1, 0, 0, false);
+        for (int i = 0; i < 4; i++) {
+            assertThrows(AmazonServiceException.class, () -> guard.call(() -> {
+                throw serviceError(503);
+            }));
+        }
+
+        // Act
+        DependencyUnavailableException e = assertThrows(DependencyUnavailableException.class,
+                () -> guard.call(calls::incrementAndGet));
+
+        // Assert
+        assertEquals(0, calls.get());
+        assertEquals("sqs", e.getDependency());
+        assertTrue(e.getRetryAfterSeconds() > 0 && e.getRetryAfterSeconds() <= 60);
+        assertTrue(guard.isOpen());
+        assertEquals(1.0, breakerState("open"));
+        assertEquals(0.0, breakerState("closed"));
+        assertEquals(1.0, registry.get("video.upload.dependency.rejected").tag("dependency", "sqs").counter().count());
+    }
+
+    @Test
+    @DisplayName("Uma única tentativa deve contar a falha no breaker sem repetir")
+    void callOnce_CountsFailureWithoutRetry() {
+        // Arrange
+        DependencyGuard guard = guard(3, 1, 10, false);
+
+        // Act & Assert
+        for (int i = 0; i < 4; i++) {
+            assertThrows(SdkClientException.class, () -> guard.callOnce(() -> {
+                calls.incrementAndGet();
+                throw SdkClientException.create("conexão recusada");
+            }));
+        }
+        assertEquals(4, calls.get());
+        assertEquals(CircuitBreaker.State.OPEN, guard.state());
+        assertThrows(DependencyUnavailableException.class, () -> guard.callOnce(calls::incrementAndGet));
+    }
+
+    @Test
+    @DisplayName("Chamada assíncrona deve contar a falha do futuro e, aberto, devolver a recusa no futuro")
+    void guard_Async_CountsFailuresAndRejectsInFuture() {
+        // Arrange
+        DependencyGuard guard = guard(1, 0, 0, false);
+        for (int i = 0; i < 4; i++) {
+            CompletableFuture<String> failed = guard.guard(
+                    () -> CompletableFuture.failedFuture(SdkServiceException.builder().statusCode(500).build()));
+            assertTrue(failed.isCompletedExceptionally());
+        }
+
+        // Act
+        CompletableFuture<Object> rejected = guard.guard(() -> {
+            calls.incrementAndGet();
+            return CompletableFuture.completedFuture("ok");
+        });
+
+        // Assert
+        assertEquals(0, calls.get());
+        CompletionException e = assertThrows(CompletionException.class, rejected::join);
+        assertInstanceOf(DependencyUnavailableException.class, e.getCause());
+    }
+
+    @Test
+    @DisplayName("Tentativa lenta deve disparar o hedge, e o futuro deve completar com ela ainda presa")
+    void hedged_SlowPrimary_HedgeWins() throws Exception {
+        // Arrange: latências rápidas para o p95 ficar pequeno
+        DependencyGuard guard = guard(1, 1, 0, true);
+        for (int i = 0; i < DependencyGuard.MIN_HEDGE_SAMPLES; i++) {
+            guard.call(() -> "rápida");
+        }
+        CountDownLatch release = new CountDownLatch(1);
+
+        // Act: a tentativa que começar primeiro fica presa até o fim do teste (com um p95 tão curto,
+        // o hedge pode largar antes da primeira tentativa)
+        CompletableFuture<String> result = guard.hedged(() -> {
+            if (calls.incrementAndGet() == 1) {
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return "presa";
+            }
+            return "livre";
+        }, executor);
+
+        // Assert
+        try {
+            assertEquals("livre", result.get(5, TimeUnit.SECONDS));
+            assertEquals(1, release.getCount());
+            assertEquals(2, calls.get());
+            assertEquals(1.0, counter("video.upload.dependency.hedges", "sent"));
+        } finally {
+            release.countDown();
+        }
+    }
+
+    @Test
+    @DisplayName("O futuro deve voltar antes de a primeira tentativa terminar")
+    void hedged_ReturnsBeforePrimaryCompletes() throws Exception {
+        // Arrange
+        DependencyGuard guard = guard(1, 1, 0, false);
+        CountDownLatch release = new CountDownLatch(1);
+        Thread caller = Thread.currentThread();
+
+        // Act
+        CompletableFuture<Boolean> result = guard.hedged(() -> {
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return Thread.currentThread() == caller;
+        }, executor);
+
+        // Assert
+        assertFalse(result.isDone());
+        release.countDown();
+        assertFalse(result.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    @DisplayName("Sem hedge, só a primeira tentativa deve ser feita e a falha dela deve chegar ao futuro")
+    void hedged_Disabled_SingleAttempt() {
+        // Arrange
+        DependencyGuard guard = guard(1, 1, 0, false);
+        for (int i = 0; i < DependencyGuard.MIN_HEDGE_SAMPLES; i++) {
+            guard.call(() -> "rápida");
+        }
+
+        // Act
+        CompletableFuture<Object> result = guard.hedged(() -> {
+            calls.incrementAndGet();
+            throw new IllegalStateException("falhou");
+        }, executor);
+
+        // Assert
+        CompletionException e = assertThrows(CompletionException.class, result::join);
+        assertInstanceOf(IllegalStateException.class, e.getCause());
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    @DisplayName("Desligado, a chamada deve passar direto, sem retry nem breaker")
+    void disabled_PassesThrough() {
+        // Arrange
+        DependencyGuard guard = DependencyGuards.disabled(registry).sqs();
+
+        // Act & Assert
+        for (int i = 0; i < 10; i++) {
+            assertThrows(AmazonServiceException.class, () -> guard.call(() -> {
+                calls.incrementAndGet();
+                throw serviceError(503);
+            }));
+        }
+        assertEquals(10, calls.get());
+        assertFalse(guard.isOpen());
+        assertEquals("sqs", guard.name());
+    }
+
+    @Test
+    @DisplayName("Só 5xx, throttling, timeouts e erros de rede devem contar como falha da dependência")
+    void isDependencyFailure_ClassifiesErrors() {
+        // Arrange
+        AmazonServiceException throttled = serviceError(400);
+        throttled.setErrorCode("Throttling");
+
+        // Act & Assert
+        assertTrue(DependencyGuard.isDependencyFailure(serviceError(500)));
+        assertTrue(DependencyGuard.isDependencyFailure(throttled));
+        assertFalse(DependencyGuard.isDependencyFailure(serviceError(404)));
+        assertTrue(DependencyGuard.isDependencyFailure(SdkServiceException.builder().statusCode(503).build()));
+        assertFalse(DependencyGuard.isDependencyFailure(SdkServiceException.builder().statusCode(403).build()));
+        assertTrue(DependencyGuard.isDependencyFailure(new CompletionException(new SocketTimeoutException())));
+        assertFalse(DependencyGuard.isDependencyFailure(
+                SdkClientException.create("corpo", new ChecksumMismatchException("SHA-256", "a", "b"))));
+        assertFalse(DependencyGuard.isDependencyFailure(new DependencyUnavailableException("s3", 1)));
+        assertFalse(DependencyGuard.isDependencyFailure(new IllegalStateException()));
+    }
+}
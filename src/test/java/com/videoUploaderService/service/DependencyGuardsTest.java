@@ -0,0 +1,62 @@
+package com.videoUploaderService.service;
+
+import com.amazonaws.AmazonServiceException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DependencyGuardsTest {
+
+    private DependencyGuards guards(boolean async, boolean outbox) {
+        return new DependencyGuards(new SimpleMeterRegistry(), true, 1, 0, 0, 1, 1, 0.5, 4, 4, 60_000, false, async, outbox);
+    }
+
+    private static void open(DependencyGuard guard) {
+        for (int i = 0; i < 4; i++) {
+            assertThrows(AmazonServiceException.class, () -> guard.call(() -> {
+                AmazonServiceException e = new AmazonServiceException("indisponível");
+                e.setStatusCode(503);
+                throw e;
+            }));
+        }
+        assertTrue(guard.isOpen());
+    }
+
+    @Test
+    @DisplayName("Com os circuitos fechados, nada deve impedir a admissão")
+    void closed_NothingUnavailable() {
+        assertNull(guards(false, false).unavailableForUploads());
+    }
+
+    @Test
+    @DisplayName("S3 aberto deve impedir a admissão, exceto no modo assíncrono")
+    void s3Open_UnavailableUnlessAsync() {
+        // Arrange
+        DependencyGuards sync = guards(false, true);
+        DependencyGuards async = guards(true, false);
+        open(sync.s3());
+        open(async.s3());
+
+        // Act & Assert
+        assertSame(sync.s3(), sync.unavailableForUploads());
+        assertNull(async.unavailableForUploads());
+    }
+
+    @Test
+    @DisplayName("SQS aberto deve impedir a admissão só sem o outbox, e sem afetar o breaker do S3")
+    void sqsOpen_UnavailableUnlessOutbox() {
+        // Arrange
+        DependencyGuards direct = guards(false, false);
+        DependencyGuards outbox = guards(false, true);
+        open(direct.sqs());
+        open(outbox.sqs());
+
+        // Act & Assert
+        assertSame(direct.sqs(), direct.unavailableForUploads());
+        assertNull(outbox.unavailableForUploads());
+        assertFalse(direct.s3().isOpen());
+        assertEquals("s3", direct.s3().name());
+    }
+}
@@ -0,0 +1,177 @@
+package com.videoUploaderService.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import reactor.core.publisher.Flux;
+
+import java.io.ByteArrayInputStream;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FileSystemVideoStoreTest {
+
+    private static final String KEY = "videos/1700000000000-abc.mp4";
+
+    @TempDir
+    Path dir;
+
+    private FileSystemVideoStore store(String baseUrl, Path... roots) {
+        return new FileSystemVideoStore(Stream.of(roots).map(Path::toString).toList(), baseUrl, false);
+    }
+
+    @Test
+    @DisplayName("Deve gravar o vídeo sob a raiz com a mesma chave do S3")
+    void put_WritesFileUnderRootWithKeyLayout() throws Exception {
+        // Arrange
+        FileSystemVideoStore store = store("", dir);
+        byte[] content = "conteudo do video".getBytes();
+
+        // Act
+        store.put(KEY, new ByteArrayInputStream(content), content.length).get();
+
+        // Assert
+        assertArrayEquals(content, Files.readAllBytes(dir.resolve(KEY)));
+        try (Stream<Path> files = Files.list(dir.resolve("videos"))) {
+            assertEquals(1, files.count());
+        }
+    }
+
+    @Test
+    @DisplayName("Remoção deve apagar o arquivo e ignorar chaves inexistentes")
+    void delete_RemovesFileAndIgnoresMissing() throws Exception {
+        // Arrange
+        FileSystemVideoStore store = store("", dir);
+        store.put(KEY, new ByteArrayInputStream(new byte[]{1}), 1).get();
+
+        // Act
+        store.delete(KEY).get();
+        store.delete(KEY).get();
+
+        // Assert
+        assertFalse(Files.exists(dir.resolve(KEY)));
+        assertThrows(ExecutionException.class, () -> store.delete("../fora.mp4").get());
+    }
+
+    @Test
+    @DisplayName("Origem em arquivo deve ser copiada por inteiro")
+    void put_FileSource_CopiesWholeFile() throws Exception {
+        // Arrange
+        FileSystemVideoStore store = store("", dir.resolve("store"));
+        Path source = dir.resolve("origem.bin");
+        byte[] content = new byte[3 * 1024 * 1024 + 7];
+        content[content.length - 1] = 42;
+        Files.write(source, content);
+
+        // Act
+        try (InputStream in = new FileInputStream(source.toFile())) {
+            store.put(KEY, in, content.length).get();
+        }
+
+        // Assert
+        assertArrayEquals(content, Files.readAllBytes(dir.resolve("store").resolve(KEY)));
+    }
+
+    @Test
+    @DisplayName("Várias raízes devem dividir as chaves de forma estável")
+    void put_SeveralRoots_ShardsByKey() throws Exception {
+        // Arrange
+        Path disk1 = dir.resolve("disk1");
+        Path disk2 = dir.resolve("disk2");
+        FileSystemVideoStore store = store("", disk1, disk2);
+
+        // Act
+        for (int i = 0; i < 20; i++) {
+            String key = "videos/" + i + "-abc.mp4";
+            store.put(key, new ByteArrayInputStream(new byte[] {(byte) i}), 1).get();
+            // a URL aponta para o disco onde o arquivo foi gravado
+            assertTrue(Files.exists(Path.of(java.net.URI.create(store.url(key)))));
+        }
+
+        // Assert
+        try (Stream<Path> first = Files.list(disk1.resolve("videos"));
+             Stream<Path> second = Files.list(disk2.resolve("videos"))) {
+            long onFirst = first.count();
+            long onSecond = second.count();
+            assertEquals(20, onFirst + onSecond);
+            assertTrue(onFirst > 0 && onSecond > 0);
+        }
+    }
+
+    @Test
+    @DisplayName("Envio reativo não é suportado e deve falhar sem ler o publisher")
+    void put_Publisher_NotSupported() {
+        // Arrange
+        FileSystemVideoStore store = store("", dir);
+
+        // Act
+        CompletableFuture<Void> upload = store.put(KEY, Flux.just(ByteBuffer.wrap(new byte[10])));
+
+        // Assert
+        ExecutionException exception = assertThrows(ExecutionException.class, upload::get);
+        assertInstanceOf(IOException.class, exception.getCause());
+    }
+
+    @Test
+    @DisplayName("Com baseUrl a URL deve ser HTTP com a chave")
+    void url_WithBaseUrl_UsesHttp() {
+        FileSystemVideoStore store = store("http://videos.local/files/", dir);
+
+        assertEquals("http://videos.local/files/" + KEY, store.url(KEY));
+        assertTrue(store("", dir).url(KEY).startsWith("file:"));
+    }
+
+    @Test
+    @DisplayName("Chave que sai da raiz deve ser rejeitada")
+    void put_KeyEscapingRoot_Fails() {
+        // Arrange
+        FileSystemVideoStore store = store("", dir.resolve("store"));
+
+        // Act
+        CompletableFuture<Void> upload = store.put("videos/1-abc./../../../fora.mp4",
+                new ByteArrayInputStream(new byte[1]), 1);
+
+        // Assert
+        ExecutionException exception = assertThrows(ExecutionException.class, upload::get);
+        assertInstanceOf(IOException.class, exception.getCause());
+        assertFalse(Files.exists(dir.resolve("fora.mp4")));
+    }
+
+    @Test
+    @DisplayName("Falha na leitura não deve deixar arquivo parcial")
+    void put_SourceFails_RemovesPartialFile() throws IOException {
+        // Arrange
+        FileSystemVideoStore store = store("", dir);
+        InputStream broken = new InputStream() {
+            @Override
+            public int read() throws IOException {
+                throw new IOException("cliente desconectou");
+            }
+        };
+
+        // Act
+        CompletableFuture<Void> upload = store.put(KEY, broken, -1);
+
+        // Assert
+        assertThrows(ExecutionException.class, upload::get);
+        try (Stream<Path> files = Files.list(dir.resolve("videos"))) {
+            assertEquals(0, files.count());
+        }
+    }
+
+    @Test
+    @DisplayName("Sem raízes configuradas deve falhar na inicialização")
+    void constructor_WithoutRoots_Fails() {
+        assertThrows(IllegalArgumentException.class, () -> new FileSystemVideoStore(List.of(" "), "", true));
+    }
+}
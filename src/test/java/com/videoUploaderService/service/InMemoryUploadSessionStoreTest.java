@@ -0,0 +1,74 @@
+package com.videoUploaderService.service;
+
+import com.videoUploaderService.service.UploadSession.UploadedPart;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InMemoryUploadSessionStoreTest {
+
+    private final InMemoryUploadSessionStore store = new InMemoryUploadSessionStore();
+
+    private UploadSession session(String id) {
+        return new UploadSession(id, "videos/k.mp4", "s3-id", "Titulo", null, "user", "email", Instant.now());
+    }
+
+    @Test
+    void createFindAndDelete() {
+        store.create(session("a"));
+
+        assertTrue(store.find("a").isPresent());
+        assertTrue(store.find("b").isEmpty());
+
+        store.delete("a");
+        assertTrue(store.find("a").isEmpty());
+    }
+
+    @Test
+    void putPart_KeepsPartsOrderedByNumber() {
+        store.create(session("a"));
+
+        store.putPart("a", new UploadedPart(3, "e3", 1));
+        store.putPart("a", new UploadedPart(1, "e1", 1));
+
+        List<Integer> numbers = store.find("a").orElseThrow().parts().values().stream()
+                .map(UploadedPart::partNumber)
+                .toList();
+        assertEquals(List.of(1, 3), numbers);
+    }
+
+    @Test
+    void updateStatus_KeepsParts() {
+        store.create(session("a"));
+        store.putPart("a", new UploadedPart(1, "e1", 1));
+
+        store.updateStatus("a", UploadSession.Status.STORED);
+
+        UploadSession session = store.find("a").orElseThrow();
+        assertEquals(UploadSession.Status.STORED, session.status());
+        assertEquals(1, session.parts().size());
+        assertThrows(UploadSessionNotFoundException.class, () -> store.updateStatus("x", UploadSession.Status.STORED));
+    }
+
+    @Test
+    void expire_RemovesOnlyOlderSessions() {
+        Instant now = Instant.now();
+        store.create(new UploadSession("velha", "videos/k.mp4", "s3-id", "Titulo", null, "user", "email",
+                now.minusSeconds(120)));
+        store.create(new UploadSession("nova", "videos/k.mp4", "s3-id", "Titulo", null, "user", "email", now));
+
+        List<UploadSession> expired = store.expire(now.minusSeconds(60));
+
+        assertEquals(List.of("velha"), expired.stream().map(UploadSession::uploadId).toList());
+        assertTrue(store.find("velha").isEmpty());
+        assertTrue(store.find("nova").isPresent());
+    }
+
+    @Test
+    void putPart_UnknownSession_Throws() {
+        assertThrows(UploadSessionNotFoundException.class, () -> store.putPart("x", new UploadedPart(1, "e", 1)));
+    }
+}
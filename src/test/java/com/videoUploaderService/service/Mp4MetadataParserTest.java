@@ -0,0 +1,212 @@
+package com.videoUploaderService.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class Mp4MetadataParserTest {
+
+    private static final Map<String, Object> EXPECTED = Map.of(
+            "durationSeconds", 12.5,
+            "width", 1920,
+            "height", 1080,
+            "videoCodec", "avc1",
+            "audioCodec", "mp4a");
+
+    static byte[] box(String type, byte[]... children) {
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        for (byte[] child : children) {
+            body.writeBytes(child);
+        }
+        return ByteBuffer.allocate(8 + body.size())
+                .putInt(8 + body.size())
+                .put(type.getBytes(StandardCharsets.ISO_8859_1))
+                .put(body.toByteArray())
+                .array();
+    }
+
+    private static byte[] mvhd(int version, int timescale, long duration) {
+        ByteBuffer body = ByteBuffer.allocate(version == 1 ? 112 : 100).putInt(version << 24);
+        if (version == 1) {
+            body.putLong(0).putLong(0).putInt(timescale).putLong(duration);
+        } else {
+            body.putInt(0).putInt(0).putInt(timescale).putInt((int) duration);
+        }
+        return box("mvhd", body.array());
+    }
+
+    private static byte[] tkhd(int version, int width, int height) {
+        ByteBuffer body = ByteBuffer.allocate(version == 1 ? 96 : 84).putInt(version << 24);
+        int dimensions = version == 1 ? 88 : 76;
+        body.putInt(dimensions, width << 16).putInt(dimensions + 4, height << 16);
+        return box("tkhd", body.array());
+    }
+
+    private static byte[] track(int version, String handler, String codec, int width, int height) {
+        byte[] hdlr = box("hdlr", ByteBuffer.allocate(24).putInt(8, fourcc(handler)).array());
+        byte[] entry = ByteBuffer.allocate(16).putInt(16).putInt(fourcc(codec)).array();
+        byte[] stsd = box("stsd", ByteBuffer.allocate(8).putInt(4, 1).array(), entry);
+        return box("trak", tkhd(version, width, height),
+                box("mdia", hdlr, box("minf", box("stbl", stsd))));
+    }
+
+    private static int fourcc(String value) {
+        return ByteBuffer.wrap(value.getBytes(StandardCharsets.ISO_8859_1)).getInt();
+    }
+
+    static byte[] moov(int version) {
+        return box("moov", mvhd(version, 1000, 12_500),
+                track(version, "vide", "avc1", 1920, 1080),
+                track(version, "soun", "mp4a", 0, 0));
+    }
+
+    private static byte[] ftyp() {
+        return box("ftyp", "isom".getBytes(StandardCharsets.ISO_8859_1), new byte[4]);
+    }
+
+    private static byte[] mdat(int size) {
+        return box("mdat", new byte[size]);
+    }
+
+    private static byte[] concat(byte[]... parts) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        for (byte[] part : parts) {
+            out.writeBytes(part);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * MP4 com o moov antes dos dados (faststart), como o gerado pelo ffmpeg com {@code -movflags faststart}.
+     */
+    static byte[] faststart() {
+        return concat(ftyp(), moov(0), mdat(50_000));
+    }
+
+    private static Map<String, Object> parse(byte[] content, int maxMoovBytes) throws IOException {
+        Mp4MetadataParser parser = new Mp4MetadataParser(maxMoovBytes);
+        try (InputStream in = new Mp4MetadataInputStream(new ByteArrayInputStream(content), parser)) {
+            in.transferTo(OutputStream.nullOutputStream());
+        }
+        return parser.metadata();
+    }
+
+    @Test
+    @DisplayName("Moov no início deve gerar duração, resolução e codecs")
+    void metadata_MoovAtStart() throws IOException {
+        assertEquals(EXPECTED, parse(faststart(), 1024));
+    }
+
+    @Test
+    @DisplayName("Moov no fim do arquivo deve ser lido depois de pular o mdat")
+    void metadata_MoovAtEnd() throws IOException {
+        assertEquals(EXPECTED, parse(concat(ftyp(), mdat(200_000), moov(0)), 1024));
+    }
+
+    @Test
+    @DisplayName("Átomos de versão 1 e mdat com tamanho de 64 bits devem ser interpretados")
+    void metadata_Version1AndLargeSize() throws IOException {
+        // Arrange: mdat com size = 1 e o tamanho real nos 8 bytes seguintes
+        byte[] largeMdat = ByteBuffer.allocate(16 + 1000).putInt(1).put("mdat".getBytes(StandardCharsets.ISO_8859_1))
+                .putLong(16 + 1000).array();
+
+        // Act & Assert
+        assertEquals(EXPECTED, parse(concat(ftyp(), largeMdat, moov(1)), 1024));
+    }
+
+    @Test
+    @DisplayName("Bytes entregues um a um devem dar o mesmo resultado")
+    void update_ByteByByte() {
+        // Arrange
+        byte[] content = concat(ftyp(), mdat(1000), moov(0));
+        Mp4MetadataParser parser = new Mp4MetadataParser(1024);
+
+        // Act
+        for (int i = 0; i < content.length; i++) {
+            parser.update(content, i, 1);
+        }
+
+        // Assert
+        assertEquals(EXPECTED, parser.metadata());
+    }
+
+    @Test
+    @DisplayName("Buffers diretos e de heap devem dar o mesmo resultado que arrays")
+    void update_ByteBuffers() {
+        // Arrange: pedaços que não coincidem com as fronteiras dos átomos
+        byte[] content = concat(ftyp(), mdat(20_000), moov(0));
+        Mp4MetadataParser direct = new Mp4MetadataParser(1024);
+        Mp4MetadataParser heap = new Mp4MetadataParser(1024);
+
+        // Act
+        for (int offset = 0; offset < content.length; offset += 777) {
+            int length = Math.min(777, content.length - offset);
+            ByteBuffer buffer = ByteBuffer.allocateDirect(length).put(content, offset, length).flip();
+            direct.update(buffer);
+            assertEquals(length, buffer.remaining());
+            heap.update(ByteBuffer.wrap(content, offset, length));
+        }
+
+        // Assert
+        assertEquals(EXPECTED, direct.metadata());
+        assertEquals(EXPECTED, heap.metadata());
+    }
+
+    @Test
+    @DisplayName("Moov maior que o limite deve ser ignorado sem ser guardado")
+    void metadata_MoovOverLimit_Empty() throws IOException {
+        assertTrue(parse(faststart(), 100).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Arquivo truncado antes do moov terminar não deve gerar metadados")
+    void metadata_TruncatedMoov_Empty() throws IOException {
+        byte[] content = concat(ftyp(), mdat(1000), moov(0));
+        assertTrue(parse(Arrays.copyOf(content, content.length - 10), 1024).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Moov corrompido deve manter apenas o que foi lido")
+    void parseMoov_Corrupted_KeepsWhatWasRead() {
+        // Arrange: mvhd válido seguido de um trak que declara mais bytes do que existem
+        byte[] body = concat(mvhd(0, 1000, 12_500), ByteBuffer.allocate(12).putInt(500).putInt(fourcc("trak")).array());
+
+        // Act
+        Map<String, Object> metadata = Mp4MetadataParser.parseMoov(ByteBuffer.wrap(body));
+
+        // Assert
+        assertEquals(Map.of("durationSeconds", 12.5), metadata);
+    }
+
+    @Test
+    @DisplayName("Leitura byte a byte e skip devem passar todos os bytes pelo parser")
+    void inputStream_ReadAndSkip() throws IOException {
+        // Arrange
+        byte[] content = faststart();
+        Mp4MetadataParser parser = new Mp4MetadataParser(1024);
+
+        // Act
+        try (InputStream in = new Mp4MetadataInputStream(new ByteArrayInputStream(content), parser)) {
+            for (int i = 0; i < 100; i++) {
+                assertEquals(content[i] & 0xFF, in.read());
+            }
+            assertEquals(content.length - 100, in.skip(Long.MAX_VALUE));
+            assertEquals(-1, in.read());
+            assertFalse(in.markSupported());
+        }
+
+        // Assert
+        assertEquals(EXPECTED, parser.metadata());
+    }
+}
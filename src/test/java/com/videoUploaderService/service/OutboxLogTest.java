@@ -0,0 +1,184 @@
+package com.videoUploaderService.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OutboxLogTest {
+
+    private static final int SEGMENT_SIZE = 64;
+
+    @TempDir
+    Path dir;
+
+    @Test
+    @DisplayName("Mensagens gravadas devem ser lidas na mesma ordem a partir do checkpoint")
+    void append_ThenRead_ReturnsEntriesInOrder() throws IOException {
+        // Arrange
+        OutboxLog outbox = open();
+
+        // Act
+        outbox.append("a");
+        outbox.append("bb");
+        outbox.append("ccc");
+        List<OutboxLog.Entry> entries = outbox.read(outbox.checkpoint(), 10);
+
+        // Assert
+        assertEquals(List.of("a", "bb", "ccc"), entries.stream().map(OutboxLog.Entry::body).toList());
+        assertEquals(outbox.end(), entries.get(2).next());
+        assertEquals(2, outbox.read(outbox.checkpoint(), 2).size());
+    }
+
+    @Test
+    @DisplayName("Registro que não cabe no segmento deve ir para um novo segmento")
+    void append_SegmentFull_RollsToNextSegment() throws IOException {
+        // Arrange
+        OutboxLog outbox = open();
+        String body = "x".repeat(20);
+
+        // Act
+        for (int i = 0; i < 5; i++) {
+            outbox.append(body + i);
+        }
+        List<OutboxLog.Entry> entries = outbox.read(outbox.checkpoint(), 10);
+
+        // Assert
+        assertEquals(5, entries.size());
+        assertEquals(body + "4", entries.get(4).body());
+        assertTrue(outbox.end().segment() > 0);
+    }
+
+    @Test
+    @DisplayName("Commit deve avançar o checkpoint e apagar segmentos já publicados")
+    void commit_AdvancesCheckpointAndDeletesOldSegments() throws IOException {
+        // Arrange
+        OutboxLog outbox = open();
+        for (int i = 0; i < 5; i++) {
+            outbox.append("x".repeat(20) + i);
+        }
+        List<OutboxLog.Entry> entries = outbox.read(outbox.checkpoint(), 10);
+
+        // Act
+        outbox.commit(entries.get(4).next());
+
+        // Assert
+        assertEquals(outbox.end(), outbox.checkpoint());
+        assertTrue(outbox.read(outbox.checkpoint(), 10).isEmpty());
+        assertEquals(1, segmentFiles());
+    }
+
+    @Test
+    @DisplayName("Ao reabrir, mensagens não confirmadas devem continuar pendentes")
+    void open_AfterRestart_ReplaysFromCheckpoint() throws IOException {
+        // Arrange
+        OutboxLog outbox = open();
+        outbox.append("enviada");
+        outbox.append("pendente-1");
+        outbox.append("pendente-2");
+        outbox.commit(outbox.read(outbox.checkpoint(), 1).get(0).next());
+
+        // Act
+        OutboxLog reopened = open();
+        reopened.append("nova");
+
+        // Assert
+        List<String> bodies = reopened.read(reopened.checkpoint(), 10).stream().map(OutboxLog.Entry::body).toList();
+        assertEquals(List.of("pendente-1", "pendente-2", "nova"), bodies);
+    }
+
+    @Test
+    @DisplayName("Registro corrompido no fim do log deve ser descartado ao reabrir")
+    void open_TornWrite_TruncatesAtLastValidRecord() throws IOException {
+        // Arrange
+        OutboxLog outbox = open();
+        outbox.append("ok");
+        outbox.append("quebrada");
+        Path segment;
+        try (Stream<Path> files = Files.list(dir)) {
+            segment = files.filter(path -> path.toString().endsWith(".log")).findFirst().orElseThrow();
+        }
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+            // corrompe um byte do corpo do segundo registro
+            channel.write(ByteBuffer.wrap(new byte[] {'#'}), OutboxLog.HEADER_SIZE + 2 + OutboxLog.HEADER_SIZE);
+        }
+
+        // Act
+        OutboxLog reopened = open();
+
+        // Assert
+        List<OutboxLog.Entry> entries = reopened.read(reopened.checkpoint(), 10);
+        assertEquals(1, entries.size());
+        assertEquals("ok", entries.get(0).body());
+    }
+
+    @Test
+    @DisplayName("Mensagem vazia ou maior que o segmento deve ser rejeitada")
+    void append_InvalidSize_Throws() throws IOException {
+        OutboxLog outbox = open();
+
+        assertThrows(IllegalArgumentException.class, () -> outbox.append(""));
+        assertThrows(IllegalArgumentException.class, () -> outbox.append("x".repeat(SEGMENT_SIZE)));
+    }
+
+    @Test
+    @DisplayName("Gravação em lote deve atravessar segmentos e manter a ordem")
+    void appendAll_SpansSegments() throws IOException {
+        // Arrange
+        OutboxLog outbox = open();
+        String body = "y".repeat(20);
+
+        // Act
+        outbox.appendAll(List.of(body + 0, body + 1, body + 2, body + 3));
+        List<OutboxLog.Entry> entries = outbox.read(outbox.checkpoint(), 10);
+
+        // Assert
+        assertEquals(List.of(body + 0, body + 1, body + 2, body + 3), entries.stream().map(OutboxLog.Entry::body).toList());
+        assertEquals(outbox.end(), entries.get(3).next());
+        assertTrue(outbox.end().segment() > 0);
+    }
+
+    @Test
+    @DisplayName("Lote com uma mensagem inválida não deve gravar nenhuma")
+    void appendAll_InvalidMessage_WritesNothing() throws IOException {
+        // Arrange
+        OutboxLog outbox = open();
+
+        // Act
+        assertThrows(IllegalArgumentException.class, () -> outbox.appendAll(List.of("ok", "")));
+
+        // Assert
+        assertTrue(outbox.read(outbox.checkpoint(), 10).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Outbox desligado não deve criar arquivos")
+    void constructor_Disabled_DoesNotTouchDisk() throws IOException {
+        Path outboxDir = dir.resolve("desligado");
+
+        OutboxLog outbox = new OutboxLog(false, outboxDir.toString(), SEGMENT_SIZE, false);
+
+        assertFalse(outbox.isEnabled());
+        assertFalse(Files.exists(outboxDir));
+    }
+
+    private OutboxLog open() throws IOException {
+        return new OutboxLog(true, dir.toString(), SEGMENT_SIZE, true);
+    }
+
+    private long segmentFiles() throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.filter(path -> path.toString().endsWith(".log")).count();
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.videoUploaderService.service;
+
+import com.amazonaws.AmazonServiceException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OutboxRelayTest {
+
+    @TempDir
+    Path dir;
+
+    @Mock
+    private SqsBatchPublisher publisher;
+
+    @Mock
+    private ScheduledExecutorService executor;
+
+    private OutboxLog outbox;
+    private OutboxRelay relay;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        outbox = new OutboxLog(true, dir.toString(), 1024, false);
+        relay = new OutboxRelay(outbox, publisher, executor, 50, 2);
+    }
+
+    @Test
+    @DisplayName("Relay deve publicar todas as mensagens pendentes e avançar o checkpoint")
+    void drain_PublishesEverythingAndCommits() throws IOException {
+        // Arrange
+        outbox.append("a");
+        outbox.append("b");
+        outbox.append("c");
+        when(publisher.publish(anyString())).thenReturn(CompletableFuture.completedFuture("id"));
+
+        // Act
+        long published = relay.drain();
+
+        // Assert
+        assertEquals(3, published);
+        verify(publisher).publish("a");
+        verify(publisher).publish("b");
+        verify(publisher).publish("c");
+        verify(publisher, times(2)).flush();
+        assertEquals(outbox.end(), outbox.checkpoint());
+    }
+
+    @Test
+    @DisplayName("Falha em uma mensagem deve confirmar só as anteriores a ela")
+    void drain_PublishFails_CommitsConfirmedPrefix() throws IOException {
+        // Arrange
+        outbox.append("ok");
+        outbox.append("falha");
+        when(publisher.publish("ok")).thenReturn(CompletableFuture.completedFuture("id"));
+        when(publisher.publish("falha")).thenReturn(CompletableFuture.failedFuture(new AmazonServiceException("SQS fora do ar")));
+
+        // Act & Assert
+        assertThrows(IOException.class, () -> relay.drain());
+
+        List<OutboxLog.Entry> pending = outbox.read(outbox.checkpoint(), 10);
+        assertEquals(List.of("falha"), pending.stream().map(OutboxLog.Entry::body).toList());
+    }
+
+    @Test
+    @DisplayName("Outbox vazio não deve publicar nada")
+    void drain_Empty_PublishesNothing() throws IOException {
+        assertEquals(0, relay.drain());
+
+        verifyNoInteractions(publisher);
+    }
+
+    @Test
+    @DisplayName("Relay deve ser agendado no startup somente com o outbox ligado")
+    void start_SchedulesOnlyWhenEnabled() throws IOException {
+        // Act
+        relay.start();
+        new OutboxRelay(new OutboxLog(false, dir.resolve("off").toString(), 1024, false), publisher, executor, 50, 2).start();
+
+        // Assert
+        verify(executor, times(1)).scheduleWithFixedDelay(any(Runnable.class), eq(0L), eq(50L), any());
+    }
+
+    @Test
+    @DisplayName("Tamanho de bloco do relay deve ser positivo")
+    void constructor_NonPositiveBatchSize_Throws() {
+        assertThrows(IllegalArgumentException.class, () -> new OutboxRelay(outbox, publisher, executor, 50, 0));
+    }
+}
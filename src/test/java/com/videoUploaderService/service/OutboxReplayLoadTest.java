@@ -0,0 +1,87 @@
+package com.videoUploaderService.service;
+
+import com.amazonaws.services.sqs.AmazonSQS;
+import com.amazonaws.services.sqs.model.SendMessageBatchRequest;
+import com.amazonaws.services.sqs.model.SendMessageBatchResult;
+import com.amazonaws.services.sqs.model.SendMessageBatchResultEntry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Replay de um backlog do outbox: grava {@code loadTest.outboxMessages} mensagens (padrão 100 mil)
+ * e mede quanto tempo o relay leva para publicá-las contra um SQS falso com latência fixa por
+ * {@code SendMessageBatch}. Roda com {@code mvn -P load-test test}.
+ */
+@Tag("load")
+class OutboxReplayLoadTest {
+
+    private static final int MESSAGES = Integer.getInteger("loadTest.outboxMessages", 100_000);
+    private static final long SQS_LATENCY_MILLIS = Long.getLong("loadTest.sqsLatencyMillis", 10);
+    private static final int SENDERS = 16;
+
+    @TempDir
+    Path dir;
+
+    @Test
+    @DisplayName("Relay deve esvaziar um backlog de 100 mil mensagens em segundos")
+    void drain_LargeBacklog() throws Exception {
+        // Arrange
+        OutboxLog outbox = new OutboxLog(true, dir.toString(), 16 * 1024 * 1024, false);
+        String body = "{\"s3Key\":\"videos/1700000000000-00000000-0000-0000-0000-000000000000.mp4\","
+                + "\"s3Url\":\"https://bucket.s3.amazonaws.com/videos/1700000000000.mp4\",\"title\":\"Titulo\","
+                + "\"username\":\"usuario\",\"email\":\"usuario@teste.com\",\"description\":null,"
+                + "\"uploadedAt\":\"2024-01-01T00:00:00Z\"}";
+        long appendStart = System.nanoTime();
+        for (int i = 0; i < MESSAGES; i++) {
+            outbox.append(body);
+        }
+        long appendMillis = (System.nanoTime() - appendStart) / 1_000_000;
+
+        AtomicLong sent = new AtomicLong();
+        AmazonSQS amazonSQS = mock(AmazonSQS.class, withSettings().stubOnly());
+        when(amazonSQS.sendMessageBatch(any(SendMessageBatchRequest.class))).thenAnswer(invocation -> {
+            Thread.sleep(SQS_LATENCY_MILLIS);
+            SendMessageBatchRequest request = invocation.getArgument(0);
+            SendMessageBatchResult result = new SendMessageBatchResult();
+            request.getEntries().forEach(entry ->
+                    result.withSuccessful(new SendMessageBatchResultEntry().withId(entry.getId()).withMessageId("m")));
+            sent.addAndGet(request.getEntries().size());
+            return result;
+        });
+
+        ScheduledExecutorService senders = Executors.newScheduledThreadPool(SENDERS);
+        try {
+            SqsBatchPublisher publisher = new SqsBatchPublisher(amazonSQS, "queue", senders, 20,
+                    DependencyGuards.disabled(new SimpleMeterRegistry()));
+            OutboxRelay relay = new OutboxRelay(outbox, publisher, senders, 50, 1000);
+
+            // Act
+            long start = System.nanoTime();
+            long published = relay.drain();
+            long drainMillis = (System.nanoTime() - start) / 1_000_000;
+
+            // Assert
+            System.out.printf("[load] outbox: %d mensagens gravadas em %d ms; replay em %d ms (%.0f msg/s, %d ms por lote, %d envios em paralelo)%n",
+                    MESSAGES, appendMillis, drainMillis, published * 1000.0 / Math.max(drainMillis, 1),
+                    SQS_LATENCY_MILLIS, SENDERS);
+            assertEquals(MESSAGES, published);
+            assertEquals(MESSAGES, sent.get());
+            assertEquals(outbox.end(), outbox.checkpoint());
+            assertTrue(drainMillis < 30_000);
+        } finally {
+            senders.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,175 @@
+package com.videoUploaderService.service;
+
+import com.amazonaws.services.s3.model.ObjectMetadata;
+import com.amazonaws.services.s3.model.PartETag;
+import com.videoUploaderService.service.PresignedUploadService.PresignedUpload;
+import com.videoUploaderService.service.TokenService.UserInfo;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.IOException;
+import java.net.URL;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PresignedUploadServiceTest {
+
+    private static final String KEY = "videos/1-abc.mp4";
+
+    @Mock
+    private VideoStorageService videoStorageService;
+
+    @Mock
+    private VideoQueueService videoQueueService;
+
+    private InMemoryUploadSessionStore sessionStore;
+    private PresignedUploadService service;
+    private final UserInfo userInfo = new UserInfo("usuario", "usuario@teste.com");
+
+    @BeforeEach
+    void setUp() {
+        sessionStore = new InMemoryUploadSessionStore();
+        service = new PresignedUploadService(videoStorageService, videoQueueService, sessionStore, 15);
+        lenient().when(videoStorageService.newKey("video.mp4")).thenReturn(KEY);
+    }
+
+    @Test
+    @DisplayName("Deve emitir uma URL de PUT pré-assinada com expiração configurada")
+    void presignSingle_ReturnsPutUrl() throws Exception {
+        when(videoStorageService.presignPutObject(eq(KEY), any(Instant.class)))
+                .thenReturn(new URL("https://bucket.s3.amazonaws.com/" + KEY + "?X-Amz-Signature=abc"));
+
+        PresignedUpload upload = service.presignSingle("video.mp4", "Titulo", null, userInfo);
+
+        assertEquals(KEY, upload.s3Key());
+        assertEquals(1, upload.parts().size());
+        assertTrue(upload.parts().get(0).url().contains("X-Amz-Signature"));
+        assertTrue(upload.expiresAt().isAfter(Instant.now().plusSeconds(14 * 60)));
+        assertNull(sessionStore.find(upload.uploadId()).orElseThrow().s3UploadId());
+    }
+
+    @Test
+    @DisplayName("Deve iniciar multipart upload e emitir uma URL por parte")
+    void presignMultipart_ReturnsOneUrlPerPart() throws Exception {
+        when(videoStorageService.initiateMultipartUpload(KEY)).thenReturn("s3-upload-1");
+        when(videoStorageService.presignUploadPart(eq(KEY), eq("s3-upload-1"), anyInt(), any(Instant.class)))
+                .thenAnswer(invocation -> new URL("https://s3/" + KEY + "?partNumber=" + invocation.getArgument(2)));
+
+        PresignedUpload upload = service.presignMultipart("video.mp4", "Titulo", null, 3, userInfo);
+
+        assertEquals(List.of(1, 2, 3), upload.parts().stream().map(PresignedUploadService.PresignedPart::partNumber).toList());
+        assertTrue(upload.parts().get(2).url().endsWith("partNumber=3"));
+        assertEquals("s3-upload-1", sessionStore.find(upload.uploadId()).orElseThrow().s3UploadId());
+    }
+
+    @Test
+    @DisplayName("Quantidade de partes inválida deve ser rejeitada")
+    void presignMultipart_InvalidPartCount_Throws() throws IOException {
+        assertThrows(IllegalArgumentException.class, () -> service.presignMultipart("video.mp4", "T", null, 0, userInfo));
+        assertThrows(IllegalArgumentException.class, () -> service.presignMultipart("video.mp4", "T", null, 10_001, userInfo));
+        verify(videoStorageService, never()).initiateMultipartUpload(any());
+    }
+
+    @Test
+    @DisplayName("Conclusão deve conferir o objeto com HEAD e publicar a mensagem")
+    void complete_Single_HeadsObjectAndSendsMessage() throws Exception {
+        when(videoStorageService.presignPutObject(eq(KEY), any(Instant.class))).thenReturn(new URL("https://s3/" + KEY));
+        PresignedUpload upload = service.presignSingle("video.mp4", "Titulo", "Desc", userInfo);
+        ObjectMetadata metadata = new ObjectMetadata();
+        metadata.setContentLength(1024);
+        when(videoStorageService.headObject(KEY)).thenReturn(Optional.of(metadata));
+        when(videoStorageService.getVideoUrl(KEY)).thenReturn("https://s3/" + KEY);
+
+        CompletedUpload completed = service.complete(upload.uploadId(), List.of(), userInfo);
+
+        assertEquals(KEY, completed.s3Key());
+        verify(videoStorageService, never()).completeMultipartUpload(any(), any(), any());
+        verify(videoQueueService).sendVideoMessage(KEY, "https://s3/" + KEY, "Titulo", "Desc", "usuario", "usuario@teste.com");
+        assertEquals(UploadSession.Status.PUBLISHED, sessionStore.find(upload.uploadId()).orElseThrow().status());
+    }
+
+    @Test
+    @DisplayName("Falha na fila deve manter a sessão; a nova conclusão só reenvia a mensagem")
+    void complete_QueueFailure_RetryResendsOnlyMessage() throws Exception {
+        when(videoStorageService.initiateMultipartUpload(KEY)).thenReturn("s3-upload-1");
+        when(videoStorageService.presignUploadPart(any(), any(), anyInt(), any())).thenReturn(new URL("https://s3/p"));
+        PresignedUpload upload = service.presignMultipart("video.mp4", "Titulo", null, 1, userInfo);
+        ObjectMetadata metadata = new ObjectMetadata();
+        metadata.setContentLength(1024);
+        when(videoStorageService.headObject(KEY)).thenReturn(Optional.of(metadata));
+        doThrow(new RuntimeException("SQS fora do ar")).doNothing().when(videoQueueService)
+                .sendVideoMessage(any(), any(), any(), any(), any(), any());
+        List<PartETag> parts = List.of(new PartETag(1, "e1"));
+
+        assertThrows(RuntimeException.class, () -> service.complete(upload.uploadId(), parts, userInfo));
+        service.complete(upload.uploadId(), parts, userInfo);
+        service.complete(upload.uploadId(), parts, userInfo);
+
+        verify(videoStorageService, times(1)).completeMultipartUpload(any(), any(), any());
+        verify(videoQueueService, times(2)).sendVideoMessage(any(), any(), any(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Conclusão multipart deve fechar o upload com as partes ordenadas")
+    void complete_Multipart_CompletesWithSortedParts() throws Exception {
+        when(videoStorageService.initiateMultipartUpload(KEY)).thenReturn("s3-upload-1");
+        when(videoStorageService.presignUploadPart(any(), any(), anyInt(), any())).thenReturn(new URL("https://s3/p"));
+        PresignedUpload upload = service.presignMultipart("video.mp4", "Titulo", null, 2, userInfo);
+        ObjectMetadata metadata = new ObjectMetadata();
+        metadata.setContentLength(1024);
+        when(videoStorageService.headObject(KEY)).thenReturn(Optional.of(metadata));
+
+        service.complete(upload.uploadId(), List.of(new PartETag(2, "e2"), new PartETag(1, "e1")), userInfo);
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<PartETag>> captor = ArgumentCaptor.forClass(List.class);
+        verify(videoStorageService).completeMultipartUpload(eq(KEY), eq("s3-upload-1"), captor.capture());
+        assertEquals(List.of(1, 2), captor.getValue().stream().map(PartETag::getPartNumber).toList());
+        verify(videoQueueService).sendVideoMessage(eq(KEY), any(), eq("Titulo"), isNull(), eq("usuario"), eq("usuario@teste.com"));
+    }
+
+    @Test
+    @DisplayName("Conclusão multipart sem ETags deve ser rejeitada")
+    void complete_MultipartWithoutParts_Throws() throws Exception {
+        when(videoStorageService.initiateMultipartUpload(KEY)).thenReturn("s3-upload-1");
+        when(videoStorageService.presignUploadPart(any(), any(), anyInt(), any())).thenReturn(new URL("https://s3/p"));
+        PresignedUpload upload = service.presignMultipart("video.mp4", "Titulo", null, 1, userInfo);
+
+        assertThrows(IllegalArgumentException.class, () -> service.complete(upload.uploadId(), List.of(), userInfo));
+        verifyNoInteractions(videoQueueService);
+    }
+
+    @Test
+    @DisplayName("Objeto ausente ou vazio no S3 não deve gerar mensagem")
+    void complete_ObjectMissingOrEmpty_Throws() throws Exception {
+        when(videoStorageService.presignPutObject(eq(KEY), any(Instant.class))).thenReturn(new URL("https://s3/" + KEY));
+        PresignedUpload upload = service.presignSingle("video.mp4", "Titulo", null, userInfo);
+        when(videoStorageService.headObject(KEY)).thenReturn(Optional.empty(), Optional.of(new ObjectMetadata()));
+
+        assertThrows(IllegalStateException.class, () -> service.complete(upload.uploadId(), null, userInfo));
+        assertThrows(IllegalStateException.class, () -> service.complete(upload.uploadId(), null, userInfo));
+        verifyNoInteractions(videoQueueService);
+        assertTrue(sessionStore.find(upload.uploadId()).isPresent());
+    }
+
+    @Test
+    @DisplayName("Sessão de outro usuário não pode ser concluída")
+    void complete_OtherUser_ThrowsNotFound() throws Exception {
+        when(videoStorageService.presignPutObject(eq(KEY), any(Instant.class))).thenReturn(new URL("https://s3/" + KEY));
+        PresignedUpload upload = service.presignSingle("video.mp4", "Titulo", null, userInfo);
+
+        assertThrows(UploadSessionNotFoundException.class,
+                () -> service.complete(upload.uploadId(), null, new UserInfo("outro", "o@teste.com")));
+    }
+}
@@ -0,0 +1,204 @@
+package com.videoUploaderService.service;
+
+import com.amazonaws.services.s3.model.PartETag;
+import com.videoUploaderService.service.TokenService.UserInfo;
+import com.videoUploaderService.service.UploadSession.UploadedPart;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ResumableUploadServiceTest {
+
+    private static final long FULL_PART = S3MultipartUploader.MIN_PART_SIZE;
+
+    @Mock
+    private VideoStorageService videoStorageService;
+
+    @Mock
+    private VideoQueueService videoQueueService;
+
+    private InMemoryUploadSessionStore sessionStore;
+    private ResumableUploadService service;
+    private UserInfo userInfo;
+
+    @BeforeEach
+    void setUp() {
+        sessionStore = new InMemoryUploadSessionStore();
+        service = new ResumableUploadService(videoStorageService, videoQueueService, sessionStore);
+        userInfo = new UserInfo("usuario", "usuario@teste.com");
+    }
+
+    private UploadSession initiate() throws IOException {
+        when(videoStorageService.newKey("video.mp4")).thenReturn("videos/1-abc.mp4");
+        when(videoStorageService.initiateMultipartUpload("videos/1-abc.mp4")).thenReturn("s3-upload-1");
+        return service.initiate("video.mp4", "Titulo", "Descricao", userInfo);
+    }
+
+    @Test
+    @DisplayName("Deve iniciar sessão com multipart upload no S3")
+    void initiate_CreatesSession() throws IOException {
+        UploadSession session = initiate();
+
+        assertNotNull(session.uploadId());
+        assertEquals("videos/1-abc.mp4", session.s3Key());
+        assertEquals("s3-upload-1", session.s3UploadId());
+        assertTrue(sessionStore.find(session.uploadId()).isPresent());
+    }
+
+    @Test
+    @DisplayName("Reenviar o mesmo chunk deve substituir a parte anterior")
+    void uploadPart_RetrySamePart_ReplacesPart() throws IOException {
+        UploadSession session = initiate();
+        when(videoStorageService.uploadPart(eq("videos/1-abc.mp4"), eq("s3-upload-1"), eq(1), any(InputStream.class), eq(10L)))
+                .thenReturn("etag-a", "etag-b");
+
+        service.uploadPart(session.uploadId(), 1, new ByteArrayInputStream(new byte[10]), 10, userInfo);
+        service.uploadPart(session.uploadId(), 1, new ByteArrayInputStream(new byte[10]), 10, userInfo);
+
+        List<UploadedPart> parts = service.listParts(session.uploadId(), userInfo);
+        assertEquals(1, parts.size());
+        assertEquals("etag-b", parts.get(0).eTag());
+    }
+
+    @Test
+    @DisplayName("Chunk com número inválido ou vazio deve ser rejeitado")
+    void uploadPart_InvalidArguments_Throws() throws IOException {
+        UploadSession session = initiate();
+        InputStream in = new ByteArrayInputStream(new byte[1]);
+
+        assertThrows(IllegalArgumentException.class, () -> service.uploadPart(session.uploadId(), 0, in, 1, userInfo));
+        assertThrows(IllegalArgumentException.class, () -> service.uploadPart(session.uploadId(), 10_001, in, 1, userInfo));
+        assertThrows(IllegalArgumentException.class, () -> service.uploadPart(session.uploadId(), 1, in, -1, userInfo));
+        verify(videoStorageService, never()).uploadPart(any(), any(), anyInt(), any(), anyLong());
+    }
+
+    @Test
+    @DisplayName("Sessão de outro usuário deve ser tratada como inexistente")
+    void uploadPart_OtherUser_ThrowsNotFound() throws IOException {
+        UploadSession session = initiate();
+        UserInfo other = new UserInfo("outro", "outro@teste.com");
+
+        assertThrows(UploadSessionNotFoundException.class,
+                () -> service.uploadPart(session.uploadId(), 1, new ByteArrayInputStream(new byte[1]), 1, other));
+        assertThrows(UploadSessionNotFoundException.class, () -> service.listParts("inexistente", userInfo));
+    }
+
+    @Test
+    @DisplayName("Concluir deve fechar o multipart upload e enviar a mensagem SQS")
+    void complete_Success_SendsQueueMessage() throws IOException {
+        UploadSession session = initiate();
+        when(videoStorageService.uploadPart(any(), any(), anyInt(), any(), anyLong())).thenReturn("etag-1", "etag-2");
+        when(videoStorageService.getVideoUrl("videos/1-abc.mp4")).thenReturn("https://s3/videos/1-abc.mp4");
+        service.uploadPart(session.uploadId(), 2, new ByteArrayInputStream(new byte[3]), 3, userInfo);
+        service.uploadPart(session.uploadId(), 1, InputStream.nullInputStream(), FULL_PART, userInfo);
+
+        CompletedUpload completed = service.complete(session.uploadId(), userInfo);
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<PartETag>> partsCaptor = ArgumentCaptor.forClass(List.class);
+        verify(videoStorageService).completeMultipartUpload(eq("videos/1-abc.mp4"), eq("s3-upload-1"), partsCaptor.capture());
+        assertEquals(List.of(1, 2), partsCaptor.getValue().stream().map(PartETag::getPartNumber).toList());
+        assertEquals("etag-2", partsCaptor.getValue().get(0).getETag());
+
+        assertEquals("videos/1-abc.mp4", completed.s3Key());
+        verify(videoQueueService).sendVideoMessage("videos/1-abc.mp4", "https://s3/videos/1-abc.mp4",
+                "Titulo", "Descricao", "usuario", "usuario@teste.com");
+        assertEquals(UploadSession.Status.PUBLISHED, sessionStore.find(session.uploadId()).orElseThrow().status());
+    }
+
+    @Test
+    @DisplayName("Falha ao enviar a mensagem deve manter a sessão, e a nova tentativa só reenvia a mensagem")
+    void complete_QueueFailure_RetryOnlyResendsMessage() throws IOException {
+        // Arrange
+        UploadSession session = initiate();
+        when(videoStorageService.uploadPart(any(), any(), anyInt(), any(), anyLong())).thenReturn("etag-1");
+        service.uploadPart(session.uploadId(), 1, new ByteArrayInputStream(new byte[3]), 3, userInfo);
+        doThrow(new RuntimeException("SQS fora do ar")).doNothing().when(videoQueueService)
+                .sendVideoMessage(any(), any(), any(), any(), any(), any());
+
+        // Act
+        assertThrows(RuntimeException.class, () -> service.complete(session.uploadId(), userInfo));
+        CompletedUpload completed = service.complete(session.uploadId(), userInfo);
+
+        // Assert: o multipart upload foi concluído uma única vez
+        assertEquals("videos/1-abc.mp4", completed.s3Key());
+        verify(videoStorageService, times(1)).completeMultipartUpload(any(), any(), any());
+        verify(videoQueueService, times(2)).sendVideoMessage(any(), any(), any(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Concluir de novo um upload publicado deve devolver o mesmo resultado sem publicar outra vez")
+    void complete_Repeated_IsIdempotent() throws IOException {
+        // Arrange
+        UploadSession session = initiate();
+        when(videoStorageService.uploadPart(any(), any(), anyInt(), any(), anyLong())).thenReturn("etag-1");
+        when(videoStorageService.getVideoUrl("videos/1-abc.mp4")).thenReturn("https://s3/videos/1-abc.mp4");
+        service.uploadPart(session.uploadId(), 1, new ByteArrayInputStream(new byte[3]), 3, userInfo);
+        CompletedUpload first = service.complete(session.uploadId(), userInfo);
+
+        // Act
+        CompletedUpload second = service.complete(session.uploadId(), userInfo);
+
+        // Assert
+        assertEquals(first, second);
+        verify(videoStorageService, times(1)).completeMultipartUpload(any(), any(), any());
+        verify(videoQueueService, times(1)).sendVideoMessage(any(), any(), any(), any(), any(), any());
+        assertThrows(IllegalStateException.class,
+                () -> service.uploadPart(session.uploadId(), 2, new ByteArrayInputStream(new byte[3]), 3, userInfo));
+        assertThrows(IllegalStateException.class, () -> service.abort(session.uploadId(), userInfo));
+    }
+
+    @Test
+    @DisplayName("Concluir com chunk faltando deve falhar sem enviar mensagem")
+    void complete_MissingPart_Throws() throws IOException {
+        UploadSession session = initiate();
+        when(videoStorageService.uploadPart(any(), any(), anyInt(), any(), anyLong())).thenReturn("etag");
+        service.uploadPart(session.uploadId(), 2, new ByteArrayInputStream(new byte[3]), 3, userInfo);
+
+        IllegalStateException exception = assertThrows(IllegalStateException.class,
+                () -> service.complete(session.uploadId(), userInfo));
+
+        assertEquals("Chunk 1 ainda não foi enviado", exception.getMessage());
+        verifyNoInteractions(videoQueueService);
+    }
+
+    @Test
+    @DisplayName("Concluir sem chunks ou com chunk intermediário pequeno deve falhar")
+    void complete_InvalidParts_Throws() throws IOException {
+        UploadSession session = initiate();
+
+        assertThrows(IllegalStateException.class, () -> service.complete(session.uploadId(), userInfo));
+
+        when(videoStorageService.uploadPart(any(), any(), anyInt(), any(), anyLong())).thenReturn("etag");
+        service.uploadPart(session.uploadId(), 1, new ByteArrayInputStream(new byte[3]), 3, userInfo);
+        service.uploadPart(session.uploadId(), 2, new ByteArrayInputStream(new byte[3]), 3, userInfo);
+
+        assertThrows(IllegalStateException.class, () -> service.complete(session.uploadId(), userInfo));
+        verify(videoStorageService, never()).completeMultipartUpload(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Abortar deve cancelar o multipart upload e remover a sessão")
+    void abort_AbortsAndDeletesSession() throws IOException {
+        UploadSession session = initiate();
+
+        service.abort(session.uploadId(), userInfo);
+
+        verify(videoStorageService).abortMultipartUpload("videos/1-abc.mp4", "s3-upload-1");
+        assertTrue(sessionStore.find(session.uploadId()).isEmpty());
+    }
+}
@@ -0,0 +1,45 @@
+package com.videoUploaderService.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RetryBudgetTest {
+
+    @Test
+    @DisplayName("Cada chamada deve liberar só a fração configurada de um retry")
+    void deposits_AllowFractionOfRetries() {
+        // Arrange
+        RetryBudget budget = new RetryBudget(0.25, 0);
+
+        // Act & Assert
+        for (int i = 0; i < 3; i++) {
+            budget.deposit();
+        }
+        assertFalse(budget.tryWithdraw(0));
+        budget.deposit();
+        assertTrue(budget.tryWithdraw(0));
+        assertFalse(budget.tryWithdraw(0));
+    }
+
+    @Test
+    @DisplayName("Sem saldo, ainda deve permitir o mínimo de retries por segundo")
+    void emptyBalance_FallsBackToFloor() {
+        // Arrange
+        RetryBudget budget = new RetryBudget(0, 2);
+
+        // Act & Assert: rajada de 2 e depois um a cada meio segundo
+        assertTrue(budget.tryWithdraw(0));
+        assertTrue(budget.tryWithdraw(0));
+        assertFalse(budget.tryWithdraw(0));
+        assertTrue(budget.tryWithdraw(500_000_000L));
+    }
+
+    @Test
+    @DisplayName("Valores negativos devem ser recusados")
+    void negativeSettings_Throw() {
+        assertThrows(IllegalArgumentException.class, () -> new RetryBudget(-1, 0));
+        assertThrows(IllegalArgumentException.class, () -> new RetryBudget(0, -1));
+    }
+}
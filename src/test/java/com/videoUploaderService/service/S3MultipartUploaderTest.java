@@ -0,0 +1,245 @@
+package com.videoUploaderService.service;
+
+import com.amazonaws.AmazonServiceException;
+import com.amazonaws.services.s3.AmazonS3;
+import com.amazonaws.services.s3.model.AbortMultipartUploadRequest;
+import com.amazonaws.services.s3.model.CompleteMultipartUploadRequest;
+import com.amazonaws.services.s3.model.InitiateMultipartUploadRequest;
+import com.amazonaws.services.s3.model.InitiateMultipartUploadResult;
+import com.amazonaws.services.s3.model.ObjectMetadata;
+import com.amazonaws.services.s3.model.PartETag;
+import com.amazonaws.services.s3.model.UploadPartRequest;
+import com.amazonaws.services.s3.model.UploadPartResult;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class S3MultipartUploaderTest {
+
+    private static final String BUCKET = "test-bucket";
+    private static final String KEY = "videos/1-abc.mp4";
+    private static final int PART_SIZE = S3MultipartUploader.MIN_PART_SIZE;
+
+    @Mock
+    private AmazonS3 amazonS3;
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final UploadMetrics metrics = new UploadMetrics(registry);
+    private final DependencyGuards guards = DependencyGuards.disabled(registry);
+    private ByteBufferPool bufferPool;
+    private ExecutorService executor;
+    private S3MultipartUploader uploader;
+
+    @BeforeEach
+    void setUp() {
+        bufferPool = new ByteBufferPool(PART_SIZE, 4);
+        executor = Executors.newFixedThreadPool(4);
+        uploader = new S3MultipartUploader(amazonS3, bufferPool, executor, 2, metrics, guards);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Arquivo menor que uma parte deve ser enviado com um único PUT e Content-Length")
+    void upload_SmallFile_UsesSinglePut() throws IOException {
+        // Arrange
+        byte[] content = "conteudo pequeno".getBytes();
+        ArgumentCaptor<ObjectMetadata> metadataCaptor = ArgumentCaptor.forClass(ObjectMetadata.class);
+
+        // Act
+        uploader.upload(BUCKET, KEY, new ByteArrayInputStream(content));
+
+        // Assert
+        verify(amazonS3).putObject(eq(BUCKET), eq(KEY), any(InputStream.class), metadataCaptor.capture());
+        assertEquals(content.length, metadataCaptor.getValue().getContentLength());
+        assertEquals(S3MultipartUploader.md5(ByteBuffer.wrap(content)), metadataCaptor.getValue().getContentMD5());
+        verify(amazonS3, never()).initiateMultipartUpload(any());
+        assertEquals(1, registry.get("video.upload.stage").tag("stage", "s3").timer().count());
+    }
+
+    @Test
+    @DisplayName("Content-MD5 deve ser o MD5 em Base64 do conteúdo restante do buffer")
+    void md5_MatchesKnownDigest() {
+        // Arrange: MD5 de "abc", do RFC 1321
+        ByteBuffer buffer = ByteBuffer.wrap("xabc".getBytes());
+        buffer.position(1);
+
+        // Act & Assert
+        assertEquals("kAFQmDzST7DWlj99KOF/cg==", S3MultipartUploader.md5(buffer));
+        assertEquals(1, buffer.position());
+    }
+
+    @Test
+    @DisplayName("Arquivo maior que uma parte deve ser enviado em partes de tamanho fixo")
+    void upload_LargeFile_UsesMultipartUpload() throws IOException {
+        // Arrange
+        byte[] content = new byte[PART_SIZE * 2 + 10];
+        List<Long> partSizes = Collections.synchronizedList(new ArrayList<>());
+        when(amazonS3.initiateMultipartUpload(any(InitiateMultipartUploadRequest.class)))
+                .thenReturn(initiateResult("upload-1"));
+        when(amazonS3.uploadPart(any(UploadPartRequest.class))).thenAnswer(invocation -> {
+            UploadPartRequest request = invocation.getArgument(0);
+            partSizes.add(request.getPartSize());
+            assertNotNull(request.getMd5Digest());
+            UploadPartResult result = new UploadPartResult();
+            result.setPartNumber(request.getPartNumber());
+            result.setETag("etag-" + request.getPartNumber());
+            return result;
+        });
+        ArgumentCaptor<CompleteMultipartUploadRequest> completeCaptor =
+                ArgumentCaptor.forClass(CompleteMultipartUploadRequest.class);
+
+        // Act
+        uploader.upload(BUCKET, KEY, new ByteArrayInputStream(content));
+
+        // Assert
+        partSizes.sort(null);
+        assertEquals(List.of(10L, (long) PART_SIZE, (long) PART_SIZE), partSizes);
+        verify(amazonS3).completeMultipartUpload(completeCaptor.capture());
+        assertEquals("upload-1", completeCaptor.getValue().getUploadId());
+        assertEquals(3, completeCaptor.getValue().getPartETags().size());
+        verify(amazonS3, never()).putObject(anyString(), anyString(), any(InputStream.class), any());
+        assertEquals(bufferPool.capacity(), bufferPool.available());
+        assertEquals(3, registry.get("video.upload.stage").tag("stage", "s3").timer().count());
+    }
+
+    @Test
+    @DisplayName("Partes do mesmo vídeo devem ser enviadas em paralelo, respeitando o limite em voo")
+    void upload_LargeFile_UploadsPartsInParallelUpToLimit() throws IOException {
+        // Arrange
+        byte[] content = new byte[PART_SIZE * 5];
+        AtomicInteger current = new AtomicInteger();
+        AtomicInteger peak = new AtomicInteger();
+        when(amazonS3.initiateMultipartUpload(any(InitiateMultipartUploadRequest.class)))
+                .thenReturn(initiateResult("upload-p"));
+        when(amazonS3.uploadPart(any(UploadPartRequest.class))).thenAnswer(invocation -> {
+            peak.accumulateAndGet(current.incrementAndGet(), Math::max);
+            Thread.sleep(50);
+            current.decrementAndGet();
+            UploadPartRequest request = invocation.getArgument(0);
+            UploadPartResult result = new UploadPartResult();
+            result.setPartNumber(request.getPartNumber());
+            result.setETag("etag-" + request.getPartNumber());
+            return result;
+        });
+        ArgumentCaptor<CompleteMultipartUploadRequest> completeCaptor =
+                ArgumentCaptor.forClass(CompleteMultipartUploadRequest.class);
+
+        // Act
+        uploader.upload(BUCKET, KEY, new ByteArrayInputStream(content));
+
+        // Assert
+        assertTrue(peak.get() > 1);
+        assertTrue(peak.get() <= 2);
+        verify(amazonS3).completeMultipartUpload(completeCaptor.capture());
+        List<Integer> partNumbers = completeCaptor.getValue().getPartETags().stream()
+                .map(PartETag::getPartNumber)
+                .toList();
+        assertEquals(List.of(1, 2, 3, 4, 5), partNumbers);
+        assertEquals(bufferPool.capacity(), bufferPool.available());
+    }
+
+    @Test
+    @DisplayName("Falha em uma parte deve abortar o upload multipart")
+    void upload_PartFails_AbortsMultipartUpload() {
+        // Arrange
+        byte[] content = new byte[PART_SIZE + 1];
+        when(amazonS3.initiateMultipartUpload(any(InitiateMultipartUploadRequest.class)))
+                .thenReturn(initiateResult("upload-2"));
+        when(amazonS3.uploadPart(any(UploadPartRequest.class)))
+                .thenThrow(new AmazonServiceException("SlowDown"));
+        ArgumentCaptor<AbortMultipartUploadRequest> abortCaptor =
+                ArgumentCaptor.forClass(AbortMultipartUploadRequest.class);
+
+        // Act & Assert
+        assertThrows(IOException.class, () -> uploader.upload(BUCKET, KEY, new ByteArrayInputStream(content)));
+
+        verify(amazonS3).abortMultipartUpload(abortCaptor.capture());
+        assertEquals("upload-2", abortCaptor.getValue().getUploadId());
+        verify(amazonS3, never()).completeMultipartUpload(any());
+        assertEquals(bufferPool.capacity(), bufferPool.available());
+    }
+
+    @Test
+    @DisplayName("Falha de leitura do stream no meio do upload deve abortar o upload multipart")
+    void upload_StreamFails_AbortsMultipartUpload() {
+        // Arrange
+        InputStream failing = new InputStream() {
+            private int served;
+
+            @Override
+            public int read() throws IOException {
+                if (served++ >= PART_SIZE) {
+                    throw new IOException("Conexão do cliente caiu");
+                }
+                return 0;
+            }
+        };
+        when(amazonS3.initiateMultipartUpload(any(InitiateMultipartUploadRequest.class)))
+                .thenReturn(initiateResult("upload-3"));
+        when(amazonS3.uploadPart(any(UploadPartRequest.class))).thenReturn(new UploadPartResult());
+
+        // Act & Assert
+        IOException exception = assertThrows(IOException.class, () -> uploader.upload(BUCKET, KEY, failing));
+
+        assertEquals("Conexão do cliente caiu", exception.getMessage());
+        verify(amazonS3).abortMultipartUpload(any(AbortMultipartUploadRequest.class));
+        assertEquals(bufferPool.capacity(), bufferPool.available());
+    }
+
+    @Test
+    @DisplayName("Erro do S3 no PUT simples deve ser convertido em IOException")
+    void upload_SinglePutFails_ThrowsIOException() {
+        // Arrange
+        when(amazonS3.putObject(anyString(), anyString(), any(InputStream.class), any(ObjectMetadata.class)))
+                .thenThrow(new AmazonServiceException("Access Denied"));
+
+        // Act & Assert
+        assertThrows(IOException.class, () -> uploader.upload(BUCKET, KEY, new ByteArrayInputStream(new byte[1])));
+    }
+
+    @Test
+    @DisplayName("Tamanho de parte abaixo do mínimo do S3 deve ser rejeitado")
+    void constructor_PartSizeTooSmall_Throws() {
+        ByteBufferPool smallBuffers = new ByteBufferPool(1024, 1);
+
+        assertThrows(IllegalArgumentException.class, () -> new S3MultipartUploader(amazonS3, smallBuffers, executor, 2, metrics, guards));
+    }
+
+    @Test
+    @DisplayName("Limite de partes em voo deve ser positivo")
+    void constructor_NonPositiveInFlight_Throws() {
+        assertThrows(IllegalArgumentException.class, () -> new S3MultipartUploader(amazonS3, bufferPool, executor, 0, metrics, guards));
+    }
+
+    private InitiateMultipartUploadResult initiateResult(String uploadId) {
+        InitiateMultipartUploadResult result = new InitiateMultipartUploadResult();
+        result.setUploadId(uploadId);
+        return result;
+    }
+}
@@ -0,0 +1,211 @@
+package com.videoUploaderService.service;
+
+import com.amazonaws.AmazonServiceException;
+import com.amazonaws.services.sqs.AmazonSQS;
+import com.amazonaws.services.sqs.model.BatchResultErrorEntry;
+import com.amazonaws.services.sqs.model.SendMessageBatchRequest;
+import com.amazonaws.services.sqs.model.SendMessageBatchRequestEntry;
+import com.amazonaws.services.sqs.model.SendMessageBatchResult;
+import com.amazonaws.services.sqs.model.SendMessageBatchResultEntry;
+import com.amazonaws.services.sqs.model.SendMessageRequest;
+import com.amazonaws.services.sqs.model.SendMessageResult;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SqsBatchPublisherTest {
+
+    private static final String QUEUE_URL = "https://sqs.us-east-1.amazonaws.com/123/video-queue";
+
+    @Mock
+    private AmazonSQS amazonSQS;
+
+    private ScheduledExecutorService scheduler;
+
+    private final DependencyGuards guards = DependencyGuards.disabled(new SimpleMeterRegistry());
+
+    @BeforeEach
+    void setUp() {
+        scheduler = Executors.newSingleThreadScheduledExecutor();
+    }
+
+    @AfterEach
+    void tearDown() {
+        scheduler.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Lote cheio deve ser enviado sem esperar o linger, em um único SendMessageBatch")
+    void publish_FullBatch_SendsImmediately() {
+        // Arrange
+        SqsBatchPublisher publisher = new SqsBatchPublisher(amazonSQS, QUEUE_URL, scheduler, 60_000, guards);
+        when(amazonSQS.sendMessageBatch(any(SendMessageBatchRequest.class))).thenAnswer(invocation -> allSuccessful(invocation.getArgument(0)));
+        List<CompletableFuture<String>> futures = new ArrayList<>();
+
+        // Act
+        for (int i = 0; i < SqsBatchPublisher.MAX_BATCH_ENTRIES; i++) {
+            futures.add(publisher.publish("msg-" + i));
+        }
+
+        // Assert
+        for (int i = 0; i < futures.size(); i++) {
+            assertEquals("id-msg-" + i, futures.get(i).orTimeout(5, TimeUnit.SECONDS).join());
+        }
+        ArgumentCaptor<SendMessageBatchRequest> captor = ArgumentCaptor.forClass(SendMessageBatchRequest.class);
+        verify(amazonSQS).sendMessageBatch(captor.capture());
+        assertEquals(QUEUE_URL, captor.getValue().getQueueUrl());
+        assertEquals(SqsBatchPublisher.MAX_BATCH_ENTRIES, captor.getValue().getEntries().size());
+    }
+
+    @Test
+    @DisplayName("Lote incompleto deve ser enviado após o linger")
+    void publish_PartialBatch_SendsAfterLinger() {
+        // Arrange
+        SqsBatchPublisher publisher = new SqsBatchPublisher(amazonSQS, QUEUE_URL, scheduler, 50, guards);
+        when(amazonSQS.sendMessageBatch(any(SendMessageBatchRequest.class))).thenAnswer(invocation -> allSuccessful(invocation.getArgument(0)));
+
+        // Act
+        CompletableFuture<String> first = publisher.publish("a");
+        CompletableFuture<String> second = publisher.publish("b");
+
+        // Assert
+        assertFalse(first.isDone());
+        assertEquals("id-a", first.orTimeout(5, TimeUnit.SECONDS).join());
+        assertEquals("id-b", second.join());
+        verify(amazonSQS, times(1)).sendMessageBatch(any(SendMessageBatchRequest.class));
+    }
+
+    @Test
+    @DisplayName("Entradas que falharem no lote devem ser reenviadas individualmente")
+    void publish_PartialFailure_RetriesFailedEntryAlone() {
+        // Arrange
+        SqsBatchPublisher publisher = new SqsBatchPublisher(amazonSQS, QUEUE_URL, scheduler, 60_000, guards);
+        when(amazonSQS.sendMessageBatch(any(SendMessageBatchRequest.class))).thenReturn(new SendMessageBatchResult()
+                .withSuccessful(new SendMessageBatchResultEntry().withId("0").withMessageId("id-ok"))
+                .withFailed(new BatchResultErrorEntry().withId("1").withCode("InternalError").withSenderFault(false)));
+        when(amazonSQS.sendMessage(any(SendMessageRequest.class))).thenReturn(new SendMessageResult().withMessageId("id-retry"));
+
+        // Act
+        CompletableFuture<String> ok = publisher.publish("ok");
+        CompletableFuture<String> retried = publisher.publish("retry");
+        publisher.flush();
+
+        // Assert
+        assertEquals("id-ok", ok.join());
+        assertEquals("id-retry", retried.join());
+        ArgumentCaptor<SendMessageRequest> captor = ArgumentCaptor.forClass(SendMessageRequest.class);
+        verify(amazonSQS).sendMessage(captor.capture());
+        assertEquals("retry", captor.getValue().getMessageBody());
+    }
+
+    @Test
+    @DisplayName("Falha no reenvio individual deve completar só o future daquela entrada com erro")
+    void publish_RetryFails_CompletesEntryExceptionally() {
+        // Arrange
+        SqsBatchPublisher publisher = new SqsBatchPublisher(amazonSQS, QUEUE_URL, scheduler, 60_000, guards);
+        when(amazonSQS.sendMessageBatch(any(SendMessageBatchRequest.class))).thenReturn(new SendMessageBatchResult()
+                .withFailed(new BatchResultErrorEntry().withId("0").withCode("InvalidMessageContents").withSenderFault(true)));
+        when(amazonSQS.sendMessage(any(SendMessageRequest.class))).thenThrow(new AmazonServiceException("InvalidMessageContents"));
+
+        // Act
+        CompletableFuture<String> future = publisher.publish("bad");
+        publisher.flush();
+
+        // Assert
+        CompletionException exception = assertThrows(CompletionException.class, future::join);
+        assertInstanceOf(AmazonServiceException.class, exception.getCause());
+    }
+
+    @Test
+    @DisplayName("Falha do lote inteiro deve completar todos os futures com erro")
+    void publish_BatchCallFails_CompletesAllExceptionally() {
+        // Arrange
+        SqsBatchPublisher publisher = new SqsBatchPublisher(amazonSQS, QUEUE_URL, scheduler, 60_000, guards);
+        when(amazonSQS.sendMessageBatch(any(SendMessageBatchRequest.class))).thenThrow(new AmazonServiceException("SQS fora do ar"));
+
+        // Act
+        CompletableFuture<String> first = publisher.publish("a");
+        CompletableFuture<String> second = publisher.publish("b");
+        publisher.flush();
+
+        // Assert
+        assertThrows(CompletionException.class, first::join);
+        assertThrows(CompletionException.class, second::join);
+        verify(amazonSQS, never()).sendMessage(any(SendMessageRequest.class));
+    }
+
+    @Test
+    @DisplayName("Com a resiliência ligada, erro 5xx do lote deve ser repetido antes de falhar os futures")
+    void publish_BatchCallServerError_RetriedByGuard() {
+        // Arrange
+        DependencyGuards resilient = new DependencyGuards(new SimpleMeterRegistry(), true, 3, 1, 5, 1, 2,
+                0.5, 50, 20, 10_000, false, false, false);
+        SqsBatchPublisher publisher = new SqsBatchPublisher(amazonSQS, QUEUE_URL, scheduler, 60_000, resilient);
+        AmazonServiceException unavailable = new AmazonServiceException("SQS instável");
+        unavailable.setStatusCode(503);
+        when(amazonSQS.sendMessageBatch(any(SendMessageBatchRequest.class)))
+                .thenThrow(unavailable)
+                .thenAnswer(invocation -> allSuccessful(invocation.getArgument(0)));
+
+        // Act
+        CompletableFuture<String> future = publisher.publish("a");
+        publisher.flush();
+
+        // Assert
+        assertEquals("id-a", future.orTimeout(5, TimeUnit.SECONDS).join());
+        verify(amazonSQS, times(2)).sendMessageBatch(any(SendMessageBatchRequest.class));
+    }
+
+    @Test
+    @DisplayName("Mensagem que estoura o limite de bytes do lote deve abrir um novo lote")
+    void publish_BatchBytesExceeded_StartsNewBatch() {
+        // Arrange
+        SqsBatchPublisher publisher = new SqsBatchPublisher(amazonSQS, QUEUE_URL, scheduler, 60_000, guards);
+        when(amazonSQS.sendMessageBatch(any(SendMessageBatchRequest.class))).thenAnswer(invocation -> allSuccessful(invocation.getArgument(0)));
+        String big = "x".repeat(SqsBatchPublisher.MAX_BATCH_BYTES / 2 + 1);
+
+        // Act
+        CompletableFuture<String> first = publisher.publish(big);
+        CompletableFuture<String> second = publisher.publish(big);
+
+        // Assert
+        assertEquals("id-" + big, first.orTimeout(5, TimeUnit.SECONDS).join());
+        assertFalse(second.isDone());
+        verify(amazonSQS, times(1)).sendMessageBatch(any(SendMessageBatchRequest.class));
+    }
+
+    @Test
+    @DisplayName("Linger negativo deve ser rejeitado")
+    void constructor_NegativeLinger_Throws() {
+        assertThrows(IllegalArgumentException.class, () -> new SqsBatchPublisher(amazonSQS, QUEUE_URL, scheduler, -1, guards));
+    }
+
+    private static SendMessageBatchResult allSuccessful(SendMessageBatchRequest request) {
+        SendMessageBatchResult result = new SendMessageBatchResult();
+        for (SendMessageBatchRequestEntry entry : request.getEntries()) {
+            result.withSuccessful(new SendMessageBatchResultEntry()
+                    .withId(entry.getId())
+                    .withMessageId("id-" + entry.getMessageBody()));
+        }
+        return result;
+    }
+}
@@ -0,0 +1,96 @@
+package com.videoUploaderService.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenBucketTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    @DisplayName("Rajada deve ser aceita de uma vez e a próxima aquisição deve esperar pela taxa")
+    void tryAcquire_AllowsBurstThenWaits() {
+        // Arrange
+        TokenBucket bucket = new TokenBucket();
+        long now = 1_000 * SECOND;
+
+        // Act & Assert: 10/s com rajada de 3
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, bucket.tryAcquire(1, 10, 3, now));
+        }
+        assertEquals(SECOND / 10, bucket.tryAcquire(1, 10, 3, now));
+        assertEquals(0, bucket.tryAcquire(1, 10, 3, now + SECOND / 10));
+    }
+
+    @Test
+    @DisplayName("Aquisição recusada não deve consumir tokens")
+    void tryAcquire_Refused_DoesNotConsume() {
+        // Arrange
+        TokenBucket bucket = new TokenBucket();
+        long now = 1_000 * SECOND;
+        assertEquals(0, bucket.tryAcquire(1, 1, 1, now));
+
+        // Act
+        for (int i = 0; i < 5; i++) {
+            assertTrue(bucket.tryAcquire(1, 1, 1, now) > 0);
+        }
+
+        // Assert
+        assertEquals(0, bucket.tryAcquire(1, 1, 1, now + SECOND));
+    }
+
+    @Test
+    @DisplayName("Reserva deve passar na hora e atrasar a seguinte pelo custo da anterior")
+    void reserve_ChargesDebtToNextCaller() {
+        // Arrange
+        TokenBucket bucket = new TokenBucket();
+        long now = 1_000 * SECOND;
+
+        // Act: 1000 bytes/s sem rajada
+        long first = bucket.reserve(2000, 1000, 0, now);
+        long second = bucket.reserve(500, 1000, 0, now);
+
+        // Assert
+        assertEquals(0, first);
+        assertEquals(2 * SECOND, second);
+        assertEquals(SECOND / 2, bucket.reserve(1, 1000, 0, now + 2 * SECOND));
+    }
+
+    @Test
+    @DisplayName("Reserva com espera acima do limite não deve consumir nada")
+    void tryReserve_WaitAboveMax_ConsumesNothing() {
+        // Arrange: 2 s de dívida a 1000 bytes/s
+        TokenBucket bucket = new TokenBucket();
+        long now = 1_000 * SECOND;
+        bucket.reserve(2000, 1000, 0, now);
+
+        // Act
+        long rejected = bucket.tryReserve(500, 1000, 0, SECOND, now);
+        long accepted = bucket.tryReserve(500, 1000, 0, SECOND, now + SECOND);
+
+        // Assert: a recusa não aumentou a dívida
+        assertEquals(2 * SECOND, rejected);
+        assertEquals(SECOND, accepted);
+        assertEquals(SECOND / 2, bucket.reserve(1, 1000, 0, now + 2 * SECOND));
+    }
+
+    @Test
+    @DisplayName("Balde deve ficar ocioso depois de reabastecido")
+    void isIdle_AfterRefill() {
+        // Arrange
+        TokenBucket bucket = new TokenBucket();
+        long now = 1_000 * SECOND;
+        assertTrue(bucket.isIdle(now));
+
+        // Act
+        bucket.tryAcquire(1, 1, 1, now);
+
+        // Assert
+        assertFalse(bucket.isIdle(now));
+        assertTrue(bucket.isIdle(now + SECOND));
+    }
+}
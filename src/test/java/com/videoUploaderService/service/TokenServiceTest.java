@@ -1,6 +1,7 @@
 package com.videoUploaderService.service;
 
 import com.auth0.jwt.JWT;
+import com.auth0.jwt.JWTVerifier;
 import com.auth0.jwt.algorithms.Algorithm;
 import com.auth0.jwt.exceptions.JWTVerificationException;
 import com.videoUploaderService.service.TokenService.UserInfo;
@@ -9,11 +10,15 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.test.util.ReflectionTestUtils;
 
+import java.time.Clock;
 import java.time.Instant;
+import java.time.ZoneOffset;
 import java.time.temporal.ChronoUnit;
 import java.util.Date;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
 
 class TokenServiceTest {
 
@@ -50,6 +55,18 @@ class TokenServiceTest {
         assertEquals(email, result.email());
     }
 
+    @Test
+    @DisplayName("Claim tier deve virar o plano do usuário")
+    void decodeToken_ShouldReadTierClaim() {
+        // Arrange
+        String withTier = JWT.create().withSubject("ana").withClaim("tier", "pro").sign(Algorithm.HMAC256(TEST_SECRET));
+        String withoutTier = JWT.create().withSubject("bia").sign(Algorithm.HMAC256(TEST_SECRET));
+
+        // Act & Assert
+        assertEquals("pro", tokenService.decodeToken("Bearer " + withTier).tier());
+        assertNull(tokenService.decodeToken("Bearer " + withoutTier).tier());
+    }
+
     @Test
     @DisplayName("Deve lançar exception quando a assinatura do token for inválida")
     void decodeToken_ShouldThrowException_WhenSignatureIsInvalid() {
@@ -95,4 +112,104 @@ class TokenServiceTest {
             tokenService.decodeToken(tokenHeader);
         });
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Token já verificado deve ser servido do cache sem nova verificação")
+    void decodeToken_ShouldUseCache_WhenSameTokenRepeats() {
+        // Arrange
+        JWTVerifier verifier = enableCache(100);
+        String token = JWT.create()
+                .withSubject("usuario")
+                .withClaim("email", "usuario@email.com")
+                .withExpiresAt(Instant.now().plus(1, ChronoUnit.HOURS))
+                .sign(Algorithm.HMAC256(TEST_SECRET));
+
+        // Act
+        UserInfo first = tokenService.decodeToken("Bearer " + token);
+        UserInfo second = tokenService.decodeToken("Bearer " + token);
+
+        // Assert
+        assertEquals(first, second);
+        verify(verifier, times(1)).verify(anyString());
+        assertEquals(1, tokenService.cachedTokens());
+    }
+
+    @Test
+    @DisplayName("Entrada do cache deve valer somente até o exp do token")
+    void decodeToken_ShouldVerifyAgain_AfterCachedExpiry() {
+        // Arrange
+        JWTVerifier verifier = enableCache(100);
+        Instant now = Instant.now();
+        String token = JWT.create()
+                .withSubject("usuario")
+                .withExpiresAt(now.plus(1, ChronoUnit.HOURS))
+                .sign(Algorithm.HMAC256(TEST_SECRET));
+        tokenService.decodeToken(token);
+
+        // Act: relógio do cache passa do exp
+        ReflectionTestUtils.setField(tokenService, "clock", Clock.fixed(now.plus(2, ChronoUnit.HOURS), ZoneOffset.UTC));
+        tokenService.decodeToken(token);
+
+        // Assert
+        verify(verifier, times(2)).verify(anyString());
+    }
+
+    @Test
+    @DisplayName("Token sem exp deve ficar no cache no máximo pelo TTL configurado")
+    void decodeToken_ShouldCapCacheTtl_WhenTokenHasNoExpiry() {
+        // Arrange
+        JWTVerifier verifier = enableCache(100);
+        ReflectionTestUtils.setField(tokenService, "cacheTtlSeconds", 60L);
+        Instant now = Instant.now();
+        String token = JWT.create().withSubject("usuario").sign(Algorithm.HMAC256(TEST_SECRET));
+        tokenService.decodeToken(token);
+
+        // Act
+        ReflectionTestUtils.setField(tokenService, "clock", Clock.fixed(now.plusSeconds(30), ZoneOffset.UTC));
+        tokenService.decodeToken(token);
+        ReflectionTestUtils.setField(tokenService, "clock", Clock.fixed(now.plusSeconds(120), ZoneOffset.UTC));
+        tokenService.decodeToken(token);
+
+        // Assert
+        verify(verifier, times(2)).verify(anyString());
+    }
+
+    @Test
+    @DisplayName("Cache não deve passar do tamanho máximo")
+    void decodeToken_ShouldBoundCacheSize() {
+        // Arrange
+        enableCache(10);
+
+        // Act
+        for (int i = 0; i < 50; i++) {
+            tokenService.decodeToken(JWT.create().withSubject("usuario-" + i).sign(Algorithm.HMAC256(TEST_SECRET)));
+        }
+
+        // Assert
+        assertTrue(tokenService.cachedTokens() <= 10);
+    }
+
+    @Test
+    @DisplayName("Token inválido não deve entrar no cache")
+    void decodeToken_ShouldNotCache_WhenVerificationFails() {
+        // Arrange
+        enableCache(100);
+        String token = JWT.create().withSubject("hacker").sign(Algorithm.HMAC256("segredo-errado"));
+
+        // Act & Assert
+        assertThrows(JWTVerificationException.class, () -> tokenService.decodeToken(token));
+        assertThrows(JWTVerificationException.class, () -> tokenService.decodeToken(token));
+        assertEquals(0, tokenService.cachedTokens());
+    }
+
+    /**
+     * Liga o cache e troca o verifier por um spy que conta as verificações reais.
+     */
+    private JWTVerifier enableCache(int size) {
+        ReflectionTestUtils.setField(tokenService, "cacheSize", size);
+        ReflectionTestUtils.setField(tokenService, "cacheTtlSeconds", 3600L * 24);
+        JWTVerifier verifier = spy(JWT.require(Algorithm.HMAC256(TEST_SECRET)).build());
+        ReflectionTestUtils.setField(tokenService, "verifier", verifier);
+        return verifier;
+    }
+}
@@ -0,0 +1,36 @@
+package com.videoUploaderService.service;
+
+import com.videoUploaderService.service.TokenService.UserInfo;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UploadLimitsTest {
+
+    private final UploadLimits limits = new UploadLimits(DataSize.ofMegabytes(500), "free=100MB, pro=5GB", "ana=10GB");
+
+    @Test
+    @DisplayName("Limite do usuário deve ter precedência sobre o do plano")
+    void maxBytes_UserOverridesTier() {
+        assertEquals(DataSize.ofGigabytes(10).toBytes(), limits.maxBytes(new UserInfo("ana", "ana@email.com", "free")));
+    }
+
+    @Test
+    @DisplayName("Sem limite próprio vale o do plano e, sem plano conhecido, o padrão")
+    void maxBytes_TierThenDefault() {
+        assertEquals(DataSize.ofMegabytes(100).toBytes(), limits.maxBytes(new UserInfo("bia", "bia@email.com", "free")));
+        assertEquals(DataSize.ofGigabytes(5).toBytes(), limits.maxBytes(new UserInfo("bia", "bia@email.com", "pro")));
+        assertEquals(DataSize.ofMegabytes(500).toBytes(), limits.maxBytes(new UserInfo("bia", "bia@email.com", "gold")));
+        assertEquals(DataSize.ofMegabytes(500).toBytes(), limits.maxBytes(new UserInfo("bia", "bia@email.com")));
+    }
+
+    @Test
+    @DisplayName("Entrada sem nome=tamanho deve falhar na inicialização")
+    void parse_InvalidEntry_Fails() {
+        assertTrue(UploadLimits.parse("upload.limits.users", " ").isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> new UploadLimits(DataSize.ofBytes(0), "free", ""));
+        assertThrows(IllegalArgumentException.class, () -> new UploadLimits(DataSize.ofBytes(0), "", "ana=muito"));
+    }
+}
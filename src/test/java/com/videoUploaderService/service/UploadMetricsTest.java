@@ -0,0 +1,131 @@
+package com.videoUploaderService.service;
+
+import com.amazonaws.AmazonClientException;
+import com.amazonaws.AmazonServiceException;
+import com.auth0.jwt.exceptions.TokenExpiredException;
+import com.videoUploaderService.service.UploadMetrics.Stage;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.prometheusmetrics.PrometheusConfig;
+import io.micrometer.prometheusmetrics.PrometheusMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UploadMetricsTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final UploadMetrics metrics = new UploadMetrics(registry);
+
+    @Test
+    @DisplayName("time deve registrar a duração da etapa mesmo quando a chamada falha")
+    void time_RecordsStageEvenOnFailure() {
+        // Act
+        String result = metrics.time(Stage.JWT, () -> "ok");
+        assertThrows(IOException.class, () -> metrics.time(Stage.S3, () -> {
+            throw new IOException("falha");
+        }));
+
+        // Assert
+        assertEquals("ok", result);
+        assertEquals(1, registry.get("video.upload.stage").tag("stage", "jwt").timer().count());
+        assertEquals(1, registry.get("video.upload.stage").tag("stage", "s3").timer().count());
+        assertEquals(0, registry.get("video.upload.stage").tag("stage", "sqs").timer().count());
+    }
+
+    @Test
+    @DisplayName("Uploads e bytes em andamento devem voltar a zero ao final")
+    void inFlight_TracksUploadsAndBytes() {
+        // Act
+        metrics.uploadStarted();
+        metrics.uploadStarted();
+        metrics.addInFlightBytes(100);
+
+        // Assert
+        assertEquals(2, registry.get("video.upload.inflight").gauge().value());
+        assertEquals(100, registry.get("video.upload.inflight.bytes").gauge().value());
+
+        // Act
+        metrics.addInFlightBytes(-100);
+        metrics.uploadFinished(100, true);
+        metrics.uploadFinished(30, false);
+
+        // Assert
+        assertEquals(0, registry.get("video.upload.inflight").gauge().value());
+        assertEquals(0, registry.get("video.upload.inflight.bytes").gauge().value());
+        assertEquals(100, registry.get("video.upload.bytes").tag("outcome", "success").counter().count());
+        assertEquals(30, registry.get("video.upload.bytes").tag("outcome", "failure").counter().count());
+    }
+
+    @Test
+    @DisplayName("Chamadas ao S3 e SQS devem contar como pendentes enquanto duram")
+    void pendingOperations_CountsS3AndSqsCalls() {
+        // Act
+        int during = metrics.time(Stage.SQS, metrics::pendingOperations);
+        metrics.time(Stage.JWT, () -> "ok");
+        metrics.operationStarted();
+
+        // Assert
+        assertEquals(1, during);
+        assertEquals(1, metrics.pendingOperations());
+        assertEquals(1, registry.get("video.upload.pending.operations").gauge().value());
+        assertEquals(1, metrics.completedOperations());
+
+        metrics.operationFinished();
+        assertEquals(0, metrics.pendingOperations());
+        assertEquals(2, metrics.completedOperations());
+    }
+
+    @Test
+    @DisplayName("Erros devem ser contados pela causa")
+    void error_CountsByCause() {
+        // Act
+        metrics.error(new TokenExpiredException("expirado", Instant.now()));
+        metrics.error("missing_token");
+        metrics.error("missing_token");
+
+        // Assert
+        assertEquals(1, registry.get("video.upload.errors").tag("cause", "invalid_token").counter().count());
+        assertEquals(2, registry.get("video.upload.errors").tag("cause", "missing_token").counter().count());
+    }
+
+    @Test
+    @DisplayName("cause deve classificar as falhas da AWS pelo serviço que respondeu")
+    void cause_ClassifiesFailures() {
+        AmazonServiceException s3 = new AmazonServiceException("Slow Down");
+        s3.setServiceName("Amazon S3");
+        AmazonServiceException sqs = new AmazonServiceException("Throttling");
+        sqs.setServiceName("AmazonSQS");
+
+        assertEquals("s3", UploadMetrics.cause(new IOException("Falha ao enviar parte 1", s3)));
+        assertEquals("sqs", UploadMetrics.cause(new RuntimeException(sqs)));
+        assertEquals("aws", UploadMetrics.cause(new IOException(new AmazonClientException("timeout"))));
+        assertEquals("io", UploadMetrics.cause(new IOException("disco cheio")));
+        assertEquals("sqs", UploadMetrics.cause(new DependencyUnavailableException("sqs", 5)));
+        assertEquals("unsupported_format", UploadMetrics.cause(new UnsupportedVideoFormatException()));
+        assertEquals("not_found", UploadMetrics.cause(new UploadSessionNotFoundException("up-1")));
+        assertEquals("bad_request", UploadMetrics.cause(new IllegalArgumentException()));
+        assertEquals("conflict", UploadMetrics.cause(new IllegalStateException()));
+        assertEquals("internal", UploadMetrics.cause(new RuntimeException()));
+    }
+
+    @Test
+    @DisplayName("Timers devem publicar histograma no formato Prometheus para o cálculo de percentis")
+    void prometheus_ExposesPercentilesAndHistogram() {
+        // Arrange
+        PrometheusMeterRegistry prometheus = new PrometheusMeterRegistry(PrometheusConfig.DEFAULT);
+        UploadMetrics prometheusMetrics = new UploadMetrics(prometheus);
+
+        // Act
+        prometheusMetrics.record(Stage.REQUEST, 5_000_000);
+        String scrape = prometheus.scrape();
+
+        // Assert
+        assertTrue(scrape.contains("video_upload_stage_seconds_bucket{stage=\"request\",le=\"+Inf\"} 1"));
+        assertTrue(scrape.contains("video_upload_stage_seconds_count{stage=\"request\"} 1"));
+        assertTrue(scrape.contains("video_upload_inflight_bytes"));
+    }
+}
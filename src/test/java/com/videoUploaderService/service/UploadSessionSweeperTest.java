@@ -0,0 +1,114 @@
+package com.videoUploaderService.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UploadSessionSweeperTest {
+
+    @Mock
+    private VideoStorageService videoStorageService;
+
+    @Mock
+    private ScheduledExecutorService executor;
+
+    private InMemoryUploadSessionStore sessionStore;
+    private UploadSessionSweeper sweeper;
+    private final Instant now = Instant.parse("2026-01-01T12:00:00Z");
+
+    @BeforeEach
+    void setUp() {
+        sessionStore = new InMemoryUploadSessionStore();
+        sweeper = new UploadSessionSweeper(sessionStore, videoStorageService, executor, 60);
+        ReflectionTestUtils.setField(sweeper, "clock", Clock.fixed(now, ZoneOffset.UTC));
+    }
+
+    private UploadSession session(String id, String s3UploadId, Duration age) {
+        return new UploadSession(id, "videos/" + id + ".mp4", s3UploadId, "Titulo", null, "user", "email",
+                now.minus(age));
+    }
+
+    @Test
+    @DisplayName("Sessão expirada com multipart aberto deve ser removida e o multipart abortado")
+    void sweep_ExpiredUploading_AbortsMultipart() throws IOException {
+        // Arrange
+        sessionStore.create(session("velha", "s3-1", Duration.ofMinutes(61)));
+        sessionStore.create(session("nova", "s3-2", Duration.ofMinutes(5)));
+
+        // Act
+        int removed = sweeper.sweep();
+
+        // Assert
+        assertEquals(1, removed);
+        verify(videoStorageService).abortMultipartUpload("videos/velha.mp4", "s3-1");
+        assertTrue(sessionStore.find("velha").isEmpty());
+        assertTrue(sessionStore.find("nova").isPresent());
+    }
+
+    @Test
+    @DisplayName("Sessão expirada já concluída ou sem multipart não deve abortar nada")
+    void sweep_ExpiredCompletedOrSinglePut_OnlyRemoves() throws IOException {
+        // Arrange
+        sessionStore.create(session("publicada", "s3-1", Duration.ofMinutes(61)));
+        sessionStore.updateStatus("publicada", UploadSession.Status.PUBLISHED);
+        sessionStore.create(session("put", null, Duration.ofMinutes(61)));
+
+        // Act
+        int removed = sweeper.sweep();
+
+        // Assert
+        assertEquals(2, removed);
+        verifyNoInteractions(videoStorageService);
+    }
+
+    @Test
+    @DisplayName("Falha ao abortar não deve interromper a varredura")
+    void sweep_AbortFails_ContinuesWithOtherSessions() throws IOException {
+        // Arrange
+        sessionStore.create(session("a", "s3-a", Duration.ofMinutes(61)));
+        sessionStore.create(session("b", "s3-b", Duration.ofMinutes(62)));
+        doThrow(new IOException("S3 fora do ar")).when(videoStorageService).abortMultipartUpload(anyString(), eq("s3-a"));
+
+        // Act
+        int removed = sweeper.sweep();
+
+        // Assert
+        assertEquals(2, removed);
+        verify(videoStorageService).abortMultipartUpload("videos/b.mp4", "s3-b");
+    }
+
+    @Test
+    @DisplayName("A varredura deve ser agendada no máximo a cada minuto")
+    void start_SchedulesSweep() {
+        // Act
+        sweeper.start();
+
+        // Assert
+        verify(executor).scheduleWithFixedDelay(any(Runnable.class), eq(60_000L), eq(60_000L),
+                eq(TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    @DisplayName("TTL não positivo deve ser rejeitado")
+    void constructor_InvalidTtl_Fails() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new UploadSessionSweeper(sessionStore, videoStorageService, executor, 0));
+    }
+}
@@ -0,0 +1,401 @@
+package com.videoUploaderService.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.videoUploaderService.service.SpooledUpload.State;
+import com.videoUploaderService.service.TokenService.UserInfo;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.zip.CRC32C;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UploadSpoolServiceTest {
+
+    @Mock
+    private VideoStorageService videoStorageService;
+
+    @Mock
+    private VideoQueueService videoQueueService;
+
+    @TempDir
+    Path spoolDir;
+
+    private ContentHashIndex contentHashIndex = new ContentHashIndex(false, "", 0);
+
+    private VideoContainerSniffer sniffer = new VideoContainerSniffer(false, 16 * 1024 * 1024);
+
+    private final UploadChecksums checksums = new UploadChecksums(false);
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final UserInfo userInfo = new UserInfo("usuario", "usuario@teste.com");
+    private ScheduledExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newSingleThreadScheduledExecutor();
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    private UploadSpoolService service(int maxAttempts) {
+        return service(maxAttempts, 3600, 10_000);
+    }
+
+    private UploadSpoolService service(int maxAttempts, long statusTtlSeconds, int statusCacheSize) {
+        return new UploadSpoolService(videoStorageService, videoQueueService, contentHashIndex, sniffer, checksums,
+                objectMapper, executor, true, spoolDir.toString(), maxAttempts, 1, statusTtlSeconds, statusCacheSize);
+    }
+
+    private SpooledUpload awaitState(UploadSpoolService service, String uploadId, State expected) throws InterruptedException {
+        for (int i = 0; i < 200; i++) {
+            SpooledUpload upload = service.status(uploadId).orElseThrow();
+            if (upload.state() == expected) {
+                return upload;
+            }
+            Thread.sleep(10);
+        }
+        fail("Upload " + uploadId + " não chegou ao estado " + expected + ": " + service.status(uploadId));
+        return null;
+    }
+
+    // o estado final é publicado antes da limpeza do spool; o contador de pendentes só cai depois dela
+    private void awaitPending(UploadSpoolService service, int expected) throws InterruptedException {
+        for (int i = 0; i < 200 && service.pending() != expected; i++) {
+            Thread.sleep(10);
+        }
+        assertEquals(expected, service.pending());
+    }
+
+    @Test
+    @DisplayName("Deve gravar no spool, enviar ao S3 e SQS em segundo plano e limpar o spool")
+    void spool_ShipsInBackgroundAndCleansUp() throws Exception {
+        // Arrange
+        byte[] content = "conteudo do video".getBytes();
+        when(videoStorageService.uploadVideo(any(InputStream.class), eq("video.mp4"), isNull(String.class), any())).thenAnswer(invocation -> {
+            InputStream in = invocation.getArgument(0);
+            assertArrayEquals(content, in.readAllBytes());
+            return StoredVideo.of("videos/1-abc.mp4");
+        });
+        when(videoStorageService.getVideoUrl("videos/1-abc.mp4")).thenReturn("https://s3/videos/1-abc.mp4");
+        UploadSpoolService service = service(3);
+
+        // Act
+        String uploadId = service.spool(new ByteArrayInputStream(content), "video.mp4", "Titulo", "Desc", userInfo);
+
+        // Assert
+        SpooledUpload upload = awaitState(service, uploadId, State.COMPLETED);
+        assertEquals("videos/1-abc.mp4", upload.s3Key());
+        assertEquals(1, upload.attempts());
+        awaitPending(service, 0);
+        verify(videoQueueService).sendVideoMessage("videos/1-abc.mp4", "https://s3/videos/1-abc.mp4",
+                "Titulo", "Desc", "usuario", "usuario@teste.com",
+                Map.of(ContentChecksums.CHECKSUM_CRC32C, crc32c(content)));
+        try (var files = Files.list(spoolDir)) {
+            assertEquals(0, files.count());
+        }
+    }
+
+    @Test
+    @DisplayName("Com deduplicação, o hash calculado no spool é usado no envio e vai na mensagem")
+    void spool_DedupEnabled_PassesHashAndFlagsMessage() throws Exception {
+        // Arrange
+        contentHashIndex = new ContentHashIndex(true, spoolDir.resolve("dedup").toString(), 10);
+        MessageDigest digest = ContentHashIndex.newDigest();
+        digest.update("conteudo do video".getBytes());
+        String hash = ContentHashIndex.hex(digest);
+        Map<String, Object> attributes = Map.of(ContentHashIndex.CONTENT_SHA256, hash, ContentHashIndex.DEDUPLICATED, true);
+        when(videoStorageService.uploadVideo(any(InputStream.class), eq("video.mp4"), eq(hash), eq("usuario")))
+                .thenReturn(new StoredVideo("videos/original.mp4", attributes));
+        when(videoStorageService.getVideoUrl("videos/original.mp4")).thenReturn("https://s3/videos/original.mp4");
+        UploadSpoolService service = service(3);
+
+        // Act
+        String uploadId = service.spool(new ByteArrayInputStream("conteudo do video".getBytes()), "video.mp4",
+                "Titulo", null, userInfo);
+
+        // Assert: o SHA-256 da deduplicação também vai na mensagem, em Base64
+        Map<String, Object> expected = new HashMap<>(attributes);
+        expected.put(ContentChecksums.CHECKSUM_CRC32C, crc32c("conteudo do video".getBytes()));
+        expected.put(ContentChecksums.CHECKSUM_SHA256, Base64.getEncoder().encodeToString(HexFormat.of().parseHex(hash)));
+        SpooledUpload upload = awaitState(service, uploadId, State.COMPLETED);
+        assertEquals("videos/original.mp4", upload.s3Key());
+        assertEquals(expected, upload.attributes());
+        verify(videoQueueService).sendVideoMessage("videos/original.mp4", "https://s3/videos/original.mp4",
+                "Titulo", null, "usuario", "usuario@teste.com", expected);
+    }
+
+    @Test
+    @DisplayName("Conteúdo que não é vídeo deve ser recusado antes de ocupar o spool")
+    void spool_NotAVideo_RejectedWithoutSpooling() throws Exception {
+        // Arrange
+        sniffer = new VideoContainerSniffer(true, 16 * 1024 * 1024);
+        UploadSpoolService service = service(3);
+
+        // Act & Assert
+        assertThrows(UnsupportedVideoFormatException.class, () -> service.spool(
+                new ByteArrayInputStream("%PDF-1.7 documento".getBytes()), "video.mp4", "Titulo", null, userInfo));
+        assertEquals(0, service.pending());
+        try (var files = Files.list(spoolDir)) {
+            assertEquals(0, files.count());
+        }
+        verifyNoInteractions(videoStorageService);
+    }
+
+    @Test
+    @DisplayName("Checksum do cliente divergente deve recusar o upload e limpar o spool")
+    void spool_ChecksumMismatch_RejectedAndCleansUp() throws Exception {
+        // Arrange
+        UploadSpoolService service = service(3);
+        ExpectedChecksums expected = new ExpectedChecksums(crc32c("outro conteudo".getBytes()), null);
+
+        // Act & Assert
+        assertThrows(ChecksumMismatchException.class, () -> service.spool(
+                new ByteArrayInputStream("conteudo do video".getBytes()), "video.mp4", "Titulo", null, userInfo, expected));
+        assertEquals(0, service.pending());
+        try (var files = Files.list(spoolDir)) {
+            assertEquals(0, files.count());
+        }
+        verifyNoInteractions(videoStorageService);
+    }
+
+    @Test
+    @DisplayName("Contêiner identificado no spool deve ir na mensagem")
+    void spool_Video_AddsContainerToMessage() throws Exception {
+        // Arrange
+        sniffer = new VideoContainerSniffer(true, 16 * 1024 * 1024);
+        byte[] content = VideoContainerSnifferTest.mp4();
+        when(videoStorageService.uploadVideo(any(InputStream.class), eq("video.mp4"), isNull(String.class), any())).thenAnswer(invocation -> {
+            assertArrayEquals(content, invocation.getArgument(0, InputStream.class).readAllBytes());
+            return StoredVideo.of("videos/1-abc.mp4");
+        });
+        when(videoStorageService.getVideoUrl("videos/1-abc.mp4")).thenReturn("https://s3/videos/1-abc.mp4");
+        UploadSpoolService service = service(3);
+
+        // Act
+        String uploadId = service.spool(new ByteArrayInputStream(content), "video.mp4", "Titulo", null, userInfo);
+
+        // Assert
+        SpooledUpload upload = awaitState(service, uploadId, State.COMPLETED);
+        Map<String, Object> expected = Map.of(VideoContainerSniffer.CONTAINER, "mp4",
+                ContentChecksums.CHECKSUM_CRC32C, crc32c(content));
+        assertEquals(expected, upload.attributes());
+        verify(videoQueueService).sendVideoMessage("videos/1-abc.mp4", "https://s3/videos/1-abc.mp4",
+                "Titulo", null, "usuario", "usuario@teste.com", expected);
+    }
+
+    @Test
+    @DisplayName("Falha no SQS deve ser repetida sem reenviar o vídeo ao S3")
+    void ship_QueueFails_RetriesOnlyTheMessage() throws Exception {
+        // Arrange
+        when(videoStorageService.uploadVideo(any(InputStream.class), any(), nullable(String.class), any()))
+                .thenReturn(StoredVideo.of("videos/1-abc.mp4"));
+        when(videoStorageService.getVideoUrl("videos/1-abc.mp4")).thenReturn("https://s3/videos/1-abc.mp4");
+        doThrow(new RuntimeException("SQS indisponível")).doNothing()
+                .when(videoQueueService).sendVideoMessage(any(), any(), any(), any(), any(), any(), any());
+        UploadSpoolService service = service(3);
+
+        // Act
+        String uploadId = service.spool(new ByteArrayInputStream(new byte[]{1}), "video.mp4", "Titulo", null, userInfo);
+
+        // Assert
+        SpooledUpload upload = awaitState(service, uploadId, State.COMPLETED);
+        assertEquals(2, upload.attempts());
+        verify(videoStorageService, times(1)).uploadVideo(any(InputStream.class), any(), nullable(String.class), any());
+        verify(videoQueueService, times(2)).sendVideoMessage(any(), any(), any(), any(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Após esgotar as tentativas o upload fica FAILED e o arquivo é mantido")
+    void ship_ExhaustsAttempts_MarksFailedAndKeepsFile() throws Exception {
+        // Arrange
+        when(videoStorageService.uploadVideo(any(InputStream.class), any(), nullable(String.class), any())).thenThrow(new IOException("S3 fora do ar"));
+        UploadSpoolService service = service(2);
+
+        // Act
+        String uploadId = service.spool(new ByteArrayInputStream(new byte[]{1}), "video.mp4", "Titulo", null, userInfo);
+
+        // Assert
+        SpooledUpload upload = awaitState(service, uploadId, State.FAILED);
+        assertEquals(2, upload.attempts());
+        assertEquals("S3 fora do ar", upload.error());
+        awaitPending(service, 0);
+        assertTrue(Files.exists(spoolDir.resolve(uploadId + ".video")));
+        verifyNoInteractions(videoQueueService);
+    }
+
+    @Test
+    @DisplayName("Arquivos de upload FAILED devem ser apagados depois do TTL do status")
+    void ship_ExhaustsAttempts_DeletesFilesAfterTtl() throws Exception {
+        // Arrange
+        when(videoStorageService.uploadVideo(any(InputStream.class), any(), nullable(String.class), any())).thenThrow(new IOException("S3 fora do ar"));
+        UploadSpoolService service = service(1, 1, 10_000);
+
+        // Act
+        String uploadId = service.spool(new ByteArrayInputStream(new byte[]{1}), "video.mp4", "Titulo", null, userInfo);
+        awaitState(service, uploadId, State.FAILED);
+
+        // Assert
+        for (int i = 0; i < 300 && Files.exists(spoolDir.resolve(uploadId + ".json")); i++) {
+            Thread.sleep(10);
+        }
+        assertFalse(Files.exists(spoolDir.resolve(uploadId + ".video")));
+        assertFalse(Files.exists(spoolDir.resolve(uploadId + ".json")));
+    }
+
+    @Test
+    @DisplayName("No startup, upload FAILED expirado deve ser apagado e o recente mantido até o fim do TTL")
+    void resumePending_FailedUploads_RetainedOnlyUntilTtl() throws Exception {
+        // Arrange
+        Instant now = Instant.now();
+        SpooledUpload expired = new SpooledUpload("antigo", "video.mp4", "Titulo", null, "usuario", "usuario@teste.com",
+                State.FAILED, 5, null, null, "S3 fora do ar", "t0", now.minusSeconds(7200).toString(), null);
+        SpooledUpload recent = new SpooledUpload("recente", "video.mp4", "Titulo", null, "usuario", "usuario@teste.com",
+                State.FAILED, 5, null, null, "S3 fora do ar", "t0", now.minusSeconds(60).toString(), null);
+        for (SpooledUpload upload : new SpooledUpload[]{expired, recent}) {
+            Files.write(spoolDir.resolve(upload.uploadId() + ".json"), objectMapper.writeValueAsBytes(upload));
+            Files.write(spoolDir.resolve(upload.uploadId() + ".video"), new byte[]{1});
+        }
+        UploadSpoolService service = service(3, 3600, 10_000);
+
+        // Act
+        service.resumePending();
+
+        // Assert
+        assertFalse(Files.exists(spoolDir.resolve("antigo.video")));
+        assertFalse(Files.exists(spoolDir.resolve("antigo.json")));
+        assertTrue(service.status("antigo").isEmpty());
+        assertTrue(Files.exists(spoolDir.resolve("recente.video")));
+        assertEquals(State.FAILED, service.status("recente").orElseThrow().state());
+        assertEquals(0, service.pending());
+        verifyNoInteractions(videoStorageService);
+    }
+
+    @Test
+    @DisplayName("Status de upload concluído deve deixar de ser encontrado depois do TTL")
+    void status_CompletedUpload_ExpiresAfterTtl() throws Exception {
+        // Arrange
+        when(videoStorageService.uploadVideo(any(InputStream.class), any(), nullable(String.class), any())).thenReturn(StoredVideo.of("videos/k.mp4"));
+        UploadSpoolService service = service(3, 60, 10_000);
+        String uploadId = service.spool(new ByteArrayInputStream(new byte[]{1}), "video.mp4", "Titulo", null, userInfo);
+        awaitState(service, uploadId, State.COMPLETED);
+
+        // Act
+        ReflectionTestUtils.setField(service, "clock", Clock.offset(Clock.systemUTC(), Duration.ofSeconds(61)));
+
+        // Assert
+        assertTrue(service.status(uploadId).isEmpty());
+        assertEquals(0, service.trackedUploads());
+    }
+
+    @Test
+    @DisplayName("Uploads terminados em memória devem ficar limitados ao tamanho do cache de status")
+    void status_ManyFinishedUploads_BoundedByCacheSize() throws Exception {
+        // Arrange
+        when(videoStorageService.uploadVideo(any(InputStream.class), any(), nullable(String.class), any())).thenReturn(StoredVideo.of("videos/k.mp4"));
+        UploadSpoolService service = service(3, 3600, 2);
+        String last = null;
+
+        // Act
+        for (int i = 0; i < 5; i++) {
+            last = service.spool(new ByteArrayInputStream(new byte[]{1}), "video.mp4", "Titulo", null, userInfo);
+            awaitState(service, last, State.COMPLETED);
+        }
+
+        // Assert
+        awaitPending(service, 0);
+        assertTrue(service.trackedUploads() <= 2);
+        assertEquals(State.COMPLETED, service.status(last).orElseThrow().state());
+    }
+
+    @Test
+    @DisplayName("Uploads pendentes no spool devem ser retomados no startup")
+    void resumePending_ResubmitsPendingAndCleansPartials() throws Exception {
+        // Arrange: estado deixado por uma instância anterior
+        SpooledUpload pending = new SpooledUpload("pendente", "video.mp4", "Titulo", null, "usuario", "usuario@teste.com",
+                State.UPLOADING, 1, null, null, null, "t0", "t0", null);
+        SpooledUpload orphan = new SpooledUpload("sem-video", "video.mp4", "Titulo", null, "usuario", "usuario@teste.com",
+                State.ACCEPTED, 0, null, null, null, "t0", "t0", null);
+        Files.write(spoolDir.resolve("pendente.json"), objectMapper.writeValueAsBytes(pending));
+        Files.write(spoolDir.resolve("pendente.video"), new byte[]{1, 2, 3});
+        Files.write(spoolDir.resolve("sem-video.json"), objectMapper.writeValueAsBytes(orphan));
+        Files.write(spoolDir.resolve("interrompido.part"), new byte[]{1});
+        when(videoStorageService.uploadVideo(any(InputStream.class), any(), nullable(String.class), any())).thenReturn(StoredVideo.of("videos/k.mp4"));
+        UploadSpoolService service = service(3);
+
+        // Act
+        service.resumePending();
+
+        // Assert
+        assertEquals(2, awaitState(service, "pendente", State.COMPLETED).attempts());
+        assertEquals(State.FAILED, service.status("sem-video").orElseThrow().state());
+        assertFalse(Files.exists(spoolDir.resolve("interrompido.part")));
+    }
+
+    @Test
+    @DisplayName("Falha na leitura do corpo não deve deixar arquivo no spool")
+    void spool_ReadFails_DeletesPartialFile() throws Exception {
+        // Arrange
+        InputStream failing = new InputStream() {
+            @Override
+            public int read() throws IOException {
+                throw new IOException("Conexão do cliente caiu");
+            }
+        };
+        UploadSpoolService service = service(3);
+
+        // Act & Assert
+        assertThrows(IOException.class, () -> service.spool(failing, "video.mp4", "Titulo", null, userInfo));
+        try (var files = Files.list(spoolDir)) {
+            assertEquals(0, files.count());
+        }
+    }
+
+    @Test
+    @DisplayName("Modo desativado não retoma nada")
+    void resumePending_Disabled_DoesNothing() throws Exception {
+        Files.write(spoolDir.resolve("x.json"), "{}".getBytes());
+        UploadSpoolService service = new UploadSpoolService(videoStorageService, videoQueueService, contentHashIndex,
+                sniffer, checksums, objectMapper, executor, false, spoolDir.toString(), 3, 1, 3600, 10_000);
+
+        service.resumePending();
+
+        assertFalse(service.isEnabled());
+        assertTrue(service.status("x").isEmpty());
+    }
+
+    private static String crc32c(byte[] content) {
+        CRC32C crc = new CRC32C();
+        crc.update(content);
+        return Base64.getEncoder().encodeToString(ByteBuffer.allocate(4).putInt((int) crc.getValue()).array());
+    }
+}
@@ -0,0 +1,108 @@
+package com.videoUploaderService.service;
+
+import com.videoUploaderService.service.UserRateLimiter.Transfer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.InterruptedIOException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UserRateLimiterTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    private UserRateLimiter limiter(double requestsPerSecond, double bytesPerSecond, double totalBytesPerSecond,
+                                    long idleSeconds) {
+        return new UserRateLimiter(registry, requestsPerSecond, 2, bytesPerSecond, 0, totalBytesPerSecond,
+                idleSeconds, 1000);
+    }
+
+    @Test
+    @DisplayName("Acima da rajada o usuário deve ser recusado sem afetar os demais")
+    void tryAcquireRequest_LimitsEachUserSeparately() {
+        // Arrange
+        UserRateLimiter limiter = limiter(1, 0, 0, 300);
+
+        // Act & Assert
+        assertEquals(0, limiter.tryAcquireRequest("ana"));
+        assertEquals(0, limiter.tryAcquireRequest("ana"));
+        long wait = limiter.tryAcquireRequest("ana");
+        assertTrue(wait > 0 && wait <= TimeUnit.SECONDS.toNanos(1));
+        assertEquals(0, limiter.tryAcquireRequest("bruno"));
+        assertEquals(1, registry.get("video.upload.ratelimit.rejected").counter().count());
+    }
+
+    @Test
+    @DisplayName("Limites zerados devem desligar o limitador")
+    void isEnabled_ReflectsConfiguration() {
+        assertFalse(limiter(0, 0, 0, 300).isEnabled());
+        assertEquals(0, limiter(0, 0, 0, 300).tryAcquireRequest("ana"));
+        assertTrue(limiter(0, 1000, 0, 300).isEnabled());
+        assertTrue(limiter(0, 0, 1000, 300).isEnabled());
+    }
+
+    @Test
+    @DisplayName("Leituras acima da taxa de bytes devem esperar")
+    void throttle_SleepsForPreviousDebt() throws InterruptedIOException {
+        // Arrange: 10 KB/s, sem rajada
+        UserRateLimiter limiter = limiter(0, 10_000, 0, 300);
+
+        // Act
+        long start = System.nanoTime();
+        try (Transfer transfer = limiter.startTransfer("ana")) {
+            transfer.throttle(1000);
+            transfer.throttle(1000);
+        }
+        long elapsed = System.nanoTime() - start;
+
+        // Assert: o segundo chunk espera os 100 ms do primeiro
+        assertTrue(elapsed >= TimeUnit.MILLISECONDS.toNanos(90), "esperou " + elapsed + " ns");
+        assertTrue(registry.get("video.upload.ratelimit.throttled").counter().count() > 0);
+    }
+
+    @Test
+    @DisplayName("Com o serviço saturado a banda deve ser dividida entre os usuários ativos")
+    void throttle_Saturated_SharesBandwidth() throws InterruptedIOException {
+        // Arrange: 1 MB/s no total, sem limite individual
+        UserRateLimiter limiter = limiter(0, 0, 1_000_000, 300);
+        Transfer ana = limiter.startTransfer("ana");
+        Transfer bruno = limiter.startTransfer("bruno");
+        assertEquals(0, limiter.bytesPerSecond());
+        assertEquals(2, registry.get("video.upload.ratelimit.users.active").gauge().value());
+
+        // Act: 10 MB em uma janela de amostragem de 1 s
+        long start = System.nanoTime() + TimeUnit.SECONDS.toNanos(1);
+        limiter.tick(start);
+        ana.throttle(10_000_000);
+        limiter.tick(start + TimeUnit.SECONDS.toNanos(1));
+
+        // Assert
+        assertTrue(limiter.isSaturated());
+        assertEquals(500_000, limiter.bytesPerSecond());
+        ana.close();
+        bruno.close();
+        ana.close();
+        assertEquals(0, registry.get("video.upload.ratelimit.users.active").gauge().value());
+        assertEquals(1_000_000, limiter.bytesPerSecond());
+    }
+
+    @Test
+    @DisplayName("Usuários ociosos devem ser removidos do mapa")
+    void tick_EvictsIdleUsers() {
+        // Arrange
+        UserRateLimiter limiter = limiter(100, 0, 0, 0);
+        limiter.tryAcquireRequest("ana");
+        Transfer bruno = limiter.startTransfer("bruno");
+        assertEquals(2, limiter.trackedUsers());
+
+        // Act
+        limiter.tick(System.nanoTime() + TimeUnit.SECONDS.toNanos(1));
+
+        // Assert: só quem tem upload em andamento fica
+        assertEquals(1, limiter.trackedUsers());
+        bruno.close();
+    }
+}
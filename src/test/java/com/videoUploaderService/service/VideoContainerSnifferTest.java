@@ -0,0 +1,136 @@
+package com.videoUploaderService.service;
+
+import com.videoUploaderService.service.VideoContainerSniffer.Sniffed;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VideoContainerSnifferTest {
+
+    private final VideoContainerSniffer sniffer = new VideoContainerSniffer(true, 16 * 1024 * 1024);
+
+    /**
+     * Início de um MP4: caixa ftyp com a marca isom, seguida de dados quaisquer.
+     */
+    static byte[] mp4() {
+        byte[] content = new byte[10_000];
+        byte[] ftyp = {0, 0, 0, 0x18, 'f', 't', 'y', 'p', 'i', 's', 'o', 'm', 0, 0, 2, 0};
+        System.arraycopy(ftyp, 0, content, 0, ftyp.length);
+        for (int i = ftyp.length; i < content.length; i++) {
+            content[i] = (byte) i;
+        }
+        return content;
+    }
+
+    private static byte[] ascii(String value) {
+        return value.getBytes(StandardCharsets.US_ASCII);
+    }
+
+    private static byte[] transportStream(int packet, int offset) {
+        byte[] content = new byte[packet * 10];
+        for (int i = 0; i < 10; i++) {
+            content[i * packet + offset] = 0x47;
+        }
+        return content;
+    }
+
+    private static byte[] ebml(String docType) {
+        byte[] header = {0x1A, 0x45, (byte) 0xDF, (byte) 0xA3, (byte) 0x9F, 0x42, (byte) 0x86, (byte) 0x81, 0x01,
+                0x42, (byte) 0x82, (byte) (0x80 | docType.length())};
+        byte[] content = new byte[header.length + docType.length() + 16];
+        System.arraycopy(header, 0, content, 0, header.length);
+        System.arraycopy(ascii(docType), 0, content, header.length, docType.length());
+        return content;
+    }
+
+    @Test
+    @DisplayName("Assinaturas conhecidas devem ser identificadas")
+    void detect_KnownSignatures() {
+        assertEquals(VideoContainer.MP4, VideoContainerSniffer.detect(mp4()));
+        assertEquals(VideoContainer.MOV, VideoContainerSniffer.detect(ascii("\0\0\0\u0014ftypqt  \0\0\0\0")));
+        assertEquals(VideoContainer.MOV, VideoContainerSniffer.detect(ascii("\0\0\0\bwide\0\0\0\0")));
+        assertEquals(VideoContainer.WEBM, VideoContainerSniffer.detect(ebml("webm")));
+        assertEquals(VideoContainer.MATROSKA, VideoContainerSniffer.detect(ebml("matroska")));
+        assertEquals(VideoContainer.AVI, VideoContainerSniffer.detect(ascii("RIFF\u0010\0\0\0AVI LIST")));
+        assertEquals(VideoContainer.MPEG_TS, VideoContainerSniffer.detect(transportStream(188, 0)));
+        assertEquals(VideoContainer.MPEG_TS, VideoContainerSniffer.detect(transportStream(192, 4)));
+    }
+
+    @Test
+    @DisplayName("Documentos, arquivos compactados e arquivos truncados devem ser recusados")
+    void detect_NonVideo_ReturnsNull() {
+        assertNull(VideoContainerSniffer.detect(ascii("%PDF-1.7\n%âãÏÓ\n1 0 obj")));
+        assertNull(VideoContainerSniffer.detect(ascii("PK\u0003\u0004\u0014\0\0\0\b\0")));
+        assertNull(VideoContainerSniffer.detect(ascii("RIFF\u0010\0\0\0WAVEfmt ")));
+        assertNull(VideoContainerSniffer.detect(ascii("\0\0\0\u0018ft")));
+        assertNull(VideoContainerSniffer.detect(ascii("G apenas um texto começando com G")));
+        assertNull(VideoContainerSniffer.detect(new byte[0]));
+    }
+
+    @Test
+    @DisplayName("Stream devolvido deve repetir o início já lido e seguir com o restante")
+    void sniff_ReturnsWholeContent() throws IOException {
+        // Arrange
+        byte[] content = mp4();
+
+        // Act
+        Sniffed sniffed = sniffer.sniff(new ByteArrayInputStream(content));
+
+        // Assert
+        assertEquals(VideoContainer.MP4, sniffed.container());
+        assertArrayEquals(content, sniffed.stream().readAllBytes());
+    }
+
+    @Test
+    @DisplayName("Conteúdo que não é vídeo deve falhar lendo só o início")
+    void sniff_NotAVideo_ReadsOnlyTheHead() {
+        // Arrange
+        byte[] content = new byte[1_000_000];
+        System.arraycopy(ascii("%PDF-1.7"), 0, content, 0, 8);
+        ByteArrayInputStream in = new ByteArrayInputStream(content);
+
+        // Act & Assert
+        assertThrows(UnsupportedVideoFormatException.class, () -> sniffer.sniff(in));
+        assertEquals(content.length - VideoContainerSniffer.HEAD_BYTES, in.available());
+    }
+
+    @Test
+    @DisplayName("Verificação desligada deve devolver o stream intacto")
+    void sniff_Disabled_ReturnsSameStream() throws IOException {
+        // Arrange
+        VideoContainerSniffer disabled = new VideoContainerSniffer(false, 16 * 1024 * 1024);
+        InputStream in = new ByteArrayInputStream(ascii("%PDF-1.7"));
+
+        // Act
+        Sniffed sniffed = disabled.sniff(in);
+
+        // Assert
+        assertFalse(disabled.isEnabled());
+        assertNull(sniffed.container());
+        assertSame(in, sniffed.stream());
+    }
+
+    @Test
+    @DisplayName("Identificação pelo início já lido deve criar o parser de metadados")
+    void identify_Head() throws UnsupportedVideoFormatException {
+        // Arrange
+        VideoContainerSniffer disabled = new VideoContainerSniffer(false, 1024);
+
+        // Act
+        Sniffed sniffed = sniffer.identify(Arrays.copyOf(mp4(), 64));
+
+        // Assert
+        assertEquals(VideoContainer.MP4, sniffed.container());
+        assertNotNull(sniffed.parser());
+        assertNull(sniffed.stream());
+        assertNull(disabled.identify(ascii("%PDF-1.7")).container());
+        assertThrows(UnsupportedVideoFormatException.class, () -> sniffer.identify(ascii("%PDF-1.7")));
+    }
+}
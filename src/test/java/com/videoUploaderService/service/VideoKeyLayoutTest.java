@@ -0,0 +1,84 @@
+package com.videoUploaderService.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VideoKeyLayoutTest {
+
+    private static final String UUID = "[0-9a-f]{8}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{12}";
+
+    @Test
+    @DisplayName("Layout timestamp deve manter o formato original")
+    void timestamp_KeepsLegacyFormat() {
+        // Act
+        String key = new TimestampKeyLayout().newKey(".mp4");
+
+        // Assert
+        assertTrue(key.matches("videos/\\d+-" + UUID + "\\.mp4"), key);
+        assertEquals(1, VideoKeyLayout.versionOf(key));
+    }
+
+    @Test
+    @DisplayName("Layout hash deve prefixar a chave com o início do UUID e espalhar as chaves pelos prefixos")
+    void hashPrefix_SpreadsKeysAcrossPrefixes() {
+        // Arrange
+        HashPrefixKeyLayout layout = new HashPrefixKeyLayout(1);
+        Set<String> prefixes = new HashSet<>();
+
+        // Act
+        for (int i = 0; i < 2000; i++) {
+            String key = layout.newKey("");
+            prefixes.add(key.substring(0, key.indexOf('/', VideoKeyLayout.ROOT.length())));
+        }
+        String key = new HashPrefixKeyLayout(3).newKey(".mov");
+
+        // Assert
+        assertEquals(16, prefixes.size());
+        String rest = UUID.substring("[0-9a-f]{8}".length());
+        assertTrue(key.matches("videos/([0-9a-f]{3})/\\d+-\\1[0-9a-f]{5}" + rest + "\\.mov"), key);
+        assertEquals(2, VideoKeyLayout.versionOf(key));
+    }
+
+    @Test
+    @DisplayName("Layout date deve agrupar pela data UTC e espalhar por shard dentro dela")
+    void dateShard_GroupsByDayThenShard() {
+        // Arrange
+        LocalDate before = LocalDate.now(ZoneOffset.UTC);
+
+        // Act
+        String key = new DateShardKeyLayout(2).newKey(".mp4");
+
+        // Assert
+        LocalDate after = LocalDate.now(ZoneOffset.UTC);
+        assertTrue(key.matches("videos/\\d{4}/\\d{2}/\\d{2}/[0-9a-f]{2}/\\d+-" + UUID + "\\.mp4"), key);
+        String day = key.substring(VideoKeyLayout.ROOT.length(), VideoKeyLayout.ROOT.length() + 10).replace('/', '-');
+        assertTrue(day.equals(before.toString()) || day.equals(after.toString()), day);
+        assertEquals(3, VideoKeyLayout.versionOf(key));
+    }
+
+    @Test
+    @DisplayName("Chaves fora dos layouts conhecidos não devem ter versão")
+    void versionOf_UnknownKeys_ReturnsZero() {
+        assertEquals(0, VideoKeyLayout.versionOf(null));
+        assertEquals(0, VideoKeyLayout.versionOf("key"));
+        assertEquals(0, VideoKeyLayout.versionOf("videos/file.mp4"));
+        assertEquals(0, VideoKeyLayout.versionOf("outros/1700000000000-abc.mp4"));
+        assertEquals(0, VideoKeyLayout.versionOf("videos/zz/1700000000000-abc.mp4"));
+        assertEquals(0, VideoKeyLayout.versionOf("videos/a/b/1700000000000-abc.mp4"));
+        assertEquals(0, VideoKeyLayout.versionOf("videos/2026/10/18/xy/1700000000000-abc.mp4"));
+    }
+
+    @Test
+    @DisplayName("Tamanho de prefixo fora de 1 a 8 deve ser recusado")
+    void prefixLength_OutOfRange_Throws() {
+        assertThrows(IllegalArgumentException.class, () -> new HashPrefixKeyLayout(0));
+        assertThrows(IllegalArgumentException.class, () -> new DateShardKeyLayout(9));
+    }
+}
@@ -1,9 +1,9 @@
 package com.videoUploaderService.service;
 
-import com.amazonaws.services.sqs.AmazonSQS;
-import com.amazonaws.services.sqs.model.SendMessageRequest;
+import com.amazonaws.AmazonServiceException;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -12,38 +12,46 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.Captor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.test.util.ReflectionTestUtils; // Para injetar o @Value
 
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 class VideoQueueServiceTest {
 
     @Mock
-    private AmazonSQS amazonSQS;
+    private SqsBatchPublisher publisher;
+
+    @Mock
+    private OutboxLog outbox;
 
     @Mock
     private ObjectMapper objectMapper;
 
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final UploadMetrics metrics = new UploadMetrics(registry);
+
     private VideoQueueService videoQueueService;
 
     @Captor
-    private ArgumentCaptor<SendMessageRequest> sendMessageRequestCaptor;
-
-    private final String QUEUE_URL = "https://sqs.us-east-1.amazonaws.com/123/video-queue";
+    private ArgumentCaptor<Map<String, Object>> payloadCaptor;
 
     @BeforeEach
     void setUp() {
         // Instancia a service passando os Mocks
-        videoQueueService = new VideoQueueService(amazonSQS, QUEUE_URL, objectMapper);
+        videoQueueService = new VideoQueueService(publisher, outbox, objectMapper, metrics);
     }
 
     @Test
-    @DisplayName("Deve enviar mensagem para o SQS com sucesso e payload completo")
+    @DisplayName("Deve publicar mensagem no SQS com sucesso e payload completo")
     void sendVideoMessage_Success_WithDescription() throws JsonProcessingException {
         // Arrange
         String s3Key = "videos/file.mp4";
@@ -55,39 +63,192 @@ class VideoQueueServiceTest {
         String expectedJsonBody = "{\"json\":\"mock\"}";
 
         // Mockamos o comportamento do ObjectMapper
-        // IMPORTANTE: Usamos any(Map.class) para evitar problemas de matching com Mapas
-        when(objectMapper.writeValueAsString(any(Map.class))).thenReturn(expectedJsonBody);
+        when(objectMapper.writeValueAsString(payloadCaptor.capture())).thenReturn(expectedJsonBody);
+        when(publisher.publish(expectedJsonBody)).thenReturn(CompletableFuture.completedFuture("msg-1"));
 
         // Act
         videoQueueService.sendVideoMessage(s3Key, s3Url, title, desc, user, email);
 
         // Assert
-        // 1. Verifica se serializou o JSON
-        verify(objectMapper, times(1)).writeValueAsString(any(Map.class));
-
-        // 2. Captura o que foi enviado para o SQS
-        verify(amazonSQS, times(1)).sendMessage(sendMessageRequestCaptor.capture());
-        
-        SendMessageRequest capturedRequest = sendMessageRequestCaptor.getValue();
-        
-        // 3. Validações
-        assertEquals(QUEUE_URL, capturedRequest.getQueueUrl());
-        assertEquals(expectedJsonBody, capturedRequest.getMessageBody());
+        Map<String, Object> payload = payloadCaptor.getValue();
+        assertEquals(s3Key, payload.get("s3Key"));
+        assertEquals(s3Url, payload.get("s3Url"));
+        assertEquals(title, payload.get("title"));
+        assertEquals(desc, payload.get("description"));
+        assertEquals(user, payload.get("username"));
+        assertEquals(email, payload.get("email"));
+        assertNotNull(payload.get("uploadedAt"));
+        verify(publisher).publish(expectedJsonBody);
+        assertEquals(1, registry.get("video.upload.stage").tag("stage", "sqs").timer().count());
     }
 
     @Test
-    @DisplayName("Deve enviar mensagem corretamente mesmo sem descrição")
+    @DisplayName("Deve publicar mensagem corretamente mesmo sem descrição")
     void sendVideoMessage_Success_WithoutDescription() throws JsonProcessingException {
         // Arrange
         String expectedJsonBody = "{\"json\":\"mock_no_desc\"}";
         when(objectMapper.writeValueAsString(any(Map.class))).thenReturn(expectedJsonBody);
+        when(publisher.publish(expectedJsonBody)).thenReturn(CompletableFuture.completedFuture("msg-2"));
 
         // Act
         videoQueueService.sendVideoMessage("key", "url", "Title", null, "user", "email");
 
         // Assert
-        verify(amazonSQS).sendMessage(sendMessageRequestCaptor.capture());
-        assertEquals(expectedJsonBody, sendMessageRequestCaptor.getValue().getMessageBody());
+        verify(publisher).publish(expectedJsonBody);
+    }
+
+    @Test
+    @DisplayName("Atributos do vídeo entram na mensagem sem sobrescrever os campos principais")
+    void sendVideoMessage_WithAttributes_MergesIntoPayload() throws JsonProcessingException {
+        // Arrange
+        when(objectMapper.writeValueAsString(payloadCaptor.capture())).thenReturn("{}");
+        when(publisher.publish("{}")).thenReturn(CompletableFuture.completedFuture("msg-3"));
+
+        // Act
+        videoQueueService.sendVideoMessage("key", "url", "Title", null, "user", "email",
+                Map.of("deduplicated", true, "contentSha256", "ab12", "s3Key", "outra"));
+
+        // Assert
+        Map<String, Object> payload = payloadCaptor.getValue();
+        assertEquals(true, payload.get("deduplicated"));
+        assertEquals("ab12", payload.get("contentSha256"));
+        assertEquals("key", payload.get("s3Key"));
+    }
+
+    @Test
+    @DisplayName("A versão do layout da chave deve ir na mensagem e não pode ser sobrescrita pelos atributos")
+    void sendVideoMessage_KeyLayoutVersion_DerivedFromKey() throws JsonProcessingException {
+        // Arrange
+        when(objectMapper.writeValueAsString(payloadCaptor.capture())).thenReturn("{}");
+        when(publisher.publish("{}")).thenReturn(CompletableFuture.completedFuture("msg-4"));
+
+        // Act
+        videoQueueService.sendVideoMessage("videos/3f/1700000000000-3f2a.mp4", "url", "Title", null, "user", "email",
+                Map.of(VideoKeyLayout.VERSION_ATTRIBUTE, 9));
+        videoQueueService.sendVideoMessage("key", "url", "Title", null, "user", "email");
+
+        // Assert
+        assertEquals(2, payloadCaptor.getAllValues().get(0).get(VideoKeyLayout.VERSION_ATTRIBUTE));
+        assertFalse(payloadCaptor.getAllValues().get(1).containsKey(VideoKeyLayout.VERSION_ATTRIBUTE));
+    }
+
+    @Test
+    @DisplayName("Com outbox ligado, a mensagem deve ser gravada no log em vez de publicada")
+    void sendVideoMessage_OutboxEnabled_AppendsToOutbox() throws IOException {
+        // Arrange
+        when(outbox.isEnabled()).thenReturn(true);
+        when(objectMapper.writeValueAsString(any(Map.class))).thenReturn("{}");
+
+        // Act
+        videoQueueService.sendVideoMessage("key", "url", "Title", "Desc", "user", "email");
+
+        // Assert
+        verify(outbox).append("{}");
+        verify(publisher, never()).publish(anyString());
+    }
+
+    @Test
+    @DisplayName("Falha ao gravar no outbox deve ser propagada")
+    void sendVideoMessage_OutboxAppendFails_ThrowsRuntimeException() throws IOException {
+        // Arrange
+        when(outbox.isEnabled()).thenReturn(true);
+        when(objectMapper.writeValueAsString(any(Map.class))).thenReturn("{}");
+        doThrow(new IOException("disco cheio")).when(outbox).append("{}");
+
+        // Act & Assert
+        RuntimeException exception = assertThrows(RuntimeException.class, () ->
+                videoQueueService.sendVideoMessage("key", "url", "Title", "Desc", "user", "email"));
+        assertEquals("Falha ao gravar mensagem de vídeo no outbox", exception.getMessage());
+    }
+
+    @Test
+    @DisplayName("Falha do SQS deve ser propagada para o chamador síncrono")
+    void sendVideoMessage_PublishFails_ThrowsCause() throws JsonProcessingException {
+        // Arrange
+        AmazonServiceException failure = new AmazonServiceException("SQS indisponível");
+        when(objectMapper.writeValueAsString(any(Map.class))).thenReturn("{}");
+        when(publisher.publish("{}")).thenReturn(CompletableFuture.failedFuture(failure));
+
+        // Act & Assert
+        AmazonServiceException exception = assertThrows(AmazonServiceException.class, () ->
+                videoQueueService.sendVideoMessage("key", "url", "Title", "Desc", "user", "email"));
+        assertSame(failure, exception);
+    }
+
+    @Test
+    @DisplayName("Falha checked no envio deve ser convertida em RuntimeException")
+    void sendVideoMessage_PublishFailsWithCheckedException_WrapsCause() throws JsonProcessingException {
+        // Arrange
+        when(objectMapper.writeValueAsString(any(Map.class))).thenReturn("{}");
+        when(publisher.publish("{}")).thenReturn(CompletableFuture.failedFuture(new IOException("rede")));
+
+        // Act & Assert
+        RuntimeException exception = assertThrows(RuntimeException.class, () ->
+                videoQueueService.sendVideoMessage("key", "url", "Title", "Desc", "user", "email"));
+        assertEquals("Falha ao enviar mensagem de vídeo para o SQS", exception.getMessage());
+    }
+
+    @Test
+    @DisplayName("Lote deve publicar todas as mensagens e esvaziar o publisher uma única vez")
+    void sendVideoMessages_PublishesAllAndFlushes() throws JsonProcessingException {
+        // Arrange
+        AmazonServiceException failure = new AmazonServiceException("SQS indisponível");
+        when(objectMapper.writeValueAsString(any(Map.class))).thenReturn("{\"a\":1}", "{\"b\":2}");
+        when(publisher.publish("{\"a\":1}")).thenReturn(CompletableFuture.completedFuture("msg-1"));
+        when(publisher.publish("{\"b\":2}")).thenReturn(CompletableFuture.failedFuture(failure));
+
+        // Act
+        List<RuntimeException> failures = videoQueueService.sendVideoMessages(List.of(
+                new VideoMessage("k1", "u1", "T1", null, "user", "email", null),
+                new VideoMessage("k2", "u2", "T2", "D2", "user", "email", Map.of())));
+
+        // Assert
+        assertEquals(Arrays.asList(null, failure), failures);
+        verify(publisher, times(2)).publish(anyString());
+        verify(publisher).flush();
+        assertEquals(1, registry.get("video.upload.stage").tag("stage", "sqs").timer().count());
+    }
+
+    @Test
+    @DisplayName("Lote com outbox deve gravar as mensagens válidas em uma única chamada")
+    void sendVideoMessages_OutboxEnabled_AppendsAll() throws IOException {
+        // Arrange
+        when(outbox.isEnabled()).thenReturn(true);
+        when(objectMapper.writeValueAsString(any(Map.class)))
+                .thenReturn("{}")
+                .thenThrow(new JsonProcessingException("Erro simulação") {})
+                .thenReturn("[]");
+
+        // Act
+        List<RuntimeException> failures = videoQueueService.sendVideoMessages(List.of(
+                new VideoMessage("k1", "u1", "T1", null, "user", "email", null),
+                new VideoMessage("k2", "u2", "T2", null, "user", "email", null),
+                new VideoMessage("k3", "u3", "T3", null, "user", "email", null)));
+
+        // Assert
+        verify(outbox).appendAll(List.of("{}", "[]"));
+        verifyNoInteractions(publisher);
+        assertNull(failures.get(0));
+        assertEquals("Erro ao serializar mensagem de vídeo", failures.get(1).getMessage());
+        assertNull(failures.get(2));
+    }
+
+    @Test
+    @DisplayName("Falha no outbox deve valer para todas as mensagens do lote")
+    void sendVideoMessages_OutboxFails_FailsEveryMessage() throws IOException {
+        // Arrange
+        when(outbox.isEnabled()).thenReturn(true);
+        when(objectMapper.writeValueAsString(any(Map.class))).thenReturn("{}");
+        doThrow(new IOException("disco cheio")).when(outbox).appendAll(anyList());
+
+        // Act
+        List<RuntimeException> failures = videoQueueService.sendVideoMessages(List.of(
+                new VideoMessage("k1", "u1", "T1", null, "user", "email", null),
+                new VideoMessage("k2", "u2", "T2", null, "user", "email", null)));
+
+        // Assert
+        assertEquals(2, failures.size());
+        failures.forEach(failure -> assertEquals("Falha ao gravar mensagem de vídeo no outbox", failure.getMessage()));
     }
 
     @Test
@@ -99,13 +260,13 @@ class VideoQueueServiceTest {
                 .thenThrow(new JsonProcessingException("Erro simulação") {});
 
         // Act & Assert
-        RuntimeException exception = assertThrows(RuntimeException.class, () -> 
+        RuntimeException exception = assertThrows(RuntimeException.class, () ->
             videoQueueService.sendVideoMessage("key", "url", "Title", "Desc", "user", "email")
         );
 
         assertEquals("Erro ao serializar mensagem de vídeo", exception.getMessage());
 
-        // Garante que NÂO tentou enviar para o SQS se falhou o JSON
-        verifyNoInteractions(amazonSQS);
+        // Garante que NÂO tentou publicar se falhou o JSON
+        verify(publisher, never()).publish(anyString());
     }
-}
\ No newline at end of file
+}
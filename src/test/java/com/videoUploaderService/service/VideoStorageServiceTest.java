@@ -1,20 +1,32 @@
 package com.videoUploaderService.service;
 
 import com.amazonaws.services.s3.AmazonS3;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
 import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.reactivestreams.Publisher;
 import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.web.multipart.MultipartFile;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 import java.io.IOException;
 import java.net.MalformedURLException;
 import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -26,15 +38,43 @@ class VideoStorageServiceTest {
     @Mock
     private AmazonS3 amazonS3;
 
+    @Mock
+    private VideoStore videoStore;
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @Spy
+    private UploadMetrics metrics = new UploadMetrics(registry);
+
+    @Mock
+    private ContentHashIndex contentHashIndex;
+
+    @Spy
+    private VideoContainerSniffer sniffer = new VideoContainerSniffer(false, 16 * 1024 * 1024);
+
+    @Spy
+    private UploadChecksums checksums = new UploadChecksums(false);
+
+    @Spy
+    private VideoKeyLayout keyLayout = new HashPrefixKeyLayout(2);
+
+    @Spy
+    private DependencyGuards guards = DependencyGuards.disabled(registry);
+
+    @TempDir
+    Path dedupDir;
+
     @InjectMocks
     private VideoStorageService videoStorageService;
 
     private static final String BUCKET_NAME = "test-bucket";
+    private static final String OWNER = "alice";
     private MockMultipartFile testFile;
 
     @BeforeEach
     void setUp() {
         ReflectionTestUtils.setField(videoStorageService, "bucketName", BUCKET_NAME);
+        lenient().when(videoStore.put(anyString(), any(), anyLong())).thenReturn(CompletableFuture.completedFuture(null));
         testFile = new MockMultipartFile(
                 "file",
                 "test-video.mp4",
@@ -46,13 +86,10 @@ class VideoStorageServiceTest {
     @Test
     void uploadVideo_Success_WithExtension() throws IOException {
         // Arrange
-        ArgumentCaptor<String> bucketCaptor = ArgumentCaptor.forClass(String.class);
         ArgumentCaptor<String> keyCaptor = ArgumentCaptor.forClass(String.class);
 
-        // Mock do putObject - método void, não precisa de configuração especial
-
         // Act
-        String result = videoStorageService.uploadVideo(testFile);
+        String result = videoStorageService.uploadVideo(testFile).key();
 
         // Assert
         assertNotNull(result);
@@ -60,17 +97,26 @@ class VideoStorageServiceTest {
         assertTrue(result.endsWith(".mp4"));
         assertTrue(result.contains("-"));
 
-        verify(amazonS3, times(1)).putObject(
-                bucketCaptor.capture(),
+        verify(videoStore, times(1)).put(
                 keyCaptor.capture(),
                 any(java.io.InputStream.class),
-                isNull()
+                eq(testFile.getSize())
         );
 
-        assertEquals(BUCKET_NAME, bucketCaptor.getValue());
         assertEquals(result, keyCaptor.getValue());
     }
 
+    @Test
+    @DisplayName("A chave deve sair do layout configurado, com a extensão do arquivo original")
+    void newKey_DelegatesToKeyLayout() {
+        // Act
+        String key = videoStorageService.newKey("clip.final.MOV");
+
+        // Assert
+        verify(keyLayout).newKey(".MOV");
+        assertEquals(HashPrefixKeyLayout.VERSION, VideoKeyLayout.versionOf(key));
+    }
+
     @Test
     void uploadVideo_Success_WithoutExtension() throws IOException {
         // Arrange
@@ -81,10 +127,8 @@ class VideoStorageServiceTest {
                 "test content".getBytes()
         );
 
-        // Mock do putObject - método void, não precisa de configuração especial
-
         // Act
-        String result = videoStorageService.uploadVideo(fileWithoutExtension);
+        String result = videoStorageService.uploadVideo(fileWithoutExtension).key();
 
         // Assert
         assertNotNull(result);
@@ -92,7 +136,7 @@ class VideoStorageServiceTest {
         assertFalse(result.contains("."));
         assertTrue(result.contains("-"));
 
-        verify(amazonS3, times(1)).putObject(eq(BUCKET_NAME), eq(result), any(), isNull());
+        verify(videoStore, times(1)).put(eq(result), any(), anyLong());
     }
 
     @Test
@@ -105,10 +149,8 @@ class VideoStorageServiceTest {
                 "test content".getBytes()
         );
 
-        // Mock do putObject - método void, não precisa de configuração especial
-
         // Act
-        String result = videoStorageService.uploadVideo(fileWithMultipleDots);
+        String result = videoStorageService.uploadVideo(fileWithMultipleDots).key();
 
         // Assert
         assertNotNull(result);
@@ -116,7 +158,7 @@ class VideoStorageServiceTest {
         assertTrue(result.endsWith(".mp4"));
         assertTrue(result.contains("-"));
 
-        verify(amazonS3, times(1)).putObject(eq(BUCKET_NAME), eq(result), any(), isNull());
+        verify(videoStore, times(1)).put(eq(result), any(), anyLong());
     }
 
     @Test
@@ -129,10 +171,8 @@ class VideoStorageServiceTest {
                 "test content".getBytes()
         );
 
-        // Mock do putObject - método void, não precisa de configuração especial
-
         // Act
-        String result = videoStorageService.uploadVideo(fileWithNullFilename);
+        String result = videoStorageService.uploadVideo(fileWithNullFilename).key();
 
         // Assert
         assertNotNull(result);
@@ -140,7 +180,7 @@ class VideoStorageServiceTest {
         assertFalse(result.contains("."));
         assertTrue(result.contains("-"));
 
-        verify(amazonS3, times(1)).putObject(eq(BUCKET_NAME), eq(result), any(), isNull());
+        verify(videoStore, times(1)).put(eq(result), any(), anyLong());
     }
 
     @Test
@@ -163,13 +203,82 @@ class VideoStorageServiceTest {
         assertThrows(IOException.class, () -> videoStorageService.uploadVideo(fileWithIOException));
     }
 
+    @Test
+    void uploadVideo_UploaderFails_PropagatesException() throws IOException {
+        // Arrange
+        when(videoStore.put(anyString(), any(), anyLong()))
+                .thenReturn(CompletableFuture.failedFuture(new IOException("Falha no upload multipart")));
+
+        // Act & Assert
+        IOException exception = assertThrows(IOException.class, () -> videoStorageService.uploadVideo(testFile));
+        assertEquals("Falha no upload multipart", exception.getMessage());
+    }
+
+    @Test
+    void uploadVideo_StoreFailsWithRuntimeException_BecomesIOException() {
+        // Arrange
+        when(videoStore.put(anyString(), any(), anyLong()))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("cliente fechado")));
+
+        // Act & Assert
+        IOException exception = assertThrows(IOException.class, () -> videoStorageService.uploadVideo(
+                new java.io.ByteArrayInputStream("conteudo".getBytes()), "clip.mp4"));
+        assertInstanceOf(IllegalStateException.class, exception.getCause());
+    }
+
+    @Test
+    void uploadVideo_FromStream_UsesOriginalExtension() throws IOException {
+        // Act
+        String result = videoStorageService.uploadVideo(
+                new java.io.ByteArrayInputStream("conteudo".getBytes()), "clip.mov").key();
+
+        // Assert
+        assertTrue(result.startsWith("videos/"));
+        assertTrue(result.endsWith(".mov"));
+        // tamanho desconhecido: o backend decide entre PUT simples e multipart enquanto lê
+        verify(videoStore).put(eq(result), any(), eq(-1L));
+    }
+
+    @Test
+    void uploadVideo_NotAVideo_RejectedBeforeStore() {
+        // Arrange
+        VideoStorageService service = sniffingService();
+
+        // Act & Assert
+        assertThrows(UnsupportedVideoFormatException.class, () -> service.uploadVideo(
+                new java.io.ByteArrayInputStream("PK\u0003\u0004 arquivo zip".getBytes()), "clip.mp4"));
+        verifyNoInteractions(videoStore);
+    }
+
+    @Test
+    void uploadVideo_Video_SendsWholeContentWithContainerAndMetadata() throws IOException {
+        // Arrange
+        VideoStorageService service = sniffingService();
+        byte[] content = Mp4MetadataParserTest.faststart();
+        java.io.ByteArrayOutputStream received = new java.io.ByteArrayOutputStream();
+        when(videoStore.put(anyString(), any(), anyLong())).thenAnswer(invocation -> {
+            invocation.getArgument(1, java.io.InputStream.class).transferTo(received);
+            return CompletableFuture.completedFuture(null);
+        });
+
+        // Act
+        StoredVideo stored = service.uploadVideo(new MockMultipartFile("file", "clip.mp4", "video/mp4", content));
+
+        // Assert
+        assertEquals("mp4", stored.attributes().get(VideoContainerSniffer.CONTAINER));
+        assertEquals(java.util.Map.of("durationSeconds", 12.5, "width", 1920, "height", 1080,
+                "videoCodec", "avc1", "audioCodec", "mp4a"), stored.attributes().get(Mp4MetadataParser.METADATA));
+        assertArrayEquals(content, received.toByteArray());
+        verify(videoStore).put(eq(stored.key()), any(), eq((long) content.length));
+    }
+
     @Test
     void getVideoUrl_Success() throws MalformedURLException {
         // Arrange
         String key = "videos/1234567890-abc123.mp4";
         URL expectedUrl = new URL("https://s3.amazonaws.com/test-bucket/videos/1234567890-abc123.mp4");
 
-        when(amazonS3.getUrl(BUCKET_NAME, key)).thenReturn(expectedUrl);
+        when(videoStore.url(key)).thenReturn(expectedUrl.toString());
 
         // Act
         String result = videoStorageService.getVideoUrl(key);
@@ -177,7 +286,7 @@ class VideoStorageServiceTest {
         // Assert
         assertNotNull(result);
         assertEquals(expectedUrl.toString(), result);
-        verify(amazonS3, times(1)).getUrl(BUCKET_NAME, key);
+        verify(videoStore, times(1)).url(key);
     }
 
     @Test
@@ -186,14 +295,422 @@ class VideoStorageServiceTest {
         String key = "videos/9876543210-xyz789.avi";
         URL expectedUrl = new URL("https://s3.amazonaws.com/test-bucket/videos/9876543210-xyz789.avi");
 
-        when(amazonS3.getUrl(BUCKET_NAME, key)).thenReturn(expectedUrl);
+        when(videoStore.url(key)).thenReturn(expectedUrl.toString());
 
         // Act
         String result = videoStorageService.getVideoUrl(key);
 
         // Assert
         assertEquals(expectedUrl.toString(), result);
-        verify(amazonS3, times(1)).getUrl(BUCKET_NAME, key);
+        verify(videoStore, times(1)).url(key);
     }
-}
 
+    @Test
+    void multipartOperations_DelegateToS3WithConfiguredBucket() throws IOException {
+        // Arrange
+        com.amazonaws.services.s3.model.InitiateMultipartUploadResult initiated =
+                new com.amazonaws.services.s3.model.InitiateMultipartUploadResult();
+        initiated.setUploadId("upload-1");
+        com.amazonaws.services.s3.model.UploadPartResult partResult = new com.amazonaws.services.s3.model.UploadPartResult();
+        partResult.setETag("etag-1");
+        when(amazonS3.initiateMultipartUpload(any())).thenReturn(initiated);
+        when(amazonS3.uploadPart(any())).thenReturn(partResult);
+
+        // Act
+        String uploadId = videoStorageService.initiateMultipartUpload("videos/k.mp4");
+        String eTag = videoStorageService.uploadPart("videos/k.mp4", uploadId, 1,
+                new java.io.ByteArrayInputStream(new byte[4]), 4);
+        videoStorageService.completeMultipartUpload("videos/k.mp4", uploadId,
+                java.util.List.of(new com.amazonaws.services.s3.model.PartETag(1, eTag)));
+        videoStorageService.abortMultipartUpload("videos/k.mp4", uploadId);
+
+        // Assert
+        assertEquals("upload-1", uploadId);
+        assertEquals("etag-1", eTag);
+        verify(amazonS3).completeMultipartUpload(argThat(request ->
+                BUCKET_NAME.equals(request.getBucketName()) && "upload-1".equals(request.getUploadId())));
+        verify(amazonS3).abortMultipartUpload(argThat(request -> BUCKET_NAME.equals(request.getBucketName())));
+    }
+
+    @Test
+    void multipartOperations_S3Errors_BecomeIOException() {
+        // Arrange
+        com.amazonaws.AmazonServiceException s3Error = new com.amazonaws.AmazonServiceException("NoSuchUpload");
+        when(amazonS3.initiateMultipartUpload(any())).thenThrow(s3Error);
+        when(amazonS3.uploadPart(any())).thenThrow(s3Error);
+        when(amazonS3.completeMultipartUpload(any())).thenThrow(s3Error);
+        doThrow(s3Error).when(amazonS3).abortMultipartUpload(any());
+
+        // Act & Assert
+        assertThrows(IOException.class, () -> videoStorageService.initiateMultipartUpload("k"));
+        assertThrows(IOException.class, () -> videoStorageService.uploadPart("k", "u", 1, java.io.InputStream.nullInputStream(), 0));
+        assertThrows(IOException.class, () -> videoStorageService.completeMultipartUpload("k", "u", java.util.List.of()));
+        assertThrows(IOException.class, () -> videoStorageService.abortMultipartUpload("k", "u"));
+    }
+
+    @Test
+    void presignedUrls_UsePutWithExpirationAndPartParameters() throws MalformedURLException {
+        // Arrange
+        ArgumentCaptor<com.amazonaws.services.s3.model.GeneratePresignedUrlRequest> captor =
+                ArgumentCaptor.forClass(com.amazonaws.services.s3.model.GeneratePresignedUrlRequest.class);
+        when(amazonS3.generatePresignedUrl(any(com.amazonaws.services.s3.model.GeneratePresignedUrlRequest.class)))
+                .thenReturn(new URL("https://s3/presigned"));
+        java.time.Instant expiresAt = java.time.Instant.now().plusSeconds(600);
+
+        // Act
+        videoStorageService.presignPutObject("videos/k.mp4", expiresAt);
+        videoStorageService.presignUploadPart("videos/k.mp4", "upload-1", 7, expiresAt);
+
+        // Assert
+        verify(amazonS3, times(2)).generatePresignedUrl(captor.capture());
+        com.amazonaws.services.s3.model.GeneratePresignedUrlRequest single = captor.getAllValues().get(0);
+        com.amazonaws.services.s3.model.GeneratePresignedUrlRequest part = captor.getAllValues().get(1);
+        assertEquals(com.amazonaws.HttpMethod.PUT, single.getMethod());
+        assertEquals(BUCKET_NAME, single.getBucketName());
+        assertEquals(expiresAt.toEpochMilli(), single.getExpiration().getTime());
+        assertEquals("upload-1", part.getRequestParameters().get("uploadId"));
+        assertEquals("7", part.getRequestParameters().get("partNumber"));
+    }
+
+    @Test
+    void headObject_ReturnsMetadataOrEmptyWhenMissing() throws IOException {
+        // Arrange
+        com.amazonaws.services.s3.model.ObjectMetadata metadata = new com.amazonaws.services.s3.model.ObjectMetadata();
+        com.amazonaws.AmazonServiceException notFound = new com.amazonaws.AmazonServiceException("Not Found");
+        notFound.setStatusCode(404);
+        com.amazonaws.AmazonServiceException forbidden = new com.amazonaws.AmazonServiceException("Forbidden");
+        forbidden.setStatusCode(403);
+        when(amazonS3.getObjectMetadata(BUCKET_NAME, "existe")).thenReturn(metadata);
+        when(amazonS3.getObjectMetadata(BUCKET_NAME, "nao-existe")).thenThrow(notFound);
+        when(amazonS3.getObjectMetadata(BUCKET_NAME, "proibido")).thenThrow(forbidden);
+        when(amazonS3.getObjectMetadata(BUCKET_NAME, "sem-rede")).thenThrow(new com.amazonaws.SdkClientException("timeout"));
+
+        // Act & Assert
+        assertSame(metadata, videoStorageService.headObject("existe").orElseThrow());
+        assertTrue(videoStorageService.headObject("nao-existe").isEmpty());
+        assertThrows(IOException.class, () -> videoStorageService.headObject("proibido"));
+        assertThrows(IOException.class, () -> videoStorageService.headObject("sem-rede"));
+    }
+
+    @Test
+    void uploadVideo_DedupEnabled_NewContentIsIndexed() throws IOException {
+        // Arrange
+        VideoStorageService service = dedupService();
+        consumeOnPut();
+
+        // Act
+        StoredVideo stored = service.uploadVideo(testFile, ExpectedChecksums.NONE, OWNER);
+
+        // Assert
+        assertFalse(stored.deduplicated());
+        assertEquals(sha256("test video content"), stored.attributes().get(ContentHashIndex.CONTENT_SHA256));
+        verify(videoStore, never()).delete(any());
+    }
+
+    @Test
+    void uploadVideo_DedupEnabled_SameContentReusesKeyAndDeletesCopy() throws IOException {
+        // Arrange
+        VideoStorageService service = dedupService();
+        consumeOnPut();
+        when(videoStore.delete(anyString())).thenReturn(CompletableFuture.completedFuture(null));
+        String first = service.uploadVideo(testFile, ExpectedChecksums.NONE, OWNER).key();
+
+        // Act
+        StoredVideo second = service.uploadVideo(
+                new java.io.ByteArrayInputStream("test video content".getBytes()), "outro.mp4",
+                ExpectedChecksums.NONE, OWNER);
+
+        // Assert
+        assertTrue(second.deduplicated());
+        assertEquals(first, second.key());
+        ArgumentCaptor<String> written = ArgumentCaptor.forClass(String.class);
+        verify(videoStore, times(2)).put(written.capture(), any(), anyLong());
+        verify(videoStore).delete(written.getAllValues().get(1));
+        assertEquals(1.0, registry.get("video.upload.dedup").tag("outcome", "hit").counter().count());
+    }
+
+    @Test
+    void uploadVideo_DedupEnabled_DeleteFailureKeepsIndexedKey() throws IOException {
+        // Arrange
+        VideoStorageService service = dedupService();
+        consumeOnPut();
+        when(videoStore.delete(anyString())).thenReturn(CompletableFuture.failedFuture(new IOException("sem permissão")));
+        String first = service.uploadVideo(testFile, ExpectedChecksums.NONE, OWNER).key();
+
+        // Act
+        StoredVideo second = service.uploadVideo(testFile, ExpectedChecksums.NONE, OWNER);
+
+        // Assert
+        assertEquals(first, second.key());
+        assertTrue(second.deduplicated());
+    }
+
+    @Test
+    void uploadVideo_DedupEnabled_OtherOwnerDoesNotReuseKey() throws IOException {
+        // Arrange
+        VideoStorageService service = dedupService();
+        consumeOnPut();
+        String first = service.uploadVideo(testFile, ExpectedChecksums.NONE, OWNER).key();
+
+        // Act
+        StoredVideo second = service.uploadVideo(
+                new java.io.ByteArrayInputStream("test video content".getBytes()), "outro.mp4",
+                ExpectedChecksums.NONE, "bob");
+
+        // Assert: a chave do vídeo de outro usuário nunca é devolvida
+        assertFalse(second.deduplicated());
+        assertNotEquals(first, second.key());
+        verify(videoStore, never()).delete(any());
+    }
+
+    @Test
+    void uploadVideo_DedupEnabledWithoutOwner_NotIndexed() throws IOException {
+        // Arrange
+        VideoStorageService service = dedupService();
+        consumeOnPut();
+
+        // Act
+        StoredVideo stored = service.uploadVideo(testFile);
+
+        // Assert
+        assertFalse(stored.deduplicated());
+        assertFalse(stored.attributes().containsKey(ContentHashIndex.CONTENT_SHA256));
+    }
+
+    @Test
+    void uploadVideo_KnownHashAlreadyIndexed_SkipsStore() throws IOException {
+        // Arrange
+        VideoStorageService service = dedupService();
+        String hash = sha256("conteudo");
+        new ContentHashIndex(true, dedupDir.toString(), 10).putIfAbsent(OWNER, hash, "videos/original.mp4");
+
+        // Act
+        StoredVideo stored = service.uploadVideo(java.io.InputStream.nullInputStream(), "clip.mp4", hash, OWNER);
+
+        // Assert
+        assertEquals("videos/original.mp4", stored.key());
+        assertTrue(stored.deduplicated());
+        verifyNoInteractions(videoStore);
+    }
+
+    @Test
+    void uploadVideo_KnownHashNotIndexed_StoresAndIndexes() throws IOException {
+        // Arrange
+        VideoStorageService service = dedupService();
+        String hash = sha256("conteudo");
+
+        // Act
+        StoredVideo stored = service.uploadVideo(new java.io.ByteArrayInputStream("conteudo".getBytes()), "clip.mp4", hash,
+                OWNER);
+
+        // Assert
+        assertFalse(stored.deduplicated());
+        assertEquals(hash, stored.attributes().get(ContentHashIndex.CONTENT_SHA256));
+        verify(videoStore).put(eq(stored.key()), any(), eq(-1L));
+    }
+
+    @Test
+    void uploadVideo_KnownHashWithDedupDisabled_IgnoresHash() throws IOException {
+        // Act
+        StoredVideo stored = videoStorageService.uploadVideo(
+                new java.io.ByteArrayInputStream("conteudo".getBytes()), "clip.mp4", sha256("conteudo"), OWNER);
+
+        // Assert
+        assertFalse(stored.attributes().containsKey(ContentHashIndex.CONTENT_SHA256));
+        verify(videoStore).put(eq(stored.key()), any(), eq(-1L));
+    }
+
+    @Test
+    void uploadVideo_StoresCrc32cInAttributes() throws IOException {
+        // Arrange
+        consumeOnPut();
+
+        // Act
+        StoredVideo stored = videoStorageService.uploadVideo(
+                new java.io.ByteArrayInputStream("123456789".getBytes()), "clip.mp4");
+
+        // Assert: valor de referência do CRC32C para "123456789"
+        assertEquals("4waSgw==", stored.attributes().get(ContentChecksums.CHECKSUM_CRC32C));
+        assertFalse(stored.attributes().containsKey(ContentChecksums.CHECKSUM_SHA256));
+    }
+
+    @Test
+    void uploadVideo_ChecksumMismatch_AbortsStoreWithoutDelete() {
+        // Arrange: o backend embrulha a falha de leitura, como o SDK faz
+        when(videoStore.put(anyString(), any(), anyLong())).thenAnswer(invocation -> {
+            try {
+                invocation.getArgument(1, java.io.InputStream.class).transferTo(java.io.OutputStream.nullOutputStream());
+                return CompletableFuture.completedFuture(null);
+            } catch (IOException e) {
+                return CompletableFuture.failedFuture(new IOException("Falha no envio", e));
+            }
+        });
+
+        // Act & Assert
+        assertThrows(ChecksumMismatchException.class, () -> videoStorageService.uploadVideo(
+                new java.io.ByteArrayInputStream("123456789".getBytes()), "clip.mp4",
+                new ExpectedChecksums("AAAAAA==", null), OWNER));
+        verify(videoStore, never()).delete(anyString());
+    }
+
+    @Test
+    void uploadVideo_ChecksumMismatchAfterStore_DeletesObject() {
+        // Arrange: backend que grava sem ler até o fim do stream
+        when(videoStore.put(anyString(), any(), anyLong())).thenReturn(CompletableFuture.completedFuture(null));
+        when(videoStore.delete(anyString())).thenReturn(CompletableFuture.completedFuture(null));
+
+        // Act & Assert
+        assertThrows(ChecksumMismatchException.class, () -> videoStorageService.uploadVideo(testFile,
+                new ExpectedChecksums("4waSgw==", null), OWNER));
+        verify(videoStore).delete(anyString());
+    }
+
+    @Test
+    void uploadVideo_Reactive_SendsBuffersWithContainerMetadataAndCrc32c() {
+        // Arrange
+        VideoStorageService service = sniffingService();
+        byte[] content = Mp4MetadataParserTest.faststart();
+        java.io.ByteArrayOutputStream received = collectOnReactivePut();
+
+        // Act
+        StoredVideo stored = service.uploadVideo(chunks(content, 1000), "clip.mp4", ExpectedChecksums.NONE, OWNER).block();
+
+        // Assert
+        assertArrayEquals(content, received.toByteArray());
+        assertEquals("mp4", stored.attributes().get(VideoContainerSniffer.CONTAINER));
+        assertEquals(12.5, ((java.util.Map<?, ?>) stored.attributes().get(Mp4MetadataParser.METADATA)).get("durationSeconds"));
+        assertTrue(stored.attributes().containsKey(ContentChecksums.CHECKSUM_CRC32C));
+        assertTrue(stored.key().endsWith(".mp4"));
+    }
+
+    @Test
+    void uploadVideo_Reactive_NotAVideo_RejectedBeforeAnyByte() {
+        // Arrange
+        VideoStorageService service = sniffingService();
+        java.io.ByteArrayOutputStream received = collectOnReactivePut();
+
+        // Act
+        Throwable error = failure(service.uploadVideo(chunks("PK\u0003\u0004 arquivo zip".getBytes(), 4),
+                "clip.mp4", ExpectedChecksums.NONE, OWNER));
+
+        // Assert
+        assertInstanceOf(UnsupportedVideoFormatException.class, error);
+        assertEquals(0, received.size());
+    }
+
+    @Test
+    void uploadVideo_Reactive_ChecksumMismatch_FailsBodyWithoutDelete() {
+        // Arrange
+        java.io.ByteArrayOutputStream received = collectOnReactivePut();
+
+        // Act
+        Throwable error = failure(videoStorageService.uploadVideo(chunks("123456789".getBytes(), 4), "clip.mp4",
+                new ExpectedChecksums("AAAAAA==", null), OWNER));
+
+        // Assert
+        assertInstanceOf(ChecksumMismatchException.class, error);
+        assertEquals(9, received.size());
+        verify(videoStore, never()).delete(anyString());
+    }
+
+    @Test
+    void uploadVideo_Reactive_StoreStopsEarly_DeletesObject() {
+        // Arrange: backend que confirma sem ler o corpo
+        when(videoStore.put(anyString(), any(Publisher.class)))
+                .thenReturn(CompletableFuture.completedFuture(null));
+        when(videoStore.delete(anyString())).thenReturn(CompletableFuture.completedFuture(null));
+
+        // Act
+        Throwable error = failure(videoStorageService.uploadVideo(chunks("123456789".getBytes(), 4), "clip.mp4",
+                new ExpectedChecksums("4waSgw==", null), OWNER));
+
+        // Assert
+        assertInstanceOf(ChecksumMismatchException.class, error);
+        verify(videoStore).delete(anyString());
+    }
+
+    @Test
+    void uploadVideo_Reactive_StoreFails_PropagatesIOException() {
+        // Arrange
+        when(videoStore.put(anyString(), any(Publisher.class)))
+                .thenReturn(CompletableFuture.failedFuture(new IOException("S3 fora do ar")));
+
+        // Act
+        Throwable error = failure(videoStorageService.uploadVideo(chunks("conteudo".getBytes(), 4), "clip.mp4",
+                ExpectedChecksums.NONE, OWNER));
+
+        // Assert
+        assertInstanceOf(IOException.class, error);
+        assertEquals("S3 fora do ar", error.getMessage());
+    }
+
+    @Test
+    void uploadVideo_Reactive_DedupEnabled_SameContentReusesKey() {
+        // Arrange
+        VideoStorageService service = dedupService();
+        collectOnReactivePut();
+        when(videoStore.delete(anyString())).thenReturn(CompletableFuture.completedFuture(null));
+        String first = service.uploadVideo(chunks("test video content".getBytes(), 5), "a.mp4", ExpectedChecksums.NONE, OWNER)
+                .block().key();
+
+        // Act
+        StoredVideo second = service.uploadVideo(chunks("test video content".getBytes(), 7), "b.mp4",
+                ExpectedChecksums.NONE, OWNER).block();
+
+        // Assert
+        assertTrue(second.deduplicated());
+        assertEquals(first, second.key());
+        assertEquals(sha256("test video content"), second.attributes().get(ContentHashIndex.CONTENT_SHA256));
+        verify(videoStore).delete(argThat(key -> !key.equals(first)));
+    }
+
+    private VideoStorageService dedupService() {
+        return new VideoStorageService(amazonS3, videoStore, BUCKET_NAME, metrics,
+                new ContentHashIndex(true, dedupDir.toString(), 10), sniffer, checksums, keyLayout, guards);
+    }
+
+    private VideoStorageService sniffingService() {
+        return new VideoStorageService(amazonS3, videoStore, BUCKET_NAME, metrics, contentHashIndex,
+                new VideoContainerSniffer(true, 16 * 1024 * 1024), checksums, keyLayout, guards);
+    }
+
+    // o hash só fica pronto depois que o backend lê o stream até o fim
+    private void consumeOnPut() {
+        when(videoStore.put(anyString(), any(), anyLong())).thenAnswer(invocation -> {
+            invocation.getArgument(1, java.io.InputStream.class).transferTo(java.io.OutputStream.nullOutputStream());
+            return CompletableFuture.completedFuture(null);
+        });
+    }
+
+    // assina o corpo como o cliente assíncrono do S3, guardando o que chega
+    @SuppressWarnings("unchecked")
+    private java.io.ByteArrayOutputStream collectOnReactivePut() {
+        java.io.ByteArrayOutputStream received = new java.io.ByteArrayOutputStream();
+        when(videoStore.put(anyString(), any(Publisher.class))).thenAnswer(invocation ->
+                Flux.from(invocation.getArgument(1, Publisher.class))
+                        .doOnNext(buffer -> {
+                            ByteBuffer bytes = (ByteBuffer) buffer;
+                            received.write(bytes.array(), bytes.arrayOffset() + bytes.position(), bytes.remaining());
+                        })
+                        .then()
+                        .toFuture());
+        return received;
+    }
+
+    private static Flux<ByteBuffer> chunks(byte[] content, int size) {
+        return Flux.range(0, (content.length + size - 1) / size)
+                .map(i -> ByteBuffer.wrap(content, i * size, Math.min(size, content.length - i * size)));
+    }
+
+    private static Throwable failure(Mono<?> upload) {
+        ExecutionException e = assertThrows(ExecutionException.class,
+                () -> upload.toFuture().get());
+        return e.getCause();
+    }
+
+    private static String sha256(String content) {
+        MessageDigest digest = ContentHashIndex.newDigest();
+        digest.update(content.getBytes());
+        return ContentHashIndex.hex(digest);
+    }
+}